@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.benchmarks.BenchmarkCluster.Network;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums, averages and counts over all the entries of a map, which scan
+ * every partition. The attributes are numeric primitives of
+ * {@link Employee} or fixed-size fields of {@link CompactEmployee}. The
+ * 10M entries maps need a heap of a few gigabytes, e.g. {@code -jvmArgs
+ * -Xmx8g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"IDENTIFIED", "COMPACT"})
+    public String format;
+
+    @Param({"BINARY", "OBJECT"})
+    public InMemoryFormat inMemoryFormat;
+
+    @Param({"MOCK"})
+    public Network network;
+
+    @Param({"1"})
+    public int memberCount;
+
+    @Param({"1000000", "10000000"})
+    public int entryCount;
+
+    private BenchmarkCluster cluster;
+    private IMap<Long, Object> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = EmployeeDataSerializableFactory.register(BenchmarkCluster.memberConfig());
+        config.getMapConfig("employees").setInMemoryFormat(inMemoryFormat);
+        cluster = new BenchmarkCluster(network);
+        map = cluster.startMembers(memberCount, config).getMap("employees");
+
+        Map<Long, Object> batch = new TreeMap<>();
+        for (long id = 0; id < entryCount; id++) {
+            batch.put(id, "COMPACT".equals(format) ? CompactEmployee.create(id) : Employee.create(id));
+            if (batch.size() == 1000) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        map.putAll(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown();
+    }
+
+    @Benchmark
+    public Long longSum() {
+        return map.aggregate(Aggregators.longSum("age"));
+    }
+
+    @Benchmark
+    public Double doubleAvg() {
+        return map.aggregate(Aggregators.doubleAvg("salary"));
+    }
+
+    @Benchmark
+    public Long countAttribute() {
+        return map.aggregate(Aggregators.count("id"));
+    }
+}
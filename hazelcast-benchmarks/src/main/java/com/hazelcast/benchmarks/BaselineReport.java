@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.json.Json;
+import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.json.JsonValue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the results of two benchmark runs written by JMH in the JSON
+ * format ({@code -rf json}), typically the run of a release, kept as the
+ * baseline, and the run of a candidate:
+ * <pre>
+ * java -cp target/benchmarks.jar com.hazelcast.benchmarks.BaselineReport \
+ *     baseline.json candidate.json [threshold percent, 5 by default]
+ * </pre>
+ * Prints one line per benchmark and parameter combination with both
+ * scores and the change, positive when the candidate is better: a
+ * higher score in the throughput mode, a lower one in the time modes.
+ * A change worse than the threshold, beyond the errors of both scores,
+ * is flagged as a regression and makes the exit status 1.
+ */
+public final class BaselineReport {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5;
+
+    private BaselineReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineReport <baseline.json> <candidate.json> [threshold percent]");
+            System.exit(2);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        int regressions = compare(read(args[0]), read(args[1]), thresholdPercent, System.out);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * Prints the comparison of the given results.
+     *
+     * @return the number of regressions
+     */
+    static int compare(Map<String, Result> baseline, Map<String, Result> candidate, double thresholdPercent,
+                       PrintStream out) {
+        int regressions = 0;
+        out.printf(Locale.ROOT, "%-80s %16s %16s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, Result> entry : candidate.entrySet()) {
+            Result result = entry.getValue();
+            Result base = baseline.get(entry.getKey());
+            if (base == null) {
+                out.printf(Locale.ROOT, "%-80s %16s %16.3f %9s%n", entry.getKey(), "-", result.score, "new");
+                continue;
+            }
+            double change = result.changePercent(base);
+            boolean regression = change < -thresholdPercent && !result.overlaps(base);
+            if (regression) {
+                regressions++;
+            }
+            out.printf(Locale.ROOT, "%-80s %16.3f %16.3f %+8.1f%%%s%n", entry.getKey(), base.score, result.score,
+                    change, regression ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!candidate.containsKey(key)) {
+                out.printf(Locale.ROOT, "%-80s %16.3f %16s %9s%n", key, baseline.get(key).score, "-", "missing");
+            }
+        }
+        out.printf(Locale.ROOT, "%d regression(s) worse than %.1f%%%n", regressions, thresholdPercent);
+        return regressions;
+    }
+
+    /**
+     * Reads a JMH result file, keyed by the benchmark name followed by
+     * its parameters.
+     */
+    static Map<String, Result> read(String path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            return parse(Json.parse(reader));
+        }
+    }
+
+    static Map<String, Result> parse(JsonValue json) {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonValue value : json.asArray()) {
+            JsonObject run = value.asObject();
+            StringBuilder key = new StringBuilder(run.getString("benchmark", "?"));
+            JsonValue params = run.get("params");
+            if (params != null) {
+                Map<String, String> sortedParams = new TreeMap<>();
+                for (JsonObject.Member param : params.asObject()) {
+                    sortedParams.put(param.getName(), param.getValue().asString());
+                }
+                key.append(sortedParams);
+            }
+            JsonObject metric = run.get("primaryMetric").asObject();
+            double error = metric.get("scoreError").isNumber() ? metric.getDouble("scoreError", 0) : 0;
+            results.put(key.toString(), new Result(run.getString("mode", "thrpt"),
+                    metric.getDouble("score", 0), error));
+        }
+        return results;
+    }
+
+    static final class Result {
+
+        final String mode;
+        final double score;
+        final double error;
+
+        Result(String mode, double score, double error) {
+            this.mode = mode;
+            this.score = score;
+            this.error = error;
+        }
+
+        /**
+         * @return the change from the baseline in percent, positive
+         * when this result is better
+         */
+        double changePercent(Result baseline) {
+            if (baseline.score == 0) {
+                return 0;
+            }
+            double change = (score - baseline.score) / baseline.score * 100;
+            return "thrpt".equals(mode) ? change : -change;
+        }
+
+        boolean overlaps(Result baseline) {
+            return Math.abs(score - baseline.score) <= error + baseline.error;
+        }
+    }
+}
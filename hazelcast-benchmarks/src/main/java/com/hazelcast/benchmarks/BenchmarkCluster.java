@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The members and clients a benchmark runs against, all in the JVM of
+ * the benchmark: either connected by the mock network of the test
+ * factories, which leaves the networking out of the measurements, or
+ * by the regular TCP/IP networking over the loopback interface.
+ */
+public final class BenchmarkCluster {
+
+    /**
+     * How the members and clients of the cluster are connected.
+     */
+    public enum Network {
+        /**
+         * The in-process mock network of the test factories.
+         */
+        MOCK,
+        /**
+         * TCP/IP over the loopback interface.
+         */
+        TCP
+    }
+
+    private final Network network;
+    private final TestHazelcastFactory factory;
+    private final List<HazelcastInstance> members = new ArrayList<>();
+    private final List<HazelcastInstance> clients = new ArrayList<>();
+    private final String clusterName = "benchmark-" + System.nanoTime();
+
+    public BenchmarkCluster(Network network) {
+        this.network = network;
+        this.factory = network == Network.MOCK ? new TestHazelcastFactory() : null;
+    }
+
+    /**
+     * Starts the given number of members with the given configuration.
+     *
+     * @return the first member
+     */
+    public HazelcastInstance startMembers(int memberCount, Config config) {
+        config.setClusterName(clusterName);
+        if (network == Network.TCP) {
+            config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+            config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+            config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        }
+        for (int i = 0; i < memberCount; i++) {
+            members.add(network == Network.MOCK
+                    ? factory.newHazelcastInstance(config)
+                    : Hazelcast.newHazelcastInstance(config));
+        }
+        return members.get(0);
+    }
+
+    /**
+     * Starts a smart client connected to the members.
+     */
+    public HazelcastInstance startClient(ClientConfig config) {
+        config.setClusterName(clusterName);
+        HazelcastInstance client;
+        if (network == Network.MOCK) {
+            client = factory.newHazelcastClient(config);
+        } else {
+            config.getNetworkConfig().addAddress("127.0.0.1");
+            client = HazelcastClient.newHazelcastClient(config);
+        }
+        clients.add(client);
+        return client;
+    }
+
+    public List<HazelcastInstance> getMembers() {
+        return members;
+    }
+
+    public void shutdown() {
+        for (HazelcastInstance client : clients) {
+            client.shutdown();
+        }
+        for (HazelcastInstance member : members) {
+            member.getLifecycleService().terminate();
+        }
+        if (factory != null) {
+            factory.shutdownAll();
+        }
+    }
+
+    /**
+     * The base configuration of the members: a small number of
+     * partitions and threads, so the benchmarks stay comparable on
+     * machines of different sizes.
+     */
+    public static Config memberConfig() {
+        Config config = new Config();
+        config.setProperty("hazelcast.partition.count", "71");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.setProperty("hazelcast.logging.type", "none");
+        config.getJetConfig().setEnabled(false);
+        return config;
+    }
+
+    public static ClientConfig clientConfig() {
+        ClientConfig config = new ClientConfig();
+        config.setProperty("hazelcast.logging.type", "none");
+        return config;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The same fields as {@link Employee}, serialized in the Compact format.
+ */
+public class CompactEmployee {
+
+    private final long id;
+    private final String name;
+    private final int age;
+    private final double salary;
+    private final boolean active;
+
+    public CompactEmployee(long id, String name, int age, double salary, boolean active) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.salary = salary;
+        this.active = active;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public double getSalary() {
+        return salary;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public static CompactEmployee create(long id) {
+        Employee employee = Employee.create(id);
+        return new CompactEmployee(id, employee.getName(), employee.getAge(), employee.getSalary(), employee.isActive());
+    }
+
+    /**
+     * Explicit serializer, so the benchmarks do not measure reflection.
+     */
+    public static class Serializer implements CompactSerializer<CompactEmployee> {
+
+        @Nonnull
+        @Override
+        public CompactEmployee read(@Nonnull CompactReader reader) {
+            return new CompactEmployee(reader.readInt64("id"), reader.readString("name"), reader.readInt32("age"),
+                    reader.readFloat64("salary"), reader.readBoolean("active"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull CompactEmployee employee) {
+            writer.writeInt64("id", employee.id);
+            writer.writeString("name", employee.name);
+            writer.writeInt32("age", employee.age);
+            writer.writeFloat64("salary", employee.salary);
+            writer.writeBoolean("active", employee.active);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "employee";
+        }
+
+        @Nonnull
+        @Override
+        public Class<CompactEmployee> getCompactClass() {
+            return CompactEmployee.class;
+        }
+    }
+}
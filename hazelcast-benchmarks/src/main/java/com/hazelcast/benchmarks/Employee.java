@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * The value type of the benchmarks, serialized as
+ * {@link IdentifiedDataSerializable}.
+ */
+public class Employee implements IdentifiedDataSerializable {
+
+    private long id;
+    private String name;
+    private int age;
+    private double salary;
+    private boolean active;
+
+    public Employee() {
+    }
+
+    public Employee(long id, String name, int age, double salary, boolean active) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.salary = salary;
+        this.active = active;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public double getSalary() {
+        return salary;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return EmployeeDataSerializableFactory.FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return EmployeeDataSerializableFactory.EMPLOYEE;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeString(name);
+        out.writeInt(age);
+        out.writeDouble(salary);
+        out.writeBoolean(active);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        id = in.readLong();
+        name = in.readString();
+        age = in.readInt();
+        salary = in.readDouble();
+        active = in.readBoolean();
+    }
+
+    /**
+     * Creates the employee of the given id, aged between 20 and 69.
+     */
+    public static Employee create(long id) {
+        return new Employee(id, "employee-" + id, 20 + (int) (id % 50), 1000 + id % 9000, id % 2 == 0);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+public class EmployeeDataSerializableFactory implements DataSerializableFactory {
+
+    public static final int FACTORY_ID = 1000;
+    public static final int EMPLOYEE = 1;
+
+    @Override
+    public IdentifiedDataSerializable create(int typeId) {
+        return typeId == EMPLOYEE ? new Employee() : null;
+    }
+
+    /**
+     * Registers the serializers of {@link Employee} and
+     * {@link CompactEmployee} in the given configuration.
+     */
+    public static Config register(Config config) {
+        config.getSerializationConfig().addDataSerializableFactory(FACTORY_ID, new EmployeeDataSerializableFactory());
+        config.getSerializationConfig().getCompactSerializationConfig().addSerializer(new CompactEmployee.Serializer());
+        return config;
+    }
+}
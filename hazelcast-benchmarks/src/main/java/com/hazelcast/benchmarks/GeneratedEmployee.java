@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.serialization.compact.GenerateCompactSerializer;
+
+/**
+ * The same fields as {@link Employee}, serialized in the Compact format by
+ * the serializer generated at compile time.
+ */
+@GenerateCompactSerializer
+public class GeneratedEmployee {
+
+    long id;
+    String name;
+    int age;
+    double salary;
+    boolean active;
+
+    GeneratedEmployee() {
+    }
+
+    public static GeneratedEmployee create(long id) {
+        Employee employee = Employee.create(id);
+        GeneratedEmployee generated = new GeneratedEmployee();
+        generated.id = id;
+        generated.name = employee.getName();
+        generated.age = employee.getAge();
+        generated.salary = employee.getSalary();
+        generated.active = employee.isActive();
+        return generated;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.benchmarks.BenchmarkCluster.Network;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code get}, {@code put} and {@code set} of {@link IMap}, called from
+ * a member or from a smart client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+    @Param({"MEMBER", "CLIENT"})
+    public String caller;
+
+    @Param({"MOCK"})
+    public Network network;
+
+    @Param({"1"})
+    public int memberCount;
+
+    @Param({"10000"})
+    public int keyCount;
+
+    @Param({"100"})
+    public int valueSize;
+
+    private BenchmarkCluster cluster;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cluster = new BenchmarkCluster(network);
+        HazelcastInstance member = cluster.startMembers(memberCount, BenchmarkCluster.memberConfig());
+        HazelcastInstance instance = "CLIENT".equals(caller)
+                ? cluster.startClient(BenchmarkCluster.clientConfig())
+                : member;
+        map = instance.getMap("map");
+        value = new byte[valueSize];
+        for (int key = 0; key < keyCount; key++) {
+            map.set(key, value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown();
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return map.get(randomKey());
+    }
+
+    @Benchmark
+    public byte[] put() {
+        return map.put(randomKey(), value);
+    }
+
+    @Benchmark
+    public void set() {
+        map.set(randomKey(), value);
+    }
+
+    private int randomKey() {
+        return ThreadLocalRandom.current().nextInt(keyCount);
+    }
+}
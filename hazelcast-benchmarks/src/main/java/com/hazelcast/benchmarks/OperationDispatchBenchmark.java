@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.benchmarks.BenchmarkCluster.Network;
+import com.hazelcast.cluster.Address;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.impl.operationservice.impl.DummyOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.test.Accessors.getAddress;
+import static com.hazelcast.test.Accessors.getOperationService;
+import static com.hazelcast.test.Accessors.getPartitionService;
+
+/**
+ * Invocation of an operation doing nothing, so only the invocation,
+ * the scheduling on a partition or generic thread and the response
+ * handling are measured. With more than one member, the partitions
+ * owned by other members and {@code invokeOnTarget} also measure the
+ * network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationDispatchBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"MOCK"})
+    public Network network;
+
+    @Param({"1", "2"})
+    public int memberCount;
+
+    private BenchmarkCluster cluster;
+    private OperationService operationService;
+    private int partitionCount;
+    private Address target;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cluster = new BenchmarkCluster(network);
+        HazelcastInstance member = cluster.startMembers(memberCount, BenchmarkCluster.memberConfig());
+        operationService = getOperationService(member);
+        partitionCount = getPartitionService(member).getPartitionCount();
+        // the last member, the local one when there is only one
+        target = getAddress(cluster.getMembers().get(memberCount - 1));
+        // assigns the partitions
+        getPartitionService(member).firstArrangement();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown();
+    }
+
+    @Benchmark
+    public Object invokeOnPartition() {
+        int partitionId = ThreadLocalRandom.current().nextInt(partitionCount);
+        return operationService.invokeOnPartition(null, new DummyOperation(), partitionId).join();
+    }
+
+    @Benchmark
+    public Object invokeOnTarget() {
+        return operationService.invokeOnTarget(null, new DummyOperation(), target).join();
+    }
+
+    /**
+     * Invokes a batch of operations before waiting for their responses.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Object invokeOnPartitionAsync() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        InternalCompletableFuture[] futures = new InternalCompletableFuture[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures[i] = operationService.invokeOnPartition(null, new DummyOperation(), random.nextInt(partitionCount));
+        }
+        Object response = null;
+        for (InternalCompletableFuture future : futures) {
+            response = future.join();
+        }
+        return response;
+    }
+}
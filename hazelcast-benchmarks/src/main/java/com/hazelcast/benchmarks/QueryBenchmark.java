@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.benchmarks.BenchmarkCluster.Network;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Equality and range predicates on an attribute with no index, a hash
+ * index or a sorted index. With no index the whole map is scanned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"NONE", "HASH", "SORTED"})
+    public String index;
+
+    @Param({"BINARY", "OBJECT"})
+    public InMemoryFormat inMemoryFormat;
+
+    @Param({"MOCK"})
+    public Network network;
+
+    @Param({"1"})
+    public int memberCount;
+
+    @Param({"100000"})
+    public int entryCount;
+
+    private BenchmarkCluster cluster;
+    private IMap<Long, Employee> map;
+    private Predicate<Long, Employee> equalPredicate;
+    private Predicate<Long, Employee> rangePredicate;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = EmployeeDataSerializableFactory.register(BenchmarkCluster.memberConfig());
+        config.getMapConfig("employees").setInMemoryFormat(inMemoryFormat);
+        if (!"NONE".equals(index)) {
+            config.getMapConfig("employees").addIndexConfig(
+                    new IndexConfig(IndexType.valueOf(index), "age"));
+        }
+        cluster = new BenchmarkCluster(network);
+        map = cluster.startMembers(memberCount, config).getMap("employees");
+
+        Map<Long, Employee> batch = new TreeMap<>();
+        for (long id = 0; id < entryCount; id++) {
+            batch.put(id, Employee.create(id));
+            if (batch.size() == 1000) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        map.putAll(batch);
+
+        // 2% and 10% of the entries
+        equalPredicate = Predicates.equal("age", 42);
+        rangePredicate = Predicates.between("age", 30, 34);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown();
+    }
+
+    @Benchmark
+    public Collection<Long> equal() {
+        return map.keySet(equalPredicate);
+    }
+
+    @Benchmark
+    public Collection<Long> range() {
+        return map.keySet(rangePredicate);
+    }
+
+    @Benchmark
+    public Collection<Employee> equalValues() {
+        return map.values(equalPredicate);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.benchmarks.BenchmarkCluster.Network;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization of the same object as
+ * {@link com.hazelcast.nio.serialization.IdentifiedDataSerializable}
+ * and in the Compact format, with a hand-written and a generated
+ * serializer, with the serialization service of a member, so Compact
+ * schemas are registered like in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"IDENTIFIED", "COMPACT", "GENERATED"})
+    public String format;
+
+    private BenchmarkCluster cluster;
+    private SerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cluster = new BenchmarkCluster(Network.MOCK);
+        HazelcastInstance member = cluster.startMembers(1,
+                EmployeeDataSerializableFactory.register(BenchmarkCluster.memberConfig()));
+        serializationService = ((SerializationServiceSupport) member).getSerializationService();
+        object = createObject();
+        data = serializationService.toData(object);
+    }
+
+    private Object createObject() {
+        switch (format) {
+            case "COMPACT":
+                return CompactEmployee.create(42);
+            case "GENERATED":
+                return GeneratedEmployee.create(42);
+            default:
+                return Employee.create(42);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cluster.shutdown();
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializationService.toObject(data);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return serializationService.toObject(serializationService.toData(object));
+    }
+}
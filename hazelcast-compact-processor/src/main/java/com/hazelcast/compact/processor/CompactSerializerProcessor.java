@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.compact.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the Compact serializers of the classes and the records
+ * annotated with {@code com.hazelcast.nio.serialization.compact.GenerateCompactSerializer}.
+ * <p>
+ * The serializer of a class {@code p.Outer.Inner} is generated as
+ * {@code p.Outer_Inner_CompactSerializer}, where Hazelcast looks it up
+ * when the class is serialized without an explicit serializer. It
+ * serializes the same fields with the same kinds as the zero-config
+ * reflective serializer: the non-static non-transient fields declared by
+ * the class and its superclasses, or the components of a record. The
+ * fields are accessed directly when they are accessible from the package
+ * of the class, through their getters and setters otherwise.
+ * <p>
+ * The classes, the fields and the types the generated source can't
+ * access or the reflective serializer doesn't support are reported as
+ * compilation errors.
+ */
+public class CompactSerializerProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.hazelcast.nio.serialization.compact.GenerateCompactSerializer";
+    static final String SERIALIZER_SUFFIX = "_CompactSerializer";
+
+    private static final String RECORD = "RECORD";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                try {
+                    generate(element);
+                } catch (InvalidElementException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(Element element) {
+        boolean record = element.getKind().name().equals(RECORD);
+        if (!record && element.getKind() != ElementKind.CLASS) {
+            throw new InvalidElementException("Only classes and records can have a generated Compact serializer",
+                    element);
+        }
+        TypeElement type = (TypeElement) element;
+        checkClass(type, record);
+
+        Elements elements = processingEnv.getElementUtils();
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        String serializerName = simpleBinaryName.replace('$', '_') + SERIALIZER_SUFFIX;
+        String className = type.getQualifiedName().toString();
+
+        List<SerializedField> fields = record ? recordFields(type) : classFields(type, packageName);
+        String source = new SerializerSourceWriter(packageName, serializerName, className, binaryName, record, fields)
+                .write();
+
+        String qualifiedSerializerName = packageName.isEmpty() ? serializerName : packageName + "." + serializerName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedSerializerName, type).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            throw new InvalidElementException("Could not write " + qualifiedSerializerName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void checkClass(TypeElement type, boolean record) {
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new InvalidElementException("Generic classes can't have a generated Compact serializer", type);
+        }
+        if (!record && type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new InvalidElementException("Abstract classes can't have a generated Compact serializer", type);
+        }
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            throw new InvalidElementException("Local classes can't have a generated Compact serializer", type);
+        }
+        for (Element enclosing = type; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            Set<Modifier> modifiers = enclosing.getModifiers();
+            boolean nested = enclosing.getEnclosingElement() instanceof TypeElement;
+            if (modifiers.contains(Modifier.PRIVATE) || nested && !isStatic(enclosing)) {
+                throw new InvalidElementException("The class must be a top level or a non-private static nested class "
+                        + "to have a generated Compact serializer", type);
+            }
+        }
+        if (!record && !hasAccessibleNoArgConstructor(type)) {
+            throw new InvalidElementException("The class must have a non-private no-arg constructor "
+                    + "to have a generated Compact serializer", type);
+        }
+    }
+
+    private List<SerializedField> recordFields(TypeElement type) {
+        List<SerializedField> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!isStatic(field)) {
+                String name = field.getSimpleName().toString();
+                fields.add(new SerializedField(name, codec(field), "object." + name + "()", null));
+            }
+        }
+        return fields;
+    }
+
+    private List<SerializedField> classFields(TypeElement type, String packageName) {
+        List<SerializedField> fields = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                String name = field.getSimpleName().toString();
+                if (!names.add(name)) {
+                    throw new InvalidElementException("The field " + name + " hides another serialized field", field);
+                }
+                fields.add(classField(type, field, packageName));
+            }
+        }
+        return fields;
+    }
+
+    private SerializedField classField(TypeElement type, VariableElement field, String packageName) {
+        String name = field.getSimpleName().toString();
+        FieldCodec codec = codec(field);
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            throw new InvalidElementException("Final fields can't be set by a generated Compact serializer, "
+                    + "make the field non-final or transient", field);
+        }
+        if (isAccessible(field, packageName)) {
+            return new SerializedField(name, codec, "object." + name, null);
+        }
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        TypeMirror fieldType = field.asType();
+        ExecutableElement getter = findMethod(type, packageName, fieldType, "get" + capitalized, null);
+        if (getter == null) {
+            getter = findMethod(type, packageName, fieldType, "is" + capitalized, null);
+        }
+        ExecutableElement setter = findMethod(type, packageName, null, "set" + capitalized, fieldType);
+        if (getter == null || setter == null) {
+            throw new InvalidElementException("The field " + name + " must be accessible from the package "
+                    + "or have a non-private getter and setter to be serialized by a generated Compact serializer", field);
+        }
+        return new SerializedField(name, codec, "object." + getter.getSimpleName() + "()",
+                setter.getSimpleName().toString());
+    }
+
+    /**
+     * Finds the non-static method of the given type or its superclasses
+     * accessible from the given package.
+     *
+     * @param returnType    the return type of the method or {@code null}
+     *                      if it must return {@code void}.
+     * @param parameterType the type of the single parameter of the method
+     *                      or {@code null} if it must have no parameters.
+     */
+    private ExecutableElement findMethod(TypeElement type, String packageName, TypeMirror returnType, String name,
+                                         TypeMirror parameterType) {
+        Types types = processingEnv.getTypeUtils();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (!method.getSimpleName().contentEquals(name) || isStatic(method) || !isAccessible(method, packageName)) {
+                continue;
+            }
+            List<? extends VariableElement> parameters = method.getParameters();
+            boolean parametersMatch = parameterType == null
+                    ? parameters.isEmpty()
+                    : parameters.size() == 1 && types.isSameType(parameters.get(0).asType(), parameterType);
+            boolean returnTypeMatches = returnType == null
+                    ? method.getReturnType().getKind() == TypeKind.VOID
+                    : types.isSameType(method.getReturnType(), returnType);
+            if (parametersMatch && returnTypeMatches) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasAccessibleNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(superclass);
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private boolean isAccessible(Element member, String packageName) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE)
+                && processingEnv.getElementUtils().getPackageOf(member).getQualifiedName().contentEquals(packageName);
+    }
+
+    private static FieldCodec codec(VariableElement field) {
+        FieldCodec codec = FieldCodec.of(field.asType());
+        if (codec == null) {
+            throw new InvalidElementException("The type " + field.asType() + " of the field " + field.getSimpleName()
+                    + " isn't supported by the generated Compact serializers", field);
+        }
+        return codec;
+    }
+
+    private static boolean isStatic(Element element) {
+        return element.getModifiers().contains(Modifier.STATIC);
+    }
+
+    /**
+     * Reports an element the serializer can't be generated for.
+     */
+    private static final class InvalidElementException extends RuntimeException {
+
+        private final transient Element element;
+
+        InvalidElementException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.compact.processor;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Describes how a field of a given type is written to and read from the
+ * Compact format, mirroring the type mapping of the zero-config reflective
+ * serializer, so that both serializers write the same schema.
+ */
+final class FieldCodec {
+
+    /**
+     * The ranks of the codecs, in the order their fields are laid out in
+     * the schema: the fixed-size fields from the largest to the smallest,
+     * the booleans, then the variable-size fields.
+     */
+    static final int RANK_8_BYTES = 0;
+    static final int RANK_4_BYTES = 1;
+    static final int RANK_2_BYTES = 2;
+    static final int RANK_1_BYTE = 3;
+    static final int RANK_BOOLEAN = 4;
+    static final int RANK_VARIABLE_SIZE = 5;
+
+    private static final Map<TypeKind, FieldCodec> PRIMITIVES = new HashMap<>();
+    private static final Map<TypeKind, FieldCodec> PRIMITIVE_ARRAYS = new HashMap<>();
+    private static final Map<String, FieldCodec> TYPES = new HashMap<>();
+    private static final Map<String, FieldCodec> TYPE_ARRAYS = new HashMap<>();
+
+    static {
+        primitive(TypeKind.BOOLEAN, "Boolean", RANK_BOOLEAN);
+        primitive(TypeKind.BYTE, "Int8", RANK_1_BYTE);
+        primitive(TypeKind.SHORT, "Int16", RANK_2_BYTES);
+        primitive(TypeKind.INT, "Int32", RANK_4_BYTES);
+        primitive(TypeKind.LONG, "Int64", RANK_8_BYTES);
+        primitive(TypeKind.FLOAT, "Float32", RANK_4_BYTES);
+        primitive(TypeKind.DOUBLE, "Float64", RANK_8_BYTES);
+        PRIMITIVES.put(TypeKind.CHAR, new FieldCodec("Int16", "NullableInt16", "char", true, RANK_2_BYTES,
+                Conversion.CHAR, null));
+
+        boxed("java.lang.Boolean", "Boolean");
+        boxed("java.lang.Byte", "Int8");
+        boxed("java.lang.Short", "Int16");
+        boxed("java.lang.Integer", "Int32");
+        boxed("java.lang.Long", "Int64");
+        boxed("java.lang.Float", "Float32");
+        boxed("java.lang.Double", "Float64");
+        TYPES.put("java.lang.Character", new FieldCodec("NullableInt16", "Int16", "java.lang.Character", false,
+                RANK_VARIABLE_SIZE, Conversion.CHARACTER, null));
+
+        object("java.lang.String", "String");
+        object("java.math.BigDecimal", "Decimal");
+        object("java.time.LocalTime", "Time");
+        object("java.time.LocalDate", "Date");
+        object("java.time.LocalDateTime", "Timestamp");
+        object("java.time.OffsetDateTime", "TimestampWithTimezone");
+    }
+
+    private final String kind;
+    private final String otherKind;
+    private final String type;
+    private final boolean primitive;
+    private final int rank;
+    private final Conversion conversion;
+    private final String componentType;
+
+    private FieldCodec(String kind, String otherKind, String type, boolean primitive, int rank, Conversion conversion,
+                       String componentType) {
+        this.kind = kind;
+        this.otherKind = otherKind;
+        this.type = type;
+        this.primitive = primitive;
+        this.rank = rank;
+        this.conversion = conversion;
+        this.componentType = componentType;
+    }
+
+    /**
+     * @return the codec of the given field type or {@code null} if the type
+     * isn't supported.
+     */
+    static FieldCodec of(TypeMirror type) {
+        TypeKind typeKind = type.getKind();
+        if (typeKind.isPrimitive()) {
+            return PRIMITIVES.get(typeKind);
+        }
+        if (typeKind == TypeKind.ARRAY) {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            if (componentType.getKind().isPrimitive()) {
+                return PRIMITIVE_ARRAYS.get(componentType.getKind());
+            }
+            TypeElement componentElement = asTypeElement(componentType);
+            if (componentElement == null) {
+                return null;
+            }
+            String componentName = componentElement.getQualifiedName().toString();
+            FieldCodec codec = TYPE_ARRAYS.get(componentName);
+            if (codec != null) {
+                return codec;
+            }
+            return isCompact(componentElement)
+                    ? new FieldCodec("ArrayOfCompact", null, componentName + "[]", false, RANK_VARIABLE_SIZE,
+                    Conversion.COMPACT_ARRAY, componentName)
+                    : null;
+        }
+        TypeElement element = asTypeElement(type);
+        if (element == null) {
+            return null;
+        }
+        String name = element.getQualifiedName().toString();
+        FieldCodec codec = TYPES.get(name);
+        if (codec != null) {
+            return codec;
+        }
+        if (element.getKind() == ElementKind.ENUM) {
+            return new FieldCodec("String", null, name, false, RANK_VARIABLE_SIZE, Conversion.ENUM, null);
+        }
+        return isCompact(element)
+                ? new FieldCodec("Compact", null, name, false, RANK_VARIABLE_SIZE, Conversion.COMPACT, null)
+                : null;
+    }
+
+    /**
+     * @return the source name of the type of the field.
+     */
+    String type() {
+        return type;
+    }
+
+    boolean isPrimitive() {
+        return primitive;
+    }
+
+    int rank() {
+        return rank;
+    }
+
+    /**
+     * @return the {@code FieldKind} constants the field may be written with.
+     */
+    String[] fieldKinds() {
+        return otherKind == null
+                ? new String[]{fieldKindConstant(kind)}
+                : new String[]{fieldKindConstant(kind), fieldKindConstant(otherKind)};
+    }
+
+    /**
+     * @return the helper methods of the generated serializer the field needs.
+     */
+    Helper[] helpers() {
+        switch (conversion) {
+            case CHARACTER:
+                return new Helper[]{Helper.CHARACTER};
+            case ENUM:
+                return new Helper[]{Helper.ENUM};
+            default:
+                return new Helper[0];
+        }
+    }
+
+    /**
+     * @return the statement writing the given value of the field.
+     */
+    String write(String fieldName, String value) {
+        String written;
+        switch (conversion) {
+            case CHAR:
+                written = "(short) " + value;
+                break;
+            case CHARACTER:
+                written = "characterAsShort(" + value + ")";
+                break;
+            case ENUM:
+                written = "enumAsName(" + value + ")";
+                break;
+            default:
+                written = value;
+                break;
+        }
+        return "writer.write" + kind + "(\"" + fieldName + "\", " + written + ");";
+    }
+
+    /**
+     * @return the expression reading the field.
+     */
+    String read(String fieldName) {
+        String name = "\"" + fieldName + "\"";
+        switch (conversion) {
+            case CHAR:
+                return "(char) reader.read" + kind + "(" + name + ")";
+            case CHARACTER:
+                return "characterFromShort(reader.read" + kind + "(" + name + "))";
+            case ENUM:
+                return "enumFromName(" + type + ".class, reader.read" + kind + "(" + name + "))";
+            case COMPACT:
+                return "reader.<" + type + ">readCompact(" + name + ")";
+            case COMPACT_ARRAY:
+                return "reader.readArrayOfCompact(" + name + ", " + componentType + ".class)";
+            default:
+                return "reader.read" + kind + "(" + name + ")";
+        }
+    }
+
+    /**
+     * @return the value of the field when it's missing from the schema.
+     */
+    String defaultValue() {
+        if (!primitive) {
+            return "null";
+        }
+        return "Boolean".equals(kind) ? "false" : "0";
+    }
+
+    /**
+     * Converts a method suffix of the readers and writers to the name of
+     * the corresponding {@code FieldKind}, e.g. {@code ArrayOfNullableInt32}
+     * to {@code ARRAY_OF_NULLABLE_INT32}.
+     */
+    static String fieldKindConstant(String kind) {
+        StringBuilder constant = new StringBuilder("com.hazelcast.nio.serialization.FieldKind.");
+        for (int i = 0; i < kind.length(); i++) {
+            char c = kind.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(kind.charAt(i - 1))) {
+                constant.append('_');
+            }
+            constant.append(Character.toUpperCase(c));
+        }
+        return constant.toString();
+    }
+
+    private static void primitive(TypeKind typeKind, String kind, int rank) {
+        String type = typeKind.name().toLowerCase(Locale.ROOT);
+        PRIMITIVES.put(typeKind, new FieldCodec(kind, "Nullable" + kind, type, true, rank, Conversion.NONE, null));
+        PRIMITIVE_ARRAYS.put(typeKind, new FieldCodec("ArrayOf" + kind, "ArrayOfNullable" + kind, type + "[]", false,
+                RANK_VARIABLE_SIZE, Conversion.NONE, null));
+    }
+
+    private static void boxed(String type, String kind) {
+        TYPES.put(type, new FieldCodec("Nullable" + kind, kind, type, false, RANK_VARIABLE_SIZE, Conversion.NONE, null));
+        TYPE_ARRAYS.put(type, new FieldCodec("ArrayOfNullable" + kind, "ArrayOf" + kind, type + "[]", false,
+                RANK_VARIABLE_SIZE, Conversion.NONE, null));
+    }
+
+    private static void object(String type, String kind) {
+        TYPES.put(type, new FieldCodec(kind, null, type, false, RANK_VARIABLE_SIZE, Conversion.NONE, null));
+        TYPE_ARRAYS.put(type, new FieldCodec("ArrayOf" + kind, null, type + "[]", false, RANK_VARIABLE_SIZE,
+                Conversion.NONE, null));
+    }
+
+    private static TypeElement asTypeElement(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        // the generic nested types can't be read without unchecked casts
+        if (!declaredType.getTypeArguments().isEmpty()) {
+            return null;
+        }
+        return (TypeElement) declaredType.asElement();
+    }
+
+    /**
+     * Returns whether the given type may be serialized as a nested Compact
+     * object: a class or a record outside the JDK. Whether it's actually
+     * serializable is checked when it's serialized, as for the reflective
+     * serializer.
+     */
+    private static boolean isCompact(TypeElement element) {
+        String kind = element.getKind().name();
+        if (!kind.equals(ElementKind.CLASS.name()) && !kind.equals("RECORD")) {
+            return false;
+        }
+        String name = element.getQualifiedName().toString();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    /**
+     * The conversions between the values of the fields and the values
+     * written to the Compact format.
+     */
+    private enum Conversion {
+        NONE,
+        CHAR,
+        CHARACTER,
+        ENUM,
+        COMPACT,
+        COMPACT_ARRAY
+    }
+
+    /**
+     * The helper methods the generated serializer declares for the
+     * conversions.
+     */
+    enum Helper {
+        CHARACTER,
+        ENUM
+    }
+}
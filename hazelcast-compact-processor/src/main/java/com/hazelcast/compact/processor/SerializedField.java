@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.compact.processor;
+
+/**
+ * A field of a class or a record serialized by a generated serializer,
+ * together with the expressions accessing it.
+ */
+final class SerializedField {
+
+    private final String name;
+    private final FieldCodec codec;
+    private final String getter;
+    private final String setter;
+
+    /**
+     * @param getter the expression reading the field of {@code object}.
+     * @param setter the method setting the field of {@code object} or
+     *               {@code null} if the field is assigned directly or set
+     *               through the constructor.
+     */
+    SerializedField(String name, FieldCodec codec, String getter, String setter) {
+        this.name = name;
+        this.codec = codec;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    String name() {
+        return name;
+    }
+
+    FieldCodec codec() {
+        return codec;
+    }
+
+    /**
+     * @return the expression reading the field of {@code object}.
+     */
+    String get() {
+        return getter;
+    }
+
+    /**
+     * @return the statement setting the field of {@code object} to the
+     * given value.
+     */
+    String set(String value) {
+        return setter == null ? "object." + name + " = " + value + ";" : "object." + setter + "(" + value + ");";
+    }
+}
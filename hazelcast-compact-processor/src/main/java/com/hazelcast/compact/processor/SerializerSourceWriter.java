@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.compact.processor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the source of the Compact serializer of a class or a record.
+ * <p>
+ * The serializer writes the fields in the order they are laid out in the
+ * schema and reads them like the reflective serializer does: a field
+ * missing from the schema of the data, or written with an incompatible
+ * kind, is set to {@code null}, left intact if it's primitive, or passed
+ * to the constructor of a record as the default value of its type. All the
+ * types are referred to by their qualified names, so that the generated
+ * source can't clash with the names used in the package.
+ */
+final class SerializerSourceWriter {
+
+    private static final String READER = "com.hazelcast.nio.serialization.compact.CompactReader";
+    private static final String WRITER = "com.hazelcast.nio.serialization.compact.CompactWriter";
+    private static final String SERIALIZER = "com.hazelcast.nio.serialization.compact.CompactSerializer";
+    private static final String FIELD_KIND = "com.hazelcast.nio.serialization.FieldKind";
+
+    private final StringBuilder source = new StringBuilder();
+    private final String packageName;
+    private final String serializerName;
+    private final String className;
+    private final String typeName;
+    private final boolean record;
+    private final List<SerializedField> fields;
+
+    /**
+     * @param className the source name of the serialized class.
+     * @param typeName  the Compact type name, the binary name of the class.
+     * @param record    whether the class is a record to create through its
+     *                  canonical constructor, with the fields in its order.
+     */
+    SerializerSourceWriter(String packageName, String serializerName, String className, String typeName,
+                           boolean record, List<SerializedField> fields) {
+        this.packageName = packageName;
+        this.serializerName = serializerName;
+        this.className = className;
+        this.typeName = typeName;
+        this.record = record;
+        this.fields = fields;
+    }
+
+    String write() {
+        line(0, "// Generated by " + CompactSerializerProcessor.class.getName() + ", do not edit.");
+        if (!packageName.isEmpty()) {
+            line(0, "package " + packageName + ";");
+            line(0, "");
+        }
+        line(0, "/**");
+        line(0, " * The Compact serializer of {@link " + className + "}, generated at compile time.");
+        line(0, " */");
+        line(0, "public final class " + serializerName + " implements " + SERIALIZER + "<" + className + "> {");
+        line(0, "");
+        writeRead();
+        line(0, "");
+        writeWrite();
+        line(0, "");
+        line(1, "@java.lang.Override");
+        line(1, "public java.lang.String getTypeName() {");
+        line(2, "return \"" + typeName + "\";");
+        line(1, "}");
+        line(0, "");
+        line(1, "@java.lang.Override");
+        line(1, "public java.lang.Class<" + className + "> getCompactClass() {");
+        line(2, "return " + className + ".class;");
+        line(1, "}");
+        writeHelpers();
+        line(0, "}");
+        return source.toString();
+    }
+
+    private void writeRead() {
+        line(1, "@java.lang.Override");
+        line(1, "public " + className + " read(" + READER + " reader) {");
+        if (record) {
+            List<String> values = new ArrayList<>();
+            for (SerializedField field : fields) {
+                FieldCodec codec = field.codec();
+                String value = "value" + values.size();
+                line(2, codec.type() + " " + value + " = " + exists(field) + " ? " + codec.read(field.name())
+                        + " : " + codec.defaultValue() + ";");
+                values.add(value);
+            }
+            line(2, "return new " + className + "(" + String.join(", ", values) + ");");
+        } else {
+            line(2, className + " object = new " + className + "();");
+            for (SerializedField field : fields) {
+                FieldCodec codec = field.codec();
+                if (codec.isPrimitive()) {
+                    line(2, "if (" + exists(field) + ") {");
+                    line(3, field.set(codec.read(field.name())));
+                    line(2, "}");
+                } else {
+                    line(2, field.set(exists(field) + " ? " + codec.read(field.name()) + " : null"));
+                }
+            }
+            line(2, "return object;");
+        }
+        line(1, "}");
+    }
+
+    private void writeWrite() {
+        List<SerializedField> schemaOrder = new ArrayList<>(fields);
+        // the sort is stable, the fields of the same rank stay sorted by name
+        schemaOrder.sort(Comparator.comparing(SerializedField::name));
+        schemaOrder.sort(Comparator.comparingInt(field -> field.codec().rank()));
+
+        line(1, "@java.lang.Override");
+        line(1, "public void write(" + WRITER + " writer, " + className + " object) {");
+        for (SerializedField field : schemaOrder) {
+            line(2, field.codec().write(field.name(), field.get()));
+        }
+        line(1, "}");
+    }
+
+    private void writeHelpers() {
+        line(0, "");
+        line(1, "private static boolean exists(" + READER + " reader, java.lang.String fieldName, " + FIELD_KIND + " kind) {");
+        line(2, "return reader.getFieldKind(fieldName) == kind;");
+        line(1, "}");
+        line(0, "");
+        line(1, "private static boolean exists(" + READER + " reader, java.lang.String fieldName, " + FIELD_KIND + " kind,");
+        line(1, "                              " + FIELD_KIND + " otherKind) {");
+        line(2, FIELD_KIND + " fieldKind = reader.getFieldKind(fieldName);");
+        line(2, "return fieldKind == kind || fieldKind == otherKind;");
+        line(1, "}");
+
+        Set<FieldCodec.Helper> helpers = EnumSet.noneOf(FieldCodec.Helper.class);
+        for (SerializedField field : fields) {
+            for (FieldCodec.Helper helper : field.codec().helpers()) {
+                helpers.add(helper);
+            }
+        }
+        if (helpers.contains(FieldCodec.Helper.CHARACTER)) {
+            line(0, "");
+            line(1, "private static java.lang.Short characterAsShort(java.lang.Character value) {");
+            line(2, "return value == null ? null : (short) value.charValue();");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static java.lang.Character characterFromShort(java.lang.Short value) {");
+            line(2, "return value == null ? null : (char) value.shortValue();");
+            line(1, "}");
+        }
+        if (helpers.contains(FieldCodec.Helper.ENUM)) {
+            line(0, "");
+            line(1, "private static java.lang.String enumAsName(java.lang.Enum<?> value) {");
+            line(2, "return value == null ? null : value.name();");
+            line(1, "}");
+            line(0, "");
+            line(1, "private static <E extends java.lang.Enum<E>> E enumFromName(java.lang.Class<E> type,");
+            line(1, "                                                            java.lang.String name) {");
+            line(2, "return name == null ? null : java.lang.Enum.valueOf(type, name);");
+            line(1, "}");
+        }
+    }
+
+    private static String exists(SerializedField field) {
+        String[] kinds = field.codec().fieldKinds();
+        return "exists(reader, \"" + field.name() + "\", " + String.join(", ", kinds) + ")";
+    }
+
+    private void line(int indent, String line) {
+        for (int i = 0; i < indent; i++) {
+            source.append("    ");
+        }
+        source.append(line).append('\n');
+    }
+}
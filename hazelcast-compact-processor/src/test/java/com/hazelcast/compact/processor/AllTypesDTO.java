@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.compact.processor;
+
+import com.hazelcast.nio.serialization.compact.GenerateCompactSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+@GenerateCompactSerializer
+@SuppressWarnings("checkstyle:VisibilityModifier")
+public class AllTypesDTO extends BaseDTO {
+
+    static final int UNSERIALIZED_STATIC = 1;
+
+    boolean aBoolean;
+    byte aByte;
+    short aShort;
+    char aChar;
+    int anInt;
+    long aLong;
+    float aFloat;
+    double aDouble;
+    Boolean nullableBoolean;
+    Byte nullableByte;
+    Short nullableShort;
+    Character nullableChar;
+    Integer nullableInt;
+    Long nullableLong;
+    Float nullableFloat;
+    Double nullableDouble;
+    String string;
+    BigDecimal decimal;
+    LocalTime time;
+    LocalDate date;
+    LocalDateTime timestamp;
+    OffsetDateTime timestampWithTimezone;
+    boolean[] booleans;
+    byte[] bytes;
+    short[] shorts;
+    int[] ints;
+    long[] longs;
+    float[] floats;
+    double[] doubles;
+    Integer[] nullableInts;
+    String[] strings;
+    LocalDate[] dates;
+    Status status;
+    NestedDTO nested;
+    NestedDTO[] nestedArray;
+    transient boolean setThroughSetter;
+    private int secret;
+
+    public AllTypesDTO() {
+    }
+
+    static AllTypesDTO create() {
+        AllTypesDTO object = new AllTypesDTO();
+        object.id = 42;
+        object.setOwner("owner");
+        object.aBoolean = true;
+        object.aByte = -1;
+        object.aShort = Short.MIN_VALUE;
+        object.aChar = '\u1256';
+        object.anInt = Integer.MAX_VALUE;
+        object.aLong = Long.MIN_VALUE;
+        object.aFloat = 1.5f;
+        object.aDouble = -2.25;
+        object.nullableBoolean = false;
+        object.nullableByte = 7;
+        object.nullableShort = null;
+        object.nullableChar = 'x';
+        object.nullableInt = 123;
+        object.nullableLong = -123L;
+        object.nullableFloat = null;
+        object.nullableDouble = 0.5;
+        object.string = "string";
+        object.decimal = new BigDecimal("12345.6789");
+        object.time = LocalTime.of(12, 30, 15);
+        object.date = LocalDate.of(2022, 3, 4);
+        object.timestamp = LocalDateTime.of(2022, 3, 4, 12, 30);
+        object.timestampWithTimezone = OffsetDateTime.of(object.timestamp, ZoneOffset.ofHours(3));
+        object.booleans = new boolean[]{true, false};
+        object.bytes = new byte[]{1, 2, 3};
+        object.shorts = new short[]{-1};
+        object.ints = new int[]{1, 2};
+        object.longs = new long[0];
+        object.floats = new float[]{0.25f};
+        object.doubles = null;
+        object.nullableInts = new Integer[]{1, null, 3};
+        object.strings = new String[]{"a", null};
+        object.dates = new LocalDate[]{object.date};
+        object.status = Status.ACTIVE;
+        object.nested = new NestedDTO("nested", 1);
+        object.nestedArray = new NestedDTO[]{new NestedDTO("first", 2), null};
+        object.secret = 99;
+        return object;
+    }
+
+    public int getSecret() {
+        return secret;
+    }
+
+    public void setSecret(int secret) {
+        this.secret = secret;
+        this.setThroughSetter = true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Arrays.deepEquals(values(), ((AllTypesDTO) o).values());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(values());
+    }
+
+    @Override
+    public String toString() {
+        return "AllTypesDTO" + Arrays.deepToString(values());
+    }
+
+    private Object[] values() {
+        return new Object[]{
+                id, getOwner(), aBoolean, aByte, aShort, aChar, anInt, aLong, aFloat, aDouble,
+                nullableBoolean, nullableByte, nullableShort, nullableChar, nullableInt, nullableLong, nullableFloat,
+                nullableDouble, string, decimal, time, date, timestamp, timestampWithTimezone,
+                booleans, bytes, shorts, ints, longs, floats, doubles, nullableInts, strings, dates,
+                status, nested, nestedArray, secret,
+        };
+    }
+
+    enum Status {
+        ACTIVE,
+        INACTIVE
+    }
+
+    @GenerateCompactSerializer
+    static class NestedDTO {
+
+        String name;
+        int value;
+
+        NestedDTO() {
+        }
+
+        NestedDTO(String name, int value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            NestedDTO that = (NestedDTO) o;
+            return value == that.value && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + value;
+        }
+    }
+}
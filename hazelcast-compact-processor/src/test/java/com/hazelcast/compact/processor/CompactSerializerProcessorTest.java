@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.compact.processor;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestUtil;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactSerializerProcessorTest {
+
+    private SchemaService schemaService;
+    private SerializationService serializationService;
+
+    @Before
+    public void setUp() {
+        schemaService = CompactTestUtil.createInMemorySchemaService();
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(schemaService)
+                .setConfig(new SerializationConfig())
+                .build();
+    }
+
+    @Test
+    public void serializersAreGenerated() throws Exception {
+        assertGenerated(AllTypesDTO.class, "com.hazelcast.compact.processor.AllTypesDTO_CompactSerializer");
+        assertGenerated(AllTypesDTO.NestedDTO.class,
+                "com.hazelcast.compact.processor.AllTypesDTO_NestedDTO_CompactSerializer");
+    }
+
+    @Test
+    public void roundTrip() {
+        AllTypesDTO object = AllTypesDTO.create();
+
+        AllTypesDTO deserialized = serializationService.toObject(serializationService.toData(object));
+
+        assertEquals(object, deserialized);
+        // the reflective serializer would have set the private field directly
+        assertTrue(deserialized.setThroughSetter);
+    }
+
+    @Test
+    public void roundTrip_whenFieldsAreNull() {
+        AllTypesDTO object = new AllTypesDTO();
+
+        assertEquals(object, serializationService.toObject(serializationService.toData(object)));
+    }
+
+    @Test
+    public void writesSameSchemaAsReflectiveSerializer() {
+        Schema expected = CompactTestUtil.getSchemasFor(AllTypesDTO.class).iterator().next();
+
+        serializationService.toData(AllTypesDTO.create());
+
+        assertEquals(expected, schemaService.get(expected.getSchemaId()));
+    }
+
+    @Test
+    public void read_whenFieldsAreMissingOrOfCompatibleKind() {
+        GenericRecord record = compact(AllTypesDTO.class.getName())
+                .setNullableInt32("anInt", 5)
+                .setInt32("nullableInt", 6)
+                .setString("string", "string")
+                .setInt64("status", 1)
+                .build();
+        Data data = serializationService.toData(record);
+
+        AllTypesDTO object = serializationService.toObject(data);
+
+        assertEquals(5, object.anInt);
+        assertEquals(Integer.valueOf(6), object.nullableInt);
+        assertEquals("string", object.string);
+        // a field of another kind is treated as missing
+        assertNull(object.status);
+        assertNull(object.nested);
+        assertFalse(object.setThroughSetter);
+    }
+
+    private static void assertGenerated(Class<?> clazz, String serializerClassName) throws Exception {
+        CompactSerializer<?> serializer = (CompactSerializer<?>) Class.forName(serializerClassName)
+                .getDeclaredConstructor().newInstance();
+        assertEquals(clazz, serializer.getCompactClass());
+        assertEquals(clazz.getName(), serializer.getTypeName());
+    }
+}
@@ -19,7 +19,9 @@ package com.hazelcast.aggregation.impl;
 import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.internal.json.NonTerminalJsonValue;
 import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.util.List;
 import java.util.Map;
@@ -55,6 +57,14 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
         this.attributePath = attributePath;
     }
 
+    /**
+     * @return the path of the attribute the aggregator accumulates or
+     * {@code null} if it accumulates the entry values.
+     */
+    public String getAttributePath() {
+        return attributePath;
+    }
+
     @Override
     public final void accumulate(I entry) {
 
@@ -75,11 +85,24 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
                 }
                 accumulateExtracted(entry, results.get(i));
             }
-        } else if (extractedValue != NonTerminalJsonValue.INSTANCE) {
+        } else if (extractedValue != NonTerminalJsonValue.INSTANCE && extractedValue != PrimitiveAccumulator.ACCUMULATED) {
             accumulateExtracted(entry, extractedValue);
         }
     }
 
+    /**
+     * Tells whether the aggregator may keep a reference to an accumulated
+     * entry after {@link #accumulate} returns. Aggregators which don't keep
+     * the entries let the query engine reuse a single entry object for all
+     * the entries of a partition.
+     *
+     * @return {@code true} if the accumulated entries may be retained,
+     * {@code false} otherwise.
+     */
+    public boolean retainsEntries() {
+        return true;
+    }
+
     /**
      * Extract the value of the given attributePath from the given entry.
      */
@@ -89,6 +112,9 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
             if (input instanceof Map.Entry) {
                 return (T) ((Map.Entry) input).getValue();
             }
+        } else if (input instanceof QueryableEntry && this instanceof PrimitiveAccumulator) {
+            // numeric primitive values are passed to the aggregator without boxing them
+            return (T) ((QueryableEntry) input).getAttributeValue(attributePath, (PrimitiveAccumulator) this);
         } else if (input instanceof Extractable) {
             return (T) ((Extractable) input).getAttributeValue(attributePath);
         }
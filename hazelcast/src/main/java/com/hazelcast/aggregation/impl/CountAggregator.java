@@ -20,11 +20,13 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
-public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long> implements IdentifiedDataSerializable {
+public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
     private long count;
 
     public CountAggregator() {
@@ -40,6 +42,29 @@ public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long
         count++;
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        count++;
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        count++;
+    }
+
+    /**
+     * Accumulates the given number of entries at once, like the same number
+     * of calls to {@link #accumulate}.
+     */
+    public void accumulateCount(long count) {
+        this.count += count;
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         CountAggregator countAggregator = (CountAggregator) aggregator;
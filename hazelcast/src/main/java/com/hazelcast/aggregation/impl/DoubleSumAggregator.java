@@ -21,12 +21,13 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Numbers;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
 public final class DoubleSumAggregator<I> extends AbstractAggregator<I, Number, Double>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private double sum;
 
@@ -43,6 +44,27 @@ public final class DoubleSumAggregator<I> extends AbstractAggregator<I, Number,
         sum += Numbers.asDoubleExactly(value);
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        double doubleValue = value;
+        if ((long) doubleValue == value) {
+            sum += doubleValue;
+        } else {
+            // fails the same way as the boxed value
+            accumulateExtracted(null, value);
+        }
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        sum += value;
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         DoubleSumAggregator longSumAggregator = (DoubleSumAggregator) aggregator;
@@ -20,11 +20,13 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
-public final class FixedSumAggregator<I> extends AbstractAggregator<I, Number, Long> implements IdentifiedDataSerializable {
+public final class FixedSumAggregator<I> extends AbstractAggregator<I, Number, Long>
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private long sum;
 
@@ -41,6 +43,21 @@ public final class FixedSumAggregator<I> extends AbstractAggregator<I, Number, L
         sum += value.longValue();
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        sum += value;
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        sum += (long) value;
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         FixedSumAggregator longSumAggregator = (FixedSumAggregator) aggregator;
@@ -20,12 +20,13 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
 public final class FloatingPointSumAggregator<I> extends AbstractAggregator<I, Number, Double>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private double sum;
 
@@ -42,6 +43,21 @@ public final class FloatingPointSumAggregator<I> extends AbstractAggregator<I, N
         sum += value.doubleValue();
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        sum += value;
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        sum += value;
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         FloatingPointSumAggregator longSumAggregator = (FloatingPointSumAggregator) aggregator;
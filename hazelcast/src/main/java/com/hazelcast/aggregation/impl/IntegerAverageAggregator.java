@@ -21,12 +21,13 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Numbers;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
 public final class IntegerAverageAggregator<I> extends AbstractAggregator<I, Number, Double>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private long sum;
 
@@ -46,6 +47,35 @@ public final class IntegerAverageAggregator<I> extends AbstractAggregator<I, Num
         sum += Numbers.asIntExactly(value);
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        int intValue = (int) value;
+        if (intValue == value) {
+            count++;
+            sum += intValue;
+        } else {
+            // fails the same way as the boxed value
+            accumulateExtracted(null, value);
+        }
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        int intValue = (int) value;
+        if (Numbers.equalDoubles(value, intValue)) {
+            count++;
+            sum += intValue;
+        } else {
+            // fails the same way as the boxed value
+            accumulateExtracted(null, value);
+        }
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         IntegerAverageAggregator integerAverageAggregator = (IntegerAverageAggregator) aggregator;
@@ -21,12 +21,13 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Numbers;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
 public final class IntegerSumAggregator<I> extends AbstractAggregator<I, Number, Long>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private long sum;
 
@@ -43,6 +44,33 @@ public final class IntegerSumAggregator<I> extends AbstractAggregator<I, Number,
         sum += Numbers.asIntExactly(value);
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        int intValue = (int) value;
+        if (intValue == value) {
+            sum += intValue;
+        } else {
+            // fails the same way as the boxed value
+            accumulateExtracted(null, value);
+        }
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        int intValue = (int) value;
+        if (Numbers.equalDoubles(value, intValue)) {
+            sum += intValue;
+        } else {
+            // fails the same way as the boxed value
+            accumulateExtracted(null, value);
+        }
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         IntegerSumAggregator integerSumAggregator = (IntegerSumAggregator) aggregator;
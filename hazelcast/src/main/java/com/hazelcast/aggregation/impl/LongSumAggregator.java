@@ -21,11 +21,13 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Numbers;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
-public final class LongSumAggregator<I> extends AbstractAggregator<I, Number, Long> implements IdentifiedDataSerializable {
+public final class LongSumAggregator<I> extends AbstractAggregator<I, Number, Long>
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private long sum;
 
@@ -42,6 +44,27 @@ public final class LongSumAggregator<I> extends AbstractAggregator<I, Number, Lo
         sum += Numbers.asLongExactly(value);
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        sum += value;
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        long longValue = (long) value;
+        if (Numbers.equalDoubles(value, longValue)) {
+            sum += longValue;
+        } else {
+            // fails the same way as the boxed value
+            accumulateExtracted(null, value);
+        }
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         LongSumAggregator longSumAggregator = (LongSumAggregator) aggregator;
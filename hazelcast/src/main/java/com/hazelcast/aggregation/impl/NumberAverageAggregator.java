@@ -20,12 +20,13 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 
 import java.io.IOException;
 import java.util.Objects;
 
 public final class NumberAverageAggregator<I> extends AbstractAggregator<I, Number, Double>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, PrimitiveAccumulator {
 
     private double sum;
 
@@ -45,6 +46,23 @@ public final class NumberAverageAggregator<I> extends AbstractAggregator<I, Numb
         sum += value.doubleValue();
     }
 
+    @Override
+    public void accumulateLong(long value) {
+        count++;
+        sum += value;
+    }
+
+    @Override
+    public void accumulateDouble(double value) {
+        count++;
+        sum += value;
+    }
+
+    @Override
+    public boolean retainsEntries() {
+        return false;
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         NumberAverageAggregator doubleAverageAggregator = (NumberAverageAggregator) aggregator;
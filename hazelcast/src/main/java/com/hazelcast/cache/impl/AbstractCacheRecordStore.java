@@ -40,6 +40,7 @@ import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider;
 import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.iteration.IterationPointer;
@@ -134,6 +135,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected final ClearExpiredRecordsTask clearExpiredRecordsTask;
     protected final SamplingEvictionStrategy<Data, R, CRM> evictionStrategy;
     protected final EvictionPolicyEvaluator<Data, R> evictionPolicyEvaluator;
+    protected final TinyLfuEvictionPolicyComparator tinyLfuComparator;
     protected final Map<CacheEventType, Set<CacheEventData>> batchEvent = new HashMap<CacheEventType, Set<CacheEventData>>();
     protected final CompositeCacheRSMutationObserver compositeCacheRSMutationObserver;
 
@@ -175,6 +177,8 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         EvictionPolicyComparator evictionPolicyComparator = createEvictionPolicyComparator(evictionConfig);
         evictionPolicyComparator = injectDependencies(evictionPolicyComparator);
         this.evictionPolicyEvaluator = new EvictionPolicyEvaluator<>(evictionPolicyComparator);
+        this.tinyLfuComparator = evictionPolicyComparator instanceof TinyLfuEvictionPolicyComparator
+                ? (TinyLfuEvictionPolicyComparator) evictionPolicyComparator : null;
         this.cacheContext = cacheService.getOrCreateCacheContext(cacheNameWithPrefix);
         this.records = createRecordCacheMap();
         this.evictionChecker = createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaxSizePolicy());
@@ -625,6 +629,9 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
         record.setLastAccessTime(now);
         record.incrementHits();
+        if (tinyLfuComparator != null) {
+            tinyLfuComparator.recordAccess(key);
+        }
         return updateAccessDuration(key, record, expiryPolicy, now);
     }
 
@@ -1153,6 +1160,12 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected R doPutRecord(Data key, R record, UUID source, boolean updateJournal) {
         markExpirable(record.getExpirationTime());
         R oldRecord = records.put(key, record);
+        if (tinyLfuComparator != null) {
+            if (oldRecord == null) {
+                tinyLfuComparator.ensureCapacity(records.size());
+            }
+            tinyLfuComparator.recordAccess(key);
+        }
         if (updateJournal) {
             if (oldRecord != null) {
                 compositeCacheRSMutationObserver.onUpdate(
@@ -109,6 +109,7 @@ import static com.hazelcast.client.impl.management.ManagementCenterService.MC_CL
 import static com.hazelcast.client.impl.protocol.AuthenticationStatus.NOT_ALLOWED_IN_CLUSTER;
 import static com.hazelcast.client.properties.ClientProperty.HEARTBEAT_TIMEOUT;
 import static com.hazelcast.client.properties.ClientProperty.IO_BALANCER_INTERVAL_SECONDS;
+import static com.hazelcast.client.properties.ClientProperty.IO_GATHERING_WRITE_ENABLED;
 import static com.hazelcast.client.properties.ClientProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_OUTPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
@@ -301,6 +302,7 @@ public class TcpClientConnectionManager implements ClientConnectionManager, Memb
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.client.io.output.thread.affinity"))
                         .balancerIntervalSeconds(properties.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(properties.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .gatheringWriteEnabled(properties.getBoolean(IO_GATHERING_WRITE_ENABLED))
                         .concurrencyDetection(client.getConcurrencyDetection())
         );
     }
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.impl.protocol;
 
+import com.hazelcast.internal.networking.GatheringWriteBuffer;
 import com.hazelcast.internal.nio.Bits;
 
 import java.nio.ByteBuffer;
@@ -57,15 +58,7 @@ public class ClientMessageWriter {
         //if write offset is -1 put the length and flags byte first
         if (writeOffset == -1) {
             if (bytesWritable >= SIZE_OF_FRAME_LENGTH_AND_FLAGS) {
-                Bits.writeIntL(dst, dst.position(), frameContentLength + SIZE_OF_FRAME_LENGTH_AND_FLAGS);
-                upcast(dst).position(dst.position() + Bits.INT_SIZE_IN_BYTES);
-
-                if (isLastFrame) {
-                    Bits.writeShortL(dst, dst.position(), (short) (frame.flags | IS_FINAL_FLAG));
-                } else {
-                    Bits.writeShortL(dst, dst.position(), (short) frame.flags);
-                }
-                upcast(dst).position(dst.position() + Bits.SHORT_SIZE_IN_BYTES);
+                writeFrameHeader(dst, frame, isLastFrame);
                 writeOffset = 0;
             } else {
                 return false;
@@ -97,4 +90,37 @@ public class ClientMessageWriter {
 
         return done;
     }
+
+    /**
+     * Gathers a single frame of a message into the given buffer: the header is
+     * copied into the coalescing buffer and the content is added by reference.
+     * The buffer must have room for at least
+     * {@link ClientMessage#SIZE_OF_FRAME_LENGTH_AND_FLAGS} bytes.
+     *
+     * @return the next frame of the message or {@code null} if the given frame
+     * was the last one
+     */
+    public static ClientMessage.Frame gatherFrame(GatheringWriteBuffer buffer, ClientMessage.Frame frame) {
+        ClientMessage.Frame next = frame.next;
+        writeFrameHeader(buffer.coalescingBuffer(), frame, next == null);
+        buffer.add(frame.content, 0, frame.content.length);
+        return next;
+    }
+
+    /**
+     * Writes the length and the flags of the frame to the given buffer, which
+     * must have at least {@link ClientMessage#SIZE_OF_FRAME_LENGTH_AND_FLAGS}
+     * bytes remaining. The header is followed by the content of the frame.
+     */
+    private static void writeFrameHeader(ByteBuffer dst, ClientMessage.Frame frame, boolean isLastFrame) {
+        Bits.writeIntL(dst, dst.position(), frame.content.length + SIZE_OF_FRAME_LENGTH_AND_FLAGS);
+        upcast(dst).position(dst.position() + Bits.INT_SIZE_IN_BYTES);
+
+        if (isLastFrame) {
+            Bits.writeShortL(dst, dst.position(), (short) (frame.flags | IS_FINAL_FLAG));
+        } else {
+            Bits.writeShortL(dst, dst.position(), (short) frame.flags);
+        }
+        upcast(dst).position(dst.position() + Bits.SHORT_SIZE_IN_BYTES);
+    }
 }
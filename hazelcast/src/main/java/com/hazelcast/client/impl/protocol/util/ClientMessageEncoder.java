@@ -18,12 +18,15 @@ package com.hazelcast.client.impl.protocol.util;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
+import com.hazelcast.internal.networking.GatheringWriteBuffer;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundHandler;
 
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
 
+import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
@@ -32,9 +35,12 @@ import static com.hazelcast.internal.util.JVMUtil.upcast;
 /**
  * A {@link OutboundHandler} for the new-client. It writes ClientMessages to the ByteBuffer.
  */
-public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage>, ByteBuffer> {
+public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage>, ByteBuffer>
+        implements GatheringOutboundHandler {
 
     private ClientMessage message;
+    // the next frame to gather, a message can be spread over multiple batches
+    private ClientMessage.Frame frame;
     private final ClientMessageWriter clientMessageWriter = new ClientMessageWriter();
 
     @Override
@@ -68,4 +74,24 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
             upcast(dst).flip();
         }
     }
+
+    @Override
+    public HandlerStatus onGather(GatheringWriteBuffer buffer) {
+        for (; ; ) {
+            if (!buffer.hasRoom(SIZE_OF_FRAME_LENGTH_AND_FLAGS)) {
+                return DIRTY;
+            }
+
+            if (frame == null) {
+                ClientMessage next = src.get();
+                if (next == null) {
+                    // everything is gathered, so we are done
+                    return CLEAN;
+                }
+                frame = next.getStartFrame();
+            }
+
+            frame = ClientMessageWriter.gatherFrame(buffer, frame);
+        }
+    }
 }
@@ -158,6 +158,16 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", true);
 
+    /**
+     * Optimization that writes the queued messages to the socket with a single gathering write. The frame
+     * headers and the small frames are coalesced into the send buffer, the larger frames are written without
+     * being copied to the send buffer. It only applies to connections without TLS.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITE_ENABLED
+            = new HazelcastProperty("hazelcast.client.io.gathering.write", false);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
@@ -45,6 +45,7 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
 
     private MemoryTierConfig memoryTierConfig = new MemoryTierConfig();
 
+    private boolean onHeap;
 
     public BTreeIndexConfig() {
     }
@@ -52,6 +53,7 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
     public BTreeIndexConfig(BTreeIndexConfig other) {
         this.pageSize = other.pageSize;
         this.memoryTierConfig = other.memoryTierConfig == null ? null : new MemoryTierConfig(other.memoryTierConfig);
+        this.onHeap = other.onHeap;
     }
 
     /**
@@ -89,11 +91,44 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Returns whether a sorted index of a map with an on-heap in-memory
+     * format is stored in an on-heap B+Tree.
+     *
+     * @return {@code true} if the index is stored in an on-heap B+Tree,
+     * {@code false} if it is stored in skip lists
+     * @see #setOnHeap(boolean)
+     */
+    public boolean isOnHeap() {
+        return onHeap;
+    }
+
+    /**
+     * Sets whether a sorted index of a map with the {@code BINARY} or
+     * {@code OBJECT} in-memory format is stored in an on-heap B+Tree
+     * instead of skip lists. The B+Tree keeps the index values in wide
+     * nodes, in primitive arrays when all values are of the same
+     * {@code int}, {@code long}, {@code double} or timestamp type: it
+     * takes less memory and scans ranges faster, while the skip lists
+     * favour concurrent updates. The page size and memory tier settings
+     * do not apply to the on-heap B+Tree.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @param onHeap {@code true} to store the index in an on-heap B+Tree
+     * @return this configuration
+     */
+    public BTreeIndexConfig setOnHeap(boolean onHeap) {
+        this.onHeap = onHeap;
+        return this;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeLong(pageSize.getValue());
         out.writeString(pageSize.getUnit().name());
         out.writeObject(memoryTierConfig);
+        out.writeBoolean(onHeap);
     }
 
     @Override
@@ -102,6 +137,7 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
         MemoryUnit unit = MemoryUnit.valueOf(in.readString());
         pageSize = Capacity.of(size, unit);
         memoryTierConfig = in.readObject();
+        onHeap = in.readBoolean();
     }
 
     @Override
@@ -124,12 +160,13 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
         }
         BTreeIndexConfig that = (BTreeIndexConfig) o;
         return Objects.equals(getPageSize(), that.getPageSize())
-                && Objects.equals(getMemoryTierConfig(), that.getMemoryTierConfig());
+                && Objects.equals(getMemoryTierConfig(), that.getMemoryTierConfig())
+                && isOnHeap() == that.isOnHeap();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getPageSize(), getMemoryTierConfig());
+        return Objects.hash(getPageSize(), getMemoryTierConfig(), isOnHeap());
     }
 
     @Override
@@ -137,6 +174,7 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
         return "BTreeIndexConfig{"
                 + "pageSize=" + getPageSize()
                 + ", memoryTierConfig=" + getMemoryTierConfig()
+                + ", onHeap=" + isOnHeap()
                 + '}';
     }
 }
@@ -51,7 +51,23 @@ public enum CacheDeserializedValues {
      * Always cache de-serialized values
      *
      */
-    ALWAYS;
+    ALWAYS,
+
+    /**
+     * Cache de-serialized values of frequently accessed entries only,
+     * within a memory budget per partition. Values are cached as they
+     * are read by queries, indexes and read-only entry processors and
+     * dropped when the entry is updated or colder entries make room for
+     * hotter ones. The budget is set by the
+     * {@code hazelcast.map.adaptive.value.cache.size.bytes} property.
+     * <p>
+     * Unlike with the other options, {@link com.hazelcast.core.ReadOnly}
+     * entry processors are given the cached value, so they must not
+     * mutate the value they read.
+     *
+     * @since 5.2
+     */
+    ADAPTIVE;
 
     /**
      * Create instance from String
@@ -68,6 +84,8 @@ public enum CacheDeserializedValues {
             return INDEX_ONLY;
         } else if ("ALWAYS".equals(upperCase)) {
             return ALWAYS;
+        } else if ("ADAPTIVE".equals(upperCase)) {
+            return ADAPTIVE;
         } else {
             throw new IllegalArgumentException("Unknown CacheDeserializedValues option '" + string + "'. "
                     + "Possible options: " + Arrays.toString(CacheDeserializedValues.values()));
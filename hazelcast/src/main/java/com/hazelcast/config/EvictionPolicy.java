@@ -35,7 +35,16 @@ public enum EvictionPolicy {
     /**
      * Randomly
      */
-    RANDOM(3);
+    RANDOM(3),
+    /**
+     * Window TinyLFU: evicts the entry with the lowest access frequency,
+     * as estimated by a decaying frequency sketch that also remembers
+     * recently evicted keys, while protecting the most recently accessed
+     * entries from eviction.
+     *
+     * @since 5.2
+     */
+    TINY_LFU(4);
 
     private static final EvictionPolicy[] VALUES = values();
 
@@ -57,6 +57,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     /** Indexed attributes. */
     private List<String> attributes;
 
+    /** Attributes stored along with the index entries. */
+    private List<String> includedAttributes;
+
     private BitmapIndexOptions bitmapIndexOptions;
 
     private BTreeIndexConfig bTreeIndexConfig = new BTreeIndexConfig();
@@ -99,6 +102,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         for (String attribute : other.getAttributes()) {
             addAttributeInternal(attribute);
         }
+        if (!other.getIncludedAttributes().isEmpty()) {
+            this.includedAttributes = new ArrayList<>(other.getIncludedAttributes());
+        }
     }
 
     /**
@@ -200,6 +206,63 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         return this;
     }
 
+    /**
+     * Gets the attributes included into the index.
+     * <p>
+     * The values of the indexed and included attributes are extracted when an
+     * entry is indexed and stored along with the index entry, making the
+     * index a covering one: queries and projections reading only those
+     * attributes are answered from the index without deserializing the
+     * entry values.
+     *
+     * @return Included attributes.
+     */
+    public List<String> getIncludedAttributes() {
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        return includedAttributes;
+    }
+
+    /**
+     * Adds an attribute to be included into the index.
+     *
+     * @param attribute Attribute name.
+     * @return This instance for chaining.
+     * @see #getIncludedAttributes()
+     */
+    public IndexConfig addIncludedAttribute(String attribute) {
+        IndexUtils.validateAttribute(attribute);
+
+        if (includedAttributes == null) {
+            includedAttributes = new ArrayList<>();
+        }
+
+        includedAttributes.add(attribute);
+
+        return this;
+    }
+
+    /**
+     * Sets the attributes included into the index.
+     *
+     * @param includedAttributes Included attributes.
+     * @return This instance for chaining.
+     * @see #getIncludedAttributes()
+     */
+    public IndexConfig setIncludedAttributes(List<String> includedAttributes) {
+        checkNotNull(includedAttributes, "Included attributes cannot be null.");
+
+        this.includedAttributes = new ArrayList<>(includedAttributes.size());
+
+        for (String includedAttribute : includedAttributes) {
+            addIncludedAttribute(includedAttribute);
+        }
+
+        return this;
+    }
+
     /**
      * Provides access to index options specific to bitmap indexes.
      *
@@ -261,6 +324,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         // RU_COMPAT 5.1
         if (out.getVersion().isGreaterOrEqual(Versions.V5_2)) {
             out.writeObject(bTreeIndexConfig);
+            writeNullableList(includedAttributes, out);
         }
     }
 
@@ -274,6 +338,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
         // RU_COMPAT 5.1
         if (in.getVersion().isGreaterOrEqual(Versions.V5_2)) {
             bTreeIndexConfig = in.readObject();
+            includedAttributes = readNullableList(in);
         }
     }
 
@@ -305,6 +370,10 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
             return false;
         }
 
+        if (!getIncludedAttributes().equals(that.getIncludedAttributes())) {
+            return false;
+        }
+
         return getAttributes().equals(that.getAttributes());
     }
 
@@ -314,6 +383,7 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
 
         result = 31 * result + (type != null ? type.hashCode() : 0);
         result = 31 * result + getAttributes().hashCode();
+        result = 31 * result + getIncludedAttributes().hashCode();
         result = 31 * result + getBitmapIndexOptions().hashCode();
         result = 31 * result + getBTreeIndexConfig().hashCode();
 
@@ -323,6 +393,9 @@ public class IndexConfig implements IdentifiedDataSerializable, Versioned {
     @Override
     public String toString() {
         String string = "IndexConfig{name=" + name + ", type=" + type + ", attributes=" + getAttributes();
+        if (includedAttributes != null && !includedAttributes.isEmpty()) {
+            string += ", includedAttributes=" + includedAttributes;
+        }
         if (bitmapIndexOptions != null && !bitmapIndexOptions.areDefault()) {
             string += ", bitmapIndexOptions=" + bitmapIndexOptions;
         }
@@ -26,7 +26,7 @@ public enum IndexType {
     /** Hash index. Can be used with equality predicates. */
     HASH(1),
 
-    /** Bitmap index. Can be used with equality predicates. */
+    /** Bitmap index. Can be used with equality and range predicates. */
     BITMAP(2);
 
     private final int id;
@@ -60,6 +60,7 @@ public class MemberHandshake
 
     public static final String OPTION_PLANE_COUNT = "planeCount";
     public static final String OPTION_PLANE_INDEX = "planeIndex";
+    public static final String OPTION_COMPRESSION = "compression";
 
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
@@ -101,6 +102,14 @@ public class MemberHandshake
         return getIntOption(OPTION_PLANE_INDEX, 0);
     }
 
+    /**
+     * @return {@code true} if the sender compresses the packets sent to
+     * members which advertise compression too.
+     */
+    public boolean isCompressionEnabled() {
+        return getIntOption(OPTION_COMPRESSION, 0) == 1;
+    }
+
     byte getSchemaVersion() {
         return schemaVersion;
     }
@@ -37,4 +37,9 @@ public class BTreeIndexConfigReadOnly extends BTreeIndexConfig {
     public BTreeIndexConfigReadOnly setPageSize(Capacity pageSize) {
         throw new UnsupportedOperationException("This config is read-only");
     }
+
+    @Override
+    public BTreeIndexConfigReadOnly setOnHeap(boolean onHeap) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
 }
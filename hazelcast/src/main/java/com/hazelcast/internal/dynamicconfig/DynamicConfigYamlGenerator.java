@@ -1345,6 +1345,9 @@ public class DynamicConfigYamlGenerator {
             addNonNullToMap(indexConfigAsMap, "name", indexConfig.getName());
             addNonNullToMap(indexConfigAsMap, "type", indexConfig.getType().name());
             addNonNullToMap(indexConfigAsMap, "attributes", indexConfig.getAttributes());
+            if (!indexConfig.getIncludedAttributes().isEmpty()) {
+                indexConfigAsMap.put("included-attributes", indexConfig.getIncludedAttributes());
+            }
 
             if (indexConfig.getType() == IndexType.BITMAP) {
                 Map<String, Object> bitmapIndexOptionsAsMap = new LinkedHashMap<>();
@@ -1363,6 +1366,7 @@ public class DynamicConfigYamlGenerator {
                 addNonNullToMap(memoryTierAsMap, "capacity", getCapacityAsMap(bTreeConf.getMemoryTierConfig().getCapacity()));
 
                 addNonNullToMap(btreeOptionsAsMap, "memory-tier", memoryTierAsMap);
+                addNonNullToMap(btreeOptionsAsMap, "on-heap", bTreeConf.isOnHeap());
                 indexConfigAsMap.put("btree-index", btreeOptionsAsMap);
             }
 
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch estimating the access frequency of keys with 4-bit
+ * counters, as used by the TinyLFU admission policy.
+ * <p>
+ * Each {@code long} of the table holds 16 counters. A key is mapped to
+ * one counter in each of 4 table slots and its frequency is the minimum
+ * of these counters, saturating at {@value #MAX_FREQUENCY}. After a
+ * sample of {@code 10 * capacity} increments all counters are halved,
+ * so that keys which were popular in the past but are not accessed
+ * anymore lose their frequency over time.
+ * <p>
+ * Safe for concurrent use: counters are updated with CAS. Increments
+ * racing with a reset or a resize may be lost, which only makes the
+ * estimates slightly less precise.
+ * <p>
+ * Used by {@link TinyLfuEvictionPolicyComparator} and by the adaptive
+ * deserialized value cache of IMap record stores.
+ */
+public final class FrequencySketch {
+
+    public static final int MAX_FREQUENCY = 15;
+
+    static final int MIN_CAPACITY = 16;
+    static final int MAX_CAPACITY = 1 << 20;
+
+    private static final int SAMPLE_SIZE_MULTIPLIER = 10;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final long COUNTER_MASK = 0xFL;
+    private static final int SPREAD_MULTIPLIER = 0x45d9f3b;
+    private static final int HALF_INT_BITS = 16;
+    private static final int HALF_LONG_BITS = 32;
+    private static final int ONES_PER_HALVED_ADDITION = 4;
+
+    private volatile Table table;
+
+    public FrequencySketch() {
+        table = new Table(MIN_CAPACITY);
+    }
+
+    /**
+     * Grows the sketch to estimate the frequencies of {@code expectedSize}
+     * keys accurately. Growing discards all the collected frequencies.
+     *
+     * @return {@code true} if the sketch has grown, {@code false}
+     * if it was large enough already
+     */
+    public boolean ensureCapacity(int expectedSize) {
+        int capacity = nextPowerOfTwo(Math.min(Math.max(expectedSize, MIN_CAPACITY), MAX_CAPACITY));
+        if (capacity <= table.capacity()) {
+            return false;
+        }
+        table = new Table(capacity);
+        return true;
+    }
+
+    int capacity() {
+        return table.capacity();
+    }
+
+    /**
+     * @return the estimated number of times a key with the given
+     * hash was recorded, at most {@value #MAX_FREQUENCY}
+     */
+    public int frequency(int keyHash) {
+        Table table = this.table;
+        int hash = spread(keyHash);
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int offset = (start + i) << 2;
+            int count = (int) ((table.counters.get(table.indexOf(hash, i)) >>> offset) & COUNTER_MASK);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of a key with the given hash.
+     */
+    public void increment(int keyHash) {
+        Table table = this.table;
+        int hash = spread(keyHash);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= table.incrementAt(table.indexOf(hash, i), start + i);
+        }
+        if (added && table.additions.incrementAndGet() == table.sampleSize) {
+            table.reset();
+        }
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> HALF_INT_BITS) ^ x) * SPREAD_MULTIPLIER;
+        x = ((x >>> HALF_INT_BITS) ^ x) * SPREAD_MULTIPLIER;
+        return (x >>> HALF_INT_BITS) ^ x;
+    }
+
+    private static final class Table {
+
+        private final AtomicLongArray counters;
+        private final AtomicInteger additions = new AtomicInteger();
+        private final int mask;
+        private final int sampleSize;
+
+        Table(int capacity) {
+            this.counters = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.sampleSize = SAMPLE_SIZE_MULTIPLIER * capacity;
+        }
+
+        int capacity() {
+            return counters.length();
+        }
+
+        int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> HALF_LONG_BITS;
+            return (int) h & mask;
+        }
+
+        boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long counterMask = COUNTER_MASK << offset;
+            for (;;) {
+                long current = counters.get(index);
+                if ((current & counterMask) == counterMask) {
+                    return false;
+                }
+                if (counters.compareAndSet(index, current, current + (1L << offset))) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Halves all counters and the number of additions.
+         * Odd counters lose their remainder, which is accounted
+         * for by subtracting a quarter of the truncated ones.
+         */
+        void reset() {
+            int truncated = 0;
+            for (int i = 0; i < counters.length(); i++) {
+                long current = counters.get(i);
+                truncated += Long.bitCount(current & ONE_MASK);
+                counters.set(i, (current >>> 1) & RESET_MASK);
+            }
+            int remaining = (sampleSize >>> 1) - (truncated / ONES_PER_HALVED_ADDITION);
+            additions.addAndGet(remaining - sampleSize);
+        }
+    }
+}
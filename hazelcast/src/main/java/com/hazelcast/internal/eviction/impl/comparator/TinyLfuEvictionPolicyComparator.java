@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.util.SampleableConcurrentHashMap.SamplingEntry;
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.HashUtil.fastIntMix;
+
+/**
+ * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}
+ * policy based {@link EvictionPolicyComparator}.
+ * <p>
+ * A sampling adaptation of W-TinyLFU. Entries accessed within the
+ * window of the last 1% of accesses, relative to the store capacity,
+ * are protected and ordered by recency, like the admission window of
+ * W-TinyLFU. All other entries are ordered by their access frequency
+ * estimated by a {@link FrequencySketch}, then by recency. A window
+ * entry which is not accessed again leaves the window and then has to
+ * compete with the older entries on frequency, which plays the role of
+ * the TinyLFU admission filter: a one-hit wonder, like an entry loaded
+ * by a scan, becomes the preferred eviction candidate while frequently
+ * accessed entries are kept. The sketch also remembers the frequency of
+ * evicted keys, so a popular key which is put back is kept right away.
+ * <p>
+ * The sketch is sized for {@value #SKETCH_CAPACITY_FACTOR} times the
+ * entries of the store. Sized for the entries only, as usual for
+ * TinyLFU, its estimates mixed up moderately popular keys with one-hit
+ * wonders and the policy did worse than LFU on Zipfian workloads with
+ * and without scans: an evictor comparing a few samples depends more
+ * on the precision of the estimates than one with an exact order.
+ * <p>
+ * The window is tracked by counting accesses rather than by the access
+ * times of the entries, which some stores keep with a precision of
+ * seconds only: the number of the last access to each key is kept in a
+ * table indexed like the sketch, where colliding keys may only make an
+ * entry look more recent than it is.
+ * <p>
+ * Unlike the stateless comparators, an instance must be created per
+ * record store and informed of the accesses to the store's keys via
+ * {@link #recordAccess(Object)} and of the store's capacity via
+ * {@link #ensureCapacity(int)}. It is safe for concurrent use.
+ */
+@SerializableByConvention
+public class TinyLfuEvictionPolicyComparator
+        implements EvictionPolicyComparator<Object, Object, EvictableEntryView<Object, Object>> {
+
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final int PERCENT = 100;
+    private static final int SKETCH_CAPACITY_FACTOR = 2;
+
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final AtomicLong accesses = new AtomicLong();
+
+    private volatile AtomicLongArray lastAccesses = new AtomicLongArray(FrequencySketch.MIN_CAPACITY);
+    private volatile int windowSize = 1;
+
+    /**
+     * Records an access to, or an insertion of, the entry with the
+     * given key. The key must be in the same format as the keys of the
+     * store's eviction samples, e.g. {@code Data} for IMap and JCache.
+     */
+    public void recordAccess(Object key) {
+        int hash = key.hashCode();
+        sketch.increment(hash);
+
+        AtomicLongArray lastAccesses = this.lastAccesses;
+        lastAccesses.lazySet(indexOf(hash, lastAccesses), accesses.incrementAndGet());
+    }
+
+    /**
+     * Sizes the frequency sketch and the window for a store holding
+     * {@code capacity} entries. Stores call this with their size when
+     * inserting entries, so the sketch grows with the store until it
+     * is full. Growing the sketch discards the collected frequencies.
+     */
+    public void ensureCapacity(int capacity) {
+        if (sketch.ensureCapacity(capacity * SKETCH_CAPACITY_FACTOR)) {
+            lastAccesses = new AtomicLongArray(sketch.capacity() / SKETCH_CAPACITY_FACTOR);
+        }
+        // the window grows with the store, not only with the sketch
+        int window = capacity * WINDOW_PERCENTAGE / PERCENT;
+        if (window > windowSize) {
+            windowSize = window;
+        }
+    }
+
+    /**
+     * @return the estimated access frequency of the given key
+     */
+    public int frequency(Object key) {
+        return sketch.frequency(key.hashCode());
+    }
+
+    @Override
+    public int compare(EvictableEntryView e1, EvictableEntryView e2) {
+        Object key1 = keyOf(e1);
+        Object key2 = keyOf(e2);
+        long lastAccess1 = lastAccessOf(key1);
+        long lastAccess2 = lastAccessOf(key2);
+        long windowStart = accesses.get() - windowSize;
+        boolean inWindow1 = lastAccess1 > windowStart;
+        boolean inWindow2 = lastAccess2 > windowStart;
+
+        if (inWindow1 != inWindow2) {
+            return inWindow1 ? 1 : -1;
+        }
+
+        if (inWindow1) {
+            return Long.compare(lastAccess1, lastAccess2);
+        }
+
+        int result = Integer.compare(frequency(key1), frequency(key2));
+        // on a tie the entry which left the window most recently loses,
+        // like a candidate which is not admitted by the TinyLFU filter
+        return result != 0 ? result : Long.compare(lastAccess2, lastAccess1);
+    }
+
+    private long lastAccessOf(Object key) {
+        AtomicLongArray lastAccesses = this.lastAccesses;
+        return lastAccesses.get(indexOf(key.hashCode(), lastAccesses));
+    }
+
+    private static int indexOf(int hash, AtomicLongArray lastAccesses) {
+        return fastIntMix(hash) & (lastAccesses.length() - 1);
+    }
+
+    private static Object keyOf(EvictableEntryView entryView) {
+        // prefer the key as stored, which spares
+        // deserializing the keys of IMap and JCache
+        if (entryView instanceof SamplingEntry) {
+            return ((SamplingEntry) entryView).getEntryKey();
+        }
+        if (entryView instanceof EvictionCandidate) {
+            return ((EvictionCandidate) entryView).getAccessor();
+        }
+        return entryView.getKey();
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLfuEvictionPolicyComparator{" + super.toString() + "} ";
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+
+/**
+ * Memory manager which allocates blocks straight from the process heap through
+ * {@code sun.misc.Unsafe} and accesses them through the global
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry#MEM MEM} accessor.
+ * <p>
+ * There is no pooling or size-class management: every {@link MemoryAllocator#allocate(long)}
+ * is a {@code malloc()} and every {@link MemoryAllocator#free(long, long)} is a {@code free()}.
+ * The manager keeps track of the number of bytes currently allocated through it, so a single
+ * instance can be shared by all the partitions of a data structure to report its native footprint.
+ * <p>
+ * The allocator is thread-safe, the returned blocks must still be confined to a single thread
+ * or be safely published by the user.
+ */
+public final class UnsafeMemoryManager implements MemoryManager {
+
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+
+    public UnsafeMemoryManager() {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("sun.misc.Unsafe based memory access is not available");
+        }
+    }
+
+    /**
+     * @return {@code true} if this memory manager can be used on the current JVM
+     */
+    public static boolean isAvailable() {
+        return UNSAFE_AVAILABLE && MEM_AVAILABLE;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return the number of bytes currently allocated through this manager
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    /**
+     * Does not free any allocated blocks, the owners are responsible for releasing them.
+     */
+    @Override
+    public void dispose() {
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "UnsafeMemoryManager.allocate(" + size + ")";
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            usedMemory.addAndGet(size);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert newSize > 0 : "UnsafeMemoryManager.reallocate(" + address + ", " + currentSize + ", " + newSize + ")";
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                throw new NativeOutOfMemoryError("Cannot reallocate " + newSize + " bytes of native memory", e);
+            }
+            if (newSize > currentSize) {
+                UNSAFE.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+            }
+            usedMemory.addAndGet(newSize - currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            if (address == NULL_ADDRESS) {
+                return;
+            }
+            UNSAFE.freeMemory(address);
+            usedMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
@@ -217,6 +217,7 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_ENTRY_MEMORY_COST = "backupEntryMemoryCost";
     public static final String MAP_METRIC_HEAP_COST = "heapCost";
     public static final String MAP_METRIC_MERKLE_TREES_COST = "merkleTreesCost";
+    public static final String MAP_METRIC_NATIVE_MEMORY_COST = "nativeMemoryCost";
     public static final String MAP_METRIC_LOCKED_ENTRY_COUNT = "lockedEntryCount";
     public static final String MAP_METRIC_DIRTY_ENTRY_COUNT = "dirtyEntryCount";
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
@@ -230,6 +231,9 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_TOTAL_MAX_SET_LATENCY = "totalMaxSetLatency";
     public static final String MAP_METRIC_TOTAL_MAX_GET_LATENCY = "totalMaxGetLatency";
     public static final String MAP_METRIC_TOTAL_MAX_REMOVE_LATENCY = "totalMaxRemoveLatency";
+    public static final String MAP_METRIC_LOADED_ENTRY_COUNT = "loadedEntryCount";
+    public static final String MAP_METRIC_TOTAL_LOAD_LATENCY = "totalLoadLatency";
+    public static final String MAP_METRIC_PENDING_LOAD_KEY_COUNT = "pendingLoadKeyCount";
     public static final String MAP_METRIC_INDEX_CREATION_TIME = "creationTime";
     public static final String MAP_METRIC_INDEX_QUERY_COUNT = "queryCount";
     public static final String MAP_METRIC_INDEX_HIT_COUNT = "hitCount";
@@ -252,6 +256,20 @@ public final class MetricDescriptorConstants {
             = "map.store.offloaded.operations";
     public static final String MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT
             = "waitingToBeProcessedCount";
+    public static final String MAP_PREFIX_EXPIRATION = "map.expiration";
+    public static final String MAP_METRIC_EXPIRATION_EXPIRED_COUNT = "expiredCount";
+    public static final String MAP_METRIC_EXPIRATION_TOTAL_LAG = "totalExpirationLag";
+    public static final String MAP_METRIC_EXPIRATION_MAX_LAG = "maxExpirationLag";
+    public static final String MAP_PREFIX_WRITE_BEHIND = "map.writeBehind";
+    public static final String MAP_METRIC_WRITE_BEHIND_QUEUE_SIZE = "queueSize";
+    public static final String MAP_METRIC_WRITE_BEHIND_OLDEST_PENDING_AGE = "oldestPendingAge";
+    public static final String MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT = "storedEntryCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_FLUSH_STRIPE_COUNT = "flushStripeCount";
+    public static final String MAP_PREFIX_INDEX_BUILD = "map.index.build";
+    public static final String MAP_METRIC_INDEX_BUILD_PENDING_PARTITION_COUNT = "pendingPartitionCount";
+    public static final String MAP_METRIC_INDEX_BUILD_COMPLETED_PARTITION_COUNT = "completedPartitionCount";
+    public static final String MAP_METRIC_INDEX_BUILD_ABORTED_PARTITION_COUNT = "abortedPartitionCount";
+    public static final String MAP_METRIC_INDEX_BUILD_POPULATED_ENTRY_COUNT = "populatedEntryCount";
     // ===[/MAP]========================================================
 
     // ===[MEMORY]======================================================
@@ -529,6 +547,7 @@ public final class MetricDescriptorConstants {
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
     public static final String TCP_PREFIX_BALANCER = "tcp.balancer";
+    public static final String TCP_PREFIX_COMPRESSION = "tcp.compression";
     public static final String TCP_PREFIX_CONNECTION = "tcp.connection";
     public static final String TCP_PREFIX_CONNECTION_IN = "tcp.connection.in";
     public static final String TCP_PREFIX_CONNECTION_OUT = "tcp.connection.out";
@@ -554,6 +573,12 @@ public final class MetricDescriptorConstants {
     public static final String TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT = "acceptedSocketCount";
     public static final String TCP_METRIC_CLIENT_COUNT = "clientCount";
     public static final String TCP_METRIC_TEXT_COUNT = "textCount";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS = "compressedPackets";
+    public static final String TCP_METRIC_COMPRESSION_BYPASSED_PACKETS = "bypassedPackets";
+    public static final String TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES = "uncompressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_BYTES = "compressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_RATIO = "ratio";
+    public static final String TCP_METRIC_COMPRESSION_TIME_NANOS = "compressionTimeNanos";
     // ===[/TCP]========================================================
 
     // ===[TOPIC]=======================================================
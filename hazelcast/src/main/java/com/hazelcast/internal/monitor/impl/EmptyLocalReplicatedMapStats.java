@@ -160,6 +160,11 @@ public class EmptyLocalReplicatedMapStats implements LocalReplicatedMapStats {
         return 0;
     }
 
+    @Override
+    public long getNativeMemoryCost() {
+        return 0;
+    }
+
     @Override
     public NearCacheStats getNearCacheStats() {
         throw new UnsupportedOperationException("Replicated map has no Near Cache!");
@@ -200,6 +205,21 @@ public class EmptyLocalReplicatedMapStats implements LocalReplicatedMapStats {
         throw new UnsupportedOperationException("Replication stats are not available for replicated maps.");
     }
 
+    @Override
+    public long getLoadedEntryCount() {
+        throw new UnsupportedOperationException("Map loaders are not supported by replicated maps.");
+    }
+
+    @Override
+    public long getTotalLoadLatency() {
+        throw new UnsupportedOperationException("Map loaders are not supported by replicated maps.");
+    }
+
+    @Override
+    public long getPendingLoadKeyCount() {
+        throw new UnsupportedOperationException("Map loaders are not supported by replicated maps.");
+    }
+
     @Override
     public String toString() {
         return "LocalReplicatedMapStatsImpl{"
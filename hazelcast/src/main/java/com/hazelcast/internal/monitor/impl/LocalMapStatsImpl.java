@@ -39,17 +39,21 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEXED_QUERY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_ACCESS_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_UPDATE_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCKED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MERKLE_TREES_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NATIVE_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_EVENTS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_OTHER_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_OWNED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_OWNED_ENTRY_MEMORY_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PENDING_LOAD_KEY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_PUT_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_QUERY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_REMOVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_SET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_GET_LATENCY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_LOAD_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_MAX_GET_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_MAX_PUT_LATENCY;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_MAX_REMOVE_LATENCY;
@@ -103,6 +107,12 @@ public class LocalMapStatsImpl implements LocalMapStats {
             newUpdater(LocalMapStatsImpl.class, "maxSetLatency");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> MAX_REMOVE_LATENCY =
             newUpdater(LocalMapStatsImpl.class, "maxRemoveLatency");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LOADED_ENTRY_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "loadedEntryCount");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> TOTAL_LOAD_LATENCIES =
+            newUpdater(LocalMapStatsImpl.class, "totalLoadLatenciesNanos");
+    private static final AtomicLongFieldUpdater<LocalMapStatsImpl> PENDING_LOAD_KEY_COUNT =
+            newUpdater(LocalMapStatsImpl.class, "pendingLoadKeyCount");
 
     private final ConcurrentMap<String, LocalIndexStatsImpl> mutableIndexStats =
             new ConcurrentHashMap<>();
@@ -136,6 +146,11 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long maxPutLatency;
     private volatile long maxSetLatency;
     private volatile long maxRemoveLatency;
+    @Probe(name = MAP_METRIC_LOADED_ENTRY_COUNT)
+    private volatile long loadedEntryCount;
+    private volatile long totalLoadLatenciesNanos;
+    @Probe(name = MAP_METRIC_PENDING_LOAD_KEY_COUNT)
+    private volatile long pendingLoadKeyCount;
     @Probe(name = MAP_METRIC_CREATION_TIME, unit = MS)
     private final long creationTime;
     @Probe(name = MAP_METRIC_OWNED_ENTRY_COUNT)
@@ -156,6 +171,11 @@ public class LocalMapStatsImpl implements LocalMapStats {
      */
     @Probe(name = MAP_METRIC_MERKLE_TREES_COST)
     private volatile long merkleTreesCost;
+    /**
+     * Holds the native memory held by the off-heap storage of the map.
+     */
+    @Probe(name = MAP_METRIC_NATIVE_MEMORY_COST, unit = BYTES)
+    private volatile long nativeMemoryCost;
     @Probe(name = MAP_METRIC_LOCKED_ENTRY_COUNT)
     private volatile long lockedEntryCount;
     @Probe(name = MAP_METRIC_DIRTY_ENTRY_COUNT)
@@ -350,6 +370,22 @@ public class LocalMapStatsImpl implements LocalMapStats {
         return convertNanosToMillis(maxRemoveLatency);
     }
 
+    @Override
+    public long getLoadedEntryCount() {
+        return loadedEntryCount;
+    }
+
+    @Probe(name = MAP_METRIC_TOTAL_LOAD_LATENCY, unit = MS)
+    @Override
+    public long getTotalLoadLatency() {
+        return convertNanosToMillis(totalLoadLatenciesNanos);
+    }
+
+    @Override
+    public long getPendingLoadKeyCount() {
+        return pendingLoadKeyCount;
+    }
+
     @Override
     public long getEventOperationCount() {
         return numberOfEvents;
@@ -383,6 +419,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.merkleTreesCost = merkleTreeCost;
     }
 
+    @Override
+    public long getNativeMemoryCost() {
+        return nativeMemoryCost;
+    }
+
+    public void setNativeMemoryCost(long nativeMemoryCost) {
+        this.nativeMemoryCost = nativeMemoryCost;
+    }
+
     @Override
     public NearCacheStats getNearCacheStats() {
         return nearCacheStats;
@@ -475,6 +520,15 @@ public class LocalMapStatsImpl implements LocalMapStats {
         setMax(this, MAX_REMOVE_LATENCY, latencyNanos);
     }
 
+    public void incrementLoadLatencyNanos(long loadedEntryCount, long latencyNanos) {
+        LOADED_ENTRY_COUNT.addAndGet(this, loadedEntryCount);
+        TOTAL_LOAD_LATENCIES.addAndGet(this, latencyNanos);
+    }
+
+    public void incrementPendingLoadKeyCount(long delta) {
+        PENDING_LOAD_KEY_COUNT.addAndGet(this, delta);
+    }
+
     public void incrementOtherOperations() {
         NUMBER_OF_OTHER_OPERATIONS.incrementAndGet(this);
     }
@@ -526,6 +580,9 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", maxPutLatency=" + convertNanosToMillis(maxPutLatency)
                 + ", maxSetLatency=" + convertNanosToMillis(maxSetLatency)
                 + ", maxRemoveLatency=" + convertNanosToMillis(maxRemoveLatency)
+                + ", loadedEntryCount=" + loadedEntryCount
+                + ", totalLoadLatencies=" + convertNanosToMillis(totalLoadLatenciesNanos)
+                + ", pendingLoadKeyCount=" + pendingLoadKeyCount
                 + ", ownedEntryCount=" + ownedEntryCount
                 + ", backupEntryCount=" + backupEntryCount
                 + ", backupCount=" + backupCount
@@ -536,6 +593,7 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + ", dirtyEntryCount=" + dirtyEntryCount
                 + ", heapCost=" + heapCost
                 + ", merkleTreesCost=" + merkleTreesCost
+                + ", nativeMemoryCost=" + nativeMemoryCost
                 + ", nearCacheStats=" + (nearCacheStats != null ? nearCacheStats : "")
                 + ", queryCount=" + queryCount
                 + ", indexedQueryCount=" + indexedQueryCount
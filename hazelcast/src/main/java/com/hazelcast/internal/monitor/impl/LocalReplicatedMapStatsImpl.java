@@ -325,6 +325,11 @@ public class LocalReplicatedMapStatsImpl implements LocalReplicatedMapStats {
         return 0;
     }
 
+    @Override
+    public long getNativeMemoryCost() {
+        return 0;
+    }
+
     // TODO: unused
     public void setMerkleTreesCost(long merkleTreesCost) {
     }
@@ -369,6 +374,21 @@ public class LocalReplicatedMapStatsImpl implements LocalReplicatedMapStats {
         throw new UnsupportedOperationException("Replication stats are not available for replicated maps.");
     }
 
+    @Override
+    public long getLoadedEntryCount() {
+        throw new UnsupportedOperationException("Map loaders are not supported by replicated maps.");
+    }
+
+    @Override
+    public long getTotalLoadLatency() {
+        throw new UnsupportedOperationException("Map loaders are not supported by replicated maps.");
+    }
+
+    @Override
+    public long getPendingLoadKeyCount() {
+        throw new UnsupportedOperationException("Map loaders are not supported by replicated maps.");
+    }
+
     @Override
     public String toString() {
         return "LocalReplicatedMapStatsImpl{"
@@ -22,6 +22,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
@@ -79,6 +80,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected EvictionChecker evictionChecker;
     protected SamplingEvictionStrategy<KS, R, NCRM> evictionStrategy;
     protected EvictionPolicyEvaluator<KS, R> evictionPolicyEvaluator;
+    protected TinyLfuEvictionPolicyComparator tinyLfuComparator;
 
     protected volatile long reservationId;
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
@@ -110,6 +112,9 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!evictionDisabled) {
             this.evictionStrategy = SamplingEvictionStrategy.INSTANCE;
             this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+            if (evictionPolicyEvaluator.getEvictionPolicyComparator() instanceof TinyLfuEvictionPolicyComparator) {
+                this.tinyLfuComparator = (TinyLfuEvictionPolicyComparator) evictionPolicyEvaluator.getEvictionPolicyComparator();
+            }
         }
     }
 
@@ -256,7 +261,7 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
 
             // TODO what does onGet do?
             onGet(key, value, record);
-            onRecordAccess(record);
+            onRecordAccess(key, record);
             nearCacheStats.incrementHits();
 
             return recordToValue(record);
@@ -341,6 +346,11 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (evictionDisabled && evictionChecker.isEvictionRequired() && !containsRecordKey(key)) {
             return NOT_RESERVED;
         }
+        if (tinyLfuComparator != null) {
+            // reservations follow misses, which count as accesses
+            tinyLfuComparator.ensureCapacity(records.size() + 1);
+            tinyLfuComparator.recordAccess(key);
+        }
 
         long reservationId = nextReservationId();
 
@@ -380,9 +390,12 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         return reservedRecord;
     }
 
-    private void onRecordAccess(R record) {
+    private void onRecordAccess(K key, R record) {
         record.setLastAccessTime(Clock.currentTimeMillis());
         record.incrementHits();
+        if (tinyLfuComparator != null) {
+            tinyLfuComparator.recordAccess(key);
+        }
     }
 
     protected void initInvalidationMetaData(R record, K key, Data keyData) {
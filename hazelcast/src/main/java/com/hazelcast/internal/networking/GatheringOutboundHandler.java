@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking;
+
+/**
+ * An {@link OutboundHandler} that can add the frames it encodes to a
+ * {@link GatheringWriteBuffer} instead of copying them to its dst buffer.
+ *
+ * The outbound pipeline only gathers the frames through this interface when
+ * gathering writes are enabled and the handler is the last handler of the
+ * pipeline; so when nothing else (e.g. TLS) needs to process its dst buffer.
+ * The dst buffer of the handler is then used as the coalescing buffer of the
+ * {@link GatheringWriteBuffer}, and {@link OutboundHandler#onWrite()} isn't
+ * called.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Adds the frames taken from the src of this handler to the given
+     * buffer as long as {@link GatheringWriteBuffer#hasRoom(int)}.
+     *
+     * A frame is either added completely or not at all.
+     *
+     * @param buffer the buffer to add the frames to.
+     * @return {@link HandlerStatus#CLEAN} if all frames were added, or
+     * {@link HandlerStatus#DIRTY} if the buffer ran out of room.
+     */
+    HandlerStatus onGather(GatheringWriteBuffer buffer);
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.JVMUtil.upcast;
+
+/**
+ * The buffers written to the socket by a single gathering write.
+ *
+ * A {@link GatheringOutboundHandler} adds the frames it takes from its src
+ * to this buffer. The headers of the frames and the small payloads are
+ * coalesced into the dst buffer of the handler. The larger payloads are
+ * added as views on their byte arrays, so they aren't copied to the dst
+ * buffer chunk by chunk. The coalesced bytes between two views are added
+ * as a view on the dst buffer, so the bytes are written in the order they
+ * were added.
+ *
+ * A batch is gathered until the bytes added reach the size of the dst
+ * buffer (the socket send buffer size) or until the number of buffers
+ * reaches {@link #MAX_BUFFERS}. The views are released when the next batch
+ * is gathered.
+ *
+ * This buffer isn't thread-safe; it is owned by the outbound pipeline.
+ */
+public final class GatheringWriteBuffer {
+
+    /**
+     * The largest payload coalesced into the dst buffer; larger payloads
+     * are added as views.
+     */
+    public static final int MAX_COALESCED_BYTES = 1024;
+
+    /**
+     * The maximum number of buffers in a batch.
+     */
+    static final int MAX_BUFFERS = 128;
+
+    private final ByteBuffer[] buffers = new ByteBuffer[MAX_BUFFERS];
+    private final ByteBuffer coalescingBuffer;
+    private final int maxBytes;
+    // the index of the first buffer with remaining bytes
+    private int offset;
+    private int count;
+    // the position in the coalescing buffer where the current segment starts
+    private int segmentStart;
+    private long viewBytes;
+
+    /**
+     * @param coalescingBuffer the dst buffer of the handler the headers and
+     *                         the small payloads are coalesced into.
+     */
+    public GatheringWriteBuffer(ByteBuffer coalescingBuffer) {
+        this.coalescingBuffer = coalescingBuffer;
+        this.maxBytes = coalescingBuffer.capacity();
+    }
+
+    /**
+     * Returns the buffer the headers are written to. The bytes written to it
+     * are part of the batch.
+     *
+     * @return the coalescing buffer, in writing mode.
+     */
+    public ByteBuffer coalescingBuffer() {
+        return coalescingBuffer;
+    }
+
+    /**
+     * Checks if another frame can be added to the batch.
+     *
+     * @param headerLength the number of bytes of the frame header.
+     * @return {@code true} if the header fits in the coalescing buffer and
+     * the batch is not full, {@code false} otherwise.
+     */
+    public boolean hasRoom(int headerLength) {
+        // a frame adds at most 2 buffers: the current segment and the
+        // payload view. And 1 buffer is needed for the last segment.
+        return count + 2 < MAX_BUFFERS
+                && coalescingBuffer.remaining() >= headerLength
+                && coalescingBuffer.position() + viewBytes < maxBytes;
+    }
+
+    /**
+     * Adds the given payload bytes to the batch. The bytes must not be
+     * modified until the batch is written.
+     *
+     * @param bytes  the byte array.
+     * @param offset the offset of the first byte to add.
+     * @param length the number of bytes to add.
+     */
+    public void add(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+
+        if (length <= MAX_COALESCED_BYTES && length <= coalescingBuffer.remaining()) {
+            coalescingBuffer.put(bytes, offset, length);
+        } else {
+            addSegment();
+            buffers[count++] = ByteBuffer.wrap(bytes, offset, length);
+            viewBytes += length;
+        }
+    }
+
+    /**
+     * Prepares this buffer for gathering a new batch. The previous batch is
+     * discarded, even if it wasn't written completely.
+     */
+    public void clear() {
+        Arrays.fill(buffers, 0, count, null);
+        offset = 0;
+        count = 0;
+        segmentStart = 0;
+        viewBytes = 0;
+        upcast(coalescingBuffer).clear();
+    }
+
+    /**
+     * Ends the gathering of the batch, so it can be written.
+     */
+    public void flip() {
+        addSegment();
+    }
+
+    /**
+     * @return {@code true} if the batch has bytes left to write.
+     */
+    public boolean hasRemaining() {
+        return offset < count;
+    }
+
+    /**
+     * Writes the remaining bytes of the batch to the given channel with a
+     * single gathering write.
+     *
+     * @return the number of bytes written.
+     * @throws IOException if the write fails.
+     */
+    public long writeTo(GatheringByteChannel channel) throws IOException {
+        if (offset == count) {
+            return 0;
+        }
+
+        long written = channel.write(buffers, offset, count - offset);
+        while (offset < count && !buffers[offset].hasRemaining()) {
+            offset++;
+        }
+        return written;
+    }
+
+    // adds the bytes coalesced since the last segment as a view
+    private void addSegment() {
+        int position = coalescingBuffer.position();
+        if (position == segmentStart) {
+            return;
+        }
+
+        ByteBuffer segment = coalescingBuffer.duplicate();
+        upcast(segment).limit(position);
+        upcast(segment).position(segmentStart);
+        buffers[count++] = segment;
+        segmentStart = position;
+    }
+}
@@ -121,6 +121,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final boolean gatheringWriteEnabled;
     private final ThreadAffinity inputThreadAffinity;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
@@ -159,6 +160,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // disabled with SELECT_WITH_FIX.
         this.writeThroughEnabled = ctx.writeThroughEnabled && selectorMode != SELECT_WITH_FIX;
         this.selectionKeyWakeupEnabled = ctx.selectionKeyWakeupEnabled && selectorMode != SELECT_WITH_FIX;
+        this.gatheringWriteEnabled = ctx.gatheringWriteEnabled;
         if (selectorMode == SELECT_WITH_FIX
                 && (ctx.writeThroughEnabled || ctx.selectionKeyWakeupEnabled)) {
             logger.warning("Selector mode SELECT_WITH_FIX is incompatible with write-through and selection key wakeup "
@@ -199,6 +201,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                     + inputThreadCount + " input threads and "
                     + outputThreadCount + " output threads");
             logger.fine("write through enabled:" + writeThroughEnabled);
+            logger.fine("gathering write enabled:" + gatheringWriteEnabled);
         }
 
         logger.log(selectorMode != SELECT ? Level.INFO : FINE, "IO threads selector mode is " + selectorMode);
@@ -334,7 +337,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                gatheringWriteEnabled);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -504,6 +508,10 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // if the frames can be written to the socket with a single gathering write
+        // instead of being copied to the send buffer.
+        private boolean gatheringWriteEnabled;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
@@ -521,6 +529,11 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context gatheringWriteEnabled(boolean gatheringWriteEnabled) {
+            this.gatheringWriteEnabled = gatheringWriteEnabled;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
@@ -19,6 +19,8 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
+import com.hazelcast.internal.networking.GatheringWriteBuffer;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -115,6 +117,9 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // not null if the frames are gathered by the handler into a single write
+    private GatheringOutboundHandler gatheringHandler;
+    private GatheringWriteBuffer gatheringBuffer;
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -133,6 +138,7 @@ public final class NioOutboundPipeline
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final boolean selectionKeyWakeupEnabled;
+    private final boolean gatheringWriteEnabled;
 
     NioOutboundPipeline(NioChannel channel,
                         NioThread owner,
@@ -141,11 +147,13 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        boolean gatheringWriteEnabled) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.gatheringWriteEnabled = gatheringWriteEnabled;
     }
 
     @Override
@@ -309,7 +317,7 @@ public final class NioOutboundPipeline
         for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
             OutboundHandler handler = localHandlers[handlerIndex];
 
-            HandlerStatus handlerStatus = handler.onWrite();
+            HandlerStatus handlerStatus = handler == gatheringHandler ? gather() : handler.onWrite();
 
             if (localHandlers != handlers) {
                 // change in the pipeline detected, therefor the loop is restarted.
@@ -330,7 +338,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (hasPendingBytes()) {
             pipelineStatus = DIRTY;
         }
 
@@ -434,9 +442,29 @@ public final class NioOutboundPipeline
         }
     }
 
+    private boolean hasPendingBytes() {
+        return gatheringBuffer == null ? sendBuffer.remaining() > 0 : gatheringBuffer.hasRemaining();
+    }
+
+    private HandlerStatus gather() {
+        if (gatheringBuffer.hasRemaining()) {
+            // the previous batch isn't written completely yet
+            return DIRTY;
+        }
+
+        gatheringBuffer.clear();
+        try {
+            return gatheringHandler.onGather(gatheringBuffer);
+        } finally {
+            gatheringBuffer.flip();
+        }
+    }
+
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        long written = gatheringBuffer == null
+                ? socketChannel.write(sendBuffer)
+                : gatheringBuffer.writeTo(socketChannel);
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
@@ -513,6 +541,15 @@ public final class NioOutboundPipeline
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        // the frames can only be gathered if the handler taking them from
+        // this pipeline is also the one whose dst is written to the socket
+        if (gatheringWriteEnabled && newHandlers.length == 1 && newHandlers[0] instanceof GatheringOutboundHandler) {
+            this.gatheringHandler = (GatheringOutboundHandler) newHandlers[0];
+            this.gatheringBuffer = new GatheringWriteBuffer(sendBuffer);
+        } else {
+            this.gatheringHandler = null;
+            this.gatheringBuffer = null;
+        }
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nio;
+
+import java.util.Arrays;
+
+/**
+ * A fast block compression codec in the LZ4 block format: a sequence of
+ * literals and back references to the previous 64 KB of the block. It
+ * trades compression ratio for speed; the data is scanned once, with a
+ * hash table of the last positions of 4-byte sequences.
+ * <p>
+ * An instance holds the hash table, so it should be reused for compressing
+ * multiple blocks; it isn't thread-safe. Decompression is stateless.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class LzBlockCodec {
+
+    private static final int MIN_MATCH = 4;
+    // the last 5 bytes of a block are always literals
+    private static final int LAST_LITERALS = 5;
+    // a match can't start in the last 12 bytes of a block
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_DISTANCE = (1 << 16) - 1;
+    private static final int HASH_LOG = 12;
+    // skips ahead faster the longer no match is found, to pass over incompressible data
+    private static final int SKIP_TRIGGER = 6;
+    private static final int RUN_MASK = 15;
+    private static final int RUN_BITS = 4;
+
+    private final int[] table = new int[1 << HASH_LOG];
+
+    /**
+     * @return the maximum length of the compressed block for a given length
+     * of the uncompressed bytes.
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses the given bytes.
+     *
+     * @param src    the bytes to compress.
+     * @param srcOff the offset of the first byte to compress.
+     * @param srcLen the number of bytes to compress.
+     * @param dst    the array to write the compressed block to, must have
+     *               {@link #maxCompressedLength(int)} bytes available.
+     * @param dstOff the offset to write the compressed block at.
+     * @return the length of the compressed block.
+     */
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        int srcEnd = srcOff + srcLen;
+        int dOff = dstOff;
+        int anchor = srcOff;
+
+        if (srcLen > MATCH_FIND_LIMIT) {
+            Arrays.fill(table, -1);
+            int matchLimit = srcEnd - LAST_LITERALS;
+            int matchFindLimit = srcEnd - MATCH_FIND_LIMIT;
+            int sOff = srcOff;
+            int attempts = 0;
+            while (sOff <= matchFindLimit) {
+                int hash = hash(readInt(src, sOff));
+                int ref = table[hash];
+                table[hash] = sOff;
+                if (ref < 0 || sOff - ref > MAX_DISTANCE || readInt(src, ref) != readInt(src, sOff)) {
+                    sOff += 1 + (attempts++ >>> SKIP_TRIGGER);
+                    continue;
+                }
+                attempts = 0;
+
+                // extend the match backwards over the pending literals
+                while (sOff > anchor && ref > srcOff && src[sOff - 1] == src[ref - 1]) {
+                    sOff--;
+                    ref--;
+                }
+                int matchLen = MIN_MATCH;
+                while (sOff + matchLen < matchLimit && src[sOff + matchLen] == src[ref + matchLen]) {
+                    matchLen++;
+                }
+
+                dOff = writeSequence(src, anchor, sOff - anchor, sOff - ref, matchLen, dst, dOff);
+                sOff += matchLen;
+                anchor = sOff;
+            }
+        }
+
+        // the last sequence only has literals
+        return writeLiterals(src, anchor, srcEnd - anchor, dst, dOff) - dstOff;
+    }
+
+    /**
+     * Decompresses the given block.
+     *
+     * @param src    the array containing the compressed block.
+     * @param srcOff the offset of the compressed block.
+     * @param srcLen the length of the compressed block.
+     * @param dst    the array to write the decompressed bytes to.
+     * @param dstOff the offset to write the decompressed bytes at.
+     * @param dstLen the number of decompressed bytes.
+     * @throws IllegalArgumentException if the block is malformed or doesn't
+     *                                  decompress to exactly {@code dstLen}
+     *                                  bytes.
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+    public static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        int sOff = srcOff;
+        int srcEnd = srcOff + srcLen;
+        int dOff = dstOff;
+        int dstEnd = dstOff + dstLen;
+
+        for (; ; ) {
+            check(sOff < srcEnd);
+            int token = src[sOff++] & 0xFF;
+
+            int literalLen = token >>> RUN_BITS;
+            if (literalLen == RUN_MASK) {
+                int b;
+                do {
+                    check(sOff < srcEnd);
+                    b = src[sOff++] & 0xFF;
+                    literalLen += b;
+                } while (b == 255);
+            }
+            check(literalLen >= 0 && literalLen <= srcEnd - sOff && literalLen <= dstEnd - dOff);
+            System.arraycopy(src, sOff, dst, dOff, literalLen);
+            sOff += literalLen;
+            dOff += literalLen;
+
+            if (sOff == srcEnd) {
+                // the last sequence has no match
+                break;
+            }
+
+            check(srcEnd - sOff >= 2);
+            int distance = (src[sOff] & 0xFF) | (src[sOff + 1] & 0xFF) << 8;
+            sOff += 2;
+            int ref = dOff - distance;
+            check(distance > 0 && ref >= dstOff);
+
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int b;
+                do {
+                    check(sOff < srcEnd);
+                    b = src[sOff++] & 0xFF;
+                    matchLen += b;
+                } while (b == 255);
+            }
+            matchLen += MIN_MATCH;
+            check(matchLen >= MIN_MATCH && matchLen <= dstEnd - dOff);
+
+            if (distance >= matchLen) {
+                System.arraycopy(dst, ref, dst, dOff, matchLen);
+            } else {
+                // the match overlaps the bytes it produces, so it is copied byte by byte
+                for (int k = 0; k < matchLen; k++) {
+                    dst[dOff + k] = dst[ref + k];
+                }
+            }
+            dOff += matchLen;
+        }
+
+        check(dOff == dstEnd);
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literalLen, int distance, int matchLen,
+                                     byte[] dst, int dstOff) {
+        int tokenOff = dstOff;
+        int dOff = writeLiterals(src, literalOff, literalLen, dst, dstOff);
+
+        dst[dOff++] = (byte) distance;
+        dst[dOff++] = (byte) (distance >>> 8);
+
+        int runLen = matchLen - MIN_MATCH;
+        if (runLen >= RUN_MASK) {
+            dst[tokenOff] |= RUN_MASK;
+            dOff = writeLength(runLen - RUN_MASK, dst, dOff);
+        } else {
+            dst[tokenOff] |= runLen;
+        }
+        return dOff;
+    }
+
+    // writes the token with the literal length and the literals, the match length is added to the token later
+    private static int writeLiterals(byte[] src, int literalOff, int literalLen, byte[] dst, int dstOff) {
+        int dOff = dstOff + 1;
+        if (literalLen >= RUN_MASK) {
+            dst[dstOff] = (byte) (RUN_MASK << RUN_BITS);
+            dOff = writeLength(literalLen - RUN_MASK, dst, dOff);
+        } else {
+            dst[dstOff] = (byte) (literalLen << RUN_BITS);
+        }
+        System.arraycopy(src, literalOff, dst, dOff, literalLen);
+        return dOff + literalLen;
+    }
+
+    private static int writeLength(int length, byte[] dst, int dstOff) {
+        int dOff = dstOff;
+        int remaining = length;
+        while (remaining >= 255) {
+            dst[dOff++] = (byte) 255;
+            remaining -= 255;
+        }
+        dst[dOff++] = (byte) remaining;
+        return dOff;
+    }
+
+    private static int hash(int value) {
+        return (value * -1640531535) >>> (Integer.SIZE - HASH_LOG);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        int low = (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+        int high = (bytes[offset + 2] & 0xFF) | (bytes[offset + 3] & 0xFF) << 8;
+        return low | high << 16;
+    }
+
+    private static void check(boolean condition) {
+        if (!condition) {
+            throw new IllegalArgumentException("Malformed compressed block");
+        }
+    }
+}
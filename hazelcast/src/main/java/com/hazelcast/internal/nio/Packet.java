@@ -45,6 +45,7 @@ public final class Packet extends HeapData implements OutboundFrame {
     // 2. Packet type (bits 0, 2, 5)
     // 3. Flags specific to a given packet type (bits 1, 6)
     // 4. 4.x flag (bit 7)
+    // 5. Compressed flag (bit 8)
 
     // 1. URGENT flag
 
@@ -101,6 +102,14 @@ public final class Packet extends HeapData implements OutboundFrame {
      */
     public static final int FLAG_4_0 = 1 << 7;
 
+    // 5. Compressed flag
+
+    /**
+     * Marks a packet whose payload is compressed. Only sent to members which
+     * negotiated compression in the member handshake.
+     */
+    public static final int FLAG_COMPRESSED = 1 << 8;
+
     //            END OF HEADER FLAG SECTION
 
 
@@ -36,7 +36,10 @@ import static com.hazelcast.internal.nio.Packet.VERSION;
  * A {@link PacketIOHelper} is designed to be reused.
  */
 public class PacketIOHelper {
-    static final int HEADER_SIZE = BYTE_SIZE_IN_BYTES + SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+    /**
+     * The number of bytes of the packet header written before the payload.
+     */
+    public static final int HEADER_SIZE = BYTE_SIZE_IN_BYTES + SHORT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
 
     private int valueOffset;
     private int size;
@@ -58,11 +61,8 @@ public class PacketIOHelper {
                 return false;
             }
 
-            dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
+            writeHeader(packet, dst);
             size = packet.totalSize();
-            dst.putInt(size);
             headerComplete = true;
         }
 
@@ -74,6 +74,19 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Writes the header of the packet to the supplied {@code ByteBuffer}, which must have at least {@link #HEADER_SIZE}
+     * bytes remaining. The header is followed by the {@link Packet#totalSize()} bytes of the payload.
+     *
+     * @param dst the destination byte buffer
+     */
+    public static void writeHeader(Packet packet, ByteBuffer dst) {
+        dst.put(VERSION);
+        dst.putChar(packet.getFlags());
+        dst.putInt(packet.getPartitionId());
+        dst.putInt(packet.totalSize());
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
@@ -21,6 +21,7 @@ import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool;
 import com.hazelcast.internal.util.collection.ArrayUtils;
 
 import javax.annotation.Nullable;
@@ -50,6 +51,8 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
 
     private final boolean isBigEndian;
 
+    private ByteArrayPool arrayPool;
+
     ByteArrayObjectDataOutput(int size, InternalSerializationService service, ByteOrder byteOrder) {
         this(size, -1, service, byteOrder);
     }
@@ -396,13 +399,31 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         if (available() < len) {
             if (buffer != null) {
                 int newCap = Math.max(Math.max(buffer.length << 1, buffer.length + len), firstGrowthSize);
-                buffer = Arrays.copyOf(buffer, newCap);
+                buffer = grow(newCap);
             } else {
                 buffer = new byte[len > initialSize / 2 ? len * 2 : initialSize];
             }
         }
     }
 
+    private byte[] grow(int newCap) {
+        if (arrayPool == null) {
+            return Arrays.copyOf(buffer, newCap);
+        }
+        byte[] newBuffer = arrayPool.take(newCap);
+        System.arraycopy(buffer, 0, newBuffer, 0, buffer.length);
+        arrayPool.offer(buffer);
+        return newBuffer;
+    }
+
+    /**
+     * Sets the pool of the byte arrays this output grows into and shrinks
+     * back from. The output must only be used by the thread owning the pool.
+     */
+    public void setArrayPool(ByteArrayPool arrayPool) {
+        this.arrayPool = arrayPool;
+    }
+
     @Override
     public void writeObject(Object object) throws IOException {
         service.writeObject(this, object);
@@ -460,7 +481,12 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
     public void clear() {
         pos = 0;
         if (buffer != null && buffer.length > initialSize * 8) {
-            buffer = new byte[initialSize * 8];
+            if (arrayPool != null) {
+                arrayPool.offer(buffer);
+                buffer = arrayPool.take(initialSize * 8);
+            } else {
+                buffer = new byte[initialSize * 8];
+            }
         }
         version = UNKNOWN;
         wanProtocolVersion = UNKNOWN;
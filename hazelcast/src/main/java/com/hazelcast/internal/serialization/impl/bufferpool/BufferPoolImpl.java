@@ -20,6 +20,7 @@ import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.ByteArrayObjectDataOutput;
 import com.hazelcast.internal.serialization.impl.HeapData;
 
 import java.util.ArrayDeque;
@@ -28,19 +29,39 @@ import java.util.Queue;
 /**
  * Default {@link BufferPool} implementation.
  * <p>
+ * The byte arrays the {@link ByteArrayObjectDataOutput}s of the pool grow into are pooled in a
+ * {@link ByteArrayPool}, which retains at most {@value #MAX_RETAINED_BYTES_PROPERTY} bytes
+ * (1 MB by default, 0 disables it). Buffer pools are thread-local, so this bound applies per
+ * thread which serializes: a member with many partition, I/O and user threads may retain this
+ * many bytes in each of them.
+ * <p>
  * This class is designed to that a subclass can be made. This is done for the Enterprise version.
  */
 public class BufferPoolImpl implements BufferPool {
     static final int MAX_POOLED_ITEMS = 3;
+    /**
+     * The maximum number of bytes of grown output arrays a buffer pool retains,
+     * 1 MB by default and 0 to disable pooling them. Each thread has its own
+     * buffer pool, so the memory retained by a member is up to this many bytes
+     * times the number of threads which serialize.
+     */
+    static final String MAX_RETAINED_BYTES_PROPERTY = "hazelcast.serialization.buffer.pool.max.retained.bytes";
+    static final int MAX_RETAINED_BYTES = Integer.getInteger(MAX_RETAINED_BYTES_PROPERTY, 1024 * 1024);
 
     protected final InternalSerializationService serializationService;
 
     // accessible for testing.
     final Queue<BufferObjectDataOutput> outputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
     final Queue<BufferObjectDataInput> inputQueue = new ArrayDeque<>(MAX_POOLED_ITEMS);
+    final ByteArrayPool arrayPool;
 
     public BufferPoolImpl(InternalSerializationService serializationService) {
+        this(serializationService, MAX_RETAINED_BYTES);
+    }
+
+    BufferPoolImpl(InternalSerializationService serializationService, int maxRetainedBytes) {
         this.serializationService = serializationService;
+        this.arrayPool = maxRetainedBytes > 0 ? new ByteArrayPool(maxRetainedBytes) : null;
     }
 
     @Override
@@ -48,6 +69,9 @@ public class BufferPoolImpl implements BufferPool {
         BufferObjectDataOutput out = outputQueue.poll();
         if (out == null) {
             out = serializationService.createObjectDataOutput();
+            if (arrayPool != null && out instanceof ByteArrayObjectDataOutput) {
+                ((ByteArrayObjectDataOutput) out).setArrayPool(arrayPool);
+            }
         }
         return out;
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.internal.util.QuickMath.log2;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A pool of the byte arrays the serialization outputs of a {@link BufferPool}
+ * grow into.
+ * <p>
+ * The arrays are pooled in size classes: the powers of two from
+ * {@link #MIN_CLASS_SIZE} up to the largest which fits in the maximum number
+ * of retained bytes. Each class holds at most one array, and the pool never
+ * retains more than the maximum number of bytes, so the memory a thread keeps
+ * for serialization stays bounded. Larger arrays aren't pooled.
+ * <p>
+ * When an output grows, it takes the next array from its class and offers
+ * the one it outgrew; so serializing a large value repeatedly doesn't
+ * allocate the whole chain of growing arrays each time.
+ * <p>
+ * Just like the {@link BufferPool}, it isn't thread-safe.
+ */
+public final class ByteArrayPool {
+
+    /**
+     * The size of the smallest array pooled.
+     */
+    public static final int MIN_CLASS_SIZE = 1 << 13;
+
+    // the largest power of two an array can have
+    private static final int MAX_POWER_OF_TWO = 1 << 30;
+
+    private final int maxRetainedBytes;
+    private final byte[][] classes;
+    private int retainedBytes;
+
+    /**
+     * @param maxRetainedBytes the maximum number of bytes in the pooled arrays.
+     */
+    public ByteArrayPool(int maxRetainedBytes) {
+        checkNotNegative(maxRetainedBytes, "maxRetainedBytes can't be negative");
+        this.maxRetainedBytes = maxRetainedBytes;
+        int classCount = maxRetainedBytes < MIN_CLASS_SIZE
+                ? 0 : log2(Integer.highestOneBit(maxRetainedBytes)) - log2(MIN_CLASS_SIZE) + 1;
+        this.classes = new byte[classCount][];
+    }
+
+    /**
+     * Takes an array of at least the given length. The content of a pooled
+     * array isn't cleared.
+     *
+     * @return a pooled array if there is one of the size class of the length,
+     * a new array otherwise.
+     */
+    public byte[] take(int minLength) {
+        int index = classIndex(minLength);
+        if (index >= classes.length) {
+            return new byte[minLength];
+        }
+        byte[] array = classes[index];
+        if (array == null) {
+            return new byte[MIN_CLASS_SIZE << index];
+        }
+        classes[index] = null;
+        retainedBytes -= array.length;
+        return array;
+    }
+
+    /**
+     * Offers an array no longer used to the pool, it is retained if it has
+     * the size of a class, there is no array of its class yet and it fits in
+     * the maximum number of retained bytes.
+     */
+    public void offer(byte[] array) {
+        int length = array.length;
+        if (length < MIN_CLASS_SIZE || !isPowerOfTwo(length)) {
+            return;
+        }
+        int index = classIndex(length);
+        if (index < classes.length && classes[index] == null && retainedBytes + length <= maxRetainedBytes) {
+            classes[index] = array;
+            retainedBytes += length;
+        }
+    }
+
+    /**
+     * @return the number of bytes in the pooled arrays.
+     */
+    public int retainedBytes() {
+        return retainedBytes;
+    }
+
+    private static int classIndex(int length) {
+        if (length <= MIN_CLASS_SIZE) {
+            return 0;
+        }
+        return length > MAX_POWER_OF_TWO ? Integer.MAX_VALUE : log2(nextPowerOfTwo(length)) - log2(MIN_CLASS_SIZE);
+    }
+}
@@ -221,11 +221,25 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
 
     private CompactSerializableRegistration getOrCreateRegistration(Class clazz) {
         return classToRegistrationMap.computeIfAbsent(clazz, aClass -> {
-            CompactSerializer serializer = javaRecordSerializer.isRecord(aClass) ? javaRecordSerializer : reflectiveSerializer;
+            CompactSerializer serializer = zeroConfigSerializer(aClass);
             return new CompactSerializableRegistration(aClass, aClass.getName(), serializer);
         });
     }
 
+    /**
+     * Returns the serializer of a class without an explicit serializer: the
+     * one generated at compile time if the class is annotated with
+     * {@link com.hazelcast.nio.serialization.compact.GenerateCompactSerializer},
+     * the record or the reflective serializer otherwise.
+     */
+    private CompactSerializer zeroConfigSerializer(Class<?> clazz) {
+        CompactSerializer generatedSerializer = GeneratedCompactSerializers.find(clazz);
+        if (generatedSerializer != null) {
+            return generatedSerializer;
+        }
+        return javaRecordSerializer.isRecord(clazz) ? javaRecordSerializer : reflectiveSerializer;
+    }
+
     private CompactSerializableRegistration getOrCreateRegistration(String typeName) {
         return typeNameToRegistrationMap.computeIfAbsent(typeName, s -> {
             Class<?> clazz;
@@ -277,11 +291,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
             String typeName = registration.element2;
             CompactSerializer serializer = registration.element3;
             if (serializer == null) {
-                if (javaRecordSerializer.isRecord(clazz)) {
-                    serializer = javaRecordSerializer;
-                } else {
-                    serializer = reflectiveSerializer;
-                }
+                serializer = zeroConfigSerializer(clazz);
             }
             CompactSerializableRegistration serializableRegistration
                     = new CompactSerializableRegistration(clazz, typeName, serializer);
@@ -344,17 +354,10 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
                         + "serializable class '" + className + "'.");
             }
 
-            CompactSerializer serializer;
-            if (javaRecordSerializer.isRecord(clazz)) {
-                serializer = javaRecordSerializer;
-            } else {
-                serializer = reflectiveSerializer;
-            }
-
             CompactSerializableRegistration registration = new CompactSerializableRegistration(
                     clazz,
                     className,
-                    serializer
+                    zeroConfigSerializer(clazz)
             );
 
             saveRegistration(registration);
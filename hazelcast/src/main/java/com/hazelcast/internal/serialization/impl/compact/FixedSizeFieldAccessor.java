@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.query.impl.getters.AccumulationException;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
+
+import javax.annotation.Nullable;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Reads a fixed-size top level field of Compact serialized data straight
+ * from the bytes of a {@link HeapData}, without creating an input or a
+ * {@link CompactInternalGenericRecord}.
+ * <p>
+ * The position of the field is resolved once from the schema, an accessor
+ * can be reused for all the data serialized with that schema. Mirrors the
+ * layout read by {@link CompactInternalGenericRecord}: the schema id, the
+ * length of the data section if the schema has variable-size fields, then
+ * the fixed-size fields at their schema offsets.
+ */
+public final class FixedSizeFieldAccessor {
+
+    private static final int SCHEMA_ID_OFFSET = HeapData.DATA_OFFSET;
+    private static final int RECORD_OFFSET = SCHEMA_ID_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private final long schemaId;
+    private final FieldKind kind;
+    private final int position;
+    private final int bitOffset;
+
+    private FixedSizeFieldAccessor(long schemaId, FieldKind kind, int position, int bitOffset) {
+        this.schemaId = schemaId;
+        this.kind = kind;
+        this.position = position;
+        this.bitOffset = bitOffset;
+    }
+
+    /**
+     * @return an accessor of the given field or {@code null} if the schema
+     * has no fixed-size field with the given name.
+     */
+    @Nullable
+    public static FixedSizeFieldAccessor of(Schema schema, String fieldName) {
+        FieldDescriptor field = schema.getField(fieldName);
+        if (field == null || field.getOffset() < 0) {
+            return null;
+        }
+        int dataStartPosition = schema.getNumberOfVariableSizeFields() == 0
+                ? RECORD_OFFSET : RECORD_OFFSET + INT_SIZE_IN_BYTES;
+        return new FixedSizeFieldAccessor(schema.getSchemaId(), field.getKind(), dataStartPosition + field.getOffset(),
+                field.getBitOffset());
+    }
+
+    /**
+     * @return the id of the schema the given Compact serialized bytes were
+     * written with.
+     */
+    public static long readSchemaId(byte[] bytes, boolean bigEndian) {
+        return Bits.readLong(bytes, SCHEMA_ID_OFFSET, bigEndian);
+    }
+
+    public long getSchemaId() {
+        return schemaId;
+    }
+
+    /**
+     * Reads the field from the given bytes, which must be written with the
+     * schema of this accessor.
+     */
+    @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+    public Object read(byte[] bytes, boolean bigEndian) {
+        switch (kind) {
+            case BOOLEAN:
+                return ((bytes[position] >>> bitOffset) & 1) != 0;
+            case INT8:
+                return bytes[position];
+            case INT16:
+                return Bits.readShort(bytes, position, bigEndian);
+            case INT32:
+                return Bits.readInt(bytes, position, bigEndian);
+            case INT64:
+                return Bits.readLong(bytes, position, bigEndian);
+            case FLOAT32:
+                return Float.intBitsToFloat(Bits.readInt(bytes, position, bigEndian));
+            case FLOAT64:
+                return Double.longBitsToDouble(Bits.readLong(bytes, position, bigEndian));
+            default:
+                throw new IllegalStateException("Unexpected fixed-size field kind " + kind);
+        }
+    }
+
+    /**
+     * Passes the numeric field from the given bytes, which must be written
+     * with the schema of this accessor, to the given accumulator without
+     * boxing it.
+     *
+     * @return {@code true} if the field was accumulated, {@code false} if
+     * it isn't numeric and has to be {@link #read}.
+     */
+    public boolean accumulate(byte[] bytes, boolean bigEndian, PrimitiveAccumulator accumulator) {
+        switch (kind) {
+            case INT8:
+                accumulateLong(accumulator, bytes[position]);
+                return true;
+            case INT16:
+                accumulateLong(accumulator, Bits.readShort(bytes, position, bigEndian));
+                return true;
+            case INT32:
+                accumulateLong(accumulator, Bits.readInt(bytes, position, bigEndian));
+                return true;
+            case INT64:
+                accumulateLong(accumulator, Bits.readLong(bytes, position, bigEndian));
+                return true;
+            case FLOAT32:
+                accumulateDouble(accumulator, Float.intBitsToFloat(Bits.readInt(bytes, position, bigEndian)));
+                return true;
+            case FLOAT64:
+                accumulateDouble(accumulator, Double.longBitsToDouble(Bits.readLong(bytes, position, bigEndian)));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static void accumulateLong(PrimitiveAccumulator accumulator, long value) {
+        try {
+            accumulator.accumulateLong(value);
+        } catch (RuntimeException e) {
+            throw new AccumulationException(e);
+        }
+    }
+
+    private static void accumulateDouble(PrimitiveAccumulator accumulator, double value) {
+        try {
+            accumulator.accumulateDouble(value);
+        } catch (RuntimeException e) {
+            throw new AccumulationException(e);
+        }
+    }
+}
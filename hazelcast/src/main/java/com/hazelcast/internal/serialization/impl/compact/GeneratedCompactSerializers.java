@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.GenerateCompactSerializer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Finds the serializers generated at compile time for the classes
+ * annotated with {@link GenerateCompactSerializer}.
+ */
+final class GeneratedCompactSerializers {
+
+    /**
+     * The suffix of the name of a generated serializer, appended to the
+     * name of the class in its package with {@code _} in place of {@code $}.
+     */
+    static final String SERIALIZER_SUFFIX = "_CompactSerializer";
+
+    private GeneratedCompactSerializers() {
+    }
+
+    /**
+     * @return the generated serializer of the given class or {@code null} if
+     * the class isn't annotated or the annotation processor didn't run.
+     */
+    @Nullable
+    static CompactSerializer<?> find(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null || !clazz.isAnnotationPresent(GenerateCompactSerializer.class)) {
+            return null;
+        }
+
+        String serializerClassName = serializerClassName(clazz);
+        Class<?> serializerClass;
+        try {
+            serializerClass = Class.forName(serializerClassName, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        CompactSerializer<?> serializer;
+        try {
+            serializer = (CompactSerializer<?>) serializerClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new HazelcastSerializationException("Could not create the generated Compact serializer "
+                    + serializerClassName + " of " + clazz, e);
+        }
+        return serializer.getCompactClass() == clazz ? serializer : null;
+    }
+
+    static String serializerClassName(Class<?> clazz) {
+        String name = clazz.getName();
+        int simpleNameStart = name.lastIndexOf('.') + 1;
+        return name.substring(0, simpleNameStart) + name.substring(simpleNameStart).replace('$', '_') + SERIALIZER_SUFFIX;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.cluster.impl.MemberHandshake;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.LzBlockCodec;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_BYPASSED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_RATIO;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_COMPRESSION_MIN_SIZE;
+
+/**
+ * The compression of the {@link Packet} payloads sent to other members.
+ *
+ * Compression is negotiated per connection in the {@link MemberHandshake}.
+ * A member with compression enabled advertises it in its handshake, and the
+ * {@link PacketCompressor} of a connection starts compressing once the
+ * remote member advertised it too. So a cluster can enable compression
+ * member by member.
+ *
+ * A compressed packet has the {@link Packet#FLAG_COMPRESSED} flag raised,
+ * its payload is the length of the uncompressed payload followed by a
+ * {@link LzBlockCodec} block. Compressed and uncompressed packets can be
+ * mixed freely on a connection.
+ *
+ * Holds the configuration and the metrics shared by the compressors of all
+ * connections.
+ */
+public class PacketCompression {
+
+    private static final double HUNDRED_PERCENT = 100d;
+
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS)
+    final MwCounter compressedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_BYPASSED_PACKETS)
+    final MwCounter bypassedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES, unit = BYTES)
+    final MwCounter uncompressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_BYTES, unit = BYTES)
+    final MwCounter compressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_TIME_NANOS, unit = NS)
+    final MwCounter compressionTimeNanos = newMwCounter();
+
+    private final boolean enabled;
+    private final int minSize;
+
+    public PacketCompression(HazelcastProperties properties) {
+        this(properties.getBoolean(IO_COMPRESSION_ENABLED), properties.getInteger(IO_COMPRESSION_MIN_SIZE));
+    }
+
+    PacketCompression(boolean enabled, int minSize) {
+        this.enabled = enabled;
+        this.minSize = minSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    int minSize() {
+        return minSize;
+    }
+
+    /**
+     * @return a compressor for a new connection, compression isn't enabled
+     * for it until it is negotiated.
+     */
+    PacketCompressor newCompressor() {
+        return new PacketCompressor(this);
+    }
+
+    /**
+     * @return the size of the compressed payloads as a percentage of their
+     * uncompressed size.
+     */
+    @Probe(name = TCP_METRIC_COMPRESSION_RATIO, unit = PERCENT)
+    public double ratio() {
+        long uncompressed = uncompressedBytes.get();
+        return uncompressed == 0 ? 0 : HUNDRED_PERCENT * compressedBytes.get() / uncompressed;
+    }
+
+    /**
+     * Decompresses a packet with the {@link Packet#FLAG_COMPRESSED} flag
+     * raised.
+     *
+     * @return a packet with the uncompressed payload and the same flags,
+     * except for the compressed flag.
+     * @throws IllegalArgumentException if the payload is malformed.
+     */
+    public static Packet decompress(Packet packet) {
+        byte[] payload = packet.toByteArray();
+        if (payload == null || payload.length < INT_SIZE_IN_BYTES) {
+            throw new IllegalArgumentException("Malformed compressed packet " + packet);
+        }
+        int length = Bits.readIntB(payload, 0);
+        if (length < 0) {
+            throw new IllegalArgumentException("Malformed compressed packet " + packet);
+        }
+
+        byte[] bytes = new byte[length];
+        LzBlockCodec.decompress(payload, INT_SIZE_IN_BYTES, payload.length - INT_SIZE_IN_BYTES, bytes, 0, length);
+        return new Packet(bytes, packet.getPartitionId()).resetFlagsTo(packet.getFlags() & ~FLAG_COMPRESSED);
+    }
+}
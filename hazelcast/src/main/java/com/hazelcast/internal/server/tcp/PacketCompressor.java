@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.LzBlockCodec;
+import com.hazelcast.internal.nio.Packet;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.LzBlockCodec.maxCompressedLength;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Compresses the packets written to a connection once compression is
+ * negotiated for the connection, see {@link PacketCompression}.
+ *
+ * Payloads smaller than the configured minimum size aren't compressed. If a
+ * payload doesn't compress well, the next payloads are sent uncompressed
+ * without trying, with an exponential back-off; so incompressible data, like
+ * already compressed values, costs little CPU.
+ *
+ * Apart from {@link #enable()}, a compressor is only used by the
+ * {@link PacketEncoder} of the connection, so it isn't thread-safe.
+ */
+public final class PacketCompressor {
+
+    // a payload is only sent compressed if it shrinks by at least 1/8
+    private static final int MIN_SAVING_SHIFT = 3;
+    private static final int MAX_BYPASSED_PACKETS = 64;
+    // the compression buffer is reused up to this size, larger payloads get a buffer each
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1 << 20;
+
+    private final PacketCompression compression;
+    private final LzBlockCodec codec = new LzBlockCodec();
+    private volatile boolean enabled;
+    private byte[] buffer = new byte[0];
+    // the number of packets bypassed after the last incompressible payload
+    private int backoff;
+    private int bypassRemaining;
+
+    PacketCompressor(PacketCompression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Enables compression once it is negotiated with the remote member.
+     */
+    void enable() {
+        enabled = true;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compresses the payload of the given packet if it is worth it. The given
+     * packet isn't modified; it can be shared by multiple connections.
+     *
+     * @return a new packet with the compressed payload, or the given packet
+     * if it isn't compressed.
+     */
+    public Packet compress(Packet packet) {
+        int length = packet.totalSize();
+        if (!enabled || length == 0 || length < compression.minSize()) {
+            return packet;
+        }
+        if (bypassRemaining > 0) {
+            bypassRemaining--;
+            compression.bypassedPackets.inc();
+            return packet;
+        }
+
+        long startNanos = System.nanoTime();
+        byte[] dst = buffer(INT_SIZE_IN_BYTES + maxCompressedLength(length));
+        Bits.writeIntB(dst, 0, length);
+        int compressedLength = INT_SIZE_IN_BYTES + codec.compress(packet.toByteArray(), 0, length, dst, INT_SIZE_IN_BYTES);
+        compression.compressionTimeNanos.inc(System.nanoTime() - startNanos);
+
+        if (compressedLength > length - (length >>> MIN_SAVING_SHIFT)) {
+            backoff = min(max(1, backoff * 2), MAX_BYPASSED_PACKETS);
+            bypassRemaining = backoff;
+            compression.bypassedPackets.inc();
+            return packet;
+        }
+
+        backoff = 0;
+        compression.compressedPackets.inc();
+        compression.uncompressedBytes.inc(length);
+        compression.compressedBytes.inc(compressedLength);
+        return new Packet(Arrays.copyOf(dst, compressedLength), packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() | FLAG_COMPRESSED);
+    }
+
+    private byte[] buffer(int size) {
+        if (buffer.length >= size) {
+            return buffer;
+        }
+        byte[] newBuffer = new byte[size];
+        if (size <= MAX_RETAINED_BUFFER_SIZE) {
+            buffer = newBuffer;
+        }
+        return newBuffer;
+    }
+}
@@ -28,6 +28,7 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 
@@ -35,7 +36,8 @@ import static com.hazelcast.internal.util.JVMUtil.upcast;
  * The {@link InboundHandler} for member to member communication.
  *
  * It reads as many packets from the src {@link ByteBuffer} as possible, and
- * each of the Packets is send to the destination.
+ * each of the Packets is send to the destination. Compressed packets are
+ * decompressed first.
  *
  * @see Consumer
  * @see PacketEncoder
@@ -64,6 +66,9 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
                 if (packet == null) {
                     break;
                 }
+                if (packet.isFlagRaised(FLAG_COMPRESSED)) {
+                    packet = PacketCompression.decompress(packet);
+                }
                 onPacketComplete(packet);
             }
 
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
+import com.hazelcast.internal.networking.GatheringWriteBuffer;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
@@ -27,6 +29,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 
 /**
@@ -38,17 +41,37 @@ import static com.hazelcast.internal.util.JVMUtil.upcast;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * When the packets are gathered, only the headers and the small packets are
+ * written to the {@link ByteBuffer}; the payloads of the larger packets are
+ * written to the socket straight from the packets.
+ *
+ * If the channel has a {@link PacketCompressor}, the packets are passed
+ * through it before they are written.
+ *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
+        implements GatheringOutboundHandler {
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
 
     private Packet packet;
 
+    private PacketCompressor compressor;
+
+    public PacketEncoder() {
+    }
+
+    public PacketEncoder(PacketCompressor compressor) {
+        this.compressor = compressor;
+    }
+
     @Override
     public void handlerAdded() {
         initDstBuffer();
+        if (compressor == null) {
+            compressor = (PacketCompressor) channel.attributeMap().get(PacketCompressor.class);
+        }
     }
 
     @Override
@@ -57,7 +80,7 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
         try {
             for (; ; ) {
                 if (packet == null) {
-                    packet = src.get();
+                    packet = nextPacket();
 
                     if (packet == null) {
                         // everything is processed, so we are done
@@ -77,4 +100,27 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             upcast(dst).flip();
         }
     }
+
+    @Override
+    public HandlerStatus onGather(GatheringWriteBuffer buffer) {
+        for (; ; ) {
+            if (!buffer.hasRoom(HEADER_SIZE)) {
+                return DIRTY;
+            }
+
+            Packet next = nextPacket();
+            if (next == null) {
+                // everything is gathered, so we are done
+                return CLEAN;
+            }
+
+            PacketIOHelper.writeHeader(next, buffer.coalescingBuffer());
+            buffer.add(next.toByteArray(), 0, next.totalSize());
+        }
+    }
+
+    private Packet nextPacket() {
+        Packet next = src.get();
+        return next == null || compressor == null ? next : compressor.compress(next);
+    }
 }
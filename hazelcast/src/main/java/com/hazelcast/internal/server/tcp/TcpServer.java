@@ -55,6 +55,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_COMPRESSION;
 import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_STATS_REFRESH_INTERVAL_SECONDS;
@@ -78,6 +79,7 @@ public final class TcpServer implements Server {
     private final ConcurrentMap<EndpointQualifier, TcpServerConnectionManager> connectionManagers
             = new ConcurrentHashMap<>();
     private final TcpServerConnectionManager unifiedConnectionManager;
+    private final PacketCompression packetCompression;
     private final ScheduledExecutorService scheduler;
     // accessed only in synchronized block
     private final AtomicReference<TcpServerAcceptor> acceptorRef = new AtomicReference<>();
@@ -96,6 +98,7 @@ public final class TcpServer implements Server {
         this.metricsRegistry = metricsRegistry;
         this.refreshStatsTask = new RefreshNetworkStatsTask();
         this.refreshStatsIntervalSeconds = context.properties().getInteger(NETWORK_STATS_REFRESH_INTERVAL_SECONDS);
+        this.packetCompression = new PacketCompression(context.properties());
         this.registry = registry;
         this.logger = context.getLoggingService().getLogger(TcpServer.class);
         this.scheduler = new ScheduledThreadPoolExecutor(SCHEDULER_POOL_SIZE,
@@ -127,6 +130,9 @@ public final class TcpServer implements Server {
             refreshStatsTask.registerMetrics(metricsRegistry);
         }
         metricsRegistry.registerDynamicMetricsProvider(new MetricsProvider());
+        if (packetCompression.isEnabled()) {
+            metricsRegistry.registerStaticMetrics(packetCompression, TCP_PREFIX_COMPRESSION);
+        }
     }
 
     @Override
@@ -134,6 +140,10 @@ public final class TcpServer implements Server {
         return context;
     }
 
+    public PacketCompression getPacketCompression() {
+        return packetCompression;
+    }
+
     public Networking getNetworking() {
         return networking;
     }
@@ -79,6 +79,8 @@ public class TcpServerConnection implements ServerConnection {
 
     private final ServerContext serverContext;
 
+    private final PacketCompressor packetCompressor;
+
     private Address remoteAddress;
 
     private UUID remoteUuid;
@@ -109,6 +111,14 @@ public class TcpServerConnection implements ServerConnection {
         this.acceptorSide = acceptorSide;
         this.attributeMap = channel.attributeMap();
         attributeMap.put(ServerConnection.class, this);
+        PacketCompression packetCompression = connectionManager.getServer().getPacketCompression();
+        if (packetCompression != null && packetCompression.isEnabled()) {
+            // picked up by the PacketEncoder of the connection
+            this.packetCompressor = packetCompression.newCompressor();
+            attributeMap.put(PacketCompressor.class, packetCompressor);
+        } else {
+            this.packetCompressor = null;
+        }
     }
 
     @Override
@@ -120,6 +130,14 @@ public class TcpServerConnection implements ServerConnection {
         return channel;
     }
 
+    /**
+     * @return the compressor of the packets written to this connection, or
+     * {@code null} if compression isn't enabled on this member.
+     */
+    PacketCompressor getPacketCompressor() {
+        return packetCompressor;
+    }
+
     public int getPlaneIndex() {
         return planeIndex;
     }
@@ -79,6 +79,11 @@ public final class TcpServerControl {
         // before we register the connection on the plane, we make sure the plane index is set on the connection
         // so that we can safely remove the connection from the plane.
         connection.setPlaneIndex(handshake.getPlaneIndex());
+        // the packets are compressed from now on if both members enabled compression
+        PacketCompressor packetCompressor = connection.getPacketCompressor();
+        if (packetCompressor != null && handshake.isCompressionEnabled()) {
+            packetCompressor.enable();
+        }
         process(connection, handshake);
     }
 
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * Utility class for generating Comparators to be used in sort methods specific to hazelcast classes.
@@ -136,16 +137,49 @@ public final class SortingUtil {
         }
         PagingPredicateImpl pagingPredicateImpl = (PagingPredicateImpl) pagingPredicate;
         Comparator<QueryableEntry> comparator = newComparator(pagingPredicateImpl);
-        Collections.sort(list, comparator);
         int nearestPage = nearestAnchorEntry.getKey();
         int pageSize = pagingPredicate.getPageSize();
         int page = pagingPredicate.getPage();
         long totalSize = pageSize * ((long) page - nearestPage);
-        if (list.size() > totalSize) {
-            // it's safe to cast totalSize back to int here since it's limited by the list size
-            list = list.subList(0, (int) totalSize);
+        return selectFirst(list, comparator, totalSize);
+    }
+
+    /**
+     * Returns the first {@code limit} items of the given list in the order
+     * defined by the given comparator. Instead of sorting the whole list, the
+     * items are selected through a bounded heap if the list is larger than the
+     * limit, so the cost is {@code O(n log limit)} rather than
+     * {@code O(n log n)}.
+     *
+     * @param list       the list to select from, it may be sorted in place
+     * @param comparator the comparator defining the order of the items
+     * @param limit      the maximum number of items to return
+     * @return the sorted list of at most {@code limit} first items
+     */
+    static <T> List<T> selectFirst(List<T> list, Comparator<? super T> comparator, long limit) {
+        int size = list.size();
+        if (size <= limit) {
+            list.sort(comparator);
+            return list;
+        }
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // it's safe to cast limit to int here since it's limited by the list size
+        int k = (int) limit;
+        PriorityQueue<T> heap = new PriorityQueue<>(k, Collections.reverseOrder(comparator));
+        for (T item : list) {
+            if (heap.size() < k) {
+                heap.offer(item);
+            } else if (comparator.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(item);
+            }
         }
-        return list;
+        List<T> selected = new ArrayList<>(heap);
+        selected.sort(comparator);
+        return selected;
     }
 
     @SuppressWarnings("unchecked")
@@ -180,6 +214,7 @@ public final class SortingUtil {
      */
     public static List getSortedSubListData(List<QueryableEntry> list, PagingPredicateImpl pagingPredicate) {
         IterationType iterationType = pagingPredicate.getIterationType();
+        list = selectPages((List) list, pagingPredicate, iterationType);
         Map.Entry<Integer, Integer> pageIndex = getPageIndexesAndUpdateAnchor(list, pagingPredicate,
                 iterationType);
         int begin = pageIndex.getKey();
@@ -206,9 +241,10 @@ public final class SortingUtil {
         return result;
     }
 
-    private static List<? extends Map.Entry> getSortedSubListAndUpdateAnchor(List<? extends Map.Entry> list,
+    private static List<? extends Map.Entry> getSortedSubListAndUpdateAnchor(List<Map.Entry> list,
                                                                              PagingPredicate pagingPredicate,
                                                                              IterationType iterationType) {
+        list = selectPages(list, pagingPredicate, iterationType);
         Map.Entry<Integer, Integer> pageIndex = getPageIndexesAndUpdateAnchor(list, pagingPredicate, iterationType);
         int begin = pageIndex.getKey();
         int end = pageIndex.getValue();
@@ -226,9 +262,6 @@ public final class SortingUtil {
             return new AbstractMap.SimpleImmutableEntry<Integer, Integer>(-1, -1);
         }
         PagingPredicateImpl pagingPredicateImpl = (PagingPredicateImpl) pagingPredicate;
-        Comparator<Map.Entry> comparator = SortingUtil.newComparator(pagingPredicateImpl.getComparator(), iterationType);
-        Collections.sort(list, comparator);
-
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicateImpl.getNearestAnchorEntry();
         int nearestPage = nearestAnchorEntry.getKey();
         int page = pagingPredicateImpl.getPage();
@@ -247,6 +280,21 @@ public final class SortingUtil {
         return new AbstractMap.SimpleImmutableEntry<Integer, Integer>((int) begin, (int) end);
     }
 
+    /**
+     * Selects and sorts the entries of the pages between the nearest anchor
+     * and the requested page, the rest of the entries are not needed to build
+     * the requested page and its anchors.
+     */
+    private static List<Map.Entry> selectPages(List<Map.Entry> list, PagingPredicate pagingPredicate,
+                                               IterationType iterationType) {
+        PagingPredicateImpl pagingPredicateImpl = (PagingPredicateImpl) pagingPredicate;
+        Comparator<Map.Entry> comparator = SortingUtil.newComparator(pagingPredicateImpl.getComparator(), iterationType);
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = pagingPredicateImpl.getNearestAnchorEntry();
+        int nearestPage = nearestAnchorEntry.getKey();
+        long limit = pagingPredicateImpl.getPageSize() * ((long) pagingPredicateImpl.getPage() - nearestPage);
+        return selectFirst(list, comparator, limit);
+    }
+
     private static void setAnchor(List<? extends Map.Entry> list, PagingPredicateImpl pagingPredicate, int nearestPage) {
         if (list.isEmpty()) {
             return;
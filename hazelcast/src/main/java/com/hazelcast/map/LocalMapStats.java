@@ -243,6 +243,18 @@ public interface LocalMapStats extends LocalInstanceStats {
      */
     long getMerkleTreesCost();
 
+    /**
+     * Returns the native memory held by this map's entries on this member,
+     * including backups, when the map keeps its entries off-heap.
+     * <p>
+     * The native memory is not included in the {@link #getHeapCost() heap cost}.
+     *
+     * @return the native memory cost in bytes, or zero for on-heap maps
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_OFF_HEAP_STORAGE_MAPS
+     * @since 5.2
+     */
+    long getNativeMemoryCost();
+
     /**
      * Returns statistics related to the Near Cache.
      *
@@ -280,4 +292,35 @@ public interface LocalMapStats extends LocalInstanceStats {
      * @since 5.0
      */
     LocalReplicationStats getReplicationStats();
+
+    /**
+     * Returns the number of entries loaded by the {@link MapLoader} into
+     * the partitions owned by this member, by initial loads and by
+     * {@code loadAll} calls. Together with {@link #getTotalLoadLatency()}
+     * it gives the loading throughput.
+     *
+     * @return the number of loaded entries
+     * @since 5.2
+     */
+    long getLoadedEntryCount();
+
+    /**
+     * Returns the total time spent in {@link MapLoader#loadAll(java.util.Collection)}
+     * calls for the partitions owned by this member, in milliseconds.
+     * Concurrent calls are summed up.
+     *
+     * @return the total load latency in milliseconds
+     * @since 5.2
+     */
+    long getTotalLoadLatency();
+
+    /**
+     * Returns the number of keys received by this member whose values
+     * are waiting to be loaded by the {@link MapLoader}. Shows the
+     * progress of a running load.
+     *
+     * @return the number of keys waiting for their values to be loaded
+     * @since 5.2
+     */
+    long getPendingLoadKeyCount();
 }
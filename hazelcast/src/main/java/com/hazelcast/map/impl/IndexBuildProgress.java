@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_ABORTED_PARTITION_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_COMPLETED_PARTITION_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_PENDING_PARTITION_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_BUILD_POPULATED_ENTRY_COUNT;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Tracks the online builds of a global index on the partitions of this
+ * member.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_INDEX_ONLINE_BUILD_ENABLED
+ */
+public class IndexBuildProgress {
+
+    private final Set<Integer> pendingPartitions = ConcurrentHashMap.newKeySet();
+
+    @Probe(name = MAP_METRIC_INDEX_BUILD_COMPLETED_PARTITION_COUNT)
+    private final MwCounter completedPartitionCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_ABORTED_PARTITION_COUNT)
+    private final MwCounter abortedPartitionCount = newMwCounter();
+    @Probe(name = MAP_METRIC_INDEX_BUILD_POPULATED_ENTRY_COUNT)
+    private final MwCounter populatedEntryCount = newMwCounter();
+
+    /**
+     * Registers the start of a build of the given partition.
+     *
+     * @return {@code true} if the build should be started, {@code false}
+     * if the partition is already being built.
+     */
+    public boolean tryStart(int partitionId) {
+        return pendingPartitions.add(partitionId);
+    }
+
+    public void onBatchPopulated(int entryCount) {
+        populatedEntryCount.inc(entryCount);
+    }
+
+    public void onCompleted(int partitionId) {
+        pendingPartitions.remove(partitionId);
+        completedPartitionCount.inc();
+    }
+
+    /**
+     * Registers the end of a build which was given up before populating
+     * all the entries of the partition, because the partition or the index
+     * is gone or the population failed.
+     */
+    public void onAborted(int partitionId) {
+        pendingPartitions.remove(partitionId);
+        abortedPartitionCount.inc();
+    }
+
+    public boolean isPending(int partitionId) {
+        return pendingPartitions.contains(partitionId);
+    }
+
+    @Probe(name = MAP_METRIC_INDEX_BUILD_PENDING_PARTITION_COUNT)
+    public int getPendingPartitionCount() {
+        return pendingPartitions.size();
+    }
+
+    public long getCompletedPartitionCount() {
+        return completedPartitionCount.get();
+    }
+
+    public long getAbortedPartitionCount() {
+        return abortedPartitionCount.get();
+    }
+
+    public long getPopulatedEntryCount() {
+        return populatedEntryCount.get();
+    }
+
+    @Override
+    public String toString() {
+        return "IndexBuildProgress{"
+                + "pendingPartitionCount=" + getPendingPartitionCount()
+                + ", completedPartitionCount=" + getCompletedPartitionCount()
+                + ", abortedPartitionCount=" + getAbortedPartitionCount()
+                + ", populatedEntryCount=" + getPopulatedEntryCount()
+                + '}';
+    }
+}
@@ -232,9 +232,10 @@ public class LocalMapStatsProvider {
         onDemandStats.incrementHits(stats.getHits());
         onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
-        if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
+        if (isOnHeap(recordStore)) {
             onDemandStats.incrementHeapCost(recordStore.getOwnedEntryCost());
         }
+        onDemandStats.setNativeMemoryCost(recordStore.getMapContainer().getOffHeapMemoryUsed());
         onDemandStats.incrementOwnedEntryCount(recordStore.size());
         onDemandStats.setLastAccessTime(stats.getLastAccessTime());
         onDemandStats.setLastUpdateTime(stats.getLastUpdateTime());
@@ -265,14 +266,21 @@ public class LocalMapStatsProvider {
             }
         }
 
-        if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
+        if (isOnHeap(recordStore)) {
             onDemandStats.incrementHeapCost(backupEntryMemoryCost);
         }
+        onDemandStats.setNativeMemoryCost(recordStore.getMapContainer().getOffHeapMemoryUsed());
         onDemandStats.incrementBackupEntryMemoryCost(backupEntryMemoryCost);
         onDemandStats.incrementBackupEntryCount(backupEntryCount);
         onDemandStats.setBackupCount(recordStore.getMapContainer().getMapConfig().getTotalBackupCount());
     }
 
+    private static boolean isOnHeap(RecordStore recordStore) {
+        MapContainer mapContainer = recordStore.getMapContainer();
+        return NATIVE != mapContainer.getMapConfig().getInMemoryFormat()
+                && !mapContainer.isOffHeapStorageEnabled();
+    }
+
     private boolean isReplicaAvailable(Address replicaAddress, int backupCount) {
         return !(replicaAddress == null && partitionService.getMaxAllowedBackupCount() >= backupCount);
     }
@@ -455,6 +463,7 @@ public class LocalMapStatsProvider {
         // Holds total heap cost of map & Near Cache & backups & merkle trees.
         private long heapCost;
         private long merkleTreesCost;
+        private long nativeMemoryCost;
         private long lockedEntryCount;
         private long dirtyEntryCount;
         private long lastAccessTime;
@@ -500,6 +509,10 @@ public class LocalMapStatsProvider {
             this.merkleTreesCost += merkleTreeCost;
         }
 
+        public void setNativeMemoryCost(long nativeMemoryCost) {
+            this.nativeMemoryCost = nativeMemoryCost;
+        }
+
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
@@ -509,6 +522,7 @@ public class LocalMapStatsProvider {
             stats.setBackupEntryMemoryCost(backupEntryMemoryCost);
             stats.setHeapCost(heapCost);
             stats.setMerkleTreesCost(merkleTreesCost);
+            stats.setNativeMemoryCost(nativeMemoryCost);
             stats.setLockedEntryCount(lockedEntryCount);
             stats.setDirtyEntryCount(dirtyEntryCount);
             stats.setLastAccessTime(lastAccessTime);
@@ -27,6 +27,8 @@ import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.config.WanSyncConfig;
 import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -48,6 +50,8 @@ import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapRecordFactory;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordFactoryAttributes;
 import com.hazelcast.map.impl.recordstore.RecordStore;
@@ -61,11 +65,16 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergePolicyProvider;
+import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.wan.impl.DelegatingWanScheme;
 import com.hazelcast.wan.impl.WanReplicationService;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -73,6 +82,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import static com.hazelcast.config.ConsistencyCheckStrategy.MERKLE_TREES;
+import static com.hazelcast.config.InMemoryFormat.BINARY;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.config.MergePolicyValidator.checkMapMergePolicy;
@@ -80,6 +90,8 @@ import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.ge
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_OFF_HEAP_STORAGE_MAPS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PACKED_STORAGE_MAPS;
 import static java.lang.Boolean.TRUE;
 import static java.lang.System.getProperty;
 
@@ -87,7 +99,7 @@ import static java.lang.System.getProperty;
  * Map container for a map with a specific name. Contains config and
  * supporting structures for all of the maps' functionalities.
  */
-@SuppressWarnings({"WeakerAccess", "checkstyle:classfanoutcomplexity"})
+@SuppressWarnings({"WeakerAccess", "checkstyle:classfanoutcomplexity", "checkstyle:classdataabstractioncoupling"})
 public class MapContainer {
 
     protected final String name;
@@ -107,11 +119,18 @@ public class MapContainer {
     protected final Function<Object, Data> toDataFunction = new ObjectToData();
     protected final InterceptorRegistry interceptorRegistry = new InterceptorRegistry();
     protected final ConstructorFunction<RecordFactoryAttributes, RecordFactory> recordFactoryConstructor;
+    /**
+     * Shared by all record stores of this map when its entries are kept
+     * off-heap, {@code null} otherwise.
+     */
+    protected final UnsafeMemoryManager offHeapMemoryManager;
+    protected final boolean packedStorageEnabled;
     /**
      * Holds number of registered {@link InvalidationListener} from clients.
      */
     protected final AtomicInteger invalidationListenerCounter;
     protected final AtomicLong lastInvalidMergePolicyCheckTime = new AtomicLong();
+    protected final ConcurrentMap<String, IndexBuildProgress> indexBuildProgresses = new ConcurrentHashMap<>();
 
     protected SplitBrainMergePolicy wanMergePolicy;
     protected DelegatingWanScheme wanReplicationDelegate;
@@ -138,6 +157,10 @@ public class MapContainer {
         this.partitioningStrategy = createPartitioningStrategy();
         this.splitBrainProtectionName = mapConfig.getSplitBrainProtectionName();
         this.serializationService = ((InternalSerializationService) nodeEngine.getSerializationService());
+        this.offHeapMemoryManager = createOffHeapMemoryManager(nodeEngine);
+        this.packedStorageEnabled = offHeapMemoryManager == null
+                && mapConfig.getInMemoryFormat() != NATIVE
+                && isListedIn(MAP_PACKED_STORAGE_MAPS, nodeEngine);
         this.recordFactoryConstructor = createRecordFactoryConstructor(serializationService);
         this.objectNamespace = MapService.getObjectNamespace(name);
         this.extractors = Extractors.newBuilder(serializationService)
@@ -256,12 +279,94 @@ public class MapContainer {
         }
     }
 
+    /**
+     * @return {@code true} if the name of this map matches one of the
+     * comma-separated name patterns held by the given property
+     */
+    private boolean isListedIn(HazelcastProperty property, NodeEngine nodeEngine) {
+        String mapNames = nodeEngine.getProperties().getString(property);
+        if (mapNames == null || mapNames.trim().isEmpty()) {
+            return false;
+        }
+        Config config = nodeEngine.getConfig();
+        List<String> patterns = Arrays.asList(mapNames.trim().split("\\s*,\\s*"));
+        return config.getConfigPatternMatcher().matches(patterns, name) != null;
+    }
+
+    private UnsafeMemoryManager createOffHeapMemoryManager(NodeEngine nodeEngine) {
+        if (!isListedIn(MAP_OFF_HEAP_STORAGE_MAPS, nodeEngine)) {
+            return null;
+        }
+        if (mapConfig.getInMemoryFormat() != BINARY) {
+            nodeEngine.getLogger(MapContainer.class).warning("Map " + name + " is listed in "
+                    + MAP_OFF_HEAP_STORAGE_MAPS.getName() + " but off-heap storage supports only "
+                    + BINARY + " in-memory format, its entries will be kept on-heap.");
+            return null;
+        }
+        if (!UnsafeMemoryManager.isAvailable()) {
+            nodeEngine.getLogger(MapContainer.class).warning("Map " + name + " is listed in "
+                    + MAP_OFF_HEAP_STORAGE_MAPS.getName() + " but native memory access is not available"
+                    + " on this JVM, its entries will be kept on-heap.");
+            return null;
+        }
+        return new UnsafeMemoryManager();
+    }
+
+    /**
+     * @return {@code true} if the entries of this map are kept off-heap
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_OFF_HEAP_STORAGE_MAPS
+     */
+    public boolean isOffHeapStorageEnabled() {
+        return offHeapMemoryManager != null;
+    }
+
+    /**
+     * @return the memory manager of the off-heap storage or {@code null}
+     * if the entries of this map are kept on-heap
+     */
+    public MemoryManager getOffHeapMemoryManager() {
+        return offHeapMemoryManager;
+    }
+
+    /**
+     * @return the number of native memory bytes held by the
+     * off-heap storage of this map on this member
+     */
+    public long getOffHeapMemoryUsed() {
+        return offHeapMemoryManager == null ? 0L : offHeapMemoryManager.getUsedMemory();
+    }
+
+    /**
+     * @return {@code true} if the storage of this map hands out records which
+     * point into memory the partition thread frees or reuses, so the record
+     * stores of this map must not be read by any other thread. Queries then
+     * scan the partitions on the partition threads, like for {@link
+     * com.hazelcast.config.InMemoryFormat#NATIVE NATIVE} maps.
+     */
+    public boolean isStorageConfinedToPartitionThreads() {
+        return isOffHeapStorageEnabled() || packedStorageEnabled;
+    }
+
+    /**
+     * @return {@code true} if the entries of this map are kept in packed storage
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_PACKED_STORAGE_MAPS
+     */
+    public boolean isPackedStorageEnabled() {
+        return packedStorageEnabled;
+    }
+
     // overridden in different context
     ConstructorFunction<RecordFactoryAttributes, RecordFactory> createRecordFactoryConstructor(
             final SerializationService serializationService) {
         return anyArg -> {
+            if (packedStorageEnabled) {
+                return new PackedRecordFactory(mapConfig.getInMemoryFormat(), serializationService);
+            }
             switch (mapConfig.getInMemoryFormat()) {
                 case BINARY:
+                    if (offHeapMemoryManager != null) {
+                        return new OffHeapRecordFactory(offHeapMemoryManager, serializationService);
+                    }
                     return new DataRecordFactory(this, serializationService);
                 case OBJECT:
                     return new ObjectRecordFactory(this, serializationService);
@@ -489,6 +594,22 @@ public class MapContainer {
         return definitions;
     }
 
+    /**
+     * @return the progress of the online builds of the global index with
+     * the given name on this member.
+     */
+    public IndexBuildProgress getIndexBuildProgress(String indexName) {
+        return indexBuildProgresses.computeIfAbsent(indexName, k -> new IndexBuildProgress());
+    }
+
+    /**
+     * @return the progresses of the online index builds started on this
+     * member, by index name.
+     */
+    public Map<String, IndexBuildProgress> getIndexBuildProgresses() {
+        return indexBuildProgresses;
+    }
+
     public boolean isPersistWanReplicatedData() {
         return persistWanReplicatedData;
     }
@@ -506,6 +627,7 @@ public class MapContainer {
             case NEVER:
                 return false;
             case ALWAYS:
+            case ADAPTIVE:
                 return true;
             default:
                 //if index exists then cached value is already set -> let's use it
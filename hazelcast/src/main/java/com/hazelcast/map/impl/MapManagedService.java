@@ -22,9 +22,13 @@ import com.hazelcast.internal.services.ManagedService;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.internal.util.ConstructorFunction;
+import com.hazelcast.internal.util.executor.ExecutorType;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.util.Properties;
 
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_LOADER_EXECUTOR;
+
 /**
  * Defines managed service behavior of map service.
  *
@@ -46,6 +50,16 @@ public class MapManagedService implements ManagedService {
                     new ObjectNamespaceLockStoreInfoConstructorFunction());
         }
         mapServiceContext.initPartitionsContainers();
+
+        int loadParallelism = nodeEngine.getProperties().getInteger(ClusterProperty.MAP_LOAD_PARALLELISM);
+        if (loadParallelism > 0) {
+            if (nodeEngine.getConfig().getExecutorConfigs().containsKey(MAP_LOADER_EXECUTOR)) {
+                nodeEngine.getLogger(getClass()).warning("The pool size of the executor config '" + MAP_LOADER_EXECUTOR
+                        + "' overrides " + ClusterProperty.MAP_LOAD_PARALLELISM.getName() + "=" + loadParallelism);
+            }
+            nodeEngine.getExecutionService()
+                    .register(MAP_LOADER_EXECUTOR, loadParallelism, Integer.MAX_VALUE, ExecutorType.CACHED);
+        }
     }
 
     @Override
@@ -49,7 +49,11 @@ import com.hazelcast.internal.services.WanSupportingService;
 import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
+import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindManager;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.LocalIndexStats;
 import com.hazelcast.spi.impl.CountingMigrationAwareService;
@@ -73,13 +77,20 @@ import java.util.UUID;
 
 import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_DISCRIMINATOR_NAME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_EXPIRED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_MAX_LAG;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_TOTAL_LAG;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MAP_STORE_WAITING_TO_BE_PROCESSED_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_EXPIRATION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX_BUILD;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_MAP_STORE_OFFLOADED_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_NEARCACHE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_WRITE_BEHIND;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_INDEX;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 
 /**
  * Defines map service behavior.
@@ -355,6 +366,94 @@ public class MapService implements ManagedService, ChunkedMigrationAwareService,
 
         // mapStore offloaded operations
         setMapStoreOffloadedOperationMetrics(descriptor, context);
+
+        // expiration of primary replicas
+        setExpirationMetrics(descriptor, context);
+
+        // write-behind queues and flushing
+        setWriteBehindMetrics(descriptor, context);
+
+        // online index builds
+        setIndexBuildMetrics(descriptor, context);
+    }
+
+    private void setIndexBuildMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            if (!mapContainer.getMapConfig().isStatisticsEnabled()) {
+                continue;
+            }
+            for (Map.Entry<String, IndexBuildProgress> entry : mapContainer.getIndexBuildProgresses().entrySet()) {
+                MetricDescriptor indexBuildDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_INDEX_BUILD)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapContainer.getName())
+                        .withTag(MAP_TAG_INDEX, entry.getKey());
+                context.collect(indexBuildDescriptor, entry.getValue());
+            }
+        }
+    }
+
+    private void setWriteBehindMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            MapStoreContext mapStoreContext = mapContainer.getMapStoreContext();
+            if (mapStoreContext == null || !mapStoreContext.isWriteBehindMapStoreEnabled()
+                    || !mapContainer.getMapConfig().isStatisticsEnabled()) {
+                continue;
+            }
+            MapStoreManager mapStoreManager = mapStoreContext.getMapStoreManager();
+            if (mapStoreManager instanceof WriteBehindManager) {
+                MetricDescriptor writeBehindDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_WRITE_BEHIND)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapContainer.getName());
+                context.collect(writeBehindDescriptor, ((WriteBehindManager) mapStoreManager).getStoreWorker());
+            }
+        }
+    }
+
+    private void setExpirationMetrics(MetricDescriptor descriptor, MetricsCollectionContext context) {
+        // aggregate
+        PartitionContainer[] partitionContainers = mapServiceContext.getPartitionContainers();
+        Map<String, ExpirationStats> expiration = new HashMap<>();
+        for (PartitionContainer partitionContainer : partitionContainers) {
+            Collection<RecordStore> allRecordStores = partitionContainer.getAllRecordStores();
+            for (RecordStore recordStore : allRecordStores) {
+                if (!recordStore.getMapContainer().getMapConfig().isStatisticsEnabled()) {
+                    continue;
+                }
+
+                ExpirySystem expirySystem = recordStore.getExpirySystem();
+                if (expirySystem.getExpiredCount() == 0) {
+                    continue;
+                }
+
+                ExpirationStats stats = expiration.computeIfAbsent(recordStore.getName(), s -> new ExpirationStats());
+                stats.expiredCount += expirySystem.getExpiredCount();
+                stats.totalLagMillis += expirySystem.getTotalExpirationLagMillis();
+                stats.maxLagMillis = Math.max(stats.maxLagMillis, expirySystem.getMaxExpirationLagMillis());
+            }
+        }
+
+        // collect metrics
+        for (Map.Entry<String, ExpirationStats> entry : expiration.entrySet()) {
+            MetricDescriptor expirationDescriptor = descriptor
+                    .copy()
+                    .withPrefix(MAP_PREFIX_EXPIRATION)
+                    .withDiscriminator(MAP_DISCRIMINATOR_NAME, entry.getKey());
+            ExpirationStats stats = entry.getValue();
+            context.collect(expirationDescriptor.copy().withMetric(MAP_METRIC_EXPIRATION_EXPIRED_COUNT),
+                    stats.expiredCount);
+            context.collect(expirationDescriptor.copy().withMetric(MAP_METRIC_EXPIRATION_TOTAL_LAG).withUnit(MS),
+                    stats.totalLagMillis);
+            context.collect(expirationDescriptor.copy().withMetric(MAP_METRIC_EXPIRATION_MAX_LAG).withUnit(MS),
+                    stats.maxLagMillis);
+        }
+    }
+
+    private static final class ExpirationStats {
+        private long expiredCount;
+        private long totalLagMillis;
+        private long maxLagMillis;
     }
 
     private void setMapStoreOffloadedOperationMetrics(MetricDescriptor descriptor,
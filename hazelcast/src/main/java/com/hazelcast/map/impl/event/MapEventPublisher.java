@@ -22,6 +22,7 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.impl.wan.WanMapEntryView;
 
 import javax.annotation.Nonnull;
+import java.util.List;
 
 /**
  * Helper methods for publishing events related to map
@@ -89,6 +90,23 @@ public interface MapEventPublisher {
     void publishEvent(Address caller, String mapName, EntryEventType eventType,
                       Data dataKey, Object oldValue, Object dataValue, Object dataMergingValue);
 
+    /**
+     * Publishes the {@link EntryEventType#ADDED} or {@link EntryEventType#UPDATED}
+     * events of a batch of entries put by a single bulk operation. The event
+     * type of an entry is {@code ADDED} if its old value is {@code null},
+     * otherwise {@code UPDATED}. The listener registrations are looked up once
+     * for the whole batch.
+     * Note: Exceptions during publications are caught and logged.
+     *
+     * @param caller     the address of the caller that caused the events
+     * @param mapName    the map name
+     * @param dataKeys   the keys of the put entries
+     * @param oldValues  the old values of the put entries, in the order of {@code dataKeys}
+     * @param dataValues the new values of the put entries, in the order of {@code dataKeys}
+     */
+    void publishPutEvents(Address caller, String mapName,
+                          List<Data> dataKeys, List<Object> oldValues, List<Object> dataValues);
+
     void publishMapPartitionLostEvent(Address caller, String mapName, int partitionId);
 
     /**
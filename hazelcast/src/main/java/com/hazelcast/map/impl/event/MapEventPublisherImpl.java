@@ -46,7 +46,10 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.event.AbstractFilteringStrategy.FILTER_DOES_NOT_MATCH;
@@ -196,6 +199,21 @@ public class MapEventPublisherImpl implements MapEventPublisher {
         publishEvent(registrations, caller, mapName, eventType, dataKey, oldValue, value, mergingValue);
     }
 
+    @Override
+    public void publishPutEvents(Address caller, String mapName,
+                                 List<Data> dataKeys, List<Object> oldValues, List<Object> dataValues) {
+        Collection<EventRegistration> registrations = getRegistrations(mapName);
+        if (isEmpty(registrations)) {
+            return;
+        }
+
+        for (int i = 0; i < dataKeys.size(); i++) {
+            Object oldValue = oldValues.get(i);
+            publishEvent(registrations, caller, mapName, oldValue == null ? ADDED : UPDATED,
+                    dataKeys.get(i), oldValue, dataValues.get(i), null);
+        }
+    }
+
     /**
      * Publish the event to the specified listener {@code registrations} if
      * the event passes the filters specified by the {@link FilteringStrategy}.
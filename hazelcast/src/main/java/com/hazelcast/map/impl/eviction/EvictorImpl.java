@@ -77,7 +77,10 @@ public class EvictorImpl implements Evictor {
                                            long now, boolean backup) {
         EntryView excluded = null;
         EntryView selected = null;
-
+        EvictionPolicyComparator comparator = recordStore.getEvictionPolicyComparator();
+        if (comparator == null) {
+            comparator = policy;
+        }
 
         for (EntryView current : getRandomSamples(recordStore)) {
             Data dataKey = getDataKeyFromEntryView(current);
@@ -94,7 +97,7 @@ public class EvictorImpl implements Evictor {
             }
 
             if (selected == null
-                    || policy.compare(current, selected) < 0) {
+                    || comparator.compare(current, selected) < 0) {
                 selected = current;
             }
         }
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.eviction;
 import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
 import com.hazelcast.internal.eviction.ExpiredKey;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.operation.EvictBatchBackupOperation;
 import com.hazelcast.map.impl.operation.MapClearExpiredOperation;
@@ -51,9 +52,10 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * Default value is {@value DEFAULT_TASK_PERIOD_SECONDS} seconds.
  * </li>
  * <li>
- * {@value PROP_CLEANUP_PERCENTAGE}: Scannable percentage
- * of entries in a maps' partition in each round. Default
- * percentage is {@value DEFAULT_CLEANUP_PERCENTAGE}%.
+ * {@value PROP_CLEANUP_PERCENTAGE}: Has no effect on IMap
+ * anymore. Instead of scanning a percentage of the entries,
+ * each partition polls only its due entries from a timing
+ * wheel. The property is kept for compatibility.
  * </li>
  * <li>
  * {@value PROP_CLEANUP_OPERATION_COUNT}: Number of scannable
@@ -210,20 +212,21 @@ public class MapClearExpiredRecordsTask
     }
 
     /**
-     * Here we check if that partition has any expirable record or not,
-     * if no expirable record exists in that partition no need to fire
-     * an expiration operation.
+     * Here we check if that partition has any record which is already
+     * expired or not, if no such record exists in that partition no
+     * need to fire an expiration operation.
      *
      * @param partitionContainer corresponding partition container.
-     * @return <code>true</code> if no expirable record in that
+     * @return <code>true</code> if no expired record in that
      * partition <code>false</code> otherwise.
      */
     @Override
     protected boolean notHaveAnyExpirableRecord(PartitionContainer partitionContainer) {
         boolean notExist = true;
+        long now = Clock.currentTimeMillis();
         final ConcurrentMap<String, RecordStore> maps = partitionContainer.getMaps();
         for (RecordStore store : maps.values()) {
-            if (store.isExpirable()) {
+            if (store.isExpirable() && store.getExpirySystem().getNextExpirationTime() <= now) {
                 notExist = false;
                 break;
             }
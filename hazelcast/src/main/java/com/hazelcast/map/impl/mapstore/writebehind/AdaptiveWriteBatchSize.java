@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+/**
+ * Batch size of a write-behind flush stripe, adapted to the latency of
+ * the map store: it is halved after a batch took longer than the target
+ * latency and doubled after a full batch took less than half of it, in
+ * the range of 1 to the maximum batch size.
+ * <p>
+ * Used by one stripe task at a time, which may run on different
+ * threads of the executor.
+ */
+class AdaptiveWriteBatchSize {
+
+    static final int DEFAULT_INITIAL_BATCH_SIZE = 1000;
+
+    private final int maxBatchSize;
+    private final long targetLatencyNanos;
+
+    private volatile int batchSize;
+
+    /**
+     * @param writeBatchSize     the configured write batch size, the maximum
+     *                           batch size when greater than 1, otherwise
+     *                           the batch size is not limited
+     * @param targetLatencyNanos the target duration of a batch store
+     */
+    AdaptiveWriteBatchSize(int writeBatchSize, long targetLatencyNanos) {
+        this.maxBatchSize = writeBatchSize > 1 ? writeBatchSize : Integer.MAX_VALUE;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.batchSize = Math.min(maxBatchSize, DEFAULT_INITIAL_BATCH_SIZE);
+    }
+
+    int get() {
+        return batchSize;
+    }
+
+    /**
+     * Adapts the batch size to the latency of a batch store.
+     *
+     * @param entryCount   the number of entries of the batch
+     * @param latencyNanos the duration of the batch store, retries included
+     */
+    void onBatchStored(int entryCount, long latencyNanos) {
+        int batchSize = this.batchSize;
+        if (latencyNanos > targetLatencyNanos) {
+            this.batchSize = Math.max(1, batchSize >> 1);
+        } else if (latencyNanos < targetLatencyNanos >> 1 && entryCount >= batchSize) {
+            this.batchSize = (int) Math.min(maxBatchSize, (long) batchSize << 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveWriteBatchSize{"
+                + "batchSize=" + batchSize
+                + ", maxBatchSize=" + maxBatchSize
+                + '}';
+    }
+}
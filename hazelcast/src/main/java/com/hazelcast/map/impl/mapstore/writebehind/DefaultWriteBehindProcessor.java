@@ -20,6 +20,7 @@ import com.hazelcast.map.EntryLoader.MetadataAwareValue;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Timer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -70,6 +71,25 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
 
+    @Override
+    public Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries, AdaptiveWriteBatchSize batchSize) {
+        sort(delayedEntries);
+        Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<>();
+        int size = delayedEntries.size();
+        int start = 0;
+        while (start < size) {
+            int end = (int) Math.min(size, (long) start + batchSize.get());
+            long startNanos = Timer.nanos();
+            Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntries.subList(start, end));
+            batchSize.onBatchStored(end - start, Timer.nanosElapsed(startNanos));
+            for (List<DelayedEntry> partitionFails : fails.values()) {
+                addFailsTo(failsPerPartition, partitionFails);
+            }
+            start = end;
+        }
+        return failsPerPartition;
+    }
+
     private Map<Integer, List<DelayedEntry>> processInternal(List<DelayedEntry> delayedEntries) {
         if (delayedEntries == null || delayedEntries.isEmpty()) {
             return Collections.emptyMap();
@@ -17,6 +17,8 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
@@ -33,10 +35,20 @@ import com.hazelcast.internal.util.Clock;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_FLUSH_STRIPE_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_OLDEST_PENDING_AGE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_QUEUE_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -45,10 +57,16 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. When
+ * {@link ClusterProperty#MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT} is greater than 1,
+ * the entries of the owned partitions are split into stripes by partition,
+ * which are stored concurrently on the {@link com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}
+ * in batches of an {@link AdaptiveWriteBatchSize}. Since a partition always
+ * belongs to the same stripe, the store operations on a key keep their order.
  */
 public class StoreWorker implements Runnable {
     private final String mapName;
+    private final ILogger logger;
     private final MapServiceContext mapServiceContext;
     private final IPartitionService partitionService;
     private final ExecutionService executionService;
@@ -59,6 +77,13 @@ public class StoreWorker implements Runnable {
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_FLUSH_STRIPE_COUNT)
+    private final int stripeCount;
+    /**
+     * Batch sizes of the stripes, {@code null} when there is one stripe.
+     */
+    private final AdaptiveWriteBatchSize[] stripeBatchSizes;
+    private final AtomicLong storedEntryCount = new AtomicLong();
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -79,6 +104,22 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.logger = nodeEngine.getLogger(StoreWorker.class);
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.stripeCount = Math.max(1, Math.min(partitionCount,
+                properties.getInteger(ClusterProperty.MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT)));
+        this.stripeBatchSizes = stripeCount == 1 ? null
+                : newStripeBatchSizes(stripeCount, mapStoreContext.getMapStoreConfig().getWriteBatchSize(),
+                properties.getNanos(ClusterProperty.MAP_WRITE_BEHIND_FLUSH_TARGET_LATENCY_MILLIS));
+    }
+
+    private static AdaptiveWriteBatchSize[] newStripeBatchSizes(int stripeCount, int writeBatchSize,
+                                                                long targetLatencyNanos) {
+        AdaptiveWriteBatchSize[] batchSizes = new AdaptiveWriteBatchSize[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            batchSizes[i] = new AdaptiveWriteBatchSize(writeBatchSize, targetLatencyNanos);
+        }
+        return batchSizes;
     }
 
 
@@ -119,7 +160,7 @@ public class StoreWorker implements Runnable {
 
         lastHighestStoreTime = ownerHighestStoreTime;
 
-        List<DelayedEntry> ownersList = null;
+        List<List<DelayedEntry>> ownersLists = null;
         List<DelayedEntry> backupsList = null;
 
         for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
@@ -138,15 +179,17 @@ public class StoreWorker implements Runnable {
                 backupsList = initListIfNull(backupsList, partitionCount);
                 selectEntriesToStore(recordStore, backupsList, backupHighestStoreTime);
             } else {
-                ownersList = initListIfNull(ownersList, partitionCount);
-                selectEntriesToStore(recordStore, ownersList, ownerHighestStoreTime);
+                ownersLists = initStripeListsIfNull(ownersLists);
+                selectEntriesToStore(recordStore, ownersLists.get(partitionId % stripeCount), ownerHighestStoreTime);
             }
         }
 
-        if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
-            removeFinishedStoreOperationsFromQueues(mapName, ownersList);
-            reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+        if (ownersLists != null) {
+            if (stripeCount == 1) {
+                storeOwnedEntries(ownersLists.get(0), null);
+            } else {
+                storeOwnedEntriesByStripes(ownersLists);
+            }
         }
 
         if (!isEmpty(backupsList)) {
@@ -157,6 +200,139 @@ public class StoreWorker implements Runnable {
 
     }
 
+    private List<List<DelayedEntry>> initStripeListsIfNull(List<List<DelayedEntry>> lists) {
+        if (lists == null) {
+            lists = new ArrayList<>(stripeCount);
+            for (int i = 0; i < stripeCount; i++) {
+                lists.add(new ArrayList<>());
+            }
+        }
+        return lists;
+    }
+
+    private void storeOwnedEntriesByStripes(List<List<DelayedEntry>> ownersLists) {
+        Future[] futures = new Future[stripeCount];
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            List<DelayedEntry> ownersList = ownersLists.get(stripe);
+            if (!ownersList.isEmpty()) {
+                AdaptiveWriteBatchSize batchSize = stripeBatchSizes[stripe];
+                futures[stripe] = executionService.submit(MAP_WRITE_BEHIND_EXECUTOR,
+                        () -> storeOwnedEntries(ownersList, batchSize));
+            }
+        }
+
+        // waits for all stripes, even when interrupted, so
+        // that a stripe is never run twice at the same time
+        boolean interrupted = false;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            Future future = futures[stripe];
+            while (future != null) {
+                try {
+                    future.get();
+                    future = null;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    logger.severe("Write-behind flush of map '" + mapName + "' failed", e.getCause());
+                    reAddFailedStripeToQueues(ownersLists.get(stripe));
+                    future = null;
+                }
+            }
+        }
+        if (interrupted) {
+            currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Puts back the entries of a stripe whose store failed before it
+     * could report the failed entries, like the failed entries of a
+     * completed store: at the head of their queues, each one once.
+     */
+    private void reAddFailedStripeToQueues(List<DelayedEntry> ownersList) {
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = new HashMap<>();
+        for (DelayedEntry entry : ownersList) {
+            failuresPerPartition.computeIfAbsent(entry.getPartitionId(), partitionId -> new ArrayList<>()).add(entry);
+        }
+        removeFinishedStoreOperationsFromQueues(mapName, ownersList);
+        reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+    }
+
+    /**
+     * Stores the entries of the owned partitions, removes them from
+     * their queues and puts back the ones which could not be stored.
+     *
+     * @param ownersList the entries to store
+     * @param batchSize  the adaptive batch size of the entries' stripe,
+     *                   {@code null} to store by the configured batch size
+     */
+    private void storeOwnedEntries(List<DelayedEntry> ownersList, AdaptiveWriteBatchSize batchSize) {
+        if (isEmpty(ownersList)) {
+            return;
+        }
+        int entryCount = ownersList.size();
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = batchSize == null
+                ? writeBehindProcessor.process(ownersList)
+                : writeBehindProcessor.process(ownersList, batchSize);
+        removeFinishedStoreOperationsFromQueues(mapName, ownersList);
+        reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+
+        int failureCount = 0;
+        for (List<DelayedEntry> failures : failuresPerPartition.values()) {
+            failureCount += failures.size();
+        }
+        storedEntryCount.addAndGet(entryCount - failureCount);
+    }
+
+    /**
+     * @return the number of entries waiting in the write-behind
+     * queues of the partitions owned by this member
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_QUEUE_SIZE)
+    public int getQueueSize() {
+        int size = 0;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            RecordStore recordStore = getRecordStoreOrNull(mapName, partitionId);
+            if (recordStore != null && isPartitionLocal(partitionId)) {
+                size += getWriteBehindQueue(recordStore).size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the time in milliseconds since the oldest entry waiting in the
+     * write-behind queues of the partitions owned by this member was queued,
+     * 0 if there is none
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_OLDEST_PENDING_AGE, unit = MS)
+    public long getOldestPendingAge() {
+        long oldestQueueTime = Long.MAX_VALUE;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            RecordStore recordStore = getRecordStoreOrNull(mapName, partitionId);
+            if (recordStore != null && isPartitionLocal(partitionId)) {
+                DelayedEntry head = getWriteBehindQueue(recordStore).peek();
+                if (head != null) {
+                    oldestQueueTime = Math.min(oldestQueueTime, head.getStoreTime() - writeDelayMillis);
+                }
+            }
+        }
+        return oldestQueueTime == Long.MAX_VALUE ? 0 : Math.max(0, Clock.currentTimeMillis() - oldestQueueTime);
+    }
+
+    /**
+     * @return the number of entries stored by this member since the
+     * map was created, the flush throughput is its rate
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT)
+    public long getStoredEntryCount() {
+        return storedEntryCount.get();
+    }
+
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<>(capacity);
@@ -52,6 +52,10 @@ public class WriteBehindManager implements MapStoreManager {
         storeWorker.stop();
     }
 
+    public StoreWorker getStoreWorker() {
+        return storeWorker;
+    }
+
     //todo get this via constructor function.
     @Override
     public MapDataStore getMapDataStore(String mapName, int partitionId) {
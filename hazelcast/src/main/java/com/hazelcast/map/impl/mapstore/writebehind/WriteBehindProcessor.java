@@ -36,6 +36,16 @@ public interface WriteBehindProcessor<E> {
      */
     Map<Integer, List<E>> process(List<E> delayedEntries);
 
+    /**
+     * Process store operations in batches whose size adapts to the
+     * latency of the store and returns failed operation per partition map.
+     *
+     * @param delayedEntries to be written to store.
+     * @param batchSize      the batch size, updated after each batch.
+     * @return failed store operations per partition.
+     */
+    Map<Integer, List<E>> process(List<E> delayedEntries, AdaptiveWriteBatchSize batchSize);
+
     void callAfterStoreListeners(Collection<E> entries);
 
     void callBeforeStoreListeners(Collection<E> entries);
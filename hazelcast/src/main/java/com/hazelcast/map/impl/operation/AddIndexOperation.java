@@ -21,7 +21,6 @@ import com.hazelcast.config.IndexConfig;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
-import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.impl.CachedQueryEntry;
@@ -38,6 +37,7 @@ import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
 import java.io.IOException;
 
 import static com.hazelcast.config.CacheDeserializedValues.NEVER;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INDEX_ONLINE_BUILD_ENABLED;
 
 public class AddIndexOperation extends MapOperation
         implements PartitionAwareOperation, MutatingOperation, BackupAwareOperation {
@@ -91,6 +91,12 @@ public class AddIndexOperation extends MapOperation
             return;
         }
 
+        if (indexes.isGlobal() && getNodeEngine().getProperties().getBoolean(MAP_INDEX_ONLINE_BUILD_ENABLED)) {
+            // populated in batches after this operation completes
+            new OnlineIndexBuildTask(getNodeEngine(), mapContainer, recordStore, index, partitionId).start();
+            return;
+        }
+
         SerializationService serializationService = getNodeEngine().getSerializationService();
 
         index.beginPartitionUpdate();
@@ -99,7 +105,7 @@ public class AddIndexOperation extends MapOperation
         CachedQueryEntry<?, ?> cachedEntry = cacheDeserializedValues == NEVER ? new CachedQueryEntry<>(serializationService,
                 mapContainer.getExtractors()) : null;
         recordStore.forEach((dataKey, record) -> {
-            Object value = Records.getValueOrCachedValue(record, serializationService);
+            Object value = recordStore.getValueOrCachedValue(dataKey, record);
             QueryableEntry<?, ?> queryEntry = mapContainer.newQueryEntry(dataKey, value);
             queryEntry.setRecord(record);
             CachedQueryEntry<?, ?> newEntry =
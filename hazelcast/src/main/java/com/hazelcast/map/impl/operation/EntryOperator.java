@@ -45,6 +45,7 @@ import com.hazelcast.spi.impl.operationservice.BackupOperation;
 
 import java.util.Map.Entry;
 
+import static com.hazelcast.config.CacheDeserializedValues.ADAPTIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.core.EntryEventType.REMOVED;
@@ -65,6 +66,7 @@ public final class EntryOperator {
     private final boolean shouldClone;
     private final boolean backup;
     private final boolean readOnly;
+    private final boolean useCachedValue;
     private final boolean wanReplicationEnabled;
     private final boolean hasEventRegistration;
     private final int partitionId;
@@ -103,6 +105,8 @@ public final class EntryOperator {
         this.readOnly = entryProcessor instanceof ReadOnly;
         this.mapContainer = recordStore.getMapContainer();
         this.inMemoryFormat = mapContainer.getMapConfig().getInMemoryFormat();
+        this.useCachedValue = readOnly && !backup
+                && mapContainer.getMapConfig().getCacheDeserializedValues() == ADAPTIVE;
         this.mapName = mapContainer.getName();
         this.wanReplicationEnabled = mapContainer.isWanReplicationEnabled();
         this.shouldClone = mapContainer.shouldCloneOnEntryProcessing(mapOperation.getPartitionId());
@@ -182,7 +186,7 @@ public final class EntryOperator {
         }
 
         Boolean locked = recordStore.isLocked(dataKey);
-        init(dataKey, clonedOrRawOldValue(), null, null, null, locked, UNSET);
+        init(dataKey, useCachedValue ? cachedOrRawOldValue() : clonedOrRawOldValue(), null, null, null, locked, UNSET);
         return operateOnKeyValueInternal();
     }
 
@@ -329,6 +333,20 @@ public final class EntryOperator {
         return shouldClone ? ss.toObject(ss.toData(oldValue)) : oldValue;
     }
 
+    /**
+     * Read-only processors of maps with adaptive value caching are given
+     * the shared deserialized value of hot entries, which spares them
+     * deserializing it again on every call.
+     */
+    private Object cachedOrRawOldValue() {
+        if (oldValue == null) {
+            return null;
+        }
+        Record record = recordStore.getRecord(dataKey);
+        Object value = record != null ? recordStore.getValueOrCachedValue(dataKey, record) : null;
+        return value == null || value instanceof Data ? oldValue : value;
+    }
+
     // Needed for MultipleEntryOperation.
     public boolean belongsAnotherPartition(Data key) {
         return partitionService.getPartitionId(key) != partitionId;
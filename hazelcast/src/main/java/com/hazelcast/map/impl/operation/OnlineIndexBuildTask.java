@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.IndexBuildProgress;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.hazelcast.config.CacheDeserializedValues.NEVER;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_INDEX_BUILD_EXECUTOR;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INDEX_ONLINE_BUILD_BATCH_DELAY_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INDEX_ONLINE_BUILD_BATCH_SIZE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Populates a global index with the entries of a partition in batches, see
+ * {@link com.hazelcast.spi.properties.ClusterProperty#MAP_INDEX_ONLINE_BUILD_ENABLED}.
+ * <p>
+ * Every batch runs on the partition thread, the record store can't be read
+ * from any other thread. The thread runs the other operations of the
+ * partition between the batches. When the build is throttled, the next
+ * batch is scheduled on the {@value com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_INDEX_BUILD_EXECUTOR}
+ * executor, which hands it back to the partition thread once the delay
+ * elapses.
+ * <p>
+ * The index is registered before the first batch, so the updates done
+ * between the batches are indexed by the regular mutation path. A batch
+ * reads the current value of every key it visits: an entry updated before
+ * it's visited is indexed with its latest value, an entry removed before
+ * it's visited is not indexed at all.
+ */
+final class OnlineIndexBuildTask implements PartitionSpecificRunnable {
+
+    private final NodeEngine nodeEngine;
+    private final MapContainer mapContainer;
+    private final RecordStore<Record> recordStore;
+    private final InternalIndex index;
+    private final IndexBuildProgress progress;
+    private final int partitionId;
+    private final int batchSize;
+    private final long batchDelayMillis;
+    private final CachedQueryEntry<?, ?> cachedEntry;
+    private final ILogger logger;
+
+    private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+
+    OnlineIndexBuildTask(NodeEngine nodeEngine, MapContainer mapContainer, RecordStore<Record> recordStore,
+                         InternalIndex index, int partitionId) {
+        this.nodeEngine = nodeEngine;
+        this.mapContainer = mapContainer;
+        this.recordStore = recordStore;
+        this.index = index;
+        this.partitionId = partitionId;
+        this.progress = mapContainer.getIndexBuildProgress(index.getName());
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.batchSize = Math.max(1, properties.getInteger(MAP_INDEX_ONLINE_BUILD_BATCH_SIZE));
+        this.batchDelayMillis = properties.getMillis(MAP_INDEX_ONLINE_BUILD_BATCH_DELAY_MILLIS);
+        this.cachedEntry = mapContainer.getMapConfig().getCacheDeserializedValues() == NEVER
+                ? new CachedQueryEntry<>(nodeEngine.getSerializationService(), mapContainer.getExtractors()) : null;
+        this.logger = nodeEngine.getLogger(getClass());
+    }
+
+    /**
+     * Starts the build unless the partition is already being built by
+     * another task, must be called on the partition thread.
+     */
+    void start() {
+        if (!progress.tryStart(partitionId)) {
+            return;
+        }
+        index.beginPartitionUpdate();
+        scheduleNextBatch();
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    @Override
+    public void run() {
+        if (!isIndexRegistered()) {
+            // destroyed along with the map, nothing to release
+            progress.onAborted(partitionId);
+            return;
+        }
+        if (!isRecordStoreOwned()) {
+            abort();
+            return;
+        }
+
+        try {
+            populateBatch();
+        } catch (Throwable t) {
+            logger.warning("Online build of index " + index.getName() + " of map " + mapContainer.getName()
+                    + " failed on partition " + partitionId, t);
+            abort();
+            return;
+        }
+
+        if (pointers[pointers.length - 1].getIndex() < 0) {
+            index.markPartitionAsIndexed(partitionId);
+            progress.onCompleted(partitionId);
+        } else {
+            scheduleNextBatch();
+        }
+    }
+
+    private void populateBatch() {
+        MapKeysWithCursor cursor = recordStore.fetchKeys(pointers, batchSize);
+        pointers = cursor.getIterationPointers();
+
+        int populated = 0;
+        for (Data dataKey : cursor.getBatch()) {
+            Record record = recordStore.getRecord(dataKey);
+            if (record == null) {
+                // defensive, fetched on this thread right before
+                continue;
+            }
+            Object value = recordStore.getValueOrCachedValue(dataKey, record);
+            QueryableEntry<?, ?> queryEntry = mapContainer.newQueryEntry(dataKey, value);
+            queryEntry.setRecord(record);
+            CachedQueryEntry<?, ?> newEntry =
+                    cachedEntry == null ? (CachedQueryEntry<?, ?>) queryEntry : cachedEntry.init(dataKey, value);
+            index.putEntry(newEntry, null, queryEntry, Index.OperationSource.USER);
+            populated++;
+        }
+        progress.onBatchPopulated(populated);
+    }
+
+    private void scheduleNextBatch() {
+        try {
+            if (batchDelayMillis > 0) {
+                nodeEngine.getExecutionService().schedule(MAP_INDEX_BUILD_EXECUTOR,
+                        () -> nodeEngine.getOperationService().execute(this), batchDelayMillis, MILLISECONDS);
+            } else {
+                nodeEngine.getOperationService().execute(this);
+            }
+        } catch (RejectedExecutionException e) {
+            // the member is shutting down
+            abort();
+        }
+    }
+
+    /**
+     * Ends the partition update begun by {@link #start()} leaving the
+     * partition indexed only if it was indexed meanwhile by other means,
+     * like a migration.
+     */
+    private void abort() {
+        if (index.hasPartitionIndexed(partitionId)) {
+            index.markPartitionAsIndexed(partitionId);
+        } else {
+            index.markPartitionAsUnindexed(partitionId);
+        }
+        progress.onAborted(partitionId);
+    }
+
+    private boolean isIndexRegistered() {
+        return !mapContainer.isDestroyed() && mapContainer.getIndexes().getIndex(index.getName()) == index;
+    }
+
+    private boolean isRecordStoreOwned() {
+        return mapContainer.getMapServiceContext().getExistingRecordStore(partitionId, mapContainer.getName()) == recordStore
+                && nodeEngine.getPartitionService().isPartitionOwner(partitionId);
+    }
+}
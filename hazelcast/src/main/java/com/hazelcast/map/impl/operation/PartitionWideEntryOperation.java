@@ -19,6 +19,9 @@ package com.hazelcast.map.impl.operation;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.ManagedContext;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.EntryProcessor;
@@ -27,35 +30,56 @@ import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.operation.steps.PartitionWideOpSteps;
 import com.hazelcast.map.impl.operation.steps.engine.State;
 import com.hazelcast.map.impl.operation.steps.engine.Step;
+import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
+import com.hazelcast.spi.impl.operationservice.CallStatus;
 import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Offload;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
 import com.hazelcast.wan.impl.CallerProvenance;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.operation.EntryOperator.operator;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.OFFLOADABLE_EXECUTOR;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED;
 
 /**
  * GOTCHA: This operation does NOT load missing keys from map-store for now.
+ * <p>
+ * A {@link ReadOnly} entry processor is run on a snapshot of the partition's
+ * entries in parallel on the {@link com.hazelcast.spi.impl.executionservice.ExecutionService#OFFLOADABLE_EXECUTOR}
+ * when {@link com.hazelcast.spi.properties.ClusterProperty#MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED}
+ * is set, see {@link ReadOnlyEntryProcessorOffload}.
  */
 
 public class PartitionWideEntryOperation extends MapOperation
         implements MutatingOperation, PartitionAwareOperation, BackupAwareOperation {
 
+    /**
+     * Minimum number of entries processed by one offloaded task.
+     */
+    private static final int MIN_OFFLOADED_CHUNK_SIZE = 1024;
+
     protected MapEntries responses;
     protected EntryProcessor entryProcessor;
 
@@ -107,6 +131,21 @@ public class PartitionWideEntryOperation extends MapOperation
         return null;
     }
 
+    @Override
+    public CallStatus call() throws Exception {
+        if (isReadOnlyOffloadable()) {
+            return new ReadOnlyEntryProcessorOffload();
+        }
+        return super.call();
+    }
+
+    private boolean isReadOnlyOffloadable() {
+        return entryProcessor instanceof ReadOnly
+                && entryProcessor.getBackupProcessor() == null
+                && mapContainer.getMapConfig().getInMemoryFormat() != InMemoryFormat.NATIVE
+                && getNodeEngine().getProperties().getBoolean(MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED);
+    }
+
     @Override
     protected void runInternal() {
         if (mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.NATIVE) {
@@ -218,6 +257,167 @@ public class PartitionWideEntryOperation extends MapOperation
         return responses;
     }
 
+    /**
+     * Runs a read-only entry processor off the partition thread. The
+     * partition thread takes a snapshot of the partition's unexpired entries,
+     * with the values in serialized form like {@link EntryOperation} does
+     * for offloaded processors, so the processing sees the partition as it
+     * was when the operation ran, whatever the later updates. For maps with
+     * {@code OBJECT} in-memory format the predicate, if any, is applied while
+     * taking the snapshot so that only the matching values are serialized.
+     * The snapshot is split into chunks processed in parallel, when all
+     * chunks are done the processed entries are touched on the partition
+     * thread, like {@link EntryOperator#doPostOperateOps()} does, and the
+     * response is sent.
+     */
+    private final class ReadOnlyEntryProcessorOffload extends Offload {
+
+        private final List<Data> keys;
+        private final List<Object> values;
+        private final Predicate chunkPredicate;
+        private boolean[] processed;
+
+        private ReadOnlyEntryProcessorOffload() {
+            super(PartitionWideEntryOperation.this);
+            int size = recordStore.size();
+            this.keys = new ArrayList<>(size);
+            this.values = new ArrayList<>(size);
+            if (mapContainer.getMapConfig().getInMemoryFormat() == InMemoryFormat.OBJECT) {
+                snapshotObjectValues(getPredicate());
+                this.chunkPredicate = null;
+            } else {
+                recordStore.forEach((dataKey, record) -> {
+                    keys.add(dataKey);
+                    values.add(record.getValue());
+                }, false);
+                this.chunkPredicate = getPredicate();
+            }
+        }
+
+        private void snapshotObjectValues(Predicate predicate) {
+            SerializationService ss = getNodeEngine().getSerializationService();
+            CachedQueryEntry<?, ?> queryEntry = predicate == null
+                    ? null : new CachedQueryEntry<>(ss, mapContainer.getExtractors());
+            recordStore.forEach((dataKey, record) -> {
+                if (predicate == null || predicate.apply(queryEntry.init(dataKey, record.getValue()))) {
+                    keys.add(dataKey);
+                    values.add(ss.toData(record.getValue()));
+                }
+            }, false);
+        }
+
+        @Override
+        public void start() {
+            int size = keys.size();
+            if (size == 0) {
+                sendResponse(new MapEntries());
+                return;
+            }
+            processed = new boolean[size];
+            int chunkCount = Math.max(1, Math.min(RuntimeAvailableProcessors.get(), size / MIN_OFFLOADED_CHUNK_SIZE));
+            int chunkSize = (size + chunkCount - 1) / chunkCount;
+            MapEntries[] chunkResponses = new MapEntries[chunkCount];
+            AtomicInteger remainingChunks = new AtomicInteger(chunkCount);
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                int chunkIndex = chunk;
+                int from = chunk * chunkSize;
+                int to = Math.min(size, from + chunkSize);
+                try {
+                    executionService.execute(OFFLOADABLE_EXECUTOR, () -> {
+                        try {
+                            chunkResponses[chunkIndex] = process(from, to);
+                        } catch (Throwable t) {
+                            fail(remainingChunks, t);
+                            return;
+                        }
+                        if (remainingChunks.decrementAndGet() == 0) {
+                            touchAndSendResponse(merge(chunkResponses));
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    fail(remainingChunks, e);
+                    return;
+                }
+            }
+        }
+
+        private void fail(AtomicInteger remainingChunks, Throwable t) {
+            // only the first failure is sent
+            if (remainingChunks.getAndSet(-1) > 0) {
+                sendResponse(t);
+            }
+        }
+
+        private MapEntries process(int from, int to) {
+            MapEntries chunkResponses = new MapEntries();
+            EntryOperator chunkOperator = operator(PartitionWideEntryOperation.this, entryProcessor, chunkPredicate);
+            for (int i = from; i < to; i++) {
+                Data dataKey = keys.get(i);
+                Data response = chunkOperator.operateOnKeyValue(dataKey, values.get(i)).getResult();
+                processed[i] = chunkOperator.isDidMatchPredicate();
+                if (response != null) {
+                    chunkResponses.add(dataKey, response);
+                }
+            }
+            return chunkResponses;
+        }
+
+        private void touchAndSendResponse(MapEntries response) {
+            try {
+                operationService.execute(new PartitionSpecificRunnable() {
+                    @Override
+                    public int getPartitionId() {
+                        return PartitionWideEntryOperation.this.getPartitionId();
+                    }
+
+                    @Override
+                    public void run() {
+                        try {
+                            touchProcessedEntries();
+                        } finally {
+                            sendResponse(response);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the member is shutting down, nothing left to touch
+                sendResponse(response);
+            }
+        }
+
+        private void touchProcessedEntries() {
+            long now = Clock.currentTimeMillis();
+            for (int i = 0; i < processed.length; i++) {
+                if (!processed[i]) {
+                    continue;
+                }
+                // the entry may have expired or been removed since the snapshot
+                Data dataKey = keys.get(i);
+                Record record = recordStore.getRecordOrNull(dataKey);
+                if (record != null) {
+                    recordStore.accessRecord(dataKey, record, now);
+                }
+            }
+        }
+
+        private MapEntries merge(MapEntries[] chunkResponses) {
+            if (chunkResponses.length == 1) {
+                return chunkResponses[0];
+            }
+            int size = 0;
+            for (MapEntries chunkResponse : chunkResponses) {
+                size += chunkResponse.size();
+            }
+            MapEntries merged = new MapEntries(size);
+            for (MapEntries chunkResponse : chunkResponses) {
+                for (int i = 0; i < chunkResponse.size(); i++) {
+                    merged.add(chunkResponse.getKey(i), chunkResponse.getValue(i));
+                }
+            }
+            return merged;
+        }
+    }
+
     @Override
     public boolean shouldBackup() {
         return mapContainer.getTotalBackupCount() > 0 && entryProcessor.getBackupProcessor() != null;
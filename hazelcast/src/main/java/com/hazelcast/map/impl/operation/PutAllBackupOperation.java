@@ -55,28 +55,33 @@ public class PutAllBackupOperation extends MapOperation
     @Override
     @SuppressWarnings("checkstyle:magicnumber")
     protected void runInternal() {
-        List keyRecordExpiry = this.keyRecordExpiry;
-        if (keyRecordExpiry != null) {
-            for (int i = lastIndex; i < keyRecordExpiry.size(); i += 3) {
-                Data key = (Data) keyRecordExpiry.get(i);
-                Record record = (Record) keyRecordExpiry.get(i + 1);
-                ExpiryMetadata expiryMetadata = (ExpiryMetadata) keyRecordExpiry.get(i + 2);
-                putBackup(key, record, expiryMetadata);
-                lastIndex = i;
-            }
-        } else {
-            // If dataKeyRecord is null and we are in
-            // `runInternal` method, means this operation
-            // has not been serialized/deserialized
-            // and is running directly on caller node
-            List keyValueRecordExpiry = this.keyValueRecordExpiry;
-            for (int i = lastIndex; i < keyValueRecordExpiry.size(); i += 4) {
-                Data key = (Data) keyValueRecordExpiry.get(i);
-                Record record = (Record) keyValueRecordExpiry.get(i + 2);
-                ExpiryMetadata expiryMetadata = (ExpiryMetadata) keyValueRecordExpiry.get(i + 3);
-                putBackup(key, record, expiryMetadata);
-                lastIndex = i;
+        recordStore.beginMutationBatch();
+        try {
+            List keyRecordExpiry = this.keyRecordExpiry;
+            if (keyRecordExpiry != null) {
+                for (int i = lastIndex; i < keyRecordExpiry.size(); i += 3) {
+                    Data key = (Data) keyRecordExpiry.get(i);
+                    Record record = (Record) keyRecordExpiry.get(i + 1);
+                    ExpiryMetadata expiryMetadata = (ExpiryMetadata) keyRecordExpiry.get(i + 2);
+                    putBackup(key, record, expiryMetadata);
+                    lastIndex = i;
+                }
+            } else {
+                // If dataKeyRecord is null and we are in
+                // `runInternal` method, means this operation
+                // has not been serialized/deserialized
+                // and is running directly on caller node
+                List keyValueRecordExpiry = this.keyValueRecordExpiry;
+                for (int i = lastIndex; i < keyValueRecordExpiry.size(); i += 4) {
+                    Data key = (Data) keyValueRecordExpiry.get(i);
+                    Record record = (Record) keyValueRecordExpiry.get(i + 2);
+                    ExpiryMetadata expiryMetadata = (ExpiryMetadata) keyValueRecordExpiry.get(i + 3);
+                    putBackup(key, record, expiryMetadata);
+                    lastIndex = i;
+                }
             }
+        } finally {
+            recordStore.endMutationBatch();
         }
     }
 
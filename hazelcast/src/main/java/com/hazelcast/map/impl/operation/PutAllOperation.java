@@ -16,7 +16,6 @@
 
 package com.hazelcast.map.impl.operation;
 
-import com.hazelcast.core.EntryEventType;
 import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.IMap;
@@ -40,8 +39,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import static com.hazelcast.core.EntryEventType.ADDED;
-import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.record.Record.UNSET;
 
 /**
@@ -66,6 +64,9 @@ public class PutAllOperation extends MapOperation
 
     private transient List backupPairs;
     private transient List<Data> invalidationKeys;
+    private transient List<Data> eventKeys;
+    private transient List<Object> eventOldValues;
+    private transient List<Object> eventValues;
 
     public PutAllOperation() {
     }
@@ -95,6 +96,11 @@ public class PutAllOperation extends MapOperation
         if (hasInvalidation) {
             invalidationKeys = new ArrayList<>(mapEntries.size());
         }
+        if (hasMapListener) {
+            eventKeys = new ArrayList<>(mapEntries.size());
+            eventOldValues = new ArrayList<>(mapEntries.size());
+            eventValues = new ArrayList<>(mapEntries.size());
+        }
     }
 
     @Override
@@ -114,9 +120,15 @@ public class PutAllOperation extends MapOperation
         // if currentIndex is not zero, this is a
         // continuation of the operation after a NativeOOME
         int size = mapEntries.size();
-        while (currentIndex < size) {
-            put(mapEntries.getKey(currentIndex), mapEntries.getValue(currentIndex));
-            currentIndex++;
+        recordStore.beginMutationBatch();
+        try {
+            while (currentIndex < size) {
+                put(mapEntries.getKey(currentIndex), mapEntries.getValue(currentIndex));
+                currentIndex++;
+            }
+        } finally {
+            recordStore.endMutationBatch();
+            publishPendingEvents();
         }
     }
 
@@ -128,9 +140,9 @@ public class PutAllOperation extends MapOperation
         mapServiceContext.interceptAfterPut(mapContainer.getInterceptorRegistry(), dataValue);
 
         if (hasMapListener) {
-            EntryEventType eventType = (oldValue == null ? ADDED : UPDATED);
-            mapEventPublisher.publishEvent(getCallerAddress(), name,
-                    eventType, dataKey, oldValue, dataValue);
+            eventKeys.add(dataKey);
+            eventOldValues.add(oldValue);
+            eventValues.add(dataValue);
         }
 
         if (hasWanReplication) {
@@ -146,9 +158,29 @@ public class PutAllOperation extends MapOperation
             backupPairs.add(dataValue);
         }
 
+        if (hasMapListener && mapContainer.getEvictor() != NULL_EVICTOR && recordStore.shouldEvict()) {
+            // keep the events of a key ordered, the
+            // eviction may publish an event for it
+            publishPendingEvents();
+        }
         evict(dataKey);
     }
 
+    /**
+     * Publishes the events of the entries put since the last call
+     * as one batch, so that the listener registrations are looked
+     * up once per batch instead of once per entry.
+     */
+    private void publishPendingEvents() {
+        if (!hasMapListener || eventKeys.isEmpty()) {
+            return;
+        }
+        mapEventPublisher.publishPutEvents(getCallerAddress(), name, eventKeys, eventOldValues, eventValues);
+        eventKeys.clear();
+        eventOldValues.clear();
+        eventValues.clear();
+    }
+
     public boolean isHasMapListener() {
         return hasMapListener;
     }
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.AbstractAggregator;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -88,6 +89,11 @@ public class AggregationResult implements Result<AggregationResult> {
         aggregator.accumulate(entry);
     }
 
+    @Override
+    public boolean retainsEntries() {
+        return !(aggregator instanceof AbstractAggregator) || ((AbstractAggregator) aggregator).retainsEntries();
+    }
+
     @Override
     public AggregationResult createSubResult() {
         Aggregator aggregatorClone = serializationService.toObject(serializationService.toData(aggregator));
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.AbstractAggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.DistinctValuesAggregator;
+import com.hazelcast.aggregation.impl.MaxAggregator;
+import com.hazelcast.aggregation.impl.MinAggregator;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexKeyEntries;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext.IndexMatchHint;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+
+import java.util.Iterator;
+
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+
+/**
+ * Answers the aggregations over all the entries of a map from a global
+ * index on the aggregated attribute, without visiting the entries which
+ * don't affect the result:
+ * <ul>
+ * <li>{@link CountAggregator} takes the entry count the index maintains.
+ * <li>{@link MinAggregator} and {@link MaxAggregator} accumulate an entry
+ * of the first and the last non-null key of a sorted index.
+ * <li>{@link DistinctValuesAggregator} accumulates an entry of every key
+ * of a sorted index.
+ * </ul>
+ * The index must cover a single attribute without the {@code [any]}
+ * modifier, so that every entry is indexed exactly once. The values are
+ * still extracted from the entries, so the aggregators return the same
+ * values as when they accumulate all the entries.
+ */
+final class IndexAggregation {
+
+    private IndexAggregation() {
+    }
+
+    /**
+     * Aggregates the entries of the given indexes matching the given
+     * predicate.
+     *
+     * @param aggregator          the aggregator to accumulate the entries
+     *                            into, must be a fresh copy.
+     * @param ownedPartitionCount the number of partitions the indexes must
+     *                            cover.
+     * @return {@code true} if the aggregator accumulated all the entries,
+     * {@code false} if the indexes can't answer the aggregation and the
+     * aggregator is left intact.
+     */
+    static boolean aggregate(Aggregator aggregator, Predicate predicate, Indexes indexes, int ownedPartitionCount) {
+        InternalIndex index = matchIndex(aggregator, predicate, indexes, ownedPartitionCount);
+        if (index == null) {
+            return false;
+        }
+
+        if (aggregator instanceof CountAggregator) {
+            ((CountAggregator) aggregator).accumulateCount(index.getEntryCount());
+        } else if (aggregator instanceof DistinctValuesAggregator) {
+            accumulateDistinct(aggregator, index);
+        } else {
+            accumulateExtreme(aggregator, index, aggregator instanceof MaxAggregator);
+        }
+        return true;
+    }
+
+    /**
+     * @return the index which can answer the aggregation or {@code null} if
+     * there is none.
+     */
+    private static InternalIndex matchIndex(Aggregator aggregator, Predicate predicate, Indexes indexes,
+                                            int ownedPartitionCount) {
+        if (!(predicate instanceof TruePredicate) || !indexes.isGlobal() || !isSupported(aggregator)) {
+            return null;
+        }
+        String attributePath = ((AbstractAggregator) aggregator).getAttributePath();
+        if (attributePath == null || attributePath.contains("[")) {
+            return null;
+        }
+
+        boolean ordered = !(aggregator instanceof CountAggregator);
+        InternalIndex index = indexes.matchIndex(canonicalizeAttribute(attributePath),
+                ordered ? IndexMatchHint.PREFER_ORDERED : IndexMatchHint.NONE, ownedPartitionCount);
+        if (index == null || index.getComponents().length != 1 || ordered && !index.isOrdered()) {
+            return null;
+        }
+        return index;
+    }
+
+    private static void accumulateDistinct(Aggregator aggregator, InternalIndex index) {
+        Iterator<IndexKeyEntries> keys = index.getSqlRecordIteratorBatch(false);
+        while (keys.hasNext()) {
+            accumulateFirst(aggregator, keys.next());
+        }
+    }
+
+    private static void accumulateExtreme(Aggregator aggregator, InternalIndex index, boolean max) {
+        Iterator<IndexKeyEntries> keys = index.getSqlRecordIteratorBatch(max);
+        while (keys.hasNext()) {
+            IndexKeyEntries key = keys.next();
+            // null values are ignored by the aggregators, a non-null key
+            // may still yield a null value if the entry was just updated
+            if (key.getIndexKey() != null && accumulateFirst(aggregator, key) && aggregator.aggregate() != null) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isSupported(Aggregator aggregator) {
+        Class<?> type = aggregator.getClass();
+        return type == CountAggregator.class || type == MinAggregator.class || type == MaxAggregator.class
+                || type == DistinctValuesAggregator.class;
+    }
+
+    /**
+     * Accumulates the first entry having the given key, the key may have no
+     * entries if they were removed concurrently.
+     *
+     * @return {@code true} if an entry was accumulated.
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean accumulateFirst(Aggregator aggregator, IndexKeyEntries key) {
+        Iterator<QueryableEntry> entries = key.getEntries();
+        if (!entries.hasNext()) {
+            return false;
+        }
+        aggregator.accumulate(entries.next());
+        return true;
+    }
+}
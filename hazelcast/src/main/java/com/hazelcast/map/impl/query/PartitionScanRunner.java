@@ -47,7 +47,6 @@ import java.util.function.BiConsumer;
 
 import static com.hazelcast.internal.util.SortingUtil.compareAnchor;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
-import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
 
 /**
  * Responsible for running a full-partition scan for a single partition in the calling thread.
@@ -82,6 +81,7 @@ public class PartitionScanRunner {
         MapContainer mapContainer = recordStore.getMapContainer();
         boolean nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
         boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
+        boolean reuseEntries = !result.retainsEntries();
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
@@ -91,7 +91,7 @@ public class PartitionScanRunner {
 
             @Override
             public void accept(Data key, Record record) {
-                Object value = useCachedValues ? getValueOrCachedValue(record, ss) : record.getValue();
+                Object value = useCachedValues ? recordStore.getValueOrCachedValue(key, record) : record.getValue();
                 // TODO how can a value be null?
                 if (value == null) {
                     return;
@@ -103,20 +103,29 @@ public class PartitionScanRunner {
 
                 if (predicate.apply(queryEntry)
                         && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
-
-                    // always copy key&value to heap if map is backed by native memory
-                    value = nativeMemory ? toHeapData((Data) value) : value;
-                    result.add(queryEntry.init(ss, toHeapData(key), value, extractors));
-
-                    // We can't reuse the existing entry after it was added to the
-                    // result. Allocate the new one.
-                    queryEntry = new LazyMapEntry();
+                    if (reuseEntries) {
+                        // the result is done with the entry once it's added, it
+                        // can be reinitialized with the next one without copying
+                        result.add(queryEntry);
+                    } else {
+                        result.add(copyToHeap(queryEntry, key, value, nativeMemory, extractors));
+                        // We can't reuse the existing entry after it was added to the
+                        // result. Allocate the new one.
+                        queryEntry = new LazyMapEntry();
+                    }
                 }
             }
         }, false);
         result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
     }
 
+    private QueryableEntry copyToHeap(LazyMapEntry queryEntry, Data key, Object value, boolean nativeMemory,
+                                      Extractors extractors) {
+        // always copy key&value to heap if map is backed by native memory
+        value = nativeMemory ? toHeapData((Data) value) : value;
+        return queryEntry.init(ss, toHeapData(key), value, extractors);
+    }
+
     /**
      * Executes the predicate on a partition chunk. The offset in the partition
      * is defined by the {@code pointers} and the soft limit is defined by the
@@ -130,9 +130,13 @@ public class QueryEngineImpl implements QueryEngine {
             // PagingPredicateImpl must be cloned before adjusting else it corrupts the iteration type for the caller
             PagingPredicateImpl clonedPredicate = new PagingPredicateImpl((PagingPredicateImpl) query.getPredicate());
             clonedPredicate.setIterationType(query.getIterationType());
+            // members resume from the nearest anchor, there is no need to ship the earlier ones
+            clonedPredicate.retainNearestAnchorOnly();
             builder.predicate(clonedPredicate);
         } else if (query.getPredicate() == Predicates.alwaysTrue()) {
             queryResultSizeLimiter.precheckMaxResultLimitOnLocalPartitions(query.getMapName());
+        } else {
+            queryResultSizeLimiter.precheckMaxResultLimitOnLocalIndexes(query.getMapName(), query.getPredicate());
         }
         return builder.build();
     }
@@ -16,7 +16,6 @@
 
 package com.hazelcast.map.impl.query;
 
-import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.internal.partition.IPartition;
 import com.hazelcast.map.impl.MapContainer;
@@ -63,11 +62,6 @@ public class QueryOperation extends AbstractNamedOperation implements ReadonlyOp
         this.query = query;
     }
 
-    private InMemoryFormat getMapInMemoryFormat() {
-        MapContainer mapContainer = getMapServiceContext().getMapContainer(name);
-        return mapContainer.getMapConfig().getInMemoryFormat();
-    }
-
     private MapServiceContext getMapServiceContext() {
         MapService mapService = getService();
         return mapService.getMapServiceContext();
@@ -81,43 +75,51 @@ public class QueryOperation extends AbstractNamedOperation implements ReadonlyOp
 
     @Nonnull
     private CallStatus callInternal() {
+        MapContainer mapContainer = getMapServiceContext().getMapContainer(getName());
         QueryRunner queryRunner = getMapServiceContext().getMapQueryRunner(getName());
 
-        switch (getMapInMemoryFormat()) {
+        switch (mapContainer.getMapConfig().getInMemoryFormat()) {
             case BINARY:
             case OBJECT:
+                if (mapContainer.isStorageConfinedToPartitionThreads()) {
+                    // the records must not be read outside the partition threads
+                    return callOnPartitionThreads(queryRunner, mapContainer.shouldUseGlobalIndex());
+                }
                 result = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query);
                 return RESPONSE;
             case NATIVE:
-                boolean useGlobalIndex = getMapServiceContext().getMapContainer(getName()).shouldUseGlobalIndex();
-
-                if (useGlobalIndex) {
-                    // Try to use HD global index
-                    // Don't do map scan because it is not thread-safe
-                    Result indexResult = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query, false);
-                    if (indexResult != null) {
-                        result = indexResult;
-                        return RESPONSE;
-                    }
-                }
-
-                // Offload query run on the partition threads.
-                BitSet queryPartitions = localPartitions();
-                if (query.getPartitionIdSet() != null) {
-                    queryPartitions.and(query.getPartitionIdSet().bitSetCopy());
-                }
-                if (queryPartitions.cardinality() == 0) {
-                    // important to deal with situation of not having any partitions
-                    result = queryRunner.populateEmptyResult(query, Collections.emptyList());
-                    return RESPONSE;
-                } else {
-                    return new OffloadedImpl(queryRunner, queryPartitions);
-                }
+                return callOnPartitionThreads(queryRunner, mapContainer.shouldUseGlobalIndex());
             default:
                 throw new IllegalArgumentException("Unsupported in memory format");
         }
     }
 
+    @Nonnull
+    private CallStatus callOnPartitionThreads(QueryRunner queryRunner, boolean useGlobalIndex) {
+        if (useGlobalIndex) {
+            // Try to use the global index
+            // Don't do map scan because it is not thread-safe
+            Result indexResult = queryRunner.runIndexOrPartitionScanQueryOnOwnedPartitions(query, false);
+            if (indexResult != null) {
+                result = indexResult;
+                return RESPONSE;
+            }
+        }
+
+        // Offload query run on the partition threads.
+        BitSet queryPartitions = localPartitions();
+        if (query.getPartitionIdSet() != null) {
+            queryPartitions.and(query.getPartitionIdSet().bitSetCopy());
+        }
+        if (queryPartitions.cardinality() == 0) {
+            // important to deal with situation of not having any partitions
+            result = queryRunner.populateEmptyResult(query, Collections.emptyList());
+            return RESPONSE;
+        } else {
+            return new OffloadedImpl(queryRunner, queryPartitions);
+        }
+    }
+
     private int partitionCount() {
         return getNodeEngine().getPartitionService().getPartitionCount();
     }
@@ -18,12 +18,20 @@ package com.hazelcast.map.impl.query;
 
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.CompoundPredicate;
+import com.hazelcast.query.impl.predicates.IndexAwarePredicate;
+import com.hazelcast.query.impl.predicates.SqlPredicate;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 
 import java.util.PrimitiveIterator;
+import java.util.Set;
 
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_MAX_LOCAL_PARTITION_LIMIT_FOR_PRE_CHECK;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_SIZE_LIMIT;
@@ -141,6 +149,65 @@ public class QueryResultSizeLimiter {
         }
     }
 
+    /**
+     * Checks the result size of the given predicate estimated by the global
+     * indexes of the map on this member against the result size limit.
+     * <p>
+     * Only simple indexed predicates are checked: the estimates of compound
+     * predicates are upper bounds and could fail queries fitting into the
+     * limit.
+     * <p>
+     * The estimates come from histograms and distinct value counts, so they
+     * are only used to skip the check for results far below the limit. A
+     * query is failed only if the exact number of entries the index returns
+     * for the predicate exceeds the limit.
+     */
+    void precheckMaxResultLimitOnLocalIndexes(String mapName, Predicate predicate) {
+        // check if feature is enabled
+        if (!isPreCheckEnabled) {
+            return;
+        }
+
+        IndexAwarePredicate indexAwarePredicate = asSimpleIndexAwarePredicate(predicate);
+        MapContainer mapContainer = mapServiceContext.getExistingMapContainer(mapName);
+        if (indexAwarePredicate == null || mapContainer == null || !mapContainer.isGlobalIndexEnabled()) {
+            return;
+        }
+
+        // global indexes cover all local partitions
+        int localPartitionCount = mapServiceContext.getOrInitCachedMemberPartitions().size();
+        if (localPartitionCount == 0) {
+            return;
+        }
+
+        QueryContext queryContext = new QueryContext(mapContainer.getIndexes(), localPartitionCount);
+        if (!indexAwarePredicate.isIndexed(queryContext)) {
+            return;
+        }
+
+        // skip the exact check if the estimate is below the limit, unknown estimates are negative
+        long localResultLimit = getNodeResultLimit(localPartitionCount);
+        if (indexAwarePredicate.estimateResultSize(queryContext) <= localResultLimit) {
+            return;
+        }
+
+        // check exact local result size, null if the index is not ready
+        Set<QueryableEntry> result = indexAwarePredicate.filter(queryContext);
+        if (result != null && result.size() > localResultLimit) {
+            throw new QueryResultSizeExceededException(maxResultLimit, " Result size exceeded in local index pre-check.");
+        }
+    }
+
+    private static IndexAwarePredicate asSimpleIndexAwarePredicate(Predicate predicate) {
+        if (predicate instanceof SqlPredicate) {
+            predicate = ((SqlPredicate) predicate).getPredicate();
+        }
+        if (predicate instanceof IndexAwarePredicate && !(predicate instanceof CompoundPredicate)) {
+            return (IndexAwarePredicate) predicate;
+        }
+        return null;
+    }
+
     private int getLocalPartitionSize(String mapName, PartitionIdSet localPartitions, int partitionsToCheck) {
         int localSize = 0;
         int partitionsChecked = 0;
@@ -137,6 +137,13 @@ public class QueryRunner {
         // first we optimize the query
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexes);
 
+        // some aggregations can be answered by an index without visiting the entries
+        Result aggregationResult = runIndexAggregationSafely(query, predicate, mapContainer, migrationStamp,
+                initialPartitions, actualPartitions);
+        if (aggregationResult != null) {
+            return aggregationResult;
+        }
+
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
         Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
                 migrationStamp, initialPartitions.size());
@@ -294,6 +301,31 @@ public class QueryRunner {
         return null;
     }
 
+    private Result runIndexAggregationSafely(Query query, Predicate predicate, MapContainer mapContainer, int migrationStamp,
+                                             PartitionIdSet ownedPartitions, PartitionIdSet partitions) {
+        // a global index covers all the owned partitions, it can't aggregate a subset of them
+        if (!query.isAggregationQuery() || !ownedPartitions.equals(partitions)) {
+            return null;
+        }
+        Indexes indexes = mapContainer.getIndexes();
+        if (indexes == null || !validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+
+        AggregationResult result = (AggregationResult) createResult(query, partitions);
+        if (!IndexAggregation.aggregate(result.getAggregator(), predicate, indexes, partitions.size())) {
+            return null;
+        }
+        result.getAggregator().onAccumulationFinished();
+
+        // the index may have missed the entries of the partitions migrated meanwhile
+        if (validateMigrationStamp(migrationStamp)) {
+            result.setPartitionIds(partitions);
+            return result;
+        }
+        return null;
+    }
+
     protected Result runUsingPartitionScanSafely(Query query, Predicate predicate,
                                                  PartitionIdSet partitions, int migrationStamp) {
 
@@ -69,6 +69,18 @@ public interface Result<T extends Result> extends IdentifiedDataSerializable {
      */
     void add(QueryableEntry entry);
 
+    /**
+     * Tells whether this result may keep a reference to an entry passed to
+     * {@link #add}. The query engine reuses a single entry object for all the
+     * entries it adds to a result which doesn't keep them.
+     *
+     * @return {@code true} if the added entries may be retained, {@code false}
+     * otherwise.
+     */
+    default boolean retainsEntries() {
+        return true;
+    }
+
     /**
      * Creates a new empty sub result of the same type as this result.
      * <p>
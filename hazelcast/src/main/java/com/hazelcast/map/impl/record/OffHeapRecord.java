@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+
+/**
+ * Record of a map whose entries are kept in native memory.
+ * <p>
+ * An instance is either <em>detached</em> or <em>attached</em>. A detached
+ * record keeps its value and metadata on-heap, like a regular
+ * {@link DataRecordWithStats}. Records are created detached by
+ * {@link OffHeapRecordFactory} and become attached once the storage copies
+ * them into a native entry block. An attached record is a flyweight over
+ * that block: every getter and setter goes straight to native memory.
+ * When the storage removes the entry, it detaches the record it was given
+ * so that the record can still be used by the caller afterwards.
+ * An attached record must only be used by the partition thread owning the
+ * entry: any later mutation of the partition may free the block.
+ * <p>
+ * Layout of the native entry block:
+ * <pre>
+ *  0 next entry in the bucket chain (long)
+ *  8 hash of the key                 (long)
+ * 16 address of the value block      (long)
+ * 24 value size                      (int)
+ * 28 key size                        (int)
+ * 32 version                         (int)
+ * 36 hits                            (int)
+ * 40 creation time                   (int)
+ * 44 last access time                (int)
+ * 48 last update time                (int)
+ * 52 last stored time                (int)
+ * 56 key bytes
+ * </pre>
+ * Times are stored as seconds relative to
+ * {@link com.hazelcast.internal.util.TimeStripUtil#EPOCH_TIME_MILLIS}, the
+ * same way {@link AbstractRecord} does.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class OffHeapRecord implements Record<Data> {
+
+    public static final int NEXT_IN_CHAIN_OFFSET = 0;
+    public static final int KEY_HASH_OFFSET = 8;
+    public static final int VALUE_ADDRESS_OFFSET = 16;
+    public static final int VALUE_SIZE_OFFSET = 24;
+    public static final int KEY_SIZE_OFFSET = 28;
+    public static final int VERSION_OFFSET = 32;
+    public static final int HITS_OFFSET = 36;
+    public static final int CREATION_TIME_OFFSET = 40;
+    public static final int LAST_ACCESS_TIME_OFFSET = 44;
+    public static final int LAST_UPDATE_TIME_OFFSET = 48;
+    public static final int LAST_STORED_TIME_OFFSET = 52;
+    public static final int KEY_OFFSET = 56;
+
+    private final MemoryManager memoryManager;
+
+    private long address = NULL_ADDRESS;
+    private DataRecordWithStats detached;
+
+    /**
+     * Creates a detached record.
+     */
+    OffHeapRecord(MemoryManager memoryManager, Data value) {
+        this.memoryManager = memoryManager;
+        this.detached = new DataRecordWithStats(value);
+    }
+
+    /**
+     * Creates a flyweight over the entry block at the given address.
+     */
+    public OffHeapRecord(MemoryManager memoryManager, long address) {
+        assert address != NULL_ADDRESS;
+        this.memoryManager = memoryManager;
+        this.address = address;
+    }
+
+    /**
+     * @return the address of the entry block this record
+     * is attached to or {@code NULL_ADDRESS} if detached
+     */
+    public long address() {
+        return address;
+    }
+
+    /**
+     * @return {@code true} if this record is a flyweight
+     * over an entry block of the given memory manager
+     */
+    public boolean isAttachedTo(MemoryManager memoryManager) {
+        return address != NULL_ADDRESS && this.memoryManager == memoryManager;
+    }
+
+    /**
+     * Copies the value and metadata of this detached record into the given
+     * entry block and turns this instance into a flyweight over it.
+     */
+    public void attach(long entryAddress) {
+        assert address == NULL_ADDRESS : "Record is already attached";
+        DataRecordWithStats source = detached;
+        address = entryAddress;
+        detached = null;
+        writeValue(source.getValue());
+        writeMetadata(source);
+    }
+
+    /**
+     * Copies the value and metadata out of the entry block into this instance.
+     * Must be called before the entry block is freed.
+     */
+    public void detach() {
+        assert address != NULL_ADDRESS : "Record is not attached";
+        DataRecordWithStats copy = new DataRecordWithStats(getValue());
+        copy.setVersion(getVersion());
+        copy.setHits(getHits());
+        copy.setRawCreationTime(getRawCreationTime());
+        copy.setRawLastAccessTime(getRawLastAccessTime());
+        copy.setRawLastUpdateTime(getRawLastUpdateTime());
+        copy.setRawLastStoredTime(getRawLastStoredTime());
+        detached = copy;
+        address = NULL_ADDRESS;
+    }
+
+    /**
+     * Copies the metadata of the given record into the entry block at the given address.
+     */
+    public static void writeMetadata(MemoryAccessor mem, long entryAddress, Record record) {
+        mem.putInt(entryAddress + VERSION_OFFSET, record.getVersion());
+        mem.putInt(entryAddress + HITS_OFFSET, record.getHits());
+        mem.putInt(entryAddress + CREATION_TIME_OFFSET, record.getRawCreationTime());
+        mem.putInt(entryAddress + LAST_ACCESS_TIME_OFFSET, record.getRawLastAccessTime());
+        mem.putInt(entryAddress + LAST_UPDATE_TIME_OFFSET, record.getRawLastUpdateTime());
+        mem.putInt(entryAddress + LAST_STORED_TIME_OFFSET, record.getRawLastStoredTime());
+    }
+
+    /**
+     * @return the native cost of the value block of the entry at the given address
+     */
+    public static long valueCost(MemoryAccessor mem, long entryAddress) {
+        return mem.getInt(entryAddress + VALUE_SIZE_OFFSET);
+    }
+
+    /**
+     * @return the native cost of the entry block (excluding the value) at the given address
+     */
+    public static long entryCost(MemoryAccessor mem, long entryAddress) {
+        return KEY_OFFSET + mem.getInt(entryAddress + KEY_SIZE_OFFSET);
+    }
+
+    /**
+     * Frees the value block of the entry at the given address.
+     */
+    public static void freeValue(MemoryManager memoryManager, long entryAddress) {
+        MemoryAccessor mem = memoryManager.getAccessor();
+        long valueAddress = mem.getLong(entryAddress + VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            memoryManager.getAllocator().free(valueAddress, mem.getInt(entryAddress + VALUE_SIZE_OFFSET));
+        }
+        mem.putLong(entryAddress + VALUE_ADDRESS_OFFSET, NULL_ADDRESS);
+        mem.putInt(entryAddress + VALUE_SIZE_OFFSET, 0);
+    }
+
+    private void writeMetadata(Record record) {
+        writeMetadata(mem(), address, record);
+    }
+
+    private void writeValue(Data value) {
+        freeValue(memoryManager, address);
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.toByteArray();
+        if (bytes == null || bytes.length == 0) {
+            return;
+        }
+        MemoryAllocator malloc = memoryManager.getAllocator();
+        MemoryAccessor mem = mem();
+        long valueAddress = malloc.allocate(bytes.length);
+        mem.copyFromByteArray(bytes, 0, valueAddress, bytes.length);
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, valueAddress);
+        mem.putInt(address + VALUE_SIZE_OFFSET, bytes.length);
+    }
+
+    private MemoryAccessor mem() {
+        return memoryManager.getAccessor();
+    }
+
+    private int getInt(int offset) {
+        return mem().getInt(address + offset);
+    }
+
+    private void putInt(int offset, int value) {
+        mem().putInt(address + offset, value);
+    }
+
+    @Override
+    public Data getValue() {
+        if (address == NULL_ADDRESS) {
+            return detached.getValue();
+        }
+        MemoryAccessor mem = mem();
+        long valueAddress = mem.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[mem.getInt(address + VALUE_SIZE_OFFSET)];
+        mem.copyToByteArray(valueAddress, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        if (address == NULL_ADDRESS) {
+            detached.setValue(value);
+        } else {
+            writeValue(value);
+        }
+    }
+
+    /**
+     * For an attached record, returns the number of native bytes
+     * held by its entry and value blocks. For a detached record,
+     * returns the on-heap cost, like the other records do.
+     */
+    @Override
+    public long getCost() {
+        if (address == NULL_ADDRESS) {
+            return OBJECT_HEADER_SIZE + 2 * REFERENCE_COST_IN_BYTES + detached.getCost();
+        }
+        MemoryAccessor mem = mem();
+        return entryCost(mem, address) + valueCost(mem, address);
+    }
+
+    @Override
+    public int getVersion() {
+        return address == NULL_ADDRESS ? detached.getVersion() : getInt(VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        if (address == NULL_ADDRESS) {
+            detached.setVersion(version);
+        } else {
+            putInt(VERSION_OFFSET, version);
+        }
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return address == NULL_ADDRESS ? detached.getHits() : getInt(HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        if (address == NULL_ADDRESS) {
+            detached.setHits(hits);
+        } else {
+            putInt(HITS_OFFSET, hits);
+        }
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return address == NULL_ADDRESS ? detached.getRawCreationTime() : getInt(CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        if (address == NULL_ADDRESS) {
+            detached.setRawCreationTime(creationTime);
+        } else {
+            putInt(CREATION_TIME_OFFSET, creationTime);
+        }
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return address == NULL_ADDRESS ? detached.getRawLastAccessTime() : getInt(LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        if (address == NULL_ADDRESS) {
+            detached.setRawLastAccessTime(lastAccessTime);
+        } else {
+            putInt(LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+        }
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return address == NULL_ADDRESS ? detached.getRawLastUpdateTime() : getInt(LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        if (address == NULL_ADDRESS) {
+            detached.setRawLastUpdateTime(lastUpdateTime);
+        } else {
+            putInt(LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+        }
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return address == NULL_ADDRESS ? detached.getRawLastStoredTime() : getInt(LAST_STORED_TIME_OFFSET);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        if (address == NULL_ADDRESS) {
+            detached.setRawLastStoredTime(lastStoredTime);
+        } else {
+            putInt(LAST_STORED_TIME_OFFSET, lastStoredTime);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapRecord{"
+                + "address=" + address
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", creationTime=" + getRawCreationTime()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + '}';
+    }
+}
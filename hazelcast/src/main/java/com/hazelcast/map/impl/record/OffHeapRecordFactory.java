@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+/**
+ * Creates detached {@link OffHeapRecord}s, which are moved to
+ * native memory once they are put into the off-heap storage.
+ */
+public class OffHeapRecordFactory implements RecordFactory<Data> {
+
+    private final MemoryManager memoryManager;
+    private final SerializationService ss;
+
+    public OffHeapRecordFactory(MemoryManager memoryManager, SerializationService ss) {
+        this.memoryManager = memoryManager;
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        return new OffHeapRecord(memoryManager, ss.toData(value));
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER;
+import static com.hazelcast.map.impl.record.RecordSlab.CREATION_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.HITS;
+import static com.hazelcast.map.impl.record.RecordSlab.LAST_ACCESS_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.LAST_STORED_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.LAST_UPDATE_TIME;
+import static com.hazelcast.map.impl.record.RecordSlab.VERSION;
+
+/**
+ * Record of a map whose entries are kept in a {@link RecordSlab}.
+ * <p>
+ * Like {@link OffHeapRecord}, an instance is either <em>detached</em> or
+ * <em>attached</em>. A detached record keeps its value and metadata in its
+ * own fields. Records are created detached by {@link PackedRecordFactory}
+ * and become attached once the storage copies them into a slab slot. An
+ * attached record is a flyweight: it holds only the slab and the slot
+ * index, and every getter and setter goes to the slab. When the storage
+ * removes the entry, it detaches the record it was given so that the
+ * record can still be used by the caller afterwards. Any other flyweight
+ * over the removed entry fails with an {@link IllegalStateException}
+ * instead of reading the entry which reuses the slot, see
+ * {@link RecordSlab#generation(int)}.
+ * <p>
+ * An attached record must only be used by the partition thread owning the
+ * entry, the slab arrays are replaced when the storage grows.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class PackedRecord implements Record<Object> {
+
+    private static final int DETACHED = -1;
+    private static final int DETACHED_COST_IN_BYTES = OBJECT_HEADER_SIZE
+            + 2 * REFERENCE_COST_IN_BYTES + (RecordSlab.METADATA_LENGTH + 1) * Integer.BYTES;
+
+    private RecordSlab slab;
+    private int slot = DETACHED;
+    private int generation;
+
+    private Object value;
+    private int version;
+    private int hits;
+    private int creationTime = UNSET;
+    private int lastAccessTime = UNSET;
+    private int lastUpdateTime = UNSET;
+    private int lastStoredTime = UNSET;
+
+    /**
+     * Creates a detached record.
+     */
+    PackedRecord(Object value) {
+        this.value = value;
+    }
+
+    /**
+     * Creates a flyweight over the given slot of the slab.
+     */
+    public PackedRecord(RecordSlab slab, int slot) {
+        assert slot >= 0;
+        this.slab = slab;
+        this.slot = slot;
+        this.generation = slab.generation(slot);
+        assert generation != 0 : "Slot " + slot + " is free";
+    }
+
+    /**
+     * @return the slot this record is attached to or {@code -1} if detached
+     */
+    public int slot() {
+        return slot;
+    }
+
+    /**
+     * @return {@code true} if this record is a flyweight over
+     * an entry which is still stored in the given slab
+     */
+    public boolean isAttachedTo(RecordSlab slab) {
+        return slot != DETACHED && this.slab == slab && slab.generation(slot) == generation;
+    }
+
+    /**
+     * Copies the value and metadata of this detached record into
+     * the given slot and turns this instance into a flyweight over it.
+     */
+    public void attach(RecordSlab slab, int slot) {
+        assert this.slot == DETACHED : "Record is already attached";
+        slab.write(slot, this);
+        this.slab = slab;
+        this.slot = slot;
+        this.generation = slab.generation(slot);
+        this.value = null;
+    }
+
+    /**
+     * Copies the value and metadata out of the slab into this instance.
+     * Must be called before the slot is cleared.
+     */
+    public void detach() {
+        assert slot != DETACHED : "Record is not attached";
+        value = attachedSlab().getValue(slot);
+        version = slab.get(slot, VERSION);
+        hits = slab.get(slot, HITS);
+        creationTime = slab.get(slot, CREATION_TIME);
+        lastAccessTime = slab.get(slot, LAST_ACCESS_TIME);
+        lastUpdateTime = slab.get(slot, LAST_UPDATE_TIME);
+        lastStoredTime = slab.get(slot, LAST_STORED_TIME);
+        slab = null;
+        slot = DETACHED;
+        generation = 0;
+    }
+
+    /**
+     * @return the slab of this attached record
+     * @throws IllegalStateException if the entry this record
+     *                               was created for has been removed
+     */
+    private RecordSlab attachedSlab() {
+        if (slab.generation(slot) != generation) {
+            throw new IllegalStateException("The entry of slot " + slot + " has been removed");
+        }
+        return slab;
+    }
+
+    @Override
+    public Object getValue() {
+        return slot == DETACHED ? value : attachedSlab().getValue(slot);
+    }
+
+    @Override
+    public void setValue(Object value) {
+        if (slot == DETACHED) {
+            this.value = value;
+        } else {
+            attachedSlab().setValue(slot, value);
+        }
+    }
+
+    /**
+     * For an attached record, returns the cost of its slab slot and
+     * value. For a detached record, returns the cost of this instance.
+     */
+    @Override
+    public long getCost() {
+        if (slot == DETACHED) {
+            long valueCost = value instanceof Data ? ((Data) value).getHeapCost() : 0L;
+            return DETACHED_COST_IN_BYTES + valueCost;
+        }
+        return RecordSlab.SLOT_COST_IN_BYTES + attachedSlab().valueCost(slot);
+    }
+
+    @Override
+    public int getVersion() {
+        return slot == DETACHED ? version : attachedSlab().get(slot, VERSION);
+    }
+
+    @Override
+    public void setVersion(int version) {
+        if (slot == DETACHED) {
+            this.version = version;
+        } else {
+            attachedSlab().set(slot, VERSION, version);
+        }
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return recomputeWithBaseTime(getRawLastAccessTime());
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        setRawLastAccessTime(stripBaseTime(lastAccessTime));
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return recomputeWithBaseTime(getRawLastUpdateTime());
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        setRawLastUpdateTime(stripBaseTime(lastUpdateTime));
+    }
+
+    @Override
+    public long getCreationTime() {
+        return recomputeWithBaseTime(getRawCreationTime());
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        setRawCreationTime(stripBaseTime(creationTime));
+    }
+
+    @Override
+    public int getHits() {
+        return slot == DETACHED ? hits : attachedSlab().get(slot, HITS);
+    }
+
+    @Override
+    public void setHits(int hits) {
+        if (slot == DETACHED) {
+            this.hits = hits;
+        } else {
+            attachedSlab().set(slot, HITS, hits);
+        }
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        int lastStoredTime = getRawLastStoredTime();
+        if (lastStoredTime == UNSET) {
+            return 0L;
+        }
+        return recomputeWithBaseTime(lastStoredTime);
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        setRawLastStoredTime(stripBaseTime(lastStoredTime));
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return DATA_RECORD_WITH_STATS_READER_WRITER;
+    }
+
+    @Override
+    public int getRawCreationTime() {
+        return slot == DETACHED ? creationTime : attachedSlab().get(slot, CREATION_TIME);
+    }
+
+    @Override
+    public void setRawCreationTime(int creationTime) {
+        if (slot == DETACHED) {
+            this.creationTime = creationTime;
+        } else {
+            attachedSlab().set(slot, CREATION_TIME, creationTime);
+        }
+    }
+
+    @Override
+    public int getRawLastAccessTime() {
+        return slot == DETACHED ? lastAccessTime : attachedSlab().get(slot, LAST_ACCESS_TIME);
+    }
+
+    @Override
+    public void setRawLastAccessTime(int lastAccessTime) {
+        if (slot == DETACHED) {
+            this.lastAccessTime = lastAccessTime;
+        } else {
+            attachedSlab().set(slot, LAST_ACCESS_TIME, lastAccessTime);
+        }
+    }
+
+    @Override
+    public int getRawLastUpdateTime() {
+        return slot == DETACHED ? lastUpdateTime : attachedSlab().get(slot, LAST_UPDATE_TIME);
+    }
+
+    @Override
+    public void setRawLastUpdateTime(int lastUpdateTime) {
+        if (slot == DETACHED) {
+            this.lastUpdateTime = lastUpdateTime;
+        } else {
+            attachedSlab().set(slot, LAST_UPDATE_TIME, lastUpdateTime);
+        }
+    }
+
+    @Override
+    public int getRawLastStoredTime() {
+        return slot == DETACHED ? lastStoredTime : attachedSlab().get(slot, LAST_STORED_TIME);
+    }
+
+    @Override
+    public void setRawLastStoredTime(int lastStoredTime) {
+        if (slot == DETACHED) {
+            this.lastStoredTime = lastStoredTime;
+        } else {
+            attachedSlab().set(slot, LAST_STORED_TIME, lastStoredTime);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PackedRecord{"
+                + "slot=" + slot
+                + ", version=" + getVersion()
+                + ", hits=" + getHits()
+                + ", creationTime=" + getRawCreationTime()
+                + ", lastAccessTime=" + getRawLastAccessTime()
+                + ", lastUpdateTime=" + getRawLastUpdateTime()
+                + '}';
+    }
+}
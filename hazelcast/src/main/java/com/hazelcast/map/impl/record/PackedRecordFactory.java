@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+
+/**
+ * Creates detached {@link PackedRecord}s, which are moved
+ * into a {@link RecordSlab} once they are put into the storage.
+ */
+public class PackedRecordFactory implements RecordFactory<Object> {
+
+    private final InMemoryFormat inMemoryFormat;
+    private final SerializationService ss;
+
+    public PackedRecordFactory(InMemoryFormat inMemoryFormat, SerializationService ss) {
+        this.inMemoryFormat = inMemoryFormat;
+        this.ss = ss;
+    }
+
+    @Override
+    public Record<Object> newRecord(Data key, Object value) {
+        return new PackedRecord(inMemoryFormat == BINARY ? ss.toData(value) : ss.toObject(value));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * Keeps the values and the metadata of the records of a packed storage in
+ * parallel arrays indexed by slot, instead of one {@link Record} object
+ * per entry. The metadata of a slot is a run of {@link #METADATA_LENGTH}
+ * consecutive ints in a single {@code int[]}, so an entry costs one value
+ * reference plus seven ints, with no object header.
+ * <p>
+ * Slots are handed out and returned by the owning storage. The slab itself
+ * only grows; a slot keeps its index for as long as it is occupied, which
+ * lets {@link PackedRecord} flyweights refer to it by index. Each occupation
+ * of a slot gets a new generation, so a flyweight detects that the entry it
+ * was created for has been removed, even if its slot holds another entry.
+ * <p>
+ * Not thread-safe, it is only accessed by the partition thread.
+ */
+public final class RecordSlab {
+
+    /**
+     * Heap cost of the value reference and the metadata of a slot.
+     */
+    public static final int SLOT_COST_IN_BYTES = REFERENCE_COST_IN_BYTES + RecordSlab.METADATA_LENGTH * Integer.BYTES;
+
+    static final int VERSION = 0;
+    static final int HITS = 1;
+    static final int CREATION_TIME = 2;
+    static final int LAST_ACCESS_TIME = 3;
+    static final int LAST_UPDATE_TIME = 4;
+    static final int LAST_STORED_TIME = 5;
+    static final int GENERATION = 6;
+    static final int METADATA_LENGTH = 7;
+
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int[] EMPTY_METADATA = new int[0];
+
+    private Object[] values = EMPTY_VALUES;
+    private int[] metadata = EMPTY_METADATA;
+    /**
+     * Last generation handed out, not reset by {@link #reset()} so that
+     * flyweights created before a reset never match a reused slot.
+     */
+    private int lastGeneration;
+
+    /**
+     * @return the number of slots this slab can hold without growing
+     */
+    public int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Grows the slab to hold at least the given number of slots,
+     * keeping the contents of the existing slots.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= values.length) {
+            return;
+        }
+        values = Arrays.copyOf(values, capacity);
+        metadata = Arrays.copyOf(metadata, capacity * METADATA_LENGTH);
+    }
+
+    /**
+     * Marks the given free slot as occupied by a new entry.
+     */
+    public void occupy(int slot) {
+        int generation = ++lastGeneration;
+        if (generation == 0) {
+            // 0 marks free slots
+            generation = ++lastGeneration;
+        }
+        metadata[slot * METADATA_LENGTH + GENERATION] = generation;
+    }
+
+    /**
+     * @return the generation of the entry occupying the
+     * given slot or {@code 0} if the slot is free
+     */
+    public int generation(int slot) {
+        int base = slot * METADATA_LENGTH;
+        return base < metadata.length ? metadata[base + GENERATION] : 0;
+    }
+
+    /**
+     * Copies the value and metadata of the given record into the given slot.
+     */
+    public void write(int slot, Record record) {
+        values[slot] = record.getValue();
+        int base = slot * METADATA_LENGTH;
+        metadata[base + VERSION] = record.getVersion();
+        metadata[base + HITS] = record.getHits();
+        metadata[base + CREATION_TIME] = record.getRawCreationTime();
+        metadata[base + LAST_ACCESS_TIME] = record.getRawLastAccessTime();
+        metadata[base + LAST_UPDATE_TIME] = record.getRawLastUpdateTime();
+        metadata[base + LAST_STORED_TIME] = record.getRawLastStoredTime();
+    }
+
+    /**
+     * Drops the value of the given slot so that it can be
+     * garbage collected and marks the slot as free.
+     */
+    public void clear(int slot) {
+        values[slot] = null;
+        Arrays.fill(metadata, slot * METADATA_LENGTH, (slot + 1) * METADATA_LENGTH, 0);
+    }
+
+    /**
+     * Drops all values and releases the backing arrays.
+     */
+    public void reset() {
+        values = EMPTY_VALUES;
+        metadata = EMPTY_METADATA;
+    }
+
+    /**
+     * @return heap cost of the value stored in the given slot
+     */
+    public long valueCost(int slot) {
+        Object value = values[slot];
+        return value instanceof Data ? ((Data) value).getHeapCost() : 0L;
+    }
+
+    Object getValue(int slot) {
+        return values[slot];
+    }
+
+    void setValue(int slot, Object value) {
+        values[slot] = value;
+    }
+
+    int get(int slot, int field) {
+        return metadata[slot * METADATA_LENGTH + field];
+    }
+
+    void set(int slot, int field, int value) {
+        metadata[slot * METADATA_LENGTH + field] = value;
+    }
+}
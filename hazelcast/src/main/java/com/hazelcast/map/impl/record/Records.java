@@ -206,7 +206,11 @@ public final class Records {
         return object;
     }
 
-    static boolean shouldCache(Object value) {
+    /**
+     * @return {@code true} if the deserialized form of the given
+     * record value can be cached, see {@link #getValueOrCachedValue}
+     */
+    public static boolean shouldCache(Object value) {
         // For portables, we cannot extract information from the deserialized form.
         // For HazelcastJsonValue objects, if we pass the instanceof Data check, that
         // means the metadata is created from the Data representation of the object.
@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLfuEvictionPolicyComparator;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.impl.MapContainer;
@@ -30,6 +31,7 @@ import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
 import com.hazelcast.map.impl.recordstore.expiry.ExpiryReason;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystemImpl;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.eventservice.EventService;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
@@ -38,6 +40,7 @@ import javax.annotation.Nonnull;
 import java.util.LinkedList;
 import java.util.Queue;
 
+import static com.hazelcast.config.EvictionPolicy.TINY_LFU;
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
@@ -53,6 +56,7 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     protected final EventService eventService;
     protected final MapEventPublisher mapEventPublisher;
     protected final ExpirySystem expirySystem;
+    protected final TinyLfuEvictionPolicyComparator tinyLfuComparator;
 
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
         super(mapContainer, partitionId);
@@ -61,6 +65,13 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         mapEventPublisher = mapServiceContext.getMapEventPublisher();
         thisAddress = nodeEngine.getThisAddress();
         expirySystem = createExpirySystem(mapContainer);
+        tinyLfuComparator = createTinyLfuComparator(mapContainer);
+    }
+
+    private static TinyLfuEvictionPolicyComparator createTinyLfuComparator(MapContainer mapContainer) {
+        boolean tinyLfu = mapContainer.getMapConfig().getEvictionConfig().getEvictionPolicy() == TINY_LFU
+                && mapContainer.getEvictor() != NULL_EVICTOR;
+        return tinyLfu ? new TinyLfuEvictionPolicyComparator() : null;
     }
 
     @Override
@@ -111,6 +122,20 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return evictor != NULL_EVICTOR && evictor.checkEvictable(this);
     }
 
+    @Override
+    public EvictionPolicyComparator getEvictionPolicyComparator() {
+        return tinyLfuComparator;
+    }
+
+    @Override
+    public Record createRecord(Data key, Object value, long now) {
+        if (tinyLfuComparator != null) {
+            tinyLfuComparator.ensureCapacity(size() + 1);
+            tinyLfuComparator.recordAccess(key);
+        }
+        return super.createRecord(key, value, now);
+    }
+
     @Override
     public boolean evictIfExpired(Data key, long now, boolean backup) {
         ExpiryReason expiryReason = hasExpired(key, now, backup);
@@ -168,10 +193,23 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void accessRecord(Data dataKey, Record record, long now) {
         record.onAccess(now);
+        if (tinyLfuComparator != null) {
+            tinyLfuComparator.recordAccess(dataKey);
+        }
         updateStatsOnGet(now);
         expirySystem.extendExpiryTime(dataKey, now);
     }
 
+    /**
+     * Records a read of a key which is not in this record store, so
+     * that a frequently read key is kept once it is put back.
+     */
+    protected void accessMissingRecord(Data dataKey) {
+        if (tinyLfuComparator != null) {
+            tinyLfuComparator.recordAccess(dataKey);
+        }
+    }
+
     public void mergeRecordExpiration(Data key, Record record,
                                          MapMergeTypes mergingEntry, long now) {
         mergeRecordExpiration(record, mergingEntry.getCreationTime(),
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.recordstore;
 
+import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
@@ -39,7 +40,9 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
+import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
@@ -64,6 +67,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected AdaptiveValueCache adaptiveValueCache;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -113,6 +117,27 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for adaptive value caching, after indexing
+        // which may still read the cached value of a removed record.
+        // Flyweight records of off-heap and packed storages are not
+        // retained, they have no cached value anyway.
+        if (mapContainer.getMapConfig().getCacheDeserializedValues() == CacheDeserializedValues.ADAPTIVE
+                && inMemoryFormat == InMemoryFormat.BINARY
+                && !mapContainer.isOffHeapStorageEnabled() && !mapContainer.isPackedStorageEnabled()) {
+            long maxCachedBytes = mapServiceContext.getNodeEngine().getProperties()
+                    .getLong(ClusterProperty.MAP_ADAPTIVE_VALUE_CACHE_SIZE_BYTES);
+            adaptiveValueCache = new AdaptiveValueCache(this, serializationService, maxCachedBytes);
+            mutationObserver.add(adaptiveValueCache);
+        }
+    }
+
+    @Override
+    public Object getValueOrCachedValue(Data key, Record record) {
+        if (adaptiveValueCache != null) {
+            return adaptiveValueCache.getValue(key, record);
+        }
+        return Records.getValueOrCachedValue(record, serializationService);
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
@@ -163,9 +188,25 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (mapContainer.isOffHeapStorageEnabled()) {
+            return new OffHeapStorage(mapContainer.getOffHeapMemoryManager(), getExpirySystem(), serializationService);
+        }
+        if (mapContainer.isPackedStorageEnabled()) {
+            return new PackedStorage(memoryFormat, getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
+    @Override
+    public void beginMutationBatch() {
+        mutationObserver.beginBatch();
+    }
+
+    @Override
+    public void endMutationBatch() {
+        mutationObserver.endBatch();
+    }
+
     @Override
     public String getName() {
         return name;
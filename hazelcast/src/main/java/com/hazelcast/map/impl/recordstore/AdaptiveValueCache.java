@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.eviction.impl.comparator.FrequencySketch;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static com.hazelcast.map.impl.record.Record.NOT_CACHED;
+
+/**
+ * Caches the deserialized values of the frequently read entries of a
+ * record store, within a memory budget, for maps configured with
+ * {@link com.hazelcast.config.CacheDeserializedValues#ADAPTIVE}.
+ * <p>
+ * The deserialized value is kept in the record's cached value slot, like
+ * the other caching modes do, so it is dropped as soon as the record's
+ * value is replaced. Unlike them, a value is only cached once its key
+ * has been read a few times, according to a {@link FrequencySketch}
+ * fed by all reads going through {@link #getValue(Data, Record)}. The
+ * footprint of the cached values is estimated by the heap cost of their
+ * serialized form. When the budget is used up, the cached records are
+ * visited in insertion order like a CLOCK: the value of a record which
+ * was updated or removed meanwhile is forgotten, the value of a record
+ * read less frequently than the candidate is dropped, and a hotter one
+ * is kept and moved to the end. If no room is found after a few
+ * visits, the candidate is not cached.
+ * <p>
+ * A record occupies at most one slot of the ring. When a record updated
+ * since its admission is admitted again, it keeps its slot and only the
+ * cost of the slot is replaced, so the cached bytes are not counted
+ * twice.
+ * <p>
+ * The flyweight records of off-heap and packed storages have no cached
+ * value slot, this cache is not created for them.
+ * <p>
+ * Reads hitting the cache do not lock. Admissions are serialized on the
+ * cache, as reads may come from partition threads and query threads.
+ */
+public class AdaptiveValueCache implements MutationObserver<Record> {
+
+    static final int HOT_FREQUENCY = 2;
+    static final int MAX_VISITS_PER_ADMISSION = 8;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final RecordStore recordStore;
+    private final SerializationService serializationService;
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final long maxCachedBytes;
+
+    // ring of the records whose value was cached, oldest at head
+    private Record[] records = new Record[INITIAL_CAPACITY];
+    private int[] keyHashes = new int[INITIAL_CAPACITY];
+    private int[] costs = new int[INITIAL_CAPACITY];
+    // the ring slots of the records, by identity
+    private final Map<Record, Integer> slots = new IdentityHashMap<>();
+    private int head;
+    private int count;
+    private volatile long cachedBytes;
+
+    public AdaptiveValueCache(RecordStore recordStore, SerializationService serializationService,
+                              long maxCachedBytes) {
+        this.recordStore = recordStore;
+        this.serializationService = serializationService;
+        this.maxCachedBytes = maxCachedBytes;
+    }
+
+    /**
+     * Returns the deserialized value of the record if it is cached or
+     * the record is hot enough to be cached now, otherwise returns the
+     * record's value as stored. Either way the read is counted in the
+     * key's frequency.
+     * <p>
+     * The returned deserialized value is shared, it must not be mutated.
+     */
+    public Object getValue(Data key, Record record) {
+        Object cachedValue = record.getCachedValueUnsafe();
+        if (cachedValue == NOT_CACHED) {
+            return record.getValue();
+        }
+
+        int keyHash = key.hashCode();
+        sketch.increment(keyHash);
+        if (cachedValue != null) {
+            // either the cached value or another thread's
+            // deserialization in progress, which is waited for
+            return Records.getValueOrCachedValue(record, serializationService);
+        }
+
+        Object value = record.getValue();
+        if (!Records.shouldCache(value) || sketch.frequency(keyHash) < HOT_FREQUENCY) {
+            return value;
+        }
+        if (!admit(record, keyHash, ((Data) value).getHeapCost())) {
+            return value;
+        }
+        return Records.getValueOrCachedValue(record, serializationService);
+    }
+
+    /**
+     * @return the estimated footprint of the cached values
+     */
+    public long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    private synchronized boolean admit(Record record, int keyHash, int cost) {
+        if (cost > maxCachedBytes) {
+            return false;
+        }
+        sketch.ensureCapacity(recordStore.size());
+
+        Integer slot = slots.get(record);
+        if (slot != null) {
+            // updated since admitted, the cost of its old value is released
+            cachedBytes -= costs[slot];
+            costs[slot] = 0;
+        }
+
+        int frequency = sketch.frequency(keyHash);
+        for (int visits = 0; cachedBytes + cost > maxCachedBytes; visits++) {
+            if (visits == MAX_VISITS_PER_ADMISSION || count == 0) {
+                return false;
+            }
+            Record victim = records[head];
+            int victimHash = keyHashes[head];
+            int victimCost = costs[head];
+            removeHead();
+            if (isCached(victim) && sketch.frequency(victimHash) >= frequency) {
+                add(victim, victimHash, victimCost);
+            } else {
+                uncache(victim);
+            }
+        }
+
+        // the record's old slot may have been visited meanwhile
+        slot = slots.get(record);
+        if (slot == null) {
+            add(record, keyHash, cost);
+        } else {
+            costs[slot] = cost;
+            cachedBytes += cost;
+        }
+        return true;
+    }
+
+    private void add(Record record, int keyHash, int cost) {
+        if (count == records.length) {
+            grow();
+        }
+        int tail = (head + count) & (records.length - 1);
+        records[tail] = record;
+        keyHashes[tail] = keyHash;
+        costs[tail] = cost;
+        slots.put(record, tail);
+        count++;
+        cachedBytes += cost;
+    }
+
+    private void removeHead() {
+        cachedBytes -= costs[head];
+        slots.remove(records[head]);
+        records[head] = null;
+        head = (head + 1) & (records.length - 1);
+        count--;
+    }
+
+    private void grow() {
+        int capacity = records.length << 1;
+        Record[] newRecords = new Record[capacity];
+        int[] newKeyHashes = new int[capacity];
+        int[] newCosts = new int[capacity];
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) & (records.length - 1);
+            newRecords[i] = records[index];
+            newKeyHashes[i] = keyHashes[index];
+            newCosts[i] = costs[index];
+            slots.put(newRecords[i], i);
+        }
+        records = newRecords;
+        keyHashes = newKeyHashes;
+        costs = newCosts;
+        head = 0;
+    }
+
+    private static boolean isCached(Record record) {
+        return record.getCachedValueUnsafe() != null;
+    }
+
+    private static void uncache(Record record) {
+        Object cachedValue = record.getCachedValueUnsafe();
+        // a thread means a deserialization in progress, its
+        // value is dropped if the record is updated meanwhile
+        if (cachedValue != null && !(cachedValue instanceof Thread)) {
+            record.casCachedValue(cachedValue, null);
+        }
+    }
+
+    private synchronized void reset() {
+        Arrays.fill(records, null);
+        slots.clear();
+        head = 0;
+        count = 0;
+        cachedBytes = 0;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        // new records have no cached value
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        // new records have no cached value
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        // setting the record's value drops its cached value, the
+        // record keeps its slot until it is visited or admitted again
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record) {
+        if (record != null) {
+            uncache(record);
+        }
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record) {
+        uncache(record);
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        // new records have no cached value
+    }
+
+    @Override
+    public void onReset() {
+        reset();
+    }
+
+    @Override
+    public void onClear() {
+        reset();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        reset();
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.recordstore;
 
+import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.MapLoader;
 import com.hazelcast.map.impl.MapContainer;
@@ -32,6 +33,7 @@ import com.hazelcast.spi.impl.operationservice.OperationAccessor;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.internal.util.ExceptionUtil;
+import com.hazelcast.internal.util.Timer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,6 +56,7 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private final ILogger logger;
     private final MapDataStore mapDataStore;
     private final int partitionId;
+    private final boolean statisticsEnabled;
 
     BasicRecordStoreLoader(RecordStore recordStore) {
         final MapContainer mapContainer = recordStore.getMapContainer();
@@ -62,6 +65,7 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         this.partitionId = recordStore.getPartitionId();
         this.mapDataStore = recordStore.getMapDataStore();
         this.logger = mapServiceContext.getNodeEngine().getLogger(getClass());
+        this.statisticsEnabled = mapContainer.getMapConfig().isStatisticsEnabled();
     }
 
     /**
@@ -73,9 +77,16 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     @Override
     public Future<?> loadValues(List<Data> keys, boolean replaceExistingValues) {
         Callable task = new GivenKeysLoaderTask(keys, replaceExistingValues);
+        if (statisticsEnabled) {
+            getStats().incrementPendingLoadKeyCount(keys.size());
+        }
         return executeTask(MAP_LOADER_EXECUTOR, task);
     }
 
+    private LocalMapStatsImpl getStats() {
+        return mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(name);
+    }
+
     private Future<?> executeTask(String executorName, Callable task) {
         return getExecutionService().submit(executorName, task);
     }
@@ -96,16 +107,25 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private final class GivenKeysLoaderTask implements Callable<Object> {
 
         private final List<Data> keys;
+        private final int keyCount;
         private final boolean replaceExistingValues;
 
         private GivenKeysLoaderTask(List<Data> keys, boolean replaceExistingValues) {
             this.keys = keys;
+            // the keys are filtered while loading
+            this.keyCount = keys.size();
             this.replaceExistingValues = replaceExistingValues;
         }
 
         @Override
         public Object call() throws Exception {
-            loadValuesInternal(keys, replaceExistingValues);
+            try {
+                loadValuesInternal(keys, replaceExistingValues);
+            } finally {
+                if (statisticsEnabled) {
+                    getStats().incrementPendingLoadKeyCount(-keyCount);
+                }
+            }
             return null;
         }
     }
@@ -135,7 +155,7 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         if (keys.isEmpty()) {
             return;
         }
-        List<Future> futures = doBatchLoad(keys);
+        Queue<Future> futures = doBatchLoad(keys);
         for (Future future : futures) {
             future.get();
         }
@@ -162,18 +182,22 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     /**
      * Loads the values for the provided keys in batches and invokes
      * partition operations to put the loaded entry batches into the
-     * record store.
+     * record store. A batch is loaded while the previous ones are being
+     * put, up to {@link ClusterProperty#MAP_LOAD_MAX_PENDING_BATCHES}
+     * batches waiting to be put.
      *
      * @param keys the keys for which entries are loaded and put into the
      *             record store
      * @return the list of futures representing the pending completion of
      * the operations storing the loaded entries into the partition record
      * store
+     * @throws Exception if there is an exception when putting a batch
+     *                   into the record store
      */
-    private List<Future> doBatchLoad(List<Data> keys) {
+    private Queue<Future> doBatchLoad(List<Data> keys) throws Exception {
         Queue<List<Data>> batchChunks = createBatchChunks(keys);
-        int size = batchChunks.size();
-        List<Future> futures = new ArrayList<>(size);
+        int maxPendingBatches = getMaxPendingBatches();
+        Queue<Future> futures = new LinkedList<>();
 
         while (!batchChunks.isEmpty()) {
             List<Data> chunk = batchChunks.poll();
@@ -181,6 +205,9 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
             if (loadingSequence.isEmpty()) {
                 continue;
             }
+            while (futures.size() >= maxPendingBatches) {
+                futures.poll().get();
+            }
             futures.add(sendOperation(loadingSequence));
         }
 
@@ -213,7 +240,11 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
      */
     private List<Data> loadAndGet(List<Data> keys) {
         try {
+            long startNanos = Timer.nanos();
             Map entries = mapDataStore.loadAll(keys);
+            if (statisticsEnabled) {
+                getStats().incrementLoadLatencyNanos(entries == null ? 0 : entries.size(), Timer.nanosElapsed(startNanos));
+            }
             return getLoadingSequence(entries);
         } catch (Throwable t) {
             logger.warning("Could not load keys from map store", t);
@@ -320,4 +351,14 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private int getLoadBatchSize() {
         return mapServiceContext.getNodeEngine().getProperties().getInteger(ClusterProperty.MAP_LOAD_CHUNK_SIZE);
     }
+
+    /**
+     * Returns the maximum number of loaded batches waiting to be put
+     * into the record store, at least 1.
+     */
+    private int getMaxPendingBatches() {
+        int maxPendingBatches = mapServiceContext.getNodeEngine().getProperties()
+                .getInteger(ClusterProperty.MAP_LOAD_MAX_PENDING_BATCHES);
+        return Math.max(1, maxPendingBatches);
+    }
 }
@@ -31,6 +31,9 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
     private static final int DEFAULT_OBSERVER_COUNT = 4;
 
     private List<MutationObserver> mutationObservers = EMPTY_LIST;
+    private PutRecordBatch<R> batch;
+    private boolean batching;
+    private boolean batchBackup;
 
     CompositeMutationObserver() {
     }
@@ -42,8 +45,45 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
         mutationObservers.add(mutationObserver);
     }
 
+    /**
+     * Starts buffering put and update notifications so that they are
+     * delivered to the observers as one {@link PutRecordBatch}. Any other
+     * notification first flushes the buffered ones, so that the observers
+     * see the mutations in the order they happened.
+     */
+    public void beginBatch() {
+        if (batch == null) {
+            batch = new PutRecordBatch<>();
+        }
+        batching = true;
+    }
+
+    /**
+     * Delivers the buffered notifications and stops buffering.
+     */
+    public void endBatch() {
+        try {
+            flushBatch();
+        } finally {
+            batching = false;
+        }
+    }
+
+    private void flushBatch() {
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+        try {
+            onPutRecords(batch, batchBackup);
+        } finally {
+            batch.clear();
+        }
+    }
+
     @Override
     public void onClear() {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -63,6 +103,11 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
     @Override
     public void onPutRecord(Data key, R record,
                             Object oldValue, boolean backup) {
+        if (bufferInBatch(backup)) {
+            batch.addPut(key, record, oldValue);
+            return;
+        }
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -79,9 +124,29 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
         }
     }
 
+    @Override
+    public void onPutRecords(@Nonnull PutRecordBatch<R> batch, boolean backup) {
+        Throwable throwable = null;
+        for (int i = 0; i < mutationObservers.size(); i++) {
+            try {
+                mutationObservers.get(i).onPutRecords(batch, backup);
+            } catch (Throwable t) {
+                if (throwable == null) {
+                    throwable = t;
+                }
+            }
+        }
+
+        if (throwable != null) {
+            throw rethrow(throwable);
+        }
+    }
+
     @Override
     public void onReplicationPutRecord(@Nonnull Data key,
                                        @Nonnull R record, boolean populateIndex) {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -101,6 +166,11 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
     @Override
     public void onUpdateRecord(@Nonnull Data key, @Nonnull R record,
                                Object oldValue, Object newValue, boolean backup) {
+        if (bufferInBatch(backup)) {
+            batch.addUpdate(key, record, oldValue, newValue);
+            return;
+        }
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -119,6 +189,8 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
 
     @Override
     public void onRemoveRecord(Data key, R record) {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -137,6 +209,8 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
 
     @Override
     public void onEvictRecord(Data key, R record) {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -155,6 +229,8 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
 
     @Override
     public void onLoadRecord(@Nonnull Data key, @Nonnull R record, boolean backup) {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -173,6 +249,8 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
 
     @Override
     public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -191,6 +269,8 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
 
     @Override
     public void onReset() {
+        flushBatch();
+
         Throwable throwable = null;
         for (int i = 0; i < mutationObservers.size(); i++) {
             try {
@@ -206,4 +286,20 @@ class CompositeMutationObserver<R extends Record> implements MutationObserver<R>
             throw rethrow(throwable);
         }
     }
+
+    /**
+     * @return {@code true} if the notification should be buffered
+     * in the current batch; flushes the batch if it holds
+     * notifications of the other (backup or owner) kind
+     */
+    private boolean bufferInBatch(boolean backup) {
+        if (!batching) {
+            return false;
+        }
+        if (batchBackup != backup) {
+            flushBatch();
+            batchBackup = backup;
+        }
+        return true;
+    }
 }
@@ -680,6 +680,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } else if (record == null && mapDataStore != EMPTY_MAP_DATA_STORE) {
             record = loadRecordOrNull(key, backup, callerAddress);
             record = evictIfExpired(key, now, backup) ? null : record;
+        } else if (record == null && touch) {
+            accessMissingRecord(key);
         }
         Object value = record == null ? null : record.getValue();
         value = mapServiceContext.interceptGet(interceptorRegistry, value);
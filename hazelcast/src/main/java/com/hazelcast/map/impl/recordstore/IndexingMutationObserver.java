@@ -29,7 +29,6 @@ import com.hazelcast.query.impl.QueryableEntry;
 import javax.annotation.Nonnull;
 import java.util.function.BiConsumer;
 
-import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
 
 public class IndexingMutationObserver<R extends Record> implements MutationObserver<R> {
 
@@ -68,6 +67,22 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
         }
     }
 
+    @Override
+    public void onPutRecords(@Nonnull PutRecordBatch<R> batch, boolean backup) {
+        if (backup) {
+            return;
+        }
+
+        Indexes indexes = mapContainer.getIndexes(partitionId);
+        if (!indexes.haveAtLeastOneIndex()) {
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            saveIndex(indexes, batch.key(i), batch.record(i), batch.oldValue(i), Index.OperationSource.USER);
+        }
+    }
+
     @Override
     public void onRemoveRecord(@Nonnull Data key, R record) {
         removeIndex(key, record, Index.OperationSource.USER);
@@ -152,7 +167,7 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
 
         CachedQueryEntry<?, ?> entry = new CachedQueryEntry<>(ss, mapContainer.getExtractors());
         recordStore.forEach((BiConsumer<Data, Record>) (dataKey, record) -> {
-            Object value = getValueOrCachedValue(record, ss);
+            Object value = recordStore.getValueOrCachedValue(dataKey, record);
             entry.init(dataKey, value);
             indexes.removeEntry(entry, Index.OperationSource.SYSTEM);
         }, false);
@@ -167,8 +182,13 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
             return;
         }
 
+        saveIndex(indexes, dataKey, record, oldValue, operationSource);
+    }
+
+    private void saveIndex(Indexes indexes, Data dataKey, Record record, Object oldValue,
+                           Index.OperationSource operationSource) {
         QueryableEntry queryableEntry = mapContainer.newQueryEntry(toBackingKeyFormat(dataKey),
-                getValueOrCachedValue(record, ss));
+                recordStore.getValueOrCachedValue(dataKey, record));
         queryableEntry.setRecord(record);
 
         indexes.putEntry(queryableEntry, oldValue, operationSource);
@@ -181,7 +201,8 @@ public class IndexingMutationObserver<R extends Record> implements MutationObser
             return;
         }
 
-        indexes.removeEntry(toBackingKeyFormat(dataKey), getValueOrCachedValue(record, ss), operationSource);
+        indexes.removeEntry(toBackingKeyFormat(dataKey),
+                recordStore.getValueOrCachedValue(dataKey, record), operationSource);
     }
 
     private Data toBackingKeyFormat(Data key) {
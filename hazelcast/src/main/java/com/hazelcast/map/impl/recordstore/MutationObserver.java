@@ -65,6 +65,28 @@ public interface MutationObserver<R extends Record> {
     void onUpdateRecord(@Nonnull Data key, @Nonnull R record,
                         Object oldValue, Object newValue, boolean backup);
 
+    /**
+     * Called once for the records put or updated by a bulk mutation
+     * of the observed {@link RecordStore}, instead of one {@link
+     * #onPutRecord} or {@link #onUpdateRecord} call per record.
+     * <p>
+     * The default implementation replays the batch one record at a time.
+     *
+     * @param batch  the put and updated records, in the order they were put
+     * @param backup {@code true} if this method is
+     *               called by a backup operation, otherwise {@code false}
+     * @see RecordStore#beginMutationBatch()
+     */
+    default void onPutRecords(@Nonnull PutRecordBatch<R> batch, boolean backup) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.isUpdate(i)) {
+                onUpdateRecord(batch.key(i), batch.record(i), batch.oldValue(i), batch.newValue(i), backup);
+            } else {
+                onPutRecord(batch.key(i), batch.record(i), batch.oldValue(i), backup);
+            }
+        }
+    }
+
     /**
      * Called when a record is removed from the observed {@link RecordStore}
      *
@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.OffHeapRecord;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.KEY_HASH_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.KEY_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.NEXT_IN_CHAIN_OFFSET;
+import static com.hazelcast.map.impl.record.OffHeapRecord.entryCost;
+import static com.hazelcast.map.impl.record.OffHeapRecord.freeValue;
+import static com.hazelcast.map.impl.record.OffHeapRecord.valueCost;
+
+/**
+ * {@link Storage} which keeps keys, values and record metadata in native
+ * memory, allocated through a {@link MemoryManager}.
+ * <p>
+ * Each entry is a single native block laid out as described in
+ * {@link OffHeapRecord}, plus a separate block for the serialized value.
+ * Entries are indexed by a native table of buckets, each holding the head
+ * of a chain of entries. An entry stays in the bucket selected by its key
+ * hash until the table is resized, so iterations track their progress by
+ * bucket position with {@link IterationPointer}s, the same way
+ * {@link com.hazelcast.internal.util.SampleableConcurrentHashMap} does, and
+ * never hold on to the address of an entry which may be removed meanwhile.
+ * <p>
+ * Records returned from this storage are flyweights over native memory and
+ * are valid only as long as their entry is stored. The record passed to
+ * {@link #removeRecord(Data, Record)} is detached and remains usable.
+ * <p>
+ * This class must only be accessed by the partition thread, except for
+ * {@link #size()}, {@link #isEmpty()} and the entry cost estimate which can
+ * be read by any thread. Queries on maps kept in this storage scan the
+ * partitions on the partition threads, see
+ * {@link com.hazelcast.map.impl.MapContainer#isStorageConfinedToPartitionThreads()}.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "checkstyle:classfanoutcomplexity"})
+public class OffHeapStorage implements Storage<Data, Record> {
+
+    private static final int MIN_BUCKET_COUNT = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final MemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final SerializationService serializationService;
+    private final ExpirySystem expirySystem;
+
+    private long buckets = NULL_ADDRESS;
+    private int bucketCount;
+    private int resizeThreshold;
+    private volatile int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = new NativeEntryCostEstimator();
+
+    OffHeapStorage(MemoryManager memoryManager, ExpirySystem expirySystem,
+                   SerializationService serializationService) {
+        this.memoryManager = memoryManager;
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        long existing = findEntry(key);
+        if (existing != NULL_ADDRESS) {
+            if (record instanceof OffHeapRecord && ((OffHeapRecord) record).address() == existing) {
+                // the record is a flyweight over the stored entry, it is already up-to-date
+                return;
+            }
+            removeEntry(existing);
+        }
+
+        long entry = allocateEntry(key);
+        if (record instanceof OffHeapRecord && ((OffHeapRecord) record).address() == NULL_ADDRESS) {
+            ((OffHeapRecord) record).attach(entry);
+        } else {
+            OffHeapRecord copy = new OffHeapRecord(memoryManager, entry);
+            copy.setValue(toData(record.getValue()));
+            OffHeapRecord.writeMetadata(mem, entry, record);
+        }
+        linkEntry(entry);
+        updateCostEstimate(entryCost(mem, entry) + valueCost(mem, entry));
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        Data dataValue = serializationService.toData(value);
+        if (record instanceof OffHeapRecord && ((OffHeapRecord) record).address() != NULL_ADDRESS) {
+            updateValue(((OffHeapRecord) record).address(), dataValue);
+            return record;
+        }
+
+        record.setValue(dataValue);
+        long entry = findEntry(key);
+        if (entry != NULL_ADDRESS) {
+            updateValue(entry, dataValue);
+        }
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        long entry = findEntry(key);
+        return entry == NULL_ADDRESS ? null : new OffHeapRecord(memoryManager, entry);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("OffHeapStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        long entry = findEntry(dataKey);
+        if (entry == NULL_ADDRESS) {
+            return;
+        }
+        if (record instanceof OffHeapRecord && ((OffHeapRecord) record).address() == entry) {
+            ((OffHeapRecord) record).detach();
+        }
+        removeEntry(entry);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findEntry(key) != NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return size == 0 ? Collections.emptyIterator() : new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            long entry = entryAt(bucket);
+            while (entry != NULL_ADDRESS) {
+                long next = mem.getLong(entry + NEXT_IN_CHAIN_OFFSET);
+                freeEntry(entry);
+                entry = next;
+            }
+        }
+        if (buckets != NULL_ADDRESS) {
+            malloc.free(buckets, (long) bucketCount * LONG_SIZE_IN_BYTES);
+            buckets = NULL_ADDRESS;
+        }
+        bucketCount = 0;
+        resizeThreshold = 0;
+        size = 0;
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        int mask = bucketCount - 1;
+        int start = ThreadLocalRandom.current().nextInt(bucketCount);
+        for (int i = 0; i < bucketCount && samples.size() < sampleCount; i++) {
+            long entry = entryAt((start + i) & mask);
+            while (entry != NULL_ADDRESS && samples.size() < sampleCount) {
+                Data key = readKey(entry);
+                samples.add(new LazyEvictableEntryView<>(key, new OffHeapRecord(memoryManager, entry),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+                entry = mem.getLong(entry + NEXT_IN_CHAIN_OFFSET);
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, entry) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, entry) -> entries.add(
+                new AbstractMap.SimpleEntry<>(key, new OffHeapRecord(memoryManager, entry).getValue())));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Walks the buckets from the highest index downwards, the same way
+     * {@link com.hazelcast.internal.util.SampleableConcurrentHashMap} walks
+     * its table. Buckets are always consumed whole and the bucket count is
+     * kept in the last pointer, so a resize between two calls is detected and
+     * the entries already returned before it are skipped.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int count, BiConsumer<Data, Long> consumer) {
+        if (bucketCount == 0) {
+            IterationPointer[] finished = copyOf(pointers, pointers.length);
+            finished[finished.length - 1].setIndex(-1);
+            return finished;
+        }
+
+        pointers = checkPointers(pointers, bucketCount);
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+
+        int nextBucket = lastPointer.getIndex() >= 0 && lastPointer.getIndex() < bucketCount
+                ? lastPointer.getIndex() : bucketCount - 1;
+        int counter = 0;
+        while (nextBucket >= 0 && counter < count) {
+            long entry = entryAt(nextBucket--);
+            while (entry != NULL_ADDRESS) {
+                if (hasNotBeenObserved(mem.getLong(entry + KEY_HASH_OFFSET), pointers)) {
+                    consumer.accept(readKey(entry), entry);
+                    counter++;
+                }
+                entry = mem.getLong(entry + NEXT_IN_CHAIN_OFFSET);
+            }
+        }
+        lastPointer.setIndex(nextBucket);
+        return pointers;
+    }
+
+    private static IterationPointer[] checkPointers(IterationPointer[] pointers, int bucketCount) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        boolean iterationStarted = lastPointer.getSize() == -1;
+        boolean resized = lastPointer.getSize() != bucketCount;
+        int newLength = !iterationStarted && resized ? pointers.length + 1 : pointers.length;
+
+        IterationPointer[] updatedPointers = copyOf(pointers, newLength);
+        if (iterationStarted || resized) {
+            updatedPointers[updatedPointers.length - 1] = new IterationPointer(Integer.MAX_VALUE, bucketCount);
+        }
+        return updatedPointers;
+    }
+
+    private static IterationPointer[] copyOf(IterationPointer[] pointers, int newLength) {
+        IterationPointer[] copy = new IterationPointer[newLength];
+        for (int i = 0; i < pointers.length; i++) {
+            copy[i] = new IterationPointer(pointers[i]);
+        }
+        return copy;
+    }
+
+    private static boolean hasNotBeenObserved(long hash, IterationPointer[] pointers) {
+        if (pointers.length < 2) {
+            return true;
+        }
+        // check only the pointers up to the last, the entry has not been observed with the last pointer
+        for (int i = 0; i < pointers.length - 1; i++) {
+            IterationPointer pointer = pointers[i];
+            if (bucketOf(hash, pointer.getSize()) > pointer.getIndex()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int bucketOf(long hash, int bucketCount) {
+        return (int) (hash & (bucketCount - 1));
+    }
+
+    private long bucketAddress(int bucket) {
+        return buckets + (long) bucket * LONG_SIZE_IN_BYTES;
+    }
+
+    private long entryAt(int bucket) {
+        return mem.getLong(bucketAddress(bucket));
+    }
+
+    private long findEntry(Data key) {
+        if (size == 0) {
+            return NULL_ADDRESS;
+        }
+        long hash = key.hash64();
+        byte[] keyBytes = key.toByteArray();
+        long entry = entryAt(bucketOf(hash, bucketCount));
+        while (entry != NULL_ADDRESS) {
+            if (mem.getLong(entry + KEY_HASH_OFFSET) == hash && keyEquals(entry, keyBytes)) {
+                return entry;
+            }
+            entry = mem.getLong(entry + NEXT_IN_CHAIN_OFFSET);
+        }
+        return NULL_ADDRESS;
+    }
+
+    /**
+     * Compares the stored key with the given one the same way
+     * {@link HeapData#equals(Object)} does, ignoring the partition hash.
+     */
+    private boolean keyEquals(long entry, byte[] keyBytes) {
+        int keySize = mem.getInt(entry + KEY_SIZE_OFFSET);
+        if (keySize != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = entry + KEY_OFFSET;
+        for (int i = keySize - 1; i >= TYPE_OFFSET; i--) {
+            if (mem.getByte(keyAddress + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Data readKey(long entry) {
+        byte[] keyBytes = new byte[mem.getInt(entry + KEY_SIZE_OFFSET)];
+        mem.copyToByteArray(entry + KEY_OFFSET, keyBytes, 0, keyBytes.length);
+        return new HeapData(keyBytes);
+    }
+
+    private long allocateEntry(Data key) {
+        byte[] keyBytes = key.toByteArray();
+        long entry = malloc.allocate(KEY_OFFSET + keyBytes.length);
+        mem.putLong(entry + KEY_HASH_OFFSET, key.hash64());
+        mem.putInt(entry + KEY_SIZE_OFFSET, keyBytes.length);
+        mem.copyFromByteArray(keyBytes, 0, entry + KEY_OFFSET, keyBytes.length);
+        return entry;
+    }
+
+    private void linkEntry(long entry) {
+        if (size >= resizeThreshold) {
+            resize(bucketCount == 0 ? MIN_BUCKET_COUNT : bucketCount << 1);
+        }
+        addToBucket(entry);
+        size++;
+    }
+
+    private void addToBucket(long entry) {
+        long bucketAddress = bucketAddress(bucketOf(mem.getLong(entry + KEY_HASH_OFFSET), bucketCount));
+        mem.putLong(entry + NEXT_IN_CHAIN_OFFSET, mem.getLong(bucketAddress));
+        mem.putLong(bucketAddress, entry);
+    }
+
+    private void resize(int newBucketCount) {
+        long oldBuckets = buckets;
+        int oldBucketCount = bucketCount;
+        buckets = malloc.allocate((long) newBucketCount * LONG_SIZE_IN_BYTES);
+        mem.setMemory(buckets, (long) newBucketCount * LONG_SIZE_IN_BYTES, (byte) 0);
+        bucketCount = newBucketCount;
+        resizeThreshold = (int) (newBucketCount * LOAD_FACTOR);
+
+        for (int bucket = 0; bucket < oldBucketCount; bucket++) {
+            long entry = mem.getLong(oldBuckets + (long) bucket * LONG_SIZE_IN_BYTES);
+            while (entry != NULL_ADDRESS) {
+                long next = mem.getLong(entry + NEXT_IN_CHAIN_OFFSET);
+                addToBucket(entry);
+                entry = next;
+            }
+        }
+        if (oldBuckets != NULL_ADDRESS) {
+            malloc.free(oldBuckets, (long) oldBucketCount * LONG_SIZE_IN_BYTES);
+        }
+    }
+
+    private void removeEntry(long entry) {
+        unlinkFromBucket(entry);
+        updateCostEstimate(-(entryCost(mem, entry) + valueCost(mem, entry)));
+        freeEntry(entry);
+        size--;
+    }
+
+    private void unlinkFromBucket(long entry) {
+        long bucketAddress = bucketAddress(bucketOf(mem.getLong(entry + KEY_HASH_OFFSET), bucketCount));
+        long next = mem.getLong(entry + NEXT_IN_CHAIN_OFFSET);
+        long current = mem.getLong(bucketAddress);
+        if (current == entry) {
+            mem.putLong(bucketAddress, next);
+            return;
+        }
+        while (current != NULL_ADDRESS) {
+            long candidate = mem.getLong(current + NEXT_IN_CHAIN_OFFSET);
+            if (candidate == entry) {
+                mem.putLong(current + NEXT_IN_CHAIN_OFFSET, next);
+                return;
+            }
+            current = candidate;
+        }
+    }
+
+    private void freeEntry(long entry) {
+        freeValue(memoryManager, entry);
+        malloc.free(entry, entryCost(mem, entry));
+    }
+
+    private void updateValue(long entry, Data dataValue) {
+        long costBefore = valueCost(mem, entry);
+        new OffHeapRecord(memoryManager, entry).setValue(dataValue);
+        updateCostEstimate(valueCost(mem, entry) - costBefore);
+    }
+
+    private Data toData(Object value) {
+        return serializationService.toData(value);
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    /**
+     * Iterates the entries bucket by bucket with the iteration pointers
+     * {@link #fetchKeys} uses, so a resize of the table during the iteration
+     * neither skips nor repeats entries. Only the keys of the fetched buckets
+     * are kept: each key is looked up again before its entry is returned, so
+     * entries removed in the meantime are skipped.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private final ArrayDeque<Data> keys = new ArrayDeque<>();
+        private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        private Data nextKey;
+
+        @Override
+        public boolean hasNext() {
+            while (nextKey == null || findEntry(nextKey) == NULL_ADDRESS) {
+                if (keys.isEmpty() && !fetchNextBuckets()) {
+                    nextKey = null;
+                    return false;
+                }
+                nextKey = keys.poll();
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Data key = nextKey;
+            nextKey = null;
+            return new AbstractMap.SimpleImmutableEntry<>(key, new OffHeapRecord(memoryManager, findEntry(key)));
+        }
+
+        private boolean fetchNextBuckets() {
+            while (keys.isEmpty()) {
+                if (pointers[pointers.length - 1].getIndex() < 0) {
+                    return false;
+                }
+                pointers = fetchNext(pointers, 1, (key, entry) -> keys.add(key));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Estimates the owned entry cost as the native
+     * memory held by the entry and value blocks.
+     */
+    private static final class NativeEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private volatile long estimate;
+
+        @Override
+        public long getEstimate() {
+            return estimate;
+        }
+
+        @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+                justification = "Only the partition thread updates the estimate, other threads only read it.")
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            estimate += adjustment;
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            estimate = 0L;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.PackedRecord;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordSlab;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * {@link Storage} which keeps its entries in parallel arrays instead of a
+ * hash map of {@link Record} objects.
+ * <p>
+ * Every entry occupies a slot: its key and key hash are kept in
+ * {@code keys} and {@code hashes}, its value and metadata in a
+ * {@link RecordSlab}. Keys are looked up through an open-addressing
+ * {@code int[]} index of slot numbers with linear probing. Compared with
+ * {@link StorageImpl}, an entry costs no map node and no record object
+ * header; records are handed out as {@link PackedRecord} flyweights over
+ * their slot.
+ * <p>
+ * Slots never move while they are occupied. Removed slots are chained
+ * into a free list, through their {@code hashes} element, and reused by
+ * later insertions; a flyweight over a removed entry detects the reuse of
+ * its slot by the generation of the slot. Iteration walks the slots in
+ * order, so it tolerates removals, and entries inserted during an
+ * iteration may or may not be observed by it.
+ * <p>
+ * This class must only be accessed by the partition thread, except for
+ * {@link #size()}, {@link #isEmpty()} and the entry cost estimate which can
+ * be read by any thread: growing replaces the arrays the flyweights read.
+ * Queries on maps kept in this storage scan the partitions on the
+ * partition threads, see
+ * {@link com.hazelcast.map.impl.MapContainer#isStorageConfinedToPartitionThreads()}.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public class PackedStorage implements Storage<Data, Record> {
+
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Data[] EMPTY_KEYS = new Data[0];
+    private static final int[] EMPTY_INTS = new int[0];
+    /**
+     * Index elements per slot at full slot capacity, keeps
+     * the load factor of the index at or below 0.5.
+     */
+    private static final int INDEX_SLOTS_PER_SLOT = 2;
+    /**
+     * Cost of the key reference, the key hash and
+     * the index elements belonging to an entry.
+     */
+    private static final int SLOT_INDEX_COST_IN_BYTES = REFERENCE_COST_IN_BYTES
+            + Integer.BYTES + INDEX_SLOTS_PER_SLOT * Integer.BYTES;
+
+    private final ExpirySystem expirySystem;
+    private final SerializationService serializationService;
+    private final InMemoryFormat inMemoryFormat;
+    private final RecordSlab slab = new RecordSlab();
+
+    private Data[] keys = EMPTY_KEYS;
+    private int[] hashes = EMPTY_INTS;
+    /**
+     * Open-addressing index, each element is
+     * {@code slot + 1} or {@code 0} if empty.
+     */
+    private int[] index = EMPTY_INTS;
+    /**
+     * Number of slots handed out at least once.
+     */
+    private int highWaterMark;
+    private int freeListHead = NO_SLOT;
+    private volatile int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator = new PackedEntryCostEstimator();
+
+    PackedStorage(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
+                  SerializationService serializationService) {
+        this.inMemoryFormat = inMemoryFormat;
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        int hash = key.hashCode();
+        int slot = findSlot(key, hash);
+        if (slot == NO_SLOT) {
+            slot = allocateSlot();
+            keys[slot] = key;
+            hashes[slot] = hash;
+            addToIndex(hash, slot);
+            size++;
+            write(slot, record);
+            updateCostEstimate(entryCostEstimator.calculateEntryCost(key, new PackedRecord(slab, slot)));
+            return;
+        }
+
+        if (record instanceof PackedRecord && ((PackedRecord) record).isAttachedTo(slab)) {
+            assert ((PackedRecord) record).slot() == slot;
+            return;
+        }
+        PackedRecord stored = new PackedRecord(slab, slot);
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(stored));
+        write(slot, record);
+        updateCostEstimate(entryCostEstimator.calculateValueCost(stored));
+    }
+
+    @Override
+    public Record updateRecordValue(Data key, Record record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(inMemoryFormat == BINARY
+                ? serializationService.toData(value) : serializationService.toObject(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        return record;
+    }
+
+    @Override
+    public Record get(Data key) {
+        int slot = findSlot(key, key.hashCode());
+        return slot == NO_SLOT ? null : new PackedRecord(slab, slot);
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("PackedStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull Record record) {
+        int hash = dataKey.hashCode();
+        int slot = findSlot(dataKey, hash);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        updateCostEstimate(-entryCostEstimator.calculateEntryCost(keys[slot], new PackedRecord(slab, slot)));
+        if (record instanceof PackedRecord && ((PackedRecord) record).isAttachedTo(slab)) {
+            assert ((PackedRecord) record).slot() == slot;
+            ((PackedRecord) record).detach();
+        }
+        removeFromIndex(hash, slot);
+        freeSlot(slot);
+        size--;
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findSlot(key, key.hashCode()) != NO_SLOT;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, Record>> mutationTolerantIterator() {
+        return new EntryIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        keys = EMPTY_KEYS;
+        hashes = EMPTY_INTS;
+        index = EMPTY_INTS;
+        slab.reset();
+        highWaterMark = 0;
+        freeListHead = NO_SLOT;
+        size = 0;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        clear(isDuringShutdown);
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        int start = ThreadLocalRandom.current().nextInt(highWaterMark);
+        for (int i = 0; i < highWaterMark && samples.size() < sampleCount; i++) {
+            int slot = (start + i) % highWaterMark;
+            Data key = keys[slot];
+            if (key != null) {
+                samples.add(new LazyEvictableEntryView<>(key, new PackedRecord(slab, slot),
+                        expirySystem.getExpiryMetadata(key), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, slot -> keys.add(this.keys[slot]));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, slot -> entries.add(new AbstractMap.SimpleEntry<>(
+                keys[slot], serializationService.toData(new PackedRecord(slab, slot).getValue()))));
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    /**
+     * Walks the slots from the highest index downwards. Since occupied
+     * slots never move, a single pointer holding the next slot to visit
+     * is enough to resume the iteration.
+     */
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int size, IntConsumer consumer) {
+        IterationPointer[] newPointers = new IterationPointer[pointers.length];
+        for (int i = 0; i < pointers.length; i++) {
+            newPointers[i] = new IterationPointer(pointers[i]);
+        }
+        IterationPointer lastPointer = newPointers[newPointers.length - 1];
+
+        int nextSlot = Math.min(lastPointer.getIndex(), highWaterMark - 1);
+        int counter = 0;
+        while (nextSlot >= 0 && counter < size) {
+            if (keys[nextSlot] != null) {
+                consumer.accept(nextSlot);
+                counter++;
+            }
+            nextSlot--;
+        }
+        lastPointer.setIndex(nextSlot);
+        return newPointers;
+    }
+
+    private void write(int slot, Record record) {
+        if (record instanceof PackedRecord && ((PackedRecord) record).slot() < 0) {
+            ((PackedRecord) record).attach(slab, slot);
+        } else {
+            slab.write(slot, record);
+        }
+    }
+
+    private int findSlot(Data key, int hash) {
+        if (size == 0) {
+            return NO_SLOT;
+        }
+        int mask = index.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int element = index[i];
+            if (element == 0) {
+                return NO_SLOT;
+            }
+            int slot = element - 1;
+            if (hashes[slot] == hash && key.equals(keys[slot])) {
+                return slot;
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        int slot;
+        if (freeListHead != NO_SLOT) {
+            slot = freeListHead;
+            freeListHead = hashes[slot];
+        } else {
+            if (highWaterMark == keys.length) {
+                grow();
+            }
+            slot = highWaterMark++;
+        }
+        slab.occupy(slot);
+        return slot;
+    }
+
+    private void freeSlot(int slot) {
+        keys[slot] = null;
+        slab.clear(slot);
+        hashes[slot] = freeListHead;
+        freeListHead = slot;
+    }
+
+    private void grow() {
+        int capacity = Math.max(INITIAL_CAPACITY, keys.length << 1);
+        keys = Arrays.copyOf(keys, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        slab.ensureCapacity(capacity);
+
+        int[] oldIndex = index;
+        index = new int[capacity * INDEX_SLOTS_PER_SLOT];
+        for (int element : oldIndex) {
+            if (element != 0) {
+                addToIndex(hashes[element - 1], element - 1);
+            }
+        }
+    }
+
+    private void addToIndex(int hash, int slot) {
+        int mask = index.length - 1;
+        int i = hash & mask;
+        while (index[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = slot + 1;
+    }
+
+    /**
+     * Removes the slot from the index and shifts back the elements
+     * of the probe sequence following it, so that no tombstones are needed.
+     */
+    private void removeFromIndex(int hash, int slot) {
+        int mask = index.length - 1;
+        int hole = hash & mask;
+        while (index[hole] != slot + 1) {
+            hole = (hole + 1) & mask;
+        }
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            int element = index[i];
+            if (element == 0) {
+                break;
+            }
+            int home = hashes[element - 1] & mask;
+            boolean reachableFromHole = hole <= i
+                    ? home <= hole || home > i
+                    : home <= hole && home > i;
+            if (reachableFromHole) {
+                index[hole] = element;
+                hole = i;
+            }
+        }
+        index[hole] = 0;
+    }
+
+    private void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    /**
+     * Iterates the slots in ascending order, skipping free ones.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<Data, Record>> {
+
+        private int nextSlot;
+
+        @Override
+        public boolean hasNext() {
+            while (nextSlot < highWaterMark && keys[nextSlot] == null) {
+                nextSlot++;
+            }
+            return nextSlot < highWaterMark;
+        }
+
+        @Override
+        public Map.Entry<Data, Record> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int slot = nextSlot++;
+            return new AbstractMap.SimpleImmutableEntry<>(keys[slot], new PackedRecord(slab, slot));
+        }
+    }
+
+    /**
+     * Estimates the owned entry cost as the cost of the
+     * slot arrays, the index and the key and value objects.
+     */
+    private static final class PackedEntryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private volatile long estimate;
+
+        @Override
+        public long getEstimate() {
+            return estimate;
+        }
+
+        @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+                justification = "Only the partition thread updates the estimate, other threads only read it.")
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+            estimate += adjustment;
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return SLOT_INDEX_COST_IN_BYTES + key.getHeapCost() + record.getCost();
+        }
+
+        @Override
+        public void reset() {
+            estimate = 0L;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+
+import java.util.Arrays;
+
+/**
+ * Records put or updated in a {@link RecordStore} by a single bulk
+ * mutation, in the order they were put. Handed to
+ * {@link MutationObserver#onPutRecords} so that observers can amortize
+ * their per-call overhead over the whole batch.
+ * <p>
+ * Entry {@code i} describes either a put of a new record, in which case
+ * {@link #isUpdate(int)} is {@code false} and the arguments match those of
+ * {@link MutationObserver#onPutRecord}, or an update of an existing record,
+ * matching the arguments of {@link MutationObserver#onUpdateRecord}.
+ * <p>
+ * Not thread-safe, a batch is filled and consumed by the partition thread.
+ *
+ * @param <R> type of the records
+ */
+public final class PutRecordBatch<R extends Record> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Data[] keys = new Data[INITIAL_CAPACITY];
+    private Object[] records = new Object[INITIAL_CAPACITY];
+    private Object[] oldValues = new Object[INITIAL_CAPACITY];
+    private Object[] newValues = new Object[INITIAL_CAPACITY];
+    private boolean[] updates = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    void addPut(Data key, R record, Object oldValue) {
+        add(key, record, oldValue, null, false);
+    }
+
+    void addUpdate(Data key, R record, Object oldValue, Object newValue) {
+        add(key, record, oldValue, newValue, true);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Data key(int i) {
+        return keys[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    public R record(int i) {
+        return (R) records[i];
+    }
+
+    public Object oldValue(int i) {
+        return oldValues[i];
+    }
+
+    /**
+     * @return the new value passed to {@link MutationObserver#onUpdateRecord},
+     * or {@code null} for a put of a new record
+     */
+    public Object newValue(int i) {
+        return newValues[i];
+    }
+
+    /**
+     * @return {@code true} if entry {@code i} updated an
+     * existing record, {@code false} if it put a new one
+     */
+    public boolean isUpdate(int i) {
+        return updates[i];
+    }
+
+    /**
+     * Drops the references to the batched records,
+     * keeping the allocated capacity for the next batch.
+     */
+    void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(records, 0, size, null);
+        Arrays.fill(oldValues, 0, size, null);
+        Arrays.fill(newValues, 0, size, null);
+        size = 0;
+    }
+
+    private void add(Data key, R record, Object oldValue, Object newValue, boolean update) {
+        if (size == keys.length) {
+            int capacity = size << 1;
+            keys = Arrays.copyOf(keys, capacity);
+            records = Arrays.copyOf(records, capacity);
+            oldValues = Arrays.copyOf(oldValues, capacity);
+            newValues = Arrays.copyOf(newValues, capacity);
+            updates = Arrays.copyOf(updates, capacity);
+        }
+        keys[size] = key;
+        records[size] = record;
+        oldValues[size] = oldValue;
+        newValues[size] = newValue;
+        updates[size] = update;
+        size++;
+    }
+}
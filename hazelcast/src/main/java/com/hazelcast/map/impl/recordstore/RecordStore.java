@@ -39,6 +39,7 @@ import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
 import com.hazelcast.map.impl.recordstore.expiry.ExpiryReason;
 import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
 import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
@@ -83,6 +84,25 @@ public interface RecordStore<R extends Record> {
 
     Object putIfAbsent(Data dataKey, Object value, long ttl, long maxIdle, Address callerAddress);
 
+    /**
+     * Starts a mutation batch. Until {@link #endMutationBatch()}
+     * is called, the put and update notifications of this record
+     * store's {@link MutationObserver}s are buffered and delivered
+     * together through {@link MutationObserver#onPutRecords}.
+     * <p>
+     * Meant for bulk operations like {@code putAll} which put many
+     * distinct keys of a partition in one go. Any other mutation
+     * during the batch flushes the buffered notifications first.
+     */
+    void beginMutationBatch();
+
+    /**
+     * Delivers the notifications buffered since {@link
+     * #beginMutationBatch()} and ends the mutation batch.
+     * Must be called even if the bulk operation failed.
+     */
+    void endMutationBatch();
+
     /**
      * @param key        the key
      * @param value      the value to put backup
@@ -498,6 +518,17 @@ public interface RecordStore<R extends Record> {
      */
     boolean shouldEvict();
 
+    /**
+     * Returns the eviction policy comparator owned by this record-store.
+     * Stateful policies, like {@link EvictionPolicy#TINY_LFU}, keep their
+     * state per record-store instead of sharing it in the map's evictor.
+     *
+     * @return the comparator of this record-store or {@code null}
+     * if the evictor's comparator of the map should be used
+     */
+    @Nullable
+    EvictionPolicyComparator getEvictionPolicyComparator();
+
     Storage createStorage(RecordFactory<R> recordFactory, InMemoryFormat memoryFormat);
 
     R createRecord(Data key, Object value, long now);
@@ -525,6 +556,21 @@ public interface RecordStore<R extends Record> {
 
     Storage getStorage();
 
+    /**
+     * Returns the value of the record for read-only use by queries,
+     * indexes and read-only entry processors: the cached deserialized
+     * value when the map's {@link com.hazelcast.config.CacheDeserializedValues}
+     * setting caches it, otherwise the record's value as stored.
+     * The returned value must never be exposed to code which may
+     * mutate it.
+     *
+     * @param key    the key of the record
+     * @param record the record
+     * @return the cached deserialized value or the record's value
+     * @see com.hazelcast.map.impl.record.Records#getValueOrCachedValue
+     */
+    Object getValueOrCachedValue(Data key, R record);
+
     void sampleAndForceRemoveEntries(int entryCountToRemove);
 
     /**
@@ -83,6 +83,26 @@ public interface ExpirySystem {
             return Long.MAX_VALUE;
         }
 
+        @Override
+        public long getNextExpirationTime() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public long getExpiredCount() {
+            return 0;
+        }
+
+        @Override
+        public long getTotalExpirationLagMillis() {
+            return 0;
+        }
+
+        @Override
+        public long getMaxExpirationLagMillis() {
+            return 0;
+        }
+
         @Override
         public void clear() {
             // no-op
@@ -118,6 +138,32 @@ public interface ExpirySystem {
     long calculateExpirationTime(long ttl, long maxIdle,
                                               long now, long lastUpdateTime);
 
+    /**
+     * Safe to call from any thread.
+     *
+     * @return a time in millis at or before which the next entry
+     * expires, {@link Long#MAX_VALUE} if no entry is expirable
+     */
+    long getNextExpirationTime();
+
+    /**
+     * @return the number of entries removed from the primary
+     * replica by {@link #evictExpiredEntries} once expired
+     */
+    long getExpiredCount();
+
+    /**
+     * @return the total time in millis the entries counted by
+     * {@link #getExpiredCount()} were kept after their expiration time
+     */
+    long getTotalExpirationLagMillis();
+
+    /**
+     * @return the longest time in millis an entry counted by
+     * {@link #getExpiredCount()} was kept after its expiration time
+     */
+    long getMaxExpirationLagMillis();
+
     void clear();
 
     void destroy();
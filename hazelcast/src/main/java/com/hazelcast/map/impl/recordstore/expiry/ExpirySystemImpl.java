@@ -21,6 +21,7 @@ import com.hazelcast.internal.eviction.ClearExpiredRecordsTask;
 import com.hazelcast.internal.eviction.ExpiredKey;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.MapUtil;
 import com.hazelcast.logging.ILogger;
@@ -31,27 +32,35 @@ import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.internal.util.TimeStripUtil.recomputeWithBaseTime;
+import static com.hazelcast.internal.util.TimeStripUtil.stripBaseTime;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.nextExpirationTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.pickMaxIdleMillis;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.pickTTLMillis;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * This class has all logic to remove expired entries. Expiry reason
  * can be ttl or idleness. An instance of this class is created for
  * each {@link RecordStore} and it is always accessed by same single thread.
+ * <p>
+ * Expirable keys are indexed by their expiration time in an {@link
+ * ExpiryTimingWheel}, so that removing the expired entries costs
+ * O(expired entries) instead of a scan of the expirable entries.
  */
+@SuppressWarnings("checkstyle:methodcount")
 public class ExpirySystemImpl implements ExpirySystem {
     private static final long DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS
             = TimeUnit.MILLISECONDS.toNanos(1);
@@ -60,13 +69,13 @@ public class ExpirySystemImpl implements ExpirySystem {
     private static final HazelcastProperty EXPIRED_KEY_SCAN_TIMEOUT_NANOS
             = new HazelcastProperty(PROP_EXPIRED_KEY_SCAN_TIMEOUT_NANOS,
             DEFAULT_EXPIRED_KEY_SCAN_TIMEOUT_NANOS, NANOSECONDS);
-    private static final int ONE_HUNDRED_PERCENT = 100;
-    private static final int MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN = 100;
     private static final int MAX_SAMPLE_AT_A_TIME = 16;
+    private static final int MIN_STALE_KEY_COUNT_TO_PURGE = 1024;
     private static final ThreadLocal<List> BATCH_OF_EXPIRED
             = ThreadLocal.withInitial(() -> new ArrayList<>(MAX_SAMPLE_AT_A_TIME << 1));
 
     private final long expiryDelayMillis;
+    private final int recheckDelaySeconds;
     private final long expiredKeyScanTimeoutNanos;
     private final boolean canPrimaryDriveExpiration;
     private final ILogger logger;
@@ -76,11 +85,22 @@ public class ExpirySystemImpl implements ExpirySystem {
     private final ClearExpiredRecordsTask clearExpiredRecordsTask;
     private final InvalidationQueue<ExpiredKey> expiredKeys = new InvalidationQueue<>();
 
-    private Iterator<Map.Entry<Data, ExpiryMetadata>> cachedExpirationIterator;
+    // This is volatile since it's created lazily by the partition thread
+    // and read by the clear expired records task thread.
+    private volatile ExpiryTimingWheel timingWheel;
     // This is volatile since it can be initialized at runtime lazily and
     // can be accessed by query threads besides partition ones.
     private volatile Map<Data, ExpiryMetadata> expireTimeByKey;
 
+    // written by the partition thread only, read by the metrics collection
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Expiry counters are updated by only the partition thread of the record store.")
+    private volatile long expiredCount;
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
+            justification = "Expiry counters are updated by only the partition thread of the record store.")
+    private volatile long totalExpirationLagMillis;
+    private volatile long maxExpirationLagMillis;
+
     public ExpirySystemImpl(RecordStore recordStore,
                             MapContainer mapContainer,
                             MapServiceContext mapServiceContext) {
@@ -90,6 +110,7 @@ public class ExpirySystemImpl implements ExpirySystem {
         this.logger = nodeEngine.getLogger(getClass());
         HazelcastProperties hazelcastProperties = nodeEngine.getProperties();
         this.expiryDelayMillis = hazelcastProperties.getMillis(ClusterProperty.MAP_EXPIRY_DELAY_SECONDS);
+        this.recheckDelaySeconds = (int) Math.max(1, MILLISECONDS.toSeconds(expiryDelayMillis));
         this.mapContainer = mapContainer;
         this.mapServiceContext = mapServiceContext;
         this.canPrimaryDriveExpiration = mapServiceContext.getClearExpiredRecordsTask().canPrimaryDriveExpiration();
@@ -116,6 +137,9 @@ public class ExpirySystemImpl implements ExpirySystem {
     public void clear() {
         Map<Data, ExpiryMetadata> map = getOrCreateExpireTimeByKeyMap(false);
         map.clear();
+        if (timingWheel != null) {
+            timingWheel.clear();
+        }
     }
 
     protected final Map<Data, ExpiryMetadata> getOrCreateExpireTimeByKeyMap(boolean createIfAbsent) {
@@ -199,14 +223,29 @@ public class ExpirySystemImpl implements ExpirySystem {
                     expirationTime, lastUpdateTime);
             Data nativeKey = recordStore.getStorage().toBackingDataKeyFormat(key);
             expireTimeByKey.put(nativeKey, expiryMetadata);
+            getOrCreateTimingWheel().schedule(nativeKey, expiryMetadata.getRawExpirationTime());
             return;
         }
 
         // update existing expiryMetadata
+        int scheduledExpirationTime = expiryMetadata.getRawExpirationTime();
         expiryMetadata.setTtl(ttlMillis)
                 .setMaxIdle(maxIdleMillis)
                 .setExpirationTime(expirationTime)
                 .setLastUpdateTime(lastUpdateTime);
+
+        // a later expiration time is rescheduled when the key is polled
+        if (expiryMetadata.getRawExpirationTime() < scheduledExpirationTime) {
+            Data nativeKey = recordStore.getStorage().toBackingDataKeyFormat(key);
+            getOrCreateTimingWheel().schedule(nativeKey, expiryMetadata.getRawExpirationTime());
+        }
+    }
+
+    private ExpiryTimingWheel getOrCreateTimingWheel() {
+        if (timingWheel == null) {
+            timingWheel = new ExpiryTimingWheel(stripBaseTime(Clock.currentTimeMillis()));
+        }
+        return timingWheel;
     }
 
     @Override
@@ -295,92 +334,147 @@ public class ExpirySystemImpl implements ExpirySystem {
         return expiryMetadata != null ? expiryMetadata : ExpiryMetadata.NULL;
     }
 
-    @SuppressWarnings("checkstyle:magicnumber")
+    /**
+     * Removes the entries whose expiration time has passed, as long
+     * as the scan timeout allows. The percentage of entries to scan is
+     * not used anymore, since only the expired entries are visited.
+     */
     @Override
     public final void evictExpiredEntries(final int percentage, final long now, final boolean backup) {
-        // 1. Find how many keys we can scan at max.
-        final int maxScannableCount = findMaxScannableCount(percentage);
-        if (maxScannableCount == 0) {
+        if (isEmpty() || timingWheel == null) {
             // no expirable entry exists.
             return;
         }
 
-        // 2. Do scanning and evict expired keys.
-        int scannedCount = 0;
+        // backups expire entries later, so that the primary drives expiration
+        int time = stripBaseTime(backup ? now - expiryDelayMillis : now);
+        int polledCount = 0;
         int expiredCount = 0;
+        int foundCount;
         long scanLoopStartNanos = System.nanoTime();
         try {
             do {
-                scannedCount += findExpiredKeys(now, backup);
+                foundCount = findExpiredKeys(time, now, backup);
+                polledCount += foundCount;
                 expiredCount += evictExpiredKeys(backup);
-            } while (scannedCount < maxScannableCount && getOrInitCachedIterator().hasNext()
+            } while (foundCount == MAX_SAMPLE_AT_A_TIME
                     && (System.nanoTime() - scanLoopStartNanos) < expiredKeyScanTimeoutNanos);
         } catch (Exception e) {
             BATCH_OF_EXPIRED.get().clear();
             throw ExceptionUtil.rethrow(e);
         }
 
-        // 3. Send expired keys to backups(only valid for max-idle-expiry)
+        purgeRemovedKeys();
+
+        // Send expired keys to backups(only valid for max-idle-expiry)
         tryToSendBackupExpiryOp();
 
         if (logger.isFinestEnabled()) {
-            logProgress(maxScannableCount, scannedCount, expiredCount, scanLoopStartNanos);
+            logProgress(polledCount, expiredCount, scanLoopStartNanos);
         }
     }
 
-
-    private void logProgress(int maxScannableCount, int scannedCount,
-                             int expiredCount, long scanLoopStartNanos) {
+    private void logProgress(int polledCount, int expiredCount, long scanLoopStartNanos) {
         logger.finest(String.format("mapName: %s, partitionId: %d, partitionSize: %d, "
-                        + "maxScannableCount: %d, scannedCount: %d, expiredCount: %d, "
+                        + "polledCount: %d, expiredCount: %d, "
                         + "remainedCount: %d, scanTookNanos: %d"
                 , recordStore.getName(), recordStore.getPartitionId(), recordStore.size()
-                , maxScannableCount, scannedCount, expiredCount, expireTimeByKey.size(),
+                , polledCount, expiredCount, expireTimeByKey.size(),
                 (System.nanoTime() - scanLoopStartNanos)));
     }
 
-    private int findMaxScannableCount(int percentage) {
-        if (isEmpty()) {
-            return 0;
-        }
-
-        int numberOfExpirableKeys = expireTimeByKey.size();
-        if (numberOfExpirableKeys <= MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN) {
-            return numberOfExpirableKeys;
-        }
-
-        int percentageOfExpirableKeys = (int) (1D * numberOfExpirableKeys * percentage / ONE_HUNDRED_PERCENT);
-        return Math.max(MIN_TOTAL_NUMBER_OF_KEYS_TO_SCAN, percentageOfExpirableKeys);
-    }
-
     /**
-     * Get cachedExpirationIterator or init it if it has no next entry.
+     * Polls up to {@value #MAX_SAMPLE_AT_A_TIME} keys due at the
+     * given time from the timing wheel. The expired ones are added to
+     * the batch to evict, the others are rescheduled.
+     *
+     * @return the number of polled keys
      */
-    private Iterator<Map.Entry<Data, ExpiryMetadata>> getOrInitCachedIterator() {
-        if (cachedExpirationIterator == null || !cachedExpirationIterator.hasNext()) {
-            cachedExpirationIterator = initIteratorOf(expireTimeByKey);
-        }
-        return cachedExpirationIterator;
-    }
-
-    private int findExpiredKeys(long now, boolean backup) {
+    private int findExpiredKeys(int time, long now, boolean backup) {
         List batchOfExpired = BATCH_OF_EXPIRED.get();
 
-        int scannedCount = 0;
-        Iterator<Map.Entry<Data, ExpiryMetadata>> cachedIterator = getOrInitCachedIterator();
-        while (scannedCount++ < MAX_SAMPLE_AT_A_TIME && cachedIterator.hasNext()) {
-            Map.Entry<Data, ExpiryMetadata> entry = cachedIterator.next();
-            Data key = entry.getKey();
-            ExpiryMetadata expiryMetadata = entry.getValue();
+        int polledCount = 0;
+        Data key;
+        while (polledCount < MAX_SAMPLE_AT_A_TIME && (key = pollDueKey(time)) != null) {
+            polledCount++;
+            ExpiryMetadata expiryMetadata = getExpiryMetadataForExpiryCheck(key, expireTimeByKey);
+            if (expiryMetadata == null || expiryMetadata == ExpiryMetadata.NULL) {
+                // removed from the expiry system after being scheduled
+                continue;
+            }
 
             ExpiryReason expiryReason = hasExpired(expiryMetadata, now, backup);
             if (expiryReason != ExpiryReason.NOT_EXPIRED && !recordStore.isLocked(key)) {
+                if (!backup) {
+                    onExpired(now - expiryMetadata.getExpirationTime());
+                }
                 // add key and expiryReason to list to evict them later
                 batchOfExpired.add(key);
                 batchOfExpired.add(expiryReason);
+            } else if (expiryMetadata.getRawExpirationTime() > time) {
+                // expiration time extended after being scheduled
+                timingWheel.schedule(key, expiryMetadata.getRawExpirationTime());
+            } else {
+                // locked, or idle on a backup, whose expiry the primary drives
+                timingWheel.schedule(key, time + recheckDelaySeconds);
             }
         }
-        return scannedCount;
+        return polledCount;
+    }
+
+    /**
+     * Polls a key due at the given time from the timing wheel, the
+     * polled keys are the ones checked for expiry.
+     *
+     * @return the polled key or {@code null} if no key is due
+     */
+    protected Data pollDueKey(int time) {
+        return timingWheel.poll(time);
+    }
+
+    private void onExpired(long expirationLagMillis) {
+        expiredCount++;
+        totalExpirationLagMillis += expirationLagMillis;
+        if (expirationLagMillis > maxExpirationLagMillis) {
+            maxExpirationLagMillis = expirationLagMillis;
+        }
+    }
+
+    /**
+     * Drops the keys of the timing wheel which were removed from the
+     * expiry system, once they outnumber the expirable keys.
+     */
+    private void purgeRemovedKeys() {
+        int expirableCount = expireTimeByKey.size();
+        if (timingWheel.size() - expirableCount > Math.max(MIN_STALE_KEY_COUNT_TO_PURGE, expirableCount)) {
+            Map<Data, ExpiryMetadata> expireTimeByKey = this.expireTimeByKey;
+            timingWheel.purge(key -> {
+                ExpiryMetadata expiryMetadata = getExpiryMetadataForExpiryCheck(key, expireTimeByKey);
+                return expiryMetadata == null || expiryMetadata == ExpiryMetadata.NULL;
+            });
+        }
+    }
+
+    @Override
+    public final long getNextExpirationTime() {
+        ExpiryTimingWheel timingWheel = this.timingWheel;
+        int nextDueTime = timingWheel == null ? Integer.MAX_VALUE : timingWheel.nextDueTime();
+        return recomputeWithBaseTime(nextDueTime);
+    }
+
+    @Override
+    public final long getExpiredCount() {
+        return expiredCount;
+    }
+
+    @Override
+    public final long getTotalExpirationLagMillis() {
+        return totalExpirationLagMillis;
+    }
+
+    @Override
+    public final long getMaxExpirationLagMillis() {
+        return maxExpirationLagMillis;
     }
 
     private int evictExpiredKeys(boolean backup) {
@@ -407,11 +501,6 @@ public class ExpirySystemImpl implements ExpirySystem {
         return expireTimeByKey.get(key);
     }
 
-    // this method is overridden
-    protected Iterator<Map.Entry<Data, ExpiryMetadata>> initIteratorOf(Map<Data, ExpiryMetadata> expireTimeByKey) {
-        return expireTimeByKey.entrySet().iterator();
-    }
-
     // this method is overridden
     protected void callRemove(Data key, Map<Data, ExpiryMetadata> expireTimeByKey) {
         expireTimeByKey.remove(key);
@@ -421,6 +510,9 @@ public class ExpirySystemImpl implements ExpirySystem {
     @Override
     public void destroy() {
         getOrCreateExpireTimeByKeyMap(false).clear();
+        if (timingWheel != null) {
+            timingWheel.clear();
+        }
     }
 
     @Override
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Hierarchical timing wheel indexing keys by their expiration time, as
+ * seconds relative to {@link com.hazelcast.internal.util.TimeStripUtil#EPOCH_TIME_MILLIS},
+ * the precision {@link ExpiryMetadata} keeps them with.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. A slot
+ * of the first level holds the keys expiring in one second, a slot of
+ * the next level the keys expiring in the next 64 seconds and so on, up
+ * to about 194 days. Later expiration times are kept in an overflow
+ * bucket. When the wheel's time reaches the range of a slot of an upper
+ * level, its keys are cascaded to the lower levels. Scheduling a key is
+ * O(1) and polling the due keys costs O(due keys) plus the cascades, each
+ * key being cascaded at most once per level.
+ * <p>
+ * Keys are never removed eagerly: a key which is removed from the expiry
+ * system, or whose expiration time is extended, stays in the wheel until
+ * it is polled, then its {@link ExpiryMetadata} tells whether it is
+ * expired, has to be rescheduled or is gone. {@link #purge(Predicate)}
+ * drops the keys which are gone, when they pile up.
+ * <p>
+ * Not thread-safe, the wheel is accessed by the partition thread owning
+ * its record store, except for {@link #nextDueTime()}.
+ */
+final class ExpiryTimingWheel {
+
+    static final int LEVELS = 4;
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int OVERFLOW_SPAN = 1 << (LEVELS * SLOT_BITS);
+
+    private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+    private final Bucket overflow = new Bucket();
+
+    /**
+     * The time whose first level slot is to be polled next,
+     * all the slots of the former times have been polled.
+     */
+    private int currentTime;
+    private int size;
+    private int firstLevelSize;
+    private volatile int nextDueTime = Integer.MAX_VALUE;
+
+    ExpiryTimingWheel(int currentTime) {
+        this.currentTime = currentTime;
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Schedules the key to be polled once the wheel reaches the given
+     * expiration time. A time already passed is polled at the next
+     * {@link #poll(int)}. A key may be scheduled several times.
+     */
+    void schedule(Data key, int expirationTime) {
+        int delay = expirationTime - currentTime;
+        if (delay < SLOTS) {
+            levels[0][Math.max(expirationTime, currentTime) & SLOT_MASK].add(key, expirationTime);
+            firstLevelSize++;
+        } else if (delay < OVERFLOW_SPAN) {
+            int level = levelOf(delay);
+            levels[level][(expirationTime >>> (level * SLOT_BITS)) & SLOT_MASK].add(key, expirationTime);
+        } else {
+            overflow.add(key, expirationTime);
+        }
+        size++;
+
+        if (expirationTime < nextDueTime) {
+            nextDueTime = expirationTime;
+        }
+    }
+
+    private static int levelOf(int delay) {
+        int level = 1;
+        while (delay >= 1 << ((level + 1) * SLOT_BITS)) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Polls one key scheduled at or before the given time.
+     *
+     * @return the key or {@code null} if no key is due
+     */
+    Data poll(int time) {
+        while (currentTime <= time) {
+            Bucket bucket = levels[0][currentTime & SLOT_MASK];
+            if (bucket.size > 0) {
+                size--;
+                firstLevelSize--;
+                return bucket.removeLast();
+            }
+            advance(time);
+        }
+        nextDueTime = computeNextDueTime();
+        return null;
+    }
+
+    private void advance(int time) {
+        if (size == 0) {
+            currentTime = time + 1;
+            return;
+        }
+
+        int nextSlotTime = currentTime + 1;
+        int nextCascadeTime = (currentTime | SLOT_MASK) + 1;
+        // skip the empty slots of the first level up to the next cascade
+        currentTime = firstLevelSize == 0 ? Math.min(time + 1, nextCascadeTime) : nextSlotTime;
+        if ((currentTime & SLOT_MASK) == 0) {
+            cascade();
+        }
+    }
+
+    private void cascade() {
+        int level = 1;
+        while (level < LEVELS && (currentTime & ((1 << ((level + 1) * SLOT_BITS)) - 1)) == 0) {
+            level++;
+        }
+        if (level == LEVELS && (currentTime & (OVERFLOW_SPAN - 1)) == 0) {
+            reschedule(overflow);
+        }
+        // upper levels first, so that their keys reach
+        // the slots of the lower levels cascaded next
+        for (level = Math.min(level, LEVELS - 1); level > 0; level--) {
+            reschedule(levels[level][(currentTime >>> (level * SLOT_BITS)) & SLOT_MASK]);
+        }
+    }
+
+    private void reschedule(Bucket bucket) {
+        int count = bucket.size;
+        if (count == 0) {
+            return;
+        }
+        Data[] keys = bucket.keys;
+        int[] expirationTimes = bucket.expirationTimes;
+        bucket.reset();
+        size -= count;
+        for (int i = 0; i < count; i++) {
+            schedule(keys[i], expirationTimes[i]);
+        }
+    }
+
+    /**
+     * Removes the keys matching the given predicate from the wheel.
+     */
+    void purge(Predicate<Data> predicate) {
+        for (int level = 0; level < LEVELS; level++) {
+            for (Bucket bucket : levels[level]) {
+                int removed = bucket.removeIf(predicate);
+                size -= removed;
+                if (level == 0) {
+                    firstLevelSize -= removed;
+                }
+            }
+        }
+        size -= overflow.removeIf(predicate);
+        nextDueTime = computeNextDueTime();
+    }
+
+    void clear() {
+        for (Bucket[] level : levels) {
+            for (Bucket bucket : level) {
+                bucket.reset();
+            }
+        }
+        overflow.reset();
+        size = 0;
+        firstLevelSize = 0;
+        nextDueTime = Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of scheduled keys, including
+     * the keys scheduled several times
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Safe to call from any thread.
+     *
+     * @return a time at or before which the next key is due,
+     * {@link Integer#MAX_VALUE} if no key is scheduled
+     */
+    int nextDueTime() {
+        return nextDueTime;
+    }
+
+    private int computeNextDueTime() {
+        if (size == 0) {
+            return Integer.MAX_VALUE;
+        }
+        if (firstLevelSize > 0) {
+            for (int time = currentTime; time < currentTime + SLOTS; time++) {
+                if (levels[0][time & SLOT_MASK].size > 0) {
+                    return time;
+                }
+            }
+        }
+        return (currentTime | SLOT_MASK) + 1;
+    }
+
+    private static final class Bucket {
+
+        private static final int INITIAL_CAPACITY = 4;
+        private static final Data[] NO_KEYS = new Data[0];
+        private static final int[] NO_TIMES = new int[0];
+
+        private Data[] keys = NO_KEYS;
+        private int[] expirationTimes = NO_TIMES;
+        private int size;
+
+        void add(Data key, int expirationTime) {
+            if (size == keys.length) {
+                int capacity = Math.max(INITIAL_CAPACITY, size << 1);
+                keys = Arrays.copyOf(keys, capacity);
+                expirationTimes = Arrays.copyOf(expirationTimes, capacity);
+            }
+            keys[size] = key;
+            expirationTimes[size] = expirationTime;
+            size++;
+        }
+
+        Data removeLast() {
+            Data key = keys[--size];
+            keys[size] = null;
+            if (size == 0) {
+                reset();
+            }
+            return key;
+        }
+
+        int removeIf(Predicate<Data> predicate) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!predicate.test(keys[i])) {
+                    keys[kept] = keys[i];
+                    expirationTimes[kept] = expirationTimes[i];
+                    kept++;
+                }
+            }
+            int removed = size - kept;
+            Arrays.fill(keys, kept, size, null);
+            size = kept;
+            if (size == 0) {
+                reset();
+            }
+            return removed;
+        }
+
+        void reset() {
+            keys = NO_KEYS;
+            expirationTimes = NO_TIMES;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.serialization.compact;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class or a record serialized with the zero-config Compact
+ * serialization to have its {@link CompactSerializer} generated at compile
+ * time by the annotation processor of the {@code hazelcast-compact-processor}
+ * module, instead of being serialized reflectively.
+ * <p>
+ * The generated serializer is named after the class, {@code Employee_CompactSerializer}
+ * for {@code Employee} and {@code Outer_Inner_CompactSerializer} for a nested
+ * {@code Outer.Inner}, in the same package. It's picked up automatically when
+ * the class is serialized, either without any configuration or after
+ * {@link com.hazelcast.config.CompactSerializationConfig#addClass(Class)}.
+ * <p>
+ * The generated serializer writes the same fields as the reflective one,
+ * under the class name as the type name, so the data written by either of
+ * them is read by the other. It accesses the fields directly, so the class
+ * must have a non-private no-arg constructor and its non-static non-transient
+ * fields must be accessible from its package, either directly or through
+ * a getter and a setter. A record is created through its canonical
+ * constructor. The processor fails the compilation for the fields of the
+ * types it doesn't support.
+ *
+ * @since 5.2
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface GenerateCompactSerializer {
+}
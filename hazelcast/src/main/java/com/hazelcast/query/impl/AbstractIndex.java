@@ -26,17 +26,21 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics.TrackedOperationStats;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.PredicateDataSerializerHook;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.SetUtil.createHashSet;
 import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
 import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyIterator;
 import static java.util.Collections.emptySet;
 
@@ -59,9 +63,11 @@ public abstract class AbstractIndex implements InternalIndex {
     protected final IndexCopyBehavior copyBehavior;
 
     private final String[] components;
+    private final String[] coveredAttributes;
     private final IndexConfig config;
     private final boolean ordered;
     private final PerIndexStats stats;
+    private final IndexStatistics statistics;
 
     private volatile TypeConverter converter;
 
@@ -76,12 +82,14 @@ public abstract class AbstractIndex implements InternalIndex {
             String mapName) {
         this.config = config;
         this.components = IndexUtils.getComponents(config);
+        this.coveredAttributes = getCoveredAttributes(config, components);
         this.ordered = config.getType() == IndexType.SORTED;
         this.ss = ss;
         this.extractors = extractors;
         this.copyBehavior = copyBehavior;
         this.indexStore = createIndexStore(node, config, stats, mapName);
         this.stats = stats;
+        this.statistics = new IndexStatistics(ordered);
     }
 
     protected abstract IndexStore createIndexStore(Node node, IndexConfig config, PerIndexStats stats, String mapName);
@@ -129,13 +137,21 @@ public abstract class AbstractIndex implements InternalIndex {
             converter = obtainConverter(newEntry);
         }
 
+        if (coveredAttributes != null) {
+            // must be done before the entry is published to the index store
+            entryToStore.coverAttributes(coveredAttributes, extractCoveredAttributeValues(newEntry));
+        }
+
         Object newAttributeValue = extractAttributeValue(newEntry);
+        TrackedOperationStats trackedStats = statistics.startOperation(operationStats);
         if (oldEntry == null) {
-            indexStore.insert(newAttributeValue, newEntry, entryToStore, operationStats);
+            indexStore.insert(newAttributeValue, newEntry, entryToStore, trackedStats);
+            statistics.completeOperation(trackedStats);
             stats.onInsert(timestamp, operationStats, operationSource);
         } else {
             Object oldAttributeValue = extractAttributeValue(oldEntry);
-            indexStore.update(oldAttributeValue, newAttributeValue, newEntry, entryToStore, operationStats);
+            indexStore.update(oldAttributeValue, newAttributeValue, newEntry, entryToStore, trackedStats);
+            statistics.completeOperation(trackedStats);
             stats.onUpdate(timestamp, operationStats, operationSource);
         }
     }
@@ -146,7 +162,9 @@ public abstract class AbstractIndex implements InternalIndex {
         IndexOperationStats operationStats = stats.createOperationStats();
 
         Object attributeValue = extractAttributeValue(entry);
-        indexStore.remove(attributeValue, entry, operationStats);
+        TrackedOperationStats trackedStats = statistics.startOperation(operationStats);
+        indexStore.remove(attributeValue, entry, trackedStats);
+        statistics.completeOperation(trackedStats);
         stats.onRemove(timestamp, operationStats, operationSource);
     }
 
@@ -320,9 +338,56 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+
+        return statistics.estimateEqual(indexStore, convert(value));
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable[] values) {
+        if (converter == null || values.length == 0) {
+            return 0;
+        }
+
+        Set<Comparable> convertedValues = createHashSet(values.length);
+        for (Comparable value : values) {
+            Comparable converted = convert(value);
+            convertedValues.add(canonicalizeQueryArgumentScalar(converted));
+        }
+        return statistics.estimateIn(indexStore, convertedValues);
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (converter == null) {
+            return 0;
+        }
+
+        return statistics.estimateRange(indexStore, convert(from), fromInclusive, convert(to), toInclusive);
+    }
+
+    @Override
+    public long estimateRecordCount(Comparison comparison, Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+
+        return statistics.estimateComparison(indexStore, comparison, convert(value));
+    }
+
+    @Override
+    public long getEntryCount() {
+        return statistics.getEntryCount();
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
+        statistics.clear();
         converter = null;
         stats.onClear();
     }
@@ -349,6 +414,31 @@ public abstract class AbstractIndex implements InternalIndex {
                 + '}';
     }
 
+    /**
+     * @return the indexed and included attributes of a covering index, or
+     * {@code null} if the index has no included attributes.
+     */
+    private static String[] getCoveredAttributes(IndexConfig config, String[] components) {
+        if (config.getIncludedAttributes().isEmpty()) {
+            return null;
+        }
+        List<String> attributes = new ArrayList<>(asList(components));
+        for (String includedAttribute : config.getIncludedAttributes()) {
+            if (!attributes.contains(includedAttribute)) {
+                attributes.add(includedAttribute);
+            }
+        }
+        return attributes.toArray(new String[0]);
+    }
+
+    private Object[] extractCoveredAttributeValues(QueryableEntry entry) {
+        Object[] values = new Object[coveredAttributes.length];
+        for (int i = 0; i < coveredAttributes.length; i++) {
+            values[i] = entry.getAttributeValue(coveredAttributes[i]);
+        }
+        return values;
+    }
+
     private Object extractAttributeValue(QueryableEntry entry) {
         if (components.length == 1) {
             return entry.getAttributeValue(components[0]);
@@ -362,6 +362,58 @@ public class AttributeIndexRegistry {
             }
         }
 
+        @Override
+        public long estimateRecordCount(Comparable value) {
+            Comparable from = new CompositeValue(width, value, NEGATIVE_INFINITY);
+            Comparable to = new CompositeValue(width, value, POSITIVE_INFINITY);
+            return delegate.estimateRecordCount(from, false, to, false);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable[] values) {
+            long total = 0;
+            for (Comparable value : values) {
+                long estimate = estimateRecordCount(value);
+                if (estimate == UNKNOWN_RECORD_COUNT) {
+                    return UNKNOWN_RECORD_COUNT;
+                }
+                total += estimate;
+            }
+            return total;
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            Comparable compositeFrom = new CompositeValue(width, from, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            Comparable compositeTo = new CompositeValue(width, to, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return delegate.estimateRecordCount(compositeFrom, false, compositeTo, false);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparison comparison, Comparable value) {
+            switch (comparison) {
+                case LESS:
+                    CompositeValue lessFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessTo = new CompositeValue(width, value, NEGATIVE_INFINITY);
+                    return delegate.estimateRecordCount(lessFrom, false, lessTo, false);
+                case GREATER:
+                    return delegate.estimateRecordCount(GREATER, new CompositeValue(width, value, POSITIVE_INFINITY));
+                case LESS_OR_EQUAL:
+                    CompositeValue lessOrEqualFrom = new CompositeValue(width, NULL, POSITIVE_INFINITY);
+                    CompositeValue lessOrEqualTo = new CompositeValue(width, value, POSITIVE_INFINITY);
+                    return delegate.estimateRecordCount(lessOrEqualFrom, false, lessOrEqualTo, false);
+                case GREATER_OR_EQUAL:
+                    return delegate.estimateRecordCount(GREATER_OR_EQUAL, new CompositeValue(width, value, NEGATIVE_INFINITY));
+                default:
+                    throw new IllegalStateException("unexpected comparison: " + comparison);
+            }
+        }
+
+        @Override
+        public long getEntryCount() {
+            return delegate.getEntryCount();
+        }
+
         @Override
         public void clear() {
             throw newUnsupportedException();
@@ -0,0 +1,858 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.Consumer;
+
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+
+/**
+ * An ordered map of index values to objects, stored in a B+tree with wide
+ * nodes.
+ * <p>
+ * The keys of a node are stored in one array. While all the keys of the
+ * tree are of the same {@code Integer}, {@code Long}, {@code Double},
+ * {@link Date}, {@link Instant} or {@link LocalDateTime} class, the array
+ * is a primitive one: the keys are not boxed and a node is searched
+ * without dereferencing its keys. Once a key of another class is put,
+ * all the nodes are converted to arrays of {@link Comparable}s. The keys
+ * are compared as {@link Comparables#compare} does.
+ * <p>
+ * Leaves are linked in both directions for range scans. Nodes are split
+ * in halves when full, except when a key is appended to the rightmost
+ * node of its parent, which keeps increasing keys in full nodes. A node
+ * left less than a quarter full by a removal is merged with a sibling if
+ * they fit in one node.
+ * <p>
+ * Not thread-safe: updates must be exclusive of any other access.
+ */
+@SuppressWarnings({"rawtypes", "checkstyle:MethodCount"})
+final class BPlusTree {
+
+    /**
+     * The default maximum number of keys of a node.
+     */
+    static final int DEFAULT_NODE_CAPACITY = 128;
+
+    private static final int MIN_NODE_CAPACITY = 4;
+    private static final int INITIAL_LEAF_CAPACITY = 8;
+
+    private final int nodeCapacity;
+    private final int minNodeSize;
+
+    private KeyType keyType;
+    private Node root;
+    private int size;
+
+    // the result of the split of a child during an insertion
+    private Comparable splitKey;
+    private Node splitNode;
+
+    BPlusTree() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    BPlusTree(int nodeCapacity) {
+        checkTrue(nodeCapacity >= MIN_NODE_CAPACITY, "nodeCapacity must be at least " + MIN_NODE_CAPACITY);
+        this.nodeCapacity = nodeCapacity;
+        this.minNodeSize = nodeCapacity / MIN_NODE_CAPACITY;
+        clear();
+    }
+
+    /**
+     * @return the number of keys of this tree
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value of the given key, {@code null} if there is none
+     */
+    Object get(Comparable key) {
+        if (size == 0) {
+            return null;
+        }
+        Leaf leaf = findLeaf(key);
+        int index = search(leaf, key);
+        return index >= 0 ? leaf.values[index] : null;
+    }
+
+    /**
+     * Associates the given value to the given key.
+     *
+     * @param key   the key, not {@code null}
+     * @param value the value, not {@code null}
+     * @return the value previously associated to the key, {@code null} if
+     * there was none
+     */
+    Object put(Comparable key, Object value) {
+        assert key != null && value != null;
+        if (keyType == null) {
+            keyType = KeyType.of(key);
+        } else if (!keyType.accepts(key)) {
+            convertToComparableKeys();
+        }
+
+        Object oldValue = insert(root, key, value);
+        if (splitNode != null) {
+            Inner newRoot = new Inner(keyType, nodeCapacity);
+            keyType.set(newRoot.keys, 0, splitKey);
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.size = 1;
+            root = newRoot;
+            splitKey = null;
+            splitNode = null;
+        }
+        return oldValue;
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @return the value of the removed key, {@code null} if there was none
+     */
+    Object remove(Comparable key) {
+        if (size == 0) {
+            return null;
+        }
+        Object oldValue = delete(root, key);
+        if (size == 0) {
+            clear();
+        }
+        while (root instanceof Inner && root.size == 0) {
+            root = ((Inner) root).children[0];
+        }
+        return oldValue;
+    }
+
+    void clear() {
+        keyType = null;
+        root = new Leaf();
+        size = 0;
+    }
+
+    /**
+     * Copies the keys and values of the given range, in the given order,
+     * up to the length of the given arrays.
+     *
+     * @param from          the lower bound, {@code null} if unbounded
+     * @param fromInclusive whether the lower bound is inclusive
+     * @param to            the upper bound, {@code null} if unbounded
+     * @param toInclusive   whether the upper bound is inclusive
+     * @param descending    whether to copy in descending order
+     * @param keys          the array to copy the keys to
+     * @param values        the array to copy the values to
+     * @return the number of keys copied
+     */
+    int copyRange(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive, boolean descending,
+                  Comparable[] keys, Object[] values) {
+        assert keys.length == values.length;
+        int[] count = new int[1];
+        scan(from, fromInclusive, to, toInclusive, descending, (leaf, index) -> {
+            keys[count[0]] = keyType.get(leaf.keys, index);
+            values[count[0]] = leaf.values[index];
+            return ++count[0] < keys.length;
+        });
+        return count[0];
+    }
+
+    /**
+     * Passes the values of the given range to the given consumer, in
+     * ascending order of their keys.
+     *
+     * @param from          the lower bound, {@code null} if unbounded
+     * @param fromInclusive whether the lower bound is inclusive
+     * @param to            the upper bound, {@code null} if unbounded
+     * @param toInclusive   whether the upper bound is inclusive
+     */
+    void forEachValue(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                      Consumer<Object> consumer) {
+        scan(from, fromInclusive, to, toInclusive, false, (leaf, index) -> {
+            consumer.accept(leaf.values[index]);
+            return true;
+        });
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private void scan(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive, boolean descending,
+                      LeafVisitor visitor) {
+        if (size == 0) {
+            return;
+        }
+        Leaf leaf;
+        int index;
+        if (descending) {
+            if (to == null) {
+                leaf = lastLeaf();
+                index = leaf.size - 1;
+            } else {
+                leaf = findLeaf(to);
+                index = search(leaf, to);
+                index = index >= 0 ? (toInclusive ? index : index - 1) : -index - 2;
+            }
+            while (leaf != null) {
+                for (; index >= 0; index--) {
+                    if (from != null && !isAbove(leaf, index, from, fromInclusive) || !visitor.visit(leaf, index)) {
+                        return;
+                    }
+                }
+                leaf = leaf.prev;
+                index = leaf == null ? -1 : leaf.size - 1;
+            }
+        } else {
+            if (from == null) {
+                leaf = firstLeaf();
+                index = 0;
+            } else {
+                leaf = findLeaf(from);
+                index = search(leaf, from);
+                index = index >= 0 ? (fromInclusive ? index : index + 1) : -index - 1;
+            }
+            while (leaf != null) {
+                for (; index < leaf.size; index++) {
+                    if (to != null && !isBelow(leaf, index, to, toInclusive) || !visitor.visit(leaf, index)) {
+                        return;
+                    }
+                }
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+    }
+
+    private boolean isAbove(Leaf leaf, int index, Comparable from, boolean fromInclusive) {
+        int order = keyType.compare(from, leaf.keys, index);
+        return fromInclusive ? order <= 0 : order < 0;
+    }
+
+    private boolean isBelow(Leaf leaf, int index, Comparable to, boolean toInclusive) {
+        int order = keyType.compare(to, leaf.keys, index);
+        return toInclusive ? order >= 0 : order > 0;
+    }
+
+    private Leaf firstLeaf() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf lastLeaf() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[node.size];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf findLeaf(Comparable key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * @return the index of the given key in the given node if found,
+     * {@code -(insertion point) - 1} otherwise
+     */
+    private int search(Node node, Comparable key) {
+        int low = 0;
+        int high = node.size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = keyType.compare(key, node.keys, mid);
+            if (order > 0) {
+                low = mid + 1;
+            } else if (order < 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int childIndex(Inner inner, Comparable key) {
+        // the keys of the child i + 1 are greater or equal to the key i
+        int index = search(inner, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Object insert(Node node, Comparable key, Object value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = search(leaf, key);
+            if (index >= 0) {
+                Object oldValue = leaf.values[index];
+                leaf.values[index] = value;
+                return oldValue;
+            }
+            index = -index - 1;
+            if (leaf.size == nodeCapacity) {
+                splitLeaf(leaf, index, key, value);
+            } else {
+                insertIntoLeaf(leaf, index, key, value);
+            }
+            size++;
+            return null;
+        }
+
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Object oldValue = insert(inner.children[child], key, value);
+        if (splitNode != null) {
+            Comparable childSplitKey = splitKey;
+            Node childSplitNode = splitNode;
+            splitKey = null;
+            splitNode = null;
+            if (inner.size == nodeCapacity) {
+                splitInner(inner, child, childSplitKey, childSplitNode);
+            } else {
+                insertIntoInner(inner, child, childSplitKey, childSplitNode);
+            }
+        }
+        return oldValue;
+    }
+
+    private void insertIntoLeaf(Leaf leaf, int index, Comparable key, Object value) {
+        ensureCapacity(leaf, leaf.size + 1);
+        System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.size - index);
+        System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.size - index);
+        keyType.set(leaf.keys, index, key);
+        leaf.values[index] = value;
+        leaf.size++;
+    }
+
+    private void splitLeaf(Leaf leaf, int index, Comparable key, Object value) {
+        // an append keeps the leaf full, increasing keys fill the leaves
+        int mid = index == leaf.size ? leaf.size : leaf.size >>> 1;
+        int moved = leaf.size - mid;
+
+        Leaf right = new Leaf();
+        ensureCapacity(right, moved + 1);
+        System.arraycopy(leaf.keys, mid, right.keys, 0, moved);
+        System.arraycopy(leaf.values, mid, right.values, 0, moved);
+        right.size = moved;
+        clearKeys(leaf.keys, mid, leaf.size);
+        Arrays.fill(leaf.values, mid, leaf.size, null);
+        leaf.size = mid;
+
+        right.prev = leaf;
+        right.next = leaf.next;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        }
+        leaf.next = right;
+
+        if (index < mid || index == mid && mid < nodeCapacity) {
+            insertIntoLeaf(leaf, index, key, value);
+        } else {
+            insertIntoLeaf(right, index - mid, key, value);
+        }
+        splitKey = keyType.get(right.keys, 0);
+        splitNode = right;
+    }
+
+    private void insertIntoInner(Inner inner, int child, Comparable key, Node node) {
+        System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.size - child);
+        keyType.set(inner.keys, child, key);
+        System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.size - child);
+        inner.children[child + 1] = node;
+        inner.size++;
+    }
+
+    private void splitInner(Inner inner, int child, Comparable key, Node node) {
+        int keyCount = inner.size + 1;
+        Object keys = keyType.newArray(keyCount);
+        Node[] children = new Node[keyCount + 1];
+        System.arraycopy(inner.keys, 0, keys, 0, child);
+        keyType.set(keys, child, key);
+        System.arraycopy(inner.keys, child, keys, child + 1, inner.size - child);
+        System.arraycopy(inner.children, 0, children, 0, child + 1);
+        children[child + 1] = node;
+        System.arraycopy(inner.children, child + 1, children, child + 2, inner.size - child);
+
+        // the key at mid moves up, an append keeps the node full
+        int mid = child == inner.size ? inner.size : keyCount >>> 1;
+        int rightSize = keyCount - mid - 1;
+
+        Inner right = new Inner(keyType, nodeCapacity);
+        System.arraycopy(keys, mid + 1, right.keys, 0, rightSize);
+        System.arraycopy(children, mid + 1, right.children, 0, rightSize + 1);
+        right.size = rightSize;
+
+        System.arraycopy(keys, 0, inner.keys, 0, mid);
+        System.arraycopy(children, 0, inner.children, 0, mid + 1);
+        clearKeys(inner.keys, mid, inner.size);
+        Arrays.fill(inner.children, mid + 1, inner.size + 1, null);
+        inner.size = mid;
+
+        splitKey = keyType.get(keys, mid);
+        splitNode = right;
+    }
+
+    private Object delete(Node node, Comparable key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = search(leaf, key);
+            if (index < 0) {
+                return null;
+            }
+            Object oldValue = leaf.values[index];
+            int tail = leaf.size - index - 1;
+            System.arraycopy(leaf.keys, index + 1, leaf.keys, index, tail);
+            System.arraycopy(leaf.values, index + 1, leaf.values, index, tail);
+            leaf.size--;
+            clearKeys(leaf.keys, leaf.size, leaf.size + 1);
+            leaf.values[leaf.size] = null;
+            size--;
+            return oldValue;
+        }
+
+        Inner inner = (Inner) node;
+        int child = childIndex(inner, key);
+        Node childNode = inner.children[child];
+        Object oldValue = delete(childNode, key);
+        if (oldValue != null && childNode.size < minNodeSize) {
+            mergeWithSibling(inner, child);
+        }
+        return oldValue;
+    }
+
+    private void mergeWithSibling(Inner parent, int child) {
+        int left;
+        if (child < parent.size) {
+            left = child;
+        } else if (child > 0) {
+            left = child - 1;
+        } else {
+            return;
+        }
+        Node leftNode = parent.children[left];
+        Node rightNode = parent.children[left + 1];
+        if (leftNode instanceof Leaf) {
+            if (leftNode.size + rightNode.size > nodeCapacity) {
+                return;
+            }
+            mergeLeaves((Leaf) leftNode, (Leaf) rightNode);
+        } else {
+            if (leftNode.size + rightNode.size + 1 > nodeCapacity) {
+                return;
+            }
+            mergeInners((Inner) leftNode, keyType.get(parent.keys, left), (Inner) rightNode);
+        }
+
+        int tail = parent.size - left - 1;
+        System.arraycopy(parent.keys, left + 1, parent.keys, left, tail);
+        System.arraycopy(parent.children, left + 2, parent.children, left + 1, tail);
+        parent.size--;
+        clearKeys(parent.keys, parent.size, parent.size + 1);
+        parent.children[parent.size + 1] = null;
+    }
+
+    private void mergeLeaves(Leaf left, Leaf right) {
+        ensureCapacity(left, left.size + right.size);
+        System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+        System.arraycopy(right.values, 0, left.values, left.size, right.size);
+        left.size += right.size;
+        left.next = right.next;
+        if (right.next != null) {
+            right.next.prev = left;
+        }
+    }
+
+    private void mergeInners(Inner left, Comparable separator, Inner right) {
+        keyType.set(left.keys, left.size, separator);
+        System.arraycopy(right.keys, 0, left.keys, left.size + 1, right.size);
+        System.arraycopy(right.children, 0, left.children, left.size + 1, right.size + 1);
+        left.size += right.size + 1;
+    }
+
+    private void ensureCapacity(Leaf leaf, int capacity) {
+        int length = leaf.values == null ? 0 : leaf.values.length;
+        if (length >= capacity) {
+            return;
+        }
+        int newLength = Math.min(nodeCapacity, Math.max(capacity, Math.max(INITIAL_LEAF_CAPACITY, length << 1)));
+        Object keys = keyType.newArray(newLength);
+        Object[] values = new Object[newLength];
+        if (length > 0) {
+            System.arraycopy(leaf.keys, 0, keys, 0, leaf.size);
+            System.arraycopy(leaf.values, 0, values, 0, leaf.size);
+        }
+        leaf.keys = keys;
+        leaf.values = values;
+    }
+
+    private static void clearKeys(Object keys, int from, int to) {
+        if (keys instanceof Object[]) {
+            Arrays.fill((Object[]) keys, from, to, null);
+        }
+    }
+
+    private void convertToComparableKeys() {
+        KeyType oldKeyType = keyType;
+        keyType = KeyType.COMPARABLE;
+        convertKeys(root, oldKeyType);
+    }
+
+    private void convertKeys(Node node, KeyType oldKeyType) {
+        int length;
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            if (leaf.values == null) {
+                return;
+            }
+            length = leaf.values.length;
+        } else {
+            Inner inner = (Inner) node;
+            length = inner.children.length - 1;
+            for (int i = 0; i <= inner.size; i++) {
+                convertKeys(inner.children[i], oldKeyType);
+            }
+        }
+        Comparable[] keys = new Comparable[length];
+        for (int i = 0; i < node.size; i++) {
+            keys[i] = oldKeyType.get(node.keys, i);
+        }
+        node.keys = keys;
+    }
+
+    @Override
+    public String toString() {
+        return "BPlusTree{"
+                + "size=" + size
+                + ", keyType=" + keyType
+                + ", nodeCapacity=" + nodeCapacity
+                + '}';
+    }
+
+    @FunctionalInterface
+    private interface LeafVisitor {
+
+        /**
+         * @return {@code true} to continue the scan, {@code false} to stop it
+         */
+        boolean visit(Leaf leaf, int index);
+    }
+
+    private abstract static class Node {
+
+        // an array of the key type, of the capacity of the node
+        Object keys;
+        int size;
+    }
+
+    private static final class Leaf extends Node {
+
+        Object[] values;
+        Leaf prev;
+        Leaf next;
+    }
+
+    private static final class Inner extends Node {
+
+        // size + 1 children
+        final Node[] children;
+
+        Inner(KeyType keyType, int capacity) {
+            this.keys = keyType.newArray(capacity);
+            this.children = new Node[capacity + 1];
+        }
+    }
+
+    /**
+     * The representation of the keys of the nodes.
+     */
+    enum KeyType {
+
+        INT {
+            @Override
+            Object newArray(int length) {
+                return new int[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return key.getClass() == Integer.class;
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                return ((int[]) keys)[index];
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                ((int[]) keys)[index] = (Integer) key;
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                return accepts(key) ? Integer.compare((Integer) key, ((int[]) keys)[index]) : compareBoxed(key, keys, index);
+            }
+        },
+
+        LONG {
+            @Override
+            Object newArray(int length) {
+                return new long[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return key.getClass() == Long.class;
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                return ((long[]) keys)[index];
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                ((long[]) keys)[index] = (Long) key;
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                return accepts(key) ? Long.compare((Long) key, ((long[]) keys)[index]) : compareBoxed(key, keys, index);
+            }
+        },
+
+        DOUBLE {
+            @Override
+            Object newArray(int length) {
+                return new double[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return key.getClass() == Double.class;
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                return ((double[]) keys)[index];
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                ((double[]) keys)[index] = (Double) key;
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                return accepts(key)
+                        ? Double.compare((Double) key, ((double[]) keys)[index])
+                        : compareBoxed(key, keys, index);
+            }
+        },
+
+        /**
+         * {@link Date}s as milliseconds since the epoch.
+         */
+        DATE {
+            @Override
+            Object newArray(int length) {
+                return new long[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return key.getClass() == Date.class;
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                return new Date(((long[]) keys)[index]);
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                ((long[]) keys)[index] = ((Date) key).getTime();
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                return accepts(key)
+                        ? Long.compare(((Date) key).getTime(), ((long[]) keys)[index])
+                        : compareBoxed(key, keys, index);
+            }
+        },
+
+        /**
+         * {@link Instant}s as nanoseconds since the epoch.
+         */
+        INSTANT {
+            @Override
+            Object newArray(int length) {
+                return new long[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return key.getClass() == Instant.class && fitsEpochNanos(((Instant) key).getEpochSecond());
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                long nanos = ((long[]) keys)[index];
+                return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND));
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                Instant instant = (Instant) key;
+                ((long[]) keys)[index] = epochNanos(instant.getEpochSecond(), instant.getNano());
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                if (accepts(key)) {
+                    Instant instant = (Instant) key;
+                    return Long.compare(epochNanos(instant.getEpochSecond(), instant.getNano()), ((long[]) keys)[index]);
+                }
+                return compareBoxed(key, keys, index);
+            }
+        },
+
+        /**
+         * {@link LocalDateTime}s as nanoseconds since the epoch in UTC.
+         */
+        LOCAL_DATE_TIME {
+            @Override
+            Object newArray(int length) {
+                return new long[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return key.getClass() == LocalDateTime.class
+                        && fitsEpochNanos(((LocalDateTime) key).toEpochSecond(ZoneOffset.UTC));
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                long nanos = ((long[]) keys)[index];
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                        (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                LocalDateTime dateTime = (LocalDateTime) key;
+                ((long[]) keys)[index] = epochNanos(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano());
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                if (accepts(key)) {
+                    LocalDateTime dateTime = (LocalDateTime) key;
+                    long nanos = epochNanos(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano());
+                    return Long.compare(nanos, ((long[]) keys)[index]);
+                }
+                return compareBoxed(key, keys, index);
+            }
+        },
+
+        COMPARABLE {
+            @Override
+            Object newArray(int length) {
+                return new Comparable[length];
+            }
+
+            @Override
+            boolean accepts(Comparable key) {
+                return true;
+            }
+
+            @Override
+            Comparable get(Object keys, int index) {
+                return ((Comparable[]) keys)[index];
+            }
+
+            @Override
+            void set(Object keys, int index, Comparable key) {
+                ((Comparable[]) keys)[index] = key;
+            }
+
+            @Override
+            int compare(Comparable key, Object keys, int index) {
+                return Comparables.compare(key, ((Comparable[]) keys)[index]);
+            }
+        };
+
+        private static final long NANOS_PER_SECOND = 1_000_000_000L;
+        // the range of seconds whose nanoseconds fit a long
+        private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+        private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / NANOS_PER_SECOND + 1;
+
+        abstract Object newArray(int length);
+
+        /**
+         * @return {@code true} if the given key can be stored in the
+         * arrays of this type
+         */
+        abstract boolean accepts(Comparable key);
+
+        abstract Comparable get(Object keys, int index);
+
+        /**
+         * Sets a key accepted by this type.
+         */
+        abstract void set(Object keys, int index, Comparable key);
+
+        /**
+         * Compares the given key of any class to the key at the given
+         * index, like {@link Comparables#compare} does.
+         */
+        abstract int compare(Comparable key, Object keys, int index);
+
+        int compareBoxed(Comparable key, Object keys, int index) {
+            return Comparables.compare(key, get(keys, index));
+        }
+
+        static KeyType of(Comparable key) {
+            for (KeyType keyType : values()) {
+                if (keyType.accepts(key)) {
+                    return keyType;
+                }
+            }
+            throw new AssertionError();
+        }
+
+        private static boolean fitsEpochNanos(long epochSecond) {
+            return epochSecond >= MIN_EPOCH_SECOND && epochSecond <= MAX_EPOCH_SECOND;
+        }
+
+        private static long epochNanos(long epochSecond, int nanos) {
+            return epochSecond * NANOS_PER_SECOND + nanos;
+        }
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.OrderedIndexStore.IteratorFromBatch;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Store of sorted indexes backed by a {@link BPlusTree}, an alternative
+ * to {@link OrderedIndexStore} taking less memory and scanning ranges
+ * faster, selected by {@link com.hazelcast.config.BTreeIndexConfig#setOnHeap}.
+ * <p>
+ * The tree maps every distinct value to the only entry having it, or to
+ * a map of the entries having it when there are several. Updates and
+ * reads of the tree are guarded by the global lock of the store. The
+ * iterators used by SQL do not hold the lock: they copy batches of the
+ * tree entries under the lock, and continue after the last copied value.
+ * Maps of entries are concurrent, or copied on write with
+ * {@link IndexCopyBehavior#COPY_ON_WRITE}, so they can be read once the
+ * lock is released.
+ */
+@SuppressWarnings("rawtypes")
+public class BPlusTreeIndexStore extends BaseSingleValueIndexStore {
+
+    static final int ITERATOR_BATCH_SIZE = 64;
+
+    private final BPlusTree tree;
+    private final boolean copyOnWrite;
+
+    private volatile Map<Data, QueryableEntry> recordsWithNullValue;
+
+    public BPlusTreeIndexStore(IndexCopyBehavior copyOn) {
+        this(copyOn, BPlusTree.DEFAULT_NODE_CAPACITY);
+    }
+
+    BPlusTreeIndexStore(IndexCopyBehavior copyOn, int nodeCapacity) {
+        super(copyOn, true);
+        assert copyOn != null;
+        this.tree = new BPlusTree(nodeCapacity);
+        this.copyOnWrite = copyOn == IndexCopyBehavior.COPY_ON_WRITE;
+        this.recordsWithNullValue = newRecords();
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        Data recordKey = record.getKeyData();
+        if (value == NULL) {
+            if (copyOnWrite) {
+                Map<Data, QueryableEntry> records = new HashMap<>(recordsWithNullValue);
+                Object oldRecord = records.put(recordKey, record);
+                recordsWithNullValue = records;
+                return oldRecord;
+            }
+            return recordsWithNullValue.put(recordKey, record);
+        }
+
+        Object bucket = tree.get(value);
+        if (bucket == null) {
+            tree.put(value, record);
+            return null;
+        }
+        if (bucket instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) bucket;
+            if (existing.getKeyData().equals(recordKey)) {
+                tree.put(value, record);
+                return existing;
+            }
+            Map<Data, QueryableEntry> records = newRecords();
+            records.put(existing.getKeyData(), existing);
+            records.put(recordKey, record);
+            tree.put(value, records);
+            return null;
+        }
+
+        Map<Data, QueryableEntry> records = (Map<Data, QueryableEntry>) bucket;
+        if (copyOnWrite) {
+            records = new HashMap<>(records);
+            Object oldRecord = records.put(recordKey, record);
+            tree.put(value, records);
+            return oldRecord;
+        }
+        return records.put(recordKey, record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        if (value == NULL) {
+            if (copyOnWrite) {
+                Map<Data, QueryableEntry> records = new HashMap<>(recordsWithNullValue);
+                Object oldRecord = records.remove(recordKey);
+                recordsWithNullValue = records;
+                return oldRecord;
+            }
+            return recordsWithNullValue.remove(recordKey);
+        }
+
+        Object bucket = tree.get(value);
+        if (bucket == null) {
+            return null;
+        }
+        if (bucket instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) bucket;
+            if (existing.getKeyData().equals(recordKey)) {
+                tree.remove(value);
+                return existing;
+            }
+            return null;
+        }
+
+        Map<Data, QueryableEntry> records = (Map<Data, QueryableEntry>) bucket;
+        if (copyOnWrite) {
+            records = new HashMap<>(records);
+        }
+        Object oldRecord = records.remove(recordKey);
+        if (records.size() == 1) {
+            tree.put(value, records.values().iterator().next());
+        } else if (copyOnWrite) {
+            tree.put(value, records);
+        }
+        return oldRecord;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // as for OrderedIndexStore, to support InPredicate queries
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        // values are compared, not hashed
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            recordsWithNullValue = newRecords();
+            tree.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public long getDistinctValueCount() {
+        takeReadLock();
+        try {
+            return tree.size() + (recordsWithNullValue.isEmpty() ? 0 : 1);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable value) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(value));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable value, boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(comparison, value, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable from, boolean fromInclusive, Comparable to,
+                                                         boolean toInclusive, boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value) {
+        if (value == NULL) {
+            return Stream.of(new IndexKeyEntries(value, recordsWithNullValue.values().iterator())).iterator();
+        }
+        Object bucket = getBucket(value);
+        if (bucket == null) {
+            return emptyIterator();
+        }
+        return Stream.of(new IndexKeyEntries(value, recordIterator(bucket))).iterator();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        Stream<IndexKeyEntries> nullStream = Stream.of(
+                new IndexKeyEntries(null, recordsWithNullValue.values().iterator()));
+        Stream<IndexKeyEntries> nonNullStream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new RangeIterator(null, false, null, false, descending), Spliterator.ORDERED), false);
+
+        return descending
+                ? Stream.concat(nonNullStream, nullStream).iterator()
+                : Stream.concat(nullStream, nonNullStream).iterator();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparison comparison, Comparable value,
+                                                               boolean descending) {
+        switch (comparison) {
+            case LESS:
+                return new RangeIterator(null, false, value, false, descending);
+            case LESS_OR_EQUAL:
+                return new RangeIterator(null, false, value, true, descending);
+            case GREATER:
+                return new RangeIterator(value, false, null, false, descending);
+            case GREATER_OR_EQUAL:
+                return new RangeIterator(value, true, null, false, descending);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable from, boolean fromInclusive, Comparable to,
+                                                               boolean toInclusive, boolean descending) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+        return new RangeIterator(from, fromInclusive, to, toInclusive, descending);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            if (value == NULL) {
+                return toSingleResultSet(recordsWithNullValue);
+            } else {
+                return toSingleResultSet(toRecords(tree.get(value)));
+            }
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Comparable value : values) {
+                Map<Data, QueryableEntry> records;
+                if (value == NULL) {
+                    records = recordsWithNullValue;
+                } else {
+                    records = toRecords(tree.get(value));
+                }
+                if (records != null) {
+                    copyToMultiResultSet(results, records);
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        switch (comparison) {
+            case LESS:
+                return getRangeRecords(null, false, value, false);
+            case LESS_OR_EQUAL:
+                return getRangeRecords(null, false, value, true);
+            case GREATER:
+                return getRangeRecords(value, false, null, false);
+            case GREATER_OR_EQUAL:
+                return getRangeRecords(value, true, null, false);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptySet();
+            }
+            return getRecords(from);
+        } else if (order > 0) {
+            return emptySet();
+        }
+        return getRangeRecords(from, fromInclusive, to, toInclusive);
+    }
+
+    private Set<QueryableEntry> getRangeRecords(Comparable from, boolean fromInclusive, Comparable to,
+                                                boolean toInclusive) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            tree.forEachValue(from, fromInclusive, to, toInclusive,
+                    bucket -> copyToMultiResultSet(results, toRecords(bucket)));
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private Object getBucket(Comparable value) {
+        takeReadLock();
+        try {
+            return tree.get(value);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private Map<Data, QueryableEntry> newRecords() {
+        return copyOnWrite ? new HashMap<>() : new ConcurrentHashMap<>();
+    }
+
+    private static Map<Data, QueryableEntry> toRecords(Object bucket) {
+        if (bucket instanceof QueryableEntry) {
+            QueryableEntry record = (QueryableEntry) bucket;
+            return Collections.singletonMap(record.getKeyData(), record);
+        }
+        return (Map<Data, QueryableEntry>) bucket;
+    }
+
+    private static Iterator<QueryableEntry> recordIterator(Object bucket) {
+        if (bucket instanceof QueryableEntry) {
+            return Collections.singleton((QueryableEntry) bucket).iterator();
+        }
+        return ((Map<Data, QueryableEntry>) bucket).values().iterator();
+    }
+
+    /**
+     * Iterates over a range of the tree by batches copied under the read
+     * lock, each one starting after the last value of the previous one.
+     */
+    private final class RangeIterator implements Iterator<IndexKeyEntries> {
+
+        private final Comparable[] values = new Comparable[ITERATOR_BATCH_SIZE];
+        private final Object[] buckets = new Object[ITERATOR_BATCH_SIZE];
+        private final boolean descending;
+
+        private Comparable from;
+        private boolean fromInclusive;
+        private Comparable to;
+        private boolean toInclusive;
+        private int index;
+        private int count;
+        private boolean exhausted;
+
+        RangeIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive, boolean descending) {
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index == count && !exhausted) {
+                fetch();
+            }
+            return index < count;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexKeyEntries entries = new IndexKeyEntries(values[index], recordIterator(buckets[index]));
+            values[index] = null;
+            buckets[index] = null;
+            index++;
+            return entries;
+        }
+
+        private void fetch() {
+            takeReadLock();
+            try {
+                count = tree.copyRange(from, fromInclusive, to, toInclusive, descending, values, buckets);
+            } finally {
+                releaseReadLock();
+            }
+            index = 0;
+            exhausted = count < ITERATOR_BATCH_SIZE;
+            if (count > 0) {
+                if (descending) {
+                    to = values[count - 1];
+                    toInclusive = false;
+                } else {
+                    from = values[count - 1];
+                    fromInclusive = false;
+                }
+            }
+        }
+    }
+}
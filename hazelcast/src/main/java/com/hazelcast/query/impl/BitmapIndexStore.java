@@ -27,7 +27,10 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.bitmap.Bitmap;
 import com.hazelcast.query.impl.getters.MultiResult;
 import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.BetweenPredicate;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
 import com.hazelcast.query.impl.predicates.InPredicate;
 import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
@@ -65,6 +68,10 @@ public final class BitmapIndexStore extends BaseIndexStore {
         EVALUABLE_PREDICATES.add(EqualPredicate.class);
         EVALUABLE_PREDICATES.add(NotEqualPredicate.class);
         EVALUABLE_PREDICATES.add(InPredicate.class);
+
+        EVALUABLE_PREDICATES.add(GreaterLessPredicate.class);
+        EVALUABLE_PREDICATES.add(BetweenPredicate.class);
+        EVALUABLE_PREDICATES.add(BoundedRangePredicate.class);
     }
 
     private final String keyAttribute;
@@ -296,6 +303,11 @@ public final class BitmapIndexStore extends BaseIndexStore {
         return true;
     }
 
+    @Override
+    public long getDistinctValueCount() {
+        return -1;
+    }
+
     @Override
     public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
         return EVALUABLE_PREDICATES.contains(predicateClass);
@@ -84,6 +84,7 @@ public class CachedQueryEntry<K, V> extends QueryableEntry<K, V> implements Iden
             this.valueData = null;
         }
 
+        resetCoveredAttributes();
         return this;
     }
 
@@ -94,6 +95,7 @@ public class CachedQueryEntry<K, V> extends QueryableEntry<K, V> implements Iden
         this.valueObject = (V) value;
         this.valueData = null;
 
+        resetCoveredAttributes();
         return this;
     }
 
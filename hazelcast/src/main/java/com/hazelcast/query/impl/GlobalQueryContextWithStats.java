@@ -243,6 +243,31 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return result;
         }
 
+        @Override
+        public long estimateRecordCount(Comparable value) {
+            return delegate.estimateRecordCount(value);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable[] values) {
+            return delegate.estimateRecordCount(values);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            return delegate.estimateRecordCount(from, fromInclusive, to, toInclusive);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparison comparison, Comparable value) {
+            return delegate.estimateRecordCount(comparison, value);
+        }
+
+        @Override
+        public long getEntryCount() {
+            return delegate.getEntryCount();
+        }
+
         @Override
         public void clear() {
             delegate.clear();
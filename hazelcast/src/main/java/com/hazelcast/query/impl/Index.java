@@ -30,6 +30,12 @@ import java.util.Set;
 @SuppressWarnings("rawtypes")
 public interface Index {
 
+    /**
+     * The estimate returned by the {@code estimateRecordCount} methods when
+     * the index can't estimate the number of entries a lookup would return.
+     */
+    long UNKNOWN_RECORD_COUNT = -1;
+
     /**
      * @return Index name.
      */
@@ -241,6 +247,65 @@ public interface Index {
      */
     Set<QueryableEntry> getRecords(Comparison comparison, Comparable value);
 
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparable)} would
+     * return for the given value without performing the lookup.
+     * <p>
+     * The estimates are derived from the statistics the index maintains as
+     * entries are indexed, they are meant for planning the query execution
+     * and are not exact.
+     *
+     * @param value the value to compare against.
+     * @return the estimated number of entries or {@link #UNKNOWN_RECORD_COUNT}.
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparable[])} would
+     * return for the given values without performing the lookup.
+     *
+     * @param values the values to compare against.
+     * @return the estimated number of entries or {@link #UNKNOWN_RECORD_COUNT}.
+     * @see #estimateRecordCount(Comparable)
+     */
+    long estimateRecordCount(Comparable[] values);
+
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparable, boolean,
+     * Comparable, boolean)} would return for the given range without
+     * performing the lookup.
+     *
+     * @param from          the beginning of the range.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated number of entries or {@link #UNKNOWN_RECORD_COUNT}.
+     * @see #estimateRecordCount(Comparable)
+     */
+    long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparison,
+     * Comparable)} would return for the given comparison without performing
+     * the lookup.
+     *
+     * @param comparison the type of the comparison to perform.
+     * @param value      the value to compare against.
+     * @return the estimated number of entries or {@link #UNKNOWN_RECORD_COUNT}.
+     * @see #estimateRecordCount(Comparable)
+     */
+    long estimateRecordCount(Comparison comparison, Comparable value);
+
+    /**
+     * Returns the exact number of entries in this index, maintained as
+     * entries are added to and removed from it.
+     *
+     * @return the number of entries.
+     */
+    long getEntryCount();
+
     /**
      * Clears out all entries from this index.
      */
@@ -16,6 +16,7 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.config.BTreeIndexConfig;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.monitor.impl.PerIndexStats;
@@ -49,7 +50,10 @@ public class IndexImpl extends AbstractIndex {
     protected IndexStore createIndexStore(Node node, IndexConfig config, PerIndexStats stats, String mapName) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                BTreeIndexConfig bTreeIndexConfig = config.getBTreeIndexConfig();
+                return bTreeIndexConfig != null && bTreeIndexConfig.isOnHeap()
+                        ? new BPlusTreeIndexStore(copyBehavior)
+                        : new OrderedIndexStore(copyBehavior);
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
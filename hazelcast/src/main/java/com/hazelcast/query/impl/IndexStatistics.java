@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
+/**
+ * Keeps the cardinality and value distribution statistics of an index, the
+ * query engine consults them to estimate the result sizes of index lookups
+ * before doing the lookups.
+ * <p>
+ * The entry count is maintained incrementally from the entries the index
+ * store reports as added and removed. Unordered indexes combine it with the number of distinct values
+ * their store keeps. Ordered indexes keep an equi-depth histogram of their
+ * values instead: it is built from the index store when an estimate is
+ * requested for the first time and rebuilt lazily once the number of
+ * modifications since the last build reaches half of the histogram size,
+ * so the cost of a rebuild is amortized over the updates that made the
+ * previous histogram stale. The histogram describes the shape of the
+ * value distribution, the estimates scale it to the current entry count.
+ * <p>
+ * All the values passed to the estimating methods must be already
+ * converted to the index value type.
+ */
+@SuppressWarnings("rawtypes")
+final class IndexStatistics {
+
+    /**
+     * The number of buckets an ordered index histogram is built with.
+     */
+    static final int BUCKET_COUNT = 64;
+
+    /**
+     * The fraction of the entries a range lookup on an unordered index is
+     * assumed to match, the index scans all of its entries for it anyway.
+     */
+    static final double UNORDERED_RANGE_SELECTIVITY = 1.0 / 3;
+
+    private static final long MIN_MODIFICATIONS_TO_REBUILD = BUCKET_COUNT;
+    private static final double UNKNOWN_FRACTION = 0.5;
+    // index operations don't nest, so a single tracker per thread is enough
+    private static final ThreadLocal<TrackedOperationStats> TRACKED_OPERATION_STATS
+            = ThreadLocal.withInitial(TrackedOperationStats::new);
+
+    private final boolean ordered;
+    private final LongAdder entryCount = new LongAdder();
+    private final LongAdder modificationCount = new LongAdder();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Histogram histogram;
+
+    IndexStatistics(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * Starts tracking an index operation.
+     *
+     * @param operationStats the operation stats of the index.
+     * @return the operation stats to pass to the index store, they count the
+     * entries the store actually adds and removes and delegate to the given
+     * operation stats. They are reused by the next operation of the calling
+     * thread once the operation is completed.
+     */
+    TrackedOperationStats startOperation(IndexOperationStats operationStats) {
+        return TRACKED_OPERATION_STATS.get().start(operationStats);
+    }
+
+    /**
+     * Completes tracking of an index operation started by {@link
+     * #startOperation}.
+     * <p>
+     * Only the entries the index store reported as added or removed change
+     * the entry count: putting an entry the store already has, like a
+     * repeated put or a visit of an already indexed entry by an index
+     * build, changes nothing.
+     */
+    void completeOperation(TrackedOperationStats operationStats) {
+        long entryCountDelta = operationStats.complete();
+        if (entryCountDelta != 0) {
+            entryCount.add(entryCountDelta);
+        }
+        modificationCount.increment();
+    }
+
+    void clear() {
+        entryCount.reset();
+        modificationCount.reset();
+        histogram = null;
+    }
+
+    /**
+     * @return the number of entries in the index.
+     */
+    long getEntryCount() {
+        return Math.max(0, entryCount.sum());
+    }
+
+    /**
+     * Estimates the number of entries having the given value.
+     */
+    long estimateEqual(IndexStore store, Comparable value) {
+        long entries = getEntryCount();
+        if (entries == 0) {
+            return 0;
+        }
+        if (!ordered) {
+            long distinct = store.getDistinctValueCount();
+            if (distinct < 0) {
+                return UNKNOWN_RECORD_COUNT;
+            }
+            return distinct == 0 ? 0 : ceilDiv(entries, distinct);
+        }
+
+        Histogram histogram = histogram(store);
+        return histogram == null ? UNKNOWN_RECORD_COUNT : histogram.scale(histogram.equal(value), entries);
+    }
+
+    /**
+     * Estimates the number of entries having one of the given values.
+     */
+    long estimateIn(IndexStore store, Set<Comparable> values) {
+        long total = 0;
+        for (Comparable value : values) {
+            long estimate = estimateEqual(store, value);
+            if (estimate == UNKNOWN_RECORD_COUNT) {
+                return UNKNOWN_RECORD_COUNT;
+            }
+            total += estimate;
+        }
+        return Math.min(total, getEntryCount());
+    }
+
+    /**
+     * Estimates the number of entries satisfying the given comparison with
+     * the given value.
+     */
+    long estimateComparison(IndexStore store, Comparison comparison, Comparable value) {
+        long entries = getEntryCount();
+        if (entries == 0) {
+            return 0;
+        }
+        if (!ordered) {
+            return estimateUnorderedRange(store, entries);
+        }
+
+        Histogram histogram = histogram(store);
+        if (histogram == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        double count;
+        switch (comparison) {
+            case LESS:
+                count = histogram.lessThan(value, false);
+                break;
+            case LESS_OR_EQUAL:
+                count = histogram.lessThan(value, true);
+                break;
+            case GREATER:
+                count = histogram.nonNullCount() - histogram.lessThan(value, true);
+                break;
+            case GREATER_OR_EQUAL:
+                count = histogram.nonNullCount() - histogram.lessThan(value, false);
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+        return histogram.scale(count, entries);
+    }
+
+    /**
+     * Estimates the number of entries having a value in the given range.
+     */
+    long estimateRange(IndexStore store, Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        long entries = getEntryCount();
+        if (entries == 0) {
+            return 0;
+        }
+        if (!ordered) {
+            return estimateUnorderedRange(store, entries);
+        }
+
+        Histogram histogram = histogram(store);
+        if (histogram == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        double count = histogram.lessThan(to, toInclusive) - histogram.lessThan(from, !fromInclusive);
+        return histogram.scale(count, entries);
+    }
+
+    private static long estimateUnorderedRange(IndexStore store, long entries) {
+        if (store.getDistinctValueCount() < 0) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return (long) Math.ceil(entries * UNORDERED_RANGE_SELECTIVITY);
+    }
+
+    private Histogram histogram(IndexStore store) {
+        Histogram current = histogram;
+        if ((current == null || isStale(current)) && rebuilding.compareAndSet(false, true)) {
+            try {
+                current = Histogram.build(store, modificationCount.sum(), getEntryCount());
+                histogram = current;
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+        // null if another thread is building the first histogram
+        return current;
+    }
+
+    private boolean isStale(Histogram histogram) {
+        long modifications = modificationCount.sum() - histogram.builtAtModification;
+        return modifications >= Math.max(MIN_MODIFICATIONS_TO_REBUILD, histogram.totalCount / 2);
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    /**
+     * The operation stats counting the entries an index store adds and
+     * removes during a single index operation.
+     */
+    static final class TrackedOperationStats implements IndexOperationStats {
+
+        private IndexOperationStats delegate = IndexOperationStats.EMPTY;
+        private long entryCountDelta;
+
+        private TrackedOperationStats start(IndexOperationStats delegate) {
+            this.delegate = delegate;
+            this.entryCountDelta = 0;
+            return this;
+        }
+
+        private long complete() {
+            // don't retain the operation stats of the completed operation
+            delegate = IndexOperationStats.EMPTY;
+            return entryCountDelta;
+        }
+
+        @Override
+        public long getEntryCountDelta() {
+            return delegate.getEntryCountDelta();
+        }
+
+        @Override
+        public long getMemoryCostDelta() {
+            return delegate.getMemoryCostDelta();
+        }
+
+        @Override
+        public void onEntryAdded(Object addedValue) {
+            ++entryCountDelta;
+            delegate.onEntryAdded(addedValue);
+        }
+
+        @Override
+        public void onEntryRemoved(Object removedValue) {
+            --entryCountDelta;
+            delegate.onEntryRemoved(removedValue);
+        }
+    }
+
+    /**
+     * An equi-depth histogram of the values of an ordered index.
+     * <p>
+     * Each bucket covers the values greater than the upper bound of the
+     * previous bucket, or not less than the minimum value for the first
+     * bucket, and not greater than its own upper bound.
+     */
+    private static final class Histogram {
+
+        private final long builtAtModification;
+        private final long totalCount;
+        private final long nullCount;
+        private final Comparable min;
+        private final Comparable[] upperBounds;
+        private final long[] cumulativeCounts;
+        private final long[] distinctCounts;
+
+        private Histogram(long builtAtModification, long nullCount, Comparable min, Comparable[] upperBounds,
+                          long[] cumulativeCounts, long[] distinctCounts) {
+            this.builtAtModification = builtAtModification;
+            this.nullCount = nullCount;
+            this.min = min;
+            this.upperBounds = upperBounds;
+            this.cumulativeCounts = cumulativeCounts;
+            this.distinctCounts = distinctCounts;
+            int buckets = upperBounds.length;
+            this.totalCount = nullCount + (buckets == 0 ? 0 : cumulativeCounts[buckets - 1]);
+        }
+
+        static Histogram build(IndexStore store, long modificationCount, long entryCount) {
+            HistogramBuilder builder = new HistogramBuilder(Math.max(1, entryCount / BUCKET_COUNT));
+            Iterator<IndexKeyEntries> iterator = store.getSqlRecordIteratorBatch(false);
+            while (iterator.hasNext()) {
+                IndexKeyEntries keyEntries = iterator.next();
+                builder.add(keyEntries.getIndexKey(), count(keyEntries.getEntries()));
+            }
+            return builder.build(modificationCount);
+        }
+
+        long nonNullCount() {
+            return totalCount - nullCount;
+        }
+
+        /**
+         * Scales the given count of the histogram entries to the given
+         * current entry count of the index.
+         */
+        long scale(double count, long entryCount) {
+            if (count <= 0 || totalCount == 0) {
+                return 0;
+            }
+            return Math.min(entryCount, (long) Math.ceil(count * entryCount / totalCount));
+        }
+
+        double equal(Comparable value) {
+            if (value == NULL) {
+                return nullCount;
+            }
+            int bucket = bucketOf(value);
+            if (bucket == upperBounds.length || bucket == 0 && Comparables.compare(value, min) < 0) {
+                return 0;
+            }
+            return (double) bucketCount(bucket) / distinctCounts[bucket];
+        }
+
+        /**
+         * @return the number of non-null entries having a value less than
+         * the given one, or not greater than it if {@code inclusive}.
+         */
+        double lessThan(Comparable value, boolean inclusive) {
+            if (value == NULL || upperBounds.length == 0) {
+                // nulls are never less than anything
+                return 0;
+            }
+            int bucket = bucketOf(value);
+            if (bucket == upperBounds.length) {
+                return nonNullCount();
+            }
+
+            long before = bucket == 0 ? 0 : cumulativeCounts[bucket - 1];
+            long count = bucketCount(bucket);
+            double valueCount = (double) count / distinctCounts[bucket];
+            if (Comparables.compare(value, upperBounds[bucket]) == 0) {
+                return inclusive ? cumulativeCounts[bucket] : cumulativeCounts[bucket] - valueCount;
+            }
+
+            Comparable lower;
+            if (bucket == 0) {
+                int order = Comparables.compare(value, min);
+                if (order < 0) {
+                    return 0;
+                } else if (order == 0) {
+                    return inclusive ? valueCount : 0;
+                }
+                lower = min;
+            } else {
+                lower = upperBounds[bucket - 1];
+            }
+            return before + count * interpolate(lower, value, upperBounds[bucket]);
+        }
+
+        private long bucketCount(int bucket) {
+            return cumulativeCounts[bucket] - (bucket == 0 ? 0 : cumulativeCounts[bucket - 1]);
+        }
+
+        /**
+         * @return the index of the first bucket whose upper bound is not less
+         * than the given value, or the number of buckets if there is none.
+         */
+        private int bucketOf(Comparable value) {
+            int low = 0;
+            int high = upperBounds.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (Comparables.compare(upperBounds[middle], value) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return the estimated fraction of a bucket spanning from the given
+         * lower to the given upper bound that lies below the given value.
+         */
+        private static double interpolate(Comparable lower, Comparable value, Comparable upper) {
+            if (lower instanceof Number && value instanceof Number && upper instanceof Number) {
+                double low = ((Number) lower).doubleValue();
+                double high = ((Number) upper).doubleValue();
+                double fraction = (((Number) value).doubleValue() - low) / (high - low);
+                if (fraction >= 0 && fraction <= 1) {
+                    return fraction;
+                }
+            }
+            // nothing is known about the distance between other values
+            return UNKNOWN_FRACTION;
+        }
+
+        private static long count(Iterator<QueryableEntry> entries) {
+            long count = 0;
+            while (entries.hasNext()) {
+                entries.next();
+                ++count;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Builds a histogram from the values coming in ascending order.
+     */
+    private static final class HistogramBuilder {
+
+        private final long depth;
+        private final List<Comparable> upperBounds = new ArrayList<>(BUCKET_COUNT);
+        private final List<long[]> counts = new ArrayList<>(BUCKET_COUNT);
+
+        private long nullCount;
+        private long cumulativeCount;
+        private long bucketCount;
+        private long bucketDistinctCount;
+        private Comparable min;
+        private Comparable last;
+
+        /**
+         * @param depth the number of entries a bucket is closed at.
+         */
+        HistogramBuilder(long depth) {
+            this.depth = depth;
+        }
+
+        void add(Comparable value, long count) {
+            if (value == null) {
+                nullCount += count;
+                return;
+            }
+            if (count == 0) {
+                return;
+            }
+
+            if (min == null) {
+                min = value;
+            }
+            if (count >= depth && bucketCount > 0) {
+                // a frequent value gets a bucket of its own to be estimated
+                // exactly
+                closeBucket();
+            }
+            last = value;
+            cumulativeCount += count;
+            bucketCount += count;
+            bucketDistinctCount++;
+            if (bucketCount >= depth) {
+                closeBucket();
+            }
+        }
+
+        Histogram build(long modificationCount) {
+            if (bucketCount > 0) {
+                closeBucket();
+            }
+
+            int buckets = upperBounds.size();
+            long[] cumulativeCounts = new long[buckets];
+            long[] distinctCounts = new long[buckets];
+            for (int i = 0; i < buckets; ++i) {
+                cumulativeCounts[i] = counts.get(i)[0];
+                distinctCounts[i] = counts.get(i)[1];
+            }
+            return new Histogram(modificationCount, nullCount, min, upperBounds.toArray(new Comparable[0]),
+                    cumulativeCounts, distinctCounts);
+        }
+
+        private void closeBucket() {
+            upperBounds.add(last);
+            counts.add(new long[]{cumulativeCount, bucketDistinctCount});
+            bucketCount = 0;
+            bucketDistinctCount = 0;
+        }
+    }
+}
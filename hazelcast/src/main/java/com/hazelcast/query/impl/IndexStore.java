@@ -113,6 +113,15 @@ public interface IndexStore {
      */
     void destroy();
 
+    /**
+     * Returns the number of distinct values this index store keeps entries
+     * under, the null-like value counts as one more distinct value.
+     * <p>
+     * Stores that can't tell the number without visiting all of their values
+     * return {@code -1}.
+     */
+    long getDistinctValueCount();
+
     /**
      * @return {@code true} if this index store supports querying only with
      * {@link #evaluate} method, {@code false} otherwise.
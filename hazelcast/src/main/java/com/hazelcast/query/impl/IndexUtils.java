@@ -36,6 +36,7 @@ import static com.hazelcast.internal.config.DomConfigHelper.childElementWithName
 import static com.hazelcast.internal.config.DomConfigHelper.childElements;
 import static com.hazelcast.internal.config.DomConfigHelper.cleanNodeName;
 import static com.hazelcast.internal.config.DomConfigHelper.getAttribute;
+import static com.hazelcast.internal.config.DomConfigHelper.getBooleanValue;
 import static com.hazelcast.internal.config.DomConfigHelper.getTextContent;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.StringUtil.equalsIgnoreCase;
@@ -121,6 +122,7 @@ public final class IndexUtils {
 
         IndexConfig normalizedConfig =
             buildNormalizedConfig(mapName, config.getType(), name, normalizedAttributeNames, config.getBTreeIndexConfig());
+        normalizeIncludedAttributes(config, normalizedConfig);
 
         if (config.getType() == IndexType.BITMAP) {
             String uniqueKey = config.getBitmapIndexOptions().getUniqueKey();
@@ -135,6 +137,26 @@ public final class IndexUtils {
         return normalizedConfig;
     }
 
+    private static void normalizeIncludedAttributes(IndexConfig config, IndexConfig normalizedConfig) {
+        List<String> normalizedAttributeNames = normalizedConfig.getAttributes();
+
+        for (String includedAttributeName : config.getIncludedAttributes()) {
+            validateAttribute(config, includedAttributeName);
+
+            String normalizedAttributeName = canonicalizeAttribute(includedAttributeName.trim());
+
+            if (normalizedConfig.getIncludedAttributes().contains(normalizedAttributeName)) {
+                throw new IllegalArgumentException("Duplicate included attribute name [attributeName="
+                    + includedAttributeName + ", indexConfig=" + config + ']');
+            }
+
+            // indexed attributes are always covered by the index
+            if (!normalizedAttributeNames.contains(normalizedAttributeName)) {
+                normalizedConfig.addIncludedAttribute(normalizedAttributeName);
+            }
+        }
+    }
+
     private static IndexConfig buildNormalizedConfig(String mapName, IndexType indexType, String indexName,
                                                      List<String> normalizedAttributeNames,
                                                      BTreeIndexConfig btreeIndexConfig) {
@@ -284,6 +306,14 @@ public final class IndexUtils {
             }
             gen.close();
 
+            if (!indexCfg.getIncludedAttributes().isEmpty()) {
+                gen.open("included-attributes");
+                for (String attribute : indexCfg.getIncludedAttributes()) {
+                    gen.node("attribute", attribute);
+                }
+                gen.close();
+            }
+
             if (indexCfg.getType() == IndexType.BITMAP) {
                 BitmapIndexOptions bitmapIndexOptions = indexCfg.getBitmapIndexOptions();
 
@@ -304,6 +334,7 @@ public final class IndexUtils {
                         "value", btreeIndexConf.getMemoryTierConfig().getCapacity().getValue(),
                         "unit", btreeIndexConf.getMemoryTierConfig().getCapacity().getUnit().name());
                 gen.close();
+                gen.node("on-heap", btreeIndexConf.isOnHeap());
                 gen.close();
             }
 
@@ -327,14 +358,11 @@ public final class IndexUtils {
         IndexConfig res = new IndexConfig().setName(name).setType(type);
 
         for (Node attributesNode : childElements(indexNode)) {
-            if ("attributes".equals(cleanNodeName(attributesNode))) {
-                for (Node attributeNode : childElements(attributesNode)) {
-                    if ("attribute".equals(cleanNodeName(attributeNode))) {
-                        String attribute = getTextContent(attributeNode, domLevel3);
-
-                        res.addAttribute(attribute);
-                    }
-                }
+            String nodeName = cleanNodeName(attributesNode);
+            if ("attributes".equals(nodeName)) {
+                getAttributesFromXml(attributesNode, domLevel3).forEach(res::addAttribute);
+            } else if ("included-attributes".equals(nodeName)) {
+                getAttributesFromXml(attributesNode, domLevel3).forEach(res::addIncludedAttribute);
             }
         }
 
@@ -358,18 +386,41 @@ public final class IndexUtils {
         } else if (type == IndexType.SORTED) {
             Node optionsNode = childElementWithName(indexNode, "btree-index", strict);
             if (optionsNode != null) {
-                Node pageSizeNode = childElementWithName(optionsNode, "page-size", strict);
-                Node memoryTierNode = childElementWithName(optionsNode, "memory-tier", strict);
-                Node memoryTierCapacityNode = childElementWithName(memoryTierNode, "capacity", strict);
-
-                res.getBTreeIndexConfig().setPageSize(getCapacity(pageSizeNode, domLevel3));
-                res.getBTreeIndexConfig().getMemoryTierConfig().setCapacity(getCapacity(memoryTierCapacityNode, domLevel3));
+                fillBTreeIndexConfig(res.getBTreeIndexConfig(), optionsNode, domLevel3, strict);
             }
         }
 
         return res;
     }
 
+    private static List<String> getAttributesFromXml(Node attributesNode, boolean domLevel3) {
+        List<String> attributes = new ArrayList<>();
+        for (Node attributeNode : childElements(attributesNode)) {
+            if ("attribute".equals(cleanNodeName(attributeNode))) {
+                attributes.add(getTextContent(attributeNode, domLevel3));
+            }
+        }
+        return attributes;
+    }
+
+    private static void fillBTreeIndexConfig(BTreeIndexConfig config, Node optionsNode, boolean domLevel3,
+                                             boolean strict) {
+        Node pageSizeNode = childElementWithName(optionsNode, "page-size", strict);
+        Node memoryTierNode = childElementWithName(optionsNode, "memory-tier", strict);
+        Node onHeapNode = childElementWithName(optionsNode, "on-heap", strict);
+
+        if (pageSizeNode != null) {
+            config.setPageSize(getCapacity(pageSizeNode, domLevel3));
+        }
+        if (memoryTierNode != null) {
+            Node memoryTierCapacityNode = childElementWithName(memoryTierNode, "capacity", strict);
+            config.getMemoryTierConfig().setCapacity(getCapacity(memoryTierCapacityNode, domLevel3));
+        }
+        if (onHeapNode != null) {
+            config.setOnHeap(getBooleanValue(getTextContent(onHeapNode, domLevel3)));
+        }
+    }
+
     private static Capacity getCapacity(Node node, boolean domLevel3) {
         if (node == null) {
             return null;
@@ -420,6 +471,13 @@ public final class IndexUtils {
             res.addAttribute(attribute);
         }
 
+        Node includedAttributesNode = attrs.getNamedItem("included-attributes");
+        if (includedAttributesNode != null) {
+            for (Node attributeNode : childElements(includedAttributesNode)) {
+                res.addIncludedAttribute(attributeNode.getNodeValue());
+            }
+        }
+
         if (type == IndexType.BITMAP) {
             Node optionsNode = childElementWithName(indexNode, "bitmap-index-options", strict);
             if (optionsNode != null) {
@@ -440,12 +498,7 @@ public final class IndexUtils {
         } else if (type == IndexType.SORTED) {
             Node optionsNode = childElementWithName(indexNode, "btree-index", strict);
             if (optionsNode != null) {
-                Node pageSizeNode = childElementWithName(optionsNode, "page-size", strict);
-                Node memoryTierNode = childElementWithName(optionsNode, "memory-tier", strict);
-                Node memoryTierCapacityNode = childElementWithName(memoryTierNode, "capacity", strict);
-
-                res.getBTreeIndexConfig().setPageSize(getCapacity(pageSizeNode, domLevel3));
-                res.getBTreeIndexConfig().getMemoryTierConfig().setCapacity(getCapacity(memoryTierCapacityNode, domLevel3));
+                fillBTreeIndexConfig(res.getBTreeIndexConfig(), optionsNode, domLevel3, strict);
             }
         }
 
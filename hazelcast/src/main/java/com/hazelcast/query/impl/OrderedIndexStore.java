@@ -109,6 +109,12 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         return false;
     }
 
+    @Override
+    public long getDistinctValueCount() {
+        // counting the keys of a skip list visits all of them
+        return -1;
+    }
+
     @Override
     public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
         return false;
@@ -502,11 +508,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     }
 
-    private static final class IteratorFromBatch implements Iterator<QueryableEntry> {
+    static final class IteratorFromBatch implements Iterator<QueryableEntry> {
         private final Iterator<IndexKeyEntries> iterator;
         private Iterator<QueryableEntry> indexKeyIterator;
 
-        private IteratorFromBatch(@Nonnull Iterator<IndexKeyEntries> iterator) {
+        IteratorFromBatch(@Nonnull Iterator<IndexKeyEntries> iterator) {
             this.iterator = iterator;
             this.indexKeyIterator = iterator.hasNext() ? iterator.next().getEntries() : null;
         }
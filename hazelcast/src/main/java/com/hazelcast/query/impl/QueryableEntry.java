@@ -26,8 +26,10 @@ import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.getters.MultiResult;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
 import com.hazelcast.query.impl.getters.ReflectionHelper;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
@@ -48,6 +50,7 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     protected Record record;
     private transient JsonMetadata metadata;
+    private transient CoveredAttributes coveredAttributes;
 
     public Record getRecord() {
         return record;
@@ -59,7 +62,62 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     @Override
     public Object getAttributeValue(String attributeName) throws QueryException {
-        return extractAttributeValue(attributeName);
+        CoveredAttributes covered = coveredAttributes;
+        if (covered != null) {
+            int index = covered.indexOf(attributeName);
+            if (index != -1) {
+                return covered.values[index];
+            }
+        }
+        return extractAttributeValue(attributeName, null);
+    }
+
+    /**
+     * Returns the value of the given attribute like {@link #getAttributeValue(String)},
+     * but passes a numeric primitive value straight to the given accumulator
+     * instead of boxing it.
+     *
+     * @return the attribute value or {@link PrimitiveAccumulator#ACCUMULATED}
+     * if it was passed to the accumulator.
+     */
+    public Object getAttributeValue(String attributeName, PrimitiveAccumulator accumulator) throws QueryException {
+        CoveredAttributes covered = coveredAttributes;
+        if (covered != null) {
+            int index = covered.indexOf(attributeName);
+            if (index != -1) {
+                return covered.values[index];
+            }
+        }
+        return extractAttributeValue(attributeName, accumulator);
+    }
+
+    /**
+     * Stores the given attribute values along with this entry, the subsequent
+     * {@link #getAttributeValue} calls for these attributes return them
+     * without extracting them from the key or value again. Used by covering
+     * indexes, see {@link com.hazelcast.config.IndexConfig#getIncludedAttributes()}.
+     * <p>
+     * Values stored by an earlier call are kept. The stored values are
+     * replaced as a whole by an immutable snapshot, so concurrent readers
+     * always see a consistent one.
+     *
+     * @param attributeNames  the names of the attributes.
+     * @param attributeValues the values of the attributes, as returned by
+     *                        {@link #getAttributeValue}.
+     */
+    public void coverAttributes(String[] attributeNames, Object[] attributeValues) {
+        CoveredAttributes covered = coveredAttributes;
+        coveredAttributes = covered == null
+                ? new CoveredAttributes(attributeNames, attributeValues)
+                : covered.merge(attributeNames, attributeValues);
+    }
+
+    /**
+     * Drops the attribute values stored by {@link #coverAttributes}, to be
+     * called when this entry is reinitialized with another key or value.
+     */
+    protected void resetCoveredAttributes() {
+        coveredAttributes = null;
     }
 
     public abstract K getKey();
@@ -106,14 +164,16 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         }
     }
 
-    private Object extractAttributeValue(String attributeName) throws QueryException {
+    private Object extractAttributeValue(String attributeName, PrimitiveAccumulator accumulator) throws QueryException {
         Object result = extractAttributeValueIfAttributeQueryConstant(attributeName);
         if (result == null) {
             boolean isKey = startsWithKeyConstant(attributeName);
             attributeName = getAttributeName(isKey, attributeName);
             Object target = getTargetObject(isKey);
             Object metadata = getMetadataOrNull(isKey);
-            result = extractors.extract(target, attributeName, metadata);
+            result = accumulator == null
+                    ? extractors.extract(target, attributeName, metadata)
+                    : extractors.extract(target, attributeName, metadata, accumulator);
         }
         if (result instanceof HazelcastJsonValue) {
             return Json.parse(result.toString());
@@ -177,4 +237,41 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
         this.metadata = metadata;
     }
 
+    /**
+     * Immutable snapshot of the covered attribute names and values.
+     */
+    private static final class CoveredAttributes {
+
+        private final String[] names;
+        private final Object[] values;
+
+        CoveredAttributes(String[] names, Object[] values) {
+            assert names.length == values.length;
+            this.names = names;
+            this.values = values;
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        CoveredAttributes merge(String[] otherNames, Object[] otherValues) {
+            String[] mergedNames = Arrays.copyOf(names, names.length + otherNames.length);
+            Object[] mergedValues = Arrays.copyOf(values, values.length + otherValues.length);
+            int size = names.length;
+            for (int i = 0; i < otherNames.length; i++) {
+                if (indexOf(otherNames[i]) == -1) {
+                    mergedNames[size] = otherNames[i];
+                    mergedValues[size] = otherValues[i];
+                    size++;
+                }
+            }
+            return new CoveredAttributes(Arrays.copyOf(mergedNames, size), Arrays.copyOf(mergedValues, size));
+        }
+    }
 }
@@ -129,6 +129,11 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         return false;
     }
 
+    @Override
+    public long getDistinctValueCount() {
+        return recordMap.size() + (recordsWithNullValue.isEmpty() ? 0 : 1);
+    }
+
     @Override
     public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
         return false;
@@ -19,16 +19,28 @@ package com.hazelcast.query.impl.bitmap;
 import com.hazelcast.core.TypeConverter;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.BetweenPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
 import com.hazelcast.query.impl.predicates.InPredicate;
 import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
 
 /**
  * Provides indexing and querying capabilities for a single attribute of entries
@@ -37,7 +49,11 @@ import java.util.Map;
  * <p>
  * Internally, each bitmap manages a set of sparse bit sets, one for each
  * possible attribute value, and a sparse array to map from unique {@code long}
- * entry keys back to entries.
+ * entry keys back to entries. The bit sets of non-null values are also kept
+ * ordered by value to answer range predicates with a union of the bit sets of
+ * the values falling into a range. A value which is not comparable to the
+ * ordered ones is kept out of the order until it is removed, range predicates
+ * fail while there is any such value.
  *
  * @param <E> the type of entries being indexed.
  */
@@ -46,6 +62,11 @@ public final class Bitmap<E> {
 
     private final Map<Object, SparseBitSet> bitSets = new HashMap<>();
 
+    private final NavigableMap<Comparable, SparseBitSet> orderedBitSets = new TreeMap<>(Comparables.COMPARATOR);
+
+    // the values which are not comparable to the ordered ones
+    private final Set<Object> unorderedValues = new HashSet<>();
+
     private final SparseArray<E> entries = new SparseArray<>();
 
     // Note! At the moment bitmap index doesn't support memory statistics,
@@ -70,6 +91,7 @@ public final class Bitmap<E> {
             if (bitSet == null) {
                 bitSet = new SparseBitSet();
                 bitSets.put(value, bitSet);
+                addOrdered(value, bitSet);
             }
             operationStats.onEntryAdded(ZeroCost.ZERO_COST);
             bitSet.add(key);
@@ -94,7 +116,10 @@ public final class Bitmap<E> {
 
             SparseBitSet bitSet = bitSets.get(value);
             if (bitSet != null) {
-                bitSet.remove(key);
+                if (bitSet.remove(key)) {
+                    bitSets.remove(value);
+                    removeOrdered(value);
+                }
             }
             operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
         }
@@ -107,6 +132,7 @@ public final class Bitmap<E> {
             if (bitSet == null) {
                 bitSet = new SparseBitSet();
                 bitSets.put(value, bitSet);
+                addOrdered(value, bitSet);
             }
             operationStats.onEntryAdded(ZeroCost.ZERO_COST);
             bitSet.add(key);
@@ -131,6 +157,7 @@ public final class Bitmap<E> {
             if (bitSet != null) {
                 if (bitSet.remove(key)) {
                     bitSets.remove(value);
+                    removeOrdered(value);
                 }
             }
             operationStats.onEntryRemoved(ZeroCost.ZERO_COST);
@@ -144,6 +171,8 @@ public final class Bitmap<E> {
      */
     public void clear() {
         bitSets.clear();
+        orderedBitSets.clear();
+        unorderedValues.clear();
         entries.clear();
     }
 
@@ -153,7 +182,9 @@ public final class Bitmap<E> {
      * <p>
      * The following predicates (and combinations of them) are supported:
      * {@link AndPredicate}, {@link OrPredicate}, {@link NotPredicate}, {@link
-     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate}.
+     * NotEqualPredicate}, {@link EqualPredicate}, {@link InPredicate} and
+     * range predicates like {@link GreaterLessPredicate} and {@link
+     * BetweenPredicate}.
      *
      * @param predicate the predicate to evaluate.
      * @param converter the converter to use for the predicate arguments
@@ -164,7 +195,7 @@ public final class Bitmap<E> {
         return new EntryIterator<>(predicateIterator(predicate, converter), entries.iterator());
     }
 
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
     private AscendingLongIterator predicateIterator(Predicate predicate, TypeConverter converter) {
         if (predicate instanceof AndPredicate) {
             Predicate[] predicates = ((AndPredicate) predicate).getPredicates();
@@ -206,6 +237,10 @@ public final class Bitmap<E> {
             return BitmapAlgorithms.or(valueIterators(values, converter));
         }
 
+        if (predicate instanceof RangePredicate) {
+            return rangeIterator((RangePredicate) predicate, converter);
+        }
+
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
     }
 
@@ -222,6 +257,79 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
+    private AscendingLongIterator rangeIterator(RangePredicate predicate, TypeConverter converter) {
+        Comparable from = predicate.getFrom() == null ? null : converter.convert(predicate.getFrom());
+        Comparable to = predicate.getTo() == null ? null : converter.convert(predicate.getTo());
+        if (from == NULL || to == NULL) {
+            // only a nullness check may have null bounds, nothing is ordered
+            // relative to null otherwise
+            return from == to ? valueIterator(NULL, converter) : AscendingLongIterator.EMPTY;
+        }
+
+        Collection<SparseBitSet> matching = rangeBitSets(from, predicate.isFromInclusive(), to, predicate.isToInclusive());
+        if (matching.isEmpty()) {
+            return AscendingLongIterator.EMPTY;
+        }
+        AscendingLongIterator[] iterators = new AscendingLongIterator[matching.size()];
+        int i = 0;
+        for (SparseBitSet bitSet : matching) {
+            iterators[i++] = bitSet.iterator();
+        }
+        return iterators.length == 1 ? iterators[0] : BitmapAlgorithms.or(iterators);
+    }
+
+    private Collection<SparseBitSet> rangeBitSets(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        NavigableMap<Comparable, SparseBitSet> ordered = orderedBitSets;
+        if (!unorderedValues.isEmpty()) {
+            // fail the same way as a sorted index fails to compare the values
+            Object unordered = unorderedValues.iterator().next();
+            throw new ClassCastException(unordered.getClass().getName() + " is not comparable to "
+                    + ordered.firstKey().getClass().getName());
+        }
+
+        if (from != null && to != null) {
+            int order = Comparables.compare(from, to);
+            if (order > 0 || order == 0 && !(fromInclusive && toInclusive)) {
+                return Collections.emptyList();
+            }
+            return ordered.subMap(from, fromInclusive, to, toInclusive).values();
+        } else if (from != null) {
+            return ordered.tailMap(from, fromInclusive).values();
+        } else if (to != null) {
+            return ordered.headMap(to, toInclusive).values();
+        } else {
+            return ordered.values();
+        }
+    }
+
+    private void addOrdered(Object value, SparseBitSet bitSet) {
+        if (value == NULL) {
+            return;
+        }
+        try {
+            orderedBitSets.put((Comparable) value, bitSet);
+        } catch (ClassCastException e) {
+            // mixed value types, range predicates fail until the value is
+            // removed
+            unorderedValues.add(value);
+        }
+    }
+
+    private void removeOrdered(Object value) {
+        if (value == NULL || unorderedValues.remove(value)) {
+            return;
+        }
+        orderedBitSets.remove(value);
+        if (orderedBitSets.isEmpty() && !unorderedValues.isEmpty()) {
+            // the values left out of the order may be comparable to each other
+            Object[] values = unorderedValues.toArray();
+            unorderedValues.clear();
+            for (Object unordered : values) {
+                addOrdered(unordered, bitSets.get(unordered));
+            }
+        }
+    }
+
     private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
         AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
         for (int i = 0; i < values.length; ++i) {
@@ -48,10 +48,14 @@ import static java.util.Arrays.copyOf;
  * 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted short array of
+ * runs of consecutive 16-bit postfixes.
  * </ul>
  * <p>
  * The implementation (which was inspired by Roaring Bitmap) switches between
  * various storage flavors once certain thresholds on storage size are reached.
+ * Array and bit set storages are checked for runs while they grow and are
+ * converted to run storages if that at least halves their memory footprint.
  * <p>
  * Empty storages are never stored by the implementation.
  */
@@ -71,6 +75,18 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The run count at which RunStorage16 takes as much memory as
+     * BitSetStorage16: two shorts per run versus 8 KB of bits.
+     */
+    public static final int RUN_STORAGE_16_MAX_RUN_COUNT = 2048;
+
+    /**
+     * The size starting from which growing ArrayStorage16 instances are
+     * checked for runs. Smaller arrays are cheap enough as is.
+     */
+    public static final int RUN_STORAGE_16_MIN_SIZE = 32;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
@@ -823,6 +839,27 @@ final class SparseBitSet {
             this.members = members;
         }
 
+        /**
+         * Constructs a new storage by converting from the given {@link
+         * RunStorage16} data.
+         */
+        ArrayStorage16(RunStorage16 storage) {
+            assert storage.size <= ARRAY_STORAGE_16_MAX_SIZE;
+            this.size = storage.size;
+
+            short[] members = new short[Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(size))];
+            int index = 0;
+            for (int run = 0; run < storage.runCount; ++run) {
+                int end = storage.end(run);
+                for (int member = storage.start(run); member <= end; ++member) {
+                    members[index++] = (short) member;
+                }
+            }
+            assert index == size;
+
+            this.members = members;
+        }
+
         @Override
         public Storage16 add(short member) {
             int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
@@ -833,7 +870,14 @@ final class SparseBitSet {
             index = -(index + 1);
 
             if (size == members.length) {
-                // No space left: try to grow members array.
+                // No space left: try to switch to runs or grow members array.
+
+                if (size >= RUN_STORAGE_16_MIN_SIZE) {
+                    int runCount = RunStorage16.countRuns(members, size);
+                    if (RunStorage16.isCompact(runCount, size)) {
+                        return new RunStorage16(members, size, runCount).add(member);
+                    }
+                }
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
                     return new BitSetStorage16(members, member, index);
@@ -976,6 +1020,9 @@ final class SparseBitSet {
         // masks lower 6 bits
         private static final long POSTFIX_MASK = 0xFFFFFFFFFFFFFFC0L;
 
+        // the storage is checked for runs every 4096 added members
+        private static final int RUN_CHECK_MASK = 0xFFF;
+
         private final long[] members = new long[SIZE];
         private int size;
 
@@ -994,6 +1041,20 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        /**
+         * Constructs a new bit set storage by converting from the given {@link
+         * RunStorage16} data.
+         */
+        BitSetStorage16(RunStorage16 storage) {
+            for (int run = 0; run < storage.runCount; ++run) {
+                int end = storage.end(run);
+                for (int member = storage.start(run); member <= end; ++member) {
+                    append((short) member);
+                }
+            }
+            this.size = storage.size;
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -1005,6 +1066,12 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 ++size;
+                if ((size & RUN_CHECK_MASK) == 0) {
+                    int runCount = RunStorage16.countRuns(members);
+                    if (RunStorage16.isCompact(runCount, size)) {
+                        return new RunStorage16(members, size, runCount);
+                    }
+                }
             }
             return this;
         }
@@ -1102,6 +1169,314 @@ final class SparseBitSet {
 
     }
 
+    /**
+     * Manages sorted short array of runs of set bits. Each run occupies two
+     * consecutive array slots: the first and the last member of the run.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 4;
+
+        // the number of members
+        private int size;
+        private int runCount;
+        private short[] runs;
+
+        /**
+         * Constructs a new run storage for the given sorted members array
+         * having the given number of runs.
+         */
+        RunStorage16(short[] members, int size, int runCount) {
+            this.size = size;
+            this.runs = new short[Math.max(MIN_CAPACITY, runCount * 2)];
+
+            int start = toUnsignedInt(members[0]);
+            int end = start;
+            for (int i = 1; i < size; ++i) {
+                int member = toUnsignedInt(members[i]);
+                if (member != end + 1) {
+                    append(start, end);
+                    start = member;
+                }
+                end = member;
+            }
+            append(start, end);
+            assert this.runCount == runCount;
+        }
+
+        /**
+         * Constructs a new run storage for the given bits having the given
+         * number of runs.
+         */
+        RunStorage16(long[] bits, int size, int runCount) {
+            this.size = size;
+            this.runs = new short[Math.max(MIN_CAPACITY, runCount * 2)];
+
+            int start = nextSetBit(bits, 0);
+            while (start != -1) {
+                int end = nextClearBit(bits, start) - 1;
+                append(start, end);
+                start = nextSetBit(bits, end + 1);
+            }
+            assert this.runCount == runCount;
+        }
+
+        /**
+         * @return the number of runs in the given sorted members array.
+         */
+        static int countRuns(short[] members, int size) {
+            int runCount = 1;
+            for (int i = 1; i < size; ++i) {
+                if (toUnsignedInt(members[i]) != toUnsignedInt(members[i - 1]) + 1) {
+                    ++runCount;
+                }
+            }
+            return runCount;
+        }
+
+        /**
+         * @return the number of runs in the given bits.
+         */
+        static int countRuns(long[] bits) {
+            int runCount = 0;
+            long carry = 0;
+            for (long word : bits) {
+                // a run starts at every set bit preceded by a clear bit
+                runCount += Long.bitCount(word & ~(word << 1 | carry));
+                carry = word >>> (Long.SIZE - 1);
+            }
+            return runCount;
+        }
+
+        /**
+         * @return {@code true} if a run storage having the given number of
+         * runs and the given size takes at most half of the memory taken by
+         * an array or bit set storage of the same size, {@code false}
+         * otherwise.
+         */
+        static boolean isCompact(int runCount, int size) {
+            return runCount <= maxRunCount(size) / 2;
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(0, unsignedMember);
+            if (run >= 0 && unsignedMember <= end(run)) {
+                // already in a run
+                return this;
+            }
+
+            boolean extendsPrevious = run >= 0 && end(run) + 1 == unsignedMember;
+            boolean extendsNext = run + 1 < runCount && start(run + 1) == unsignedMember + 1;
+            if (extendsPrevious && extendsNext) {
+                // the member fills the gap between two runs: merge them
+                runs[run * 2 + 1] = runs[run * 2 + 3];
+                delete(run + 1);
+            } else if (extendsPrevious) {
+                runs[run * 2 + 1] = member;
+            } else if (extendsNext) {
+                runs[run * 2 + 2] = member;
+            } else {
+                insert(run + 1, member, member);
+            }
+            ++size;
+            return runCount > maxRunCount(size) ? convert() : this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(0, unsignedMember);
+            if (run < 0 || unsignedMember > end(run)) {
+                // not a member
+                return this;
+            }
+
+            --size;
+            if (size == 0) {
+                // emptied
+                return null;
+            }
+
+            int start = start(run);
+            int end = end(run);
+            if (start == end) {
+                delete(run);
+            } else if (unsignedMember == start) {
+                runs[run * 2] = (short) (unsignedMember + 1);
+            } else if (unsignedMember == end) {
+                runs[run * 2 + 1] = (short) (unsignedMember - 1);
+            } else {
+                // split the run in two
+                runs[run * 2 + 1] = (short) (unsignedMember - 1);
+                insert(run + 1, (short) (unsignedMember + 1), (short) end);
+            }
+            return runCount > maxRunCount(size) ? convert() : this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert size > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | start(0);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int run = iterator.position16;
+            if ((current & SHORT_POSTFIX_MASK) < end(run)) {
+                // still inside the current run
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++run;
+            if (run < runCount) {
+                iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | start(run);
+                iterator.position16 = run;
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            return seek(0, toUnsignedInt(member), iterator);
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            int unsignedMember = toUnsignedInt(member);
+            assert (iterator.index & SHORT_POSTFIX_MASK) < unsignedMember;
+            return seek(iterator.position16, unsignedMember, iterator);
+        }
+
+        int start(int run) {
+            return toUnsignedInt(runs[run * 2]);
+        }
+
+        int end(int run) {
+            return toUnsignedInt(runs[run * 2 + 1]);
+        }
+
+        private boolean seek(int fromRun, int unsignedMember, IteratorImpl iterator) {
+            int run = findRun(fromRun, unsignedMember);
+            if (run < fromRun || unsignedMember > end(run)) {
+                // not a member: start from the next run
+                ++run;
+                if (run == runCount) {
+                    return false;
+                }
+                unsignedMember = start(run);
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | unsignedMember;
+            iterator.position16 = run;
+            return true;
+        }
+
+        /**
+         * @return the index of the last run starting at or before the given
+         * member, or {@code fromRun - 1} if there is no such run.
+         */
+        private int findRun(int fromRun, int unsignedMember) {
+            int low = fromRun;
+            int high = runCount - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (start(middle) <= unsignedMember) {
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return high;
+        }
+
+        private void append(int start, int end) {
+            runs[runCount * 2] = (short) start;
+            runs[runCount * 2 + 1] = (short) end;
+            ++runCount;
+        }
+
+        private void insert(int run, short start, short end) {
+            int length = runCount * 2;
+            int offset = run * 2;
+            if (length + 2 > runs.length) {
+                // grow the array
+                short[] newRuns = new short[length + capacityDeltaShort(runs.length)];
+                arraycopy(runs, 0, newRuns, 0, offset);
+                arraycopy(runs, offset, newRuns, offset + 2, length - offset);
+                runs = newRuns;
+            } else {
+                // shift runs right to free a slot for the new run
+                arraycopy(runs, offset, runs, offset + 2, length - offset);
+            }
+            runs[offset] = start;
+            runs[offset + 1] = end;
+            ++runCount;
+        }
+
+        private void delete(int run) {
+            --runCount;
+            int length = runCount * 2;
+            int offset = run * 2;
+            arraycopy(runs, offset + 2, runs, offset, length - offset);
+
+            int delta = capacityDeltaShort(runs.length);
+            int wasted = runs.length - length;
+            int newCapacity = runs.length - delta;
+            if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
+                // We are wasting too much: shrink the array.
+                runs = copyOf(runs, newCapacity);
+            }
+        }
+
+        private Storage16 convert() {
+            return size <= ARRAY_STORAGE_16_MAX_SIZE ? new ArrayStorage16(this) : new BitSetStorage16(this);
+        }
+
+        /**
+         * @return the run count at which a run storage of the given size takes
+         * as much memory as an array or bit set storage of the same size.
+         */
+        private static int maxRunCount(int size) {
+            // two shorts per run versus one short per array member
+            return size <= ARRAY_STORAGE_16_MAX_SIZE ? size / 2 : RUN_STORAGE_16_MAX_RUN_COUNT;
+        }
+
+        private static int nextSetBit(long[] bits, int from) {
+            int index = from >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+            if (index == bits.length) {
+                return -1;
+            }
+            long word = bits[index] & -1L << from;
+            while (word == 0) {
+                if (++index == bits.length) {
+                    return -1;
+                }
+                word = bits[index];
+            }
+            return index << BitSetStorage16.BIT_SET_LONG_SHIFT | numberOfTrailingZeros(word);
+        }
+
+        private static int nextClearBit(long[] bits, int from) {
+            int index = from >>> BitSetStorage16.BIT_SET_LONG_SHIFT;
+            long word = ~bits[index] & -1L << from;
+            while (word == 0) {
+                if (++index == bits.length) {
+                    return bits.length << BitSetStorage16.BIT_SET_LONG_SHIFT;
+                }
+                word = ~bits[index];
+            }
+            return index << BitSetStorage16.BIT_SET_LONG_SHIFT | numberOfTrailingZeros(word);
+        }
+
+    }
+
     /**
      * Iterates over sparse bit sets.
      */
@@ -50,6 +50,17 @@ public abstract class AbstractMultiValueGetter extends Getter {
 
     protected abstract Object extractFrom(Object parentObject) throws IllegalAccessException, InvocationTargetException;
 
+    /**
+     * Passes the value extracted from the given parent object to the given
+     * accumulator if it's a numeric primitive value.
+     *
+     * @return {@code true} if the value was accumulated, {@code false} if it
+     * has to be extracted by {@link #extractFrom}.
+     */
+    protected boolean accumulateFrom(Object parentObject, PrimitiveAccumulator accumulator) throws InvocationTargetException {
+        return false;
+    }
+
     @Override
     Class getReturnType() {
         return resultType;
@@ -64,7 +75,25 @@ public abstract class AbstractMultiValueGetter extends Getter {
         if (parentObject instanceof MultiResult) {
             return extractFromMultiResult((MultiResult) parentObject);
         }
+        return getValueFrom(parentObject);
+    }
+
+    @Override
+    Object getValue(Object obj, String attributePath, Object metadata, PrimitiveAccumulator accumulator) throws Exception {
+        Object parentObject = getParentObject(obj);
+        if (parentObject == null) {
+            return null;
+        }
+        if (parentObject instanceof MultiResult) {
+            return extractFromMultiResult((MultiResult) parentObject);
+        }
+        if (modifier == DO_NOT_REDUCE && accumulateFrom(parentObject, accumulator)) {
+            return PrimitiveAccumulator.ACCUMULATED;
+        }
+        return getValueFrom(parentObject);
+    }
 
+    private Object getValueFrom(Object parentObject) throws IllegalAccessException, InvocationTargetException {
         Object o = unwrapIfOptional(extractFrom(parentObject));
         if (modifier == DO_NOT_REDUCE) {
             return o;
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+/**
+ * Carries a failure of a {@link PrimitiveAccumulator} out of a getter.
+ * <p>
+ * The extraction wraps the failures of the getters in a
+ * {@link com.hazelcast.query.QueryException}, but an accumulator must fail
+ * the same way as the accumulation of the boxed value does. The extraction
+ * rethrows the cause of this exception instead.
+ */
+public final class AccumulationException extends RuntimeException {
+
+    public AccumulationException(RuntimeException cause) {
+        super(cause);
+    }
+
+    /**
+     * @return the failure of the accumulator.
+     */
+    public RuntimeException getAccumulatorFailure() {
+        return (RuntimeException) getCause();
+    }
+}
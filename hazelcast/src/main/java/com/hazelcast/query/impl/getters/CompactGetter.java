@@ -19,19 +19,74 @@ package com.hazelcast.query.impl.getters;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.FixedSizeFieldAccessor;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads the attributes of Compact serialized values.
+ * <p>
+ * A top level fixed-size field of a value in the binary form is read
+ * straight from its bytes. Its position is resolved once per path and
+ * schema and cached in this getter, which is shared by all the queries
+ * of a map. Numeric fields are passed unboxed to the aggregators which are
+ * {@link PrimitiveAccumulator}s. Other paths are read through a
+ * {@link GenericRecordQueryReader}.
+ */
 public class CompactGetter extends Getter {
+
+    /**
+     * The number of schemas the field positions of a path are cached for,
+     * the paths of values with more schemas are read without the cache.
+     */
+    private static final int MAX_CACHED_SCHEMAS_PER_PATH = 8;
+
     private final InternalSerializationService serializationService;
+    private final boolean bigEndian;
+    private final ConcurrentMap<String, PathAccessors> accessors = new ConcurrentHashMap<>();
 
     public CompactGetter(InternalSerializationService serializationService) {
         super(null);
         this.serializationService = serializationService;
+        this.bigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
     }
 
     @Override
     public Object getValue(Object target, String fieldPath) throws Exception {
+        if (target instanceof HeapData && ((HeapData) target).isCompact()) {
+            HeapData data = (HeapData) target;
+            byte[] bytes = data.toByteArray();
+            FixedSizeFieldAccessor accessor = getAccessor(data, bytes, fieldPath);
+            if (accessor != null) {
+                return accessor.read(bytes, bigEndian);
+            }
+        }
+        return readFromRecord(target, fieldPath);
+    }
+
+    @Override
+    Object getValue(Object target, String fieldPath, Object metadata, PrimitiveAccumulator accumulator) throws Exception {
+        if (target instanceof HeapData && ((HeapData) target).isCompact()) {
+            HeapData data = (HeapData) target;
+            byte[] bytes = data.toByteArray();
+            FixedSizeFieldAccessor accessor = getAccessor(data, bytes, fieldPath);
+            if (accessor != null) {
+                return accessor.accumulate(bytes, bigEndian, accumulator)
+                        ? PrimitiveAccumulator.ACCUMULATED : accessor.read(bytes, bigEndian);
+            }
+        }
+        return readFromRecord(target, fieldPath);
+    }
+
+    private Object readFromRecord(Object target, String fieldPath) throws IOException {
         InternalGenericRecord record;
         if (target instanceof CompactGenericRecord) {
             record = (InternalGenericRecord) target;
@@ -42,6 +97,28 @@ public class CompactGetter extends Getter {
         return reader.read(fieldPath);
     }
 
+    private FixedSizeFieldAccessor getAccessor(HeapData data, byte[] bytes, String fieldPath) throws IOException {
+        long schemaId = FixedSizeFieldAccessor.readSchemaId(bytes, bigEndian);
+        PathAccessors pathAccessors = accessors.get(fieldPath);
+        if (pathAccessors != null) {
+            int index = pathAccessors.indexOf(schemaId);
+            if (index >= 0) {
+                return pathAccessors.accessors[index];
+            }
+            if (pathAccessors.schemaIds.length >= MAX_CACHED_SCHEMAS_PER_PATH) {
+                return null;
+            }
+        }
+
+        Schema schema = serializationService.extractSchemaFromData(data);
+        FixedSizeFieldAccessor accessor = FixedSizeFieldAccessor.of(schema, fieldPath);
+        // a concurrent resolution of another schema may be lost, it's resolved again on its next read
+        accessors.put(fieldPath, pathAccessors == null
+                ? new PathAccessors(new long[]{schemaId}, new FixedSizeFieldAccessor[]{accessor})
+                : pathAccessors.with(schemaId, accessor));
+        return accessor;
+    }
+
     @Override
     Object getValue(Object obj) throws Exception {
         throw new IllegalArgumentException("Path agnostic value extraction unsupported");
@@ -58,4 +135,37 @@ public class CompactGetter extends Getter {
         // for various keys. A singleton should be used instead during getter creation.
         return false;
     }
+
+    /**
+     * The accessors of a path for the schemas resolved so far, {@code null}
+     * for the schemas without a fixed-size field at the path.
+     */
+    private static final class PathAccessors {
+
+        private final long[] schemaIds;
+        private final FixedSizeFieldAccessor[] accessors;
+
+        PathAccessors(long[] schemaIds, FixedSizeFieldAccessor[] accessors) {
+            this.schemaIds = schemaIds;
+            this.accessors = accessors;
+        }
+
+        int indexOf(long schemaId) {
+            for (int i = 0; i < schemaIds.length; i++) {
+                if (schemaIds[i] == schemaId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        PathAccessors with(long schemaId, FixedSizeFieldAccessor accessor) {
+            int length = schemaIds.length;
+            long[] newSchemaIds = Arrays.copyOf(schemaIds, length + 1);
+            FixedSizeFieldAccessor[] newAccessors = Arrays.copyOf(accessors, length + 1);
+            newSchemaIds[length] = schemaId;
+            newAccessors[length] = accessor;
+            return new PathAccessors(newSchemaIds, newAccessors);
+        }
+    }
 }
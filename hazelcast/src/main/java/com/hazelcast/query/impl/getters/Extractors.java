@@ -88,6 +88,29 @@ public final class Extractors {
         return null;
     }
 
+    /**
+     * Extracts the given attribute like {@link #extract(Object, String, Object)},
+     * but passes a numeric primitive attribute value straight to the given
+     * accumulator instead of boxing it.
+     *
+     * @return the attribute value or {@link PrimitiveAccumulator#ACCUMULATED}
+     * if it was passed to the accumulator.
+     */
+    public Object extract(Object target, String attributeName, Object metadata, PrimitiveAccumulator accumulator) {
+        Object targetObject = getTargetObject(target);
+        if (targetObject != null) {
+            Getter getter = getGetter(targetObject, attributeName, true);
+            try {
+                return getter.getValue(targetObject, attributeName, metadata, accumulator);
+            } catch (AccumulationException ex) {
+                throw ex.getAccumulatorFailure();
+            } catch (Exception ex) {
+                throw new QueryException(ex);
+            }
+        }
+        return null;
+    }
+
     /**
      * Returns the form of this data that is queryable.
      * Returns {@link Data} if {@code target} is
@@ -17,10 +17,13 @@
 package com.hazelcast.query.impl.getters;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 
 public final class FieldGetter extends AbstractMultiValueGetter {
 
     private final Field field;
+    private final MemberReader reader;
+    private final PrimitiveMemberReader primitiveReader;
 
     // for testing purposes only
     public FieldGetter(Getter parent, Field field, String modifier, Class elementType) {
@@ -30,17 +33,28 @@ public final class FieldGetter extends AbstractMultiValueGetter {
     public FieldGetter(Getter parent, Field field, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.field = field;
+        this.reader = MemberReaders.forField(field);
+        this.primitiveReader = modifier == null ? PrimitiveMemberReader.forField(field) : null;
     }
 
     @Override
-    protected Object extractFrom(Object object) throws IllegalAccessException {
+    protected Object extractFrom(Object object) throws IllegalAccessException, InvocationTargetException {
         try {
-            return field.get(object);
+            return reader.read(object);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(field), e);
         }
     }
 
+    @Override
+    protected boolean accumulateFrom(Object object, PrimitiveAccumulator accumulator) throws InvocationTargetException {
+        if (primitiveReader == null) {
+            return false;
+        }
+        primitiveReader.read(object, accumulator);
+        return true;
+    }
+
     @Override
     boolean isCacheable() {
         return true;
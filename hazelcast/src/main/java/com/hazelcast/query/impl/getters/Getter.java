@@ -48,6 +48,16 @@ abstract class Getter {
         return getValue(obj, attributePath);
     }
 
+    /**
+     * Method for getters that can pass a numeric primitive value straight to the given accumulator
+     * instead of boxing it. Getters returning other values must return them as the other methods do.
+     *
+     * @return the value or {@link PrimitiveAccumulator#ACCUMULATED} if it was passed to the accumulator
+     */
+    Object getValue(Object obj, String attributePath, Object metadata, PrimitiveAccumulator accumulator) throws Exception {
+        return getValue(obj, attributePath, metadata);
+    }
+
     /**
      * Returns extracted object type for non-generic getters. It is only applicable when
      * extracted object type can be determined before running the getter.
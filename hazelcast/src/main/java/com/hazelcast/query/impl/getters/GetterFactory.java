@@ -36,12 +36,12 @@ public final class GetterFactory {
     }
 
     public static Getter newFieldGetter(Object object, Getter parent, Field field, String modifier) throws Exception {
-        return newGetter(object, parent, modifier, field.getType(), field::get,
+        return newGetter(object, parent, modifier, field.getType(), MemberReaders.forField(field),
                 (t, et) -> new FieldGetter(parent, field, modifier, t, et));
     }
 
     public static Getter newMethodGetter(Object object, Getter parent, Method method, String modifier) throws Exception {
-        return newGetter(object, parent, modifier, method.getReturnType(), o -> method.invoke(o),
+        return newGetter(object, parent, modifier, method.getReturnType(), MemberReaders.forMethod(method),
                 (t, et) -> new MethodGetter(parent, method, modifier, t, et));
     }
 
@@ -49,7 +49,7 @@ public final class GetterFactory {
         return new ThisGetter(parent, object);
     }
 
-    private static Getter newGetter(Object object, Getter parent, String modifier, Class type, Reader reader,
+    private static Getter newGetter(Object object, Getter parent, String modifier, Class type, MemberReader reader,
                                     Constructor constructor) throws Exception {
         Object currentObject = getCurrentObject(object, parent);
         if (type == Optional.class) {
@@ -87,7 +87,7 @@ public final class GetterFactory {
         return constructor.construct(type, elementType);
     }
 
-    private static Class deduceOptionalType(Object object, Reader reader) throws Exception {
+    private static Class deduceOptionalType(Object object, MemberReader reader) throws Exception {
         if (object instanceof MultiResult) {
             for (Object result : ((MultiResult) object).getResults()) {
                 if (result == null) {
@@ -114,7 +114,7 @@ public final class GetterFactory {
         return optional.isPresent() ? optional.get().getClass() : null;
     }
 
-    private static Class deduceElementType(MultiResult multiResult, Reader reader) throws Exception {
+    private static Class deduceElementType(MultiResult multiResult, MemberReader reader) throws Exception {
         for (Object result : multiResult.getResults()) {
             if (result == null) {
                 continue;
@@ -156,13 +156,6 @@ public final class GetterFactory {
         return parent == null ? object : parent.getValue(object);
     }
 
-    @FunctionalInterface
-    private interface Reader {
-
-        Object read(Object object) throws Exception;
-
-    }
-
     @FunctionalInterface
     private interface Constructor {
 
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Reads the value of a field or a no-arg method from a target object.
+ * <p>
+ * Behaves like {@link java.lang.reflect.Field#get} and {@link
+ * java.lang.reflect.Method#invoke}: a target of a wrong type fails with
+ * {@link IllegalArgumentException} and an exception thrown by a method is
+ * wrapped into {@link InvocationTargetException}.
+ *
+ * @see MemberReaders
+ */
+@FunctionalInterface
+interface MemberReader {
+
+    Object read(Object target) throws IllegalAccessException, InvocationTargetException;
+
+}
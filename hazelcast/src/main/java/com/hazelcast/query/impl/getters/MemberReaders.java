@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Creates the {@link MemberReader}s the reflective getters read attribute
+ * values with.
+ * <p>
+ * A public method of a public class visible to Hazelcast is read by a
+ * {@link Function} spun by {@link LambdaMetafactory}, which calls the
+ * method directly. Other methods and all fields are read through method
+ * handles. Both avoid the access checks and the argument array of the
+ * reflective calls. A member whose handle can't be obtained is read
+ * reflectively.
+ * <p>
+ * Readers are cached per member in a {@link ClassValue} of the declaring
+ * class, so getters recreated after an eviction from a {@link GetterCache}
+ * reuse them instead of spinning new classes, and the cache doesn't keep
+ * the classes of unloaded class loaders reachable.
+ */
+final class MemberReaders {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType READ_TYPE = methodType(Object.class, Object.class);
+    private static final MethodType FUNCTION_TYPE = methodType(Function.class);
+    private static final MethodType APPLY_TYPE = methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<Member, MemberReader>> READERS =
+            new ClassValue<ConcurrentMap<Member, MemberReader>>() {
+                @Override
+                protected ConcurrentMap<Member, MemberReader> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private MemberReaders() {
+    }
+
+    static MemberReader forField(Field field) {
+        return READERS.get(field.getDeclaringClass()).computeIfAbsent(field, member -> newFieldReader(field));
+    }
+
+    static MemberReader forMethod(Method method) {
+        return READERS.get(method.getDeclaringClass()).computeIfAbsent(method, member -> newMethodReader(method));
+    }
+
+    private static MemberReader newFieldReader(Field field) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            return field::get;
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return new HandleReader(field, handle.asType(READ_TYPE), false);
+    }
+
+    private static MemberReader newMethodReader(Method method) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            return method::invoke;
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            return new HandleReader(method, MethodHandles.dropArguments(handle, 0, Object.class).asType(READ_TYPE), true);
+        }
+
+        Function<Object, Object> function = spinFunction(method, handle);
+        if (function != null) {
+            return new FunctionReader(method, function);
+        }
+        return new HandleReader(method, handle.asType(READ_TYPE), true);
+    }
+
+    /**
+     * @return a function calling the given method or {@code null} if the
+     * method can't be called from a class spun by Hazelcast.
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> spinFunction(Method method, MethodHandle handle) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<?> returnType = method.getReturnType();
+        if (!isPubliclyAccessible(method) || !isVisible(declaringClass)
+                || !returnType.isPrimitive() && !isVisible(returnType)) {
+            return null;
+        }
+
+        Class<?> boxedReturnType = returnType.isPrimitive() ? methodType(returnType).wrap().returnType() : returnType;
+        try {
+            CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", FUNCTION_TYPE, APPLY_TYPE, handle,
+                    methodType(boxedReturnType, declaringClass));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+
+    private static boolean isPubliclyAccessible(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            // also fails for the classes of packages not exported by their modules
+            MethodHandles.publicLookup().findVirtual(declaringClass, method.getName(), methodType(method.getReturnType()));
+            return true;
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        try {
+            return Class.forName(type.getName(), false, MemberReaders.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static void checkTarget(Member member, Object target) {
+        if (!member.getDeclaringClass().isInstance(target) && !Modifier.isStatic(member.getModifiers())) {
+            throw new IllegalArgumentException("Object of " + target.getClass() + " is not an instance of "
+                    + member.getDeclaringClass() + " declaring " + member);
+        }
+    }
+
+    private static final class FunctionReader implements MemberReader {
+
+        private final Method method;
+        private final Function<Object, Object> function;
+
+        FunctionReader(Method method, Function<Object, Object> function) {
+            this.method = method;
+            this.function = function;
+        }
+
+        @Override
+        public Object read(Object target) throws InvocationTargetException {
+            checkTarget(method, target);
+            try {
+                return function.apply(target);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
+    private static final class HandleReader implements MemberReader {
+
+        private final Member member;
+        private final MethodHandle handle;
+        private final boolean method;
+
+        HandleReader(Member member, MethodHandle handle, boolean method) {
+            this.member = member;
+            this.handle = handle;
+            this.method = method;
+        }
+
+        @Override
+        public Object read(Object target) throws InvocationTargetException {
+            checkTarget(member, target);
+            try {
+                return (Object) handle.invokeExact(target);
+            } catch (Throwable t) {
+                if (method) {
+                    throw new InvocationTargetException(t);
+                }
+                throw rethrow(t);
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ import java.lang.reflect.Method;
 public final class MethodGetter extends AbstractMultiValueGetter {
 
     private final Method method;
+    private final MemberReader reader;
+    private final PrimitiveMemberReader primitiveReader;
 
     // for testing purposes only
     public MethodGetter(Getter parent, Method method, String modifier, Class elementType) {
@@ -31,17 +33,28 @@ public final class MethodGetter extends AbstractMultiValueGetter {
     public MethodGetter(Getter parent, Method method, String modifier, Class type, Class elementType) {
         super(parent, modifier, type, elementType);
         this.method = method;
+        this.reader = MemberReaders.forMethod(method);
+        this.primitiveReader = modifier == null ? PrimitiveMemberReader.forMethod(method) : null;
     }
 
     @Override
     protected Object extractFrom(Object object) throws IllegalAccessException, InvocationTargetException {
         try {
-            return method.invoke(object);
+            return reader.read(object);
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(method), e);
         }
     }
 
+    @Override
+    protected boolean accumulateFrom(Object object, PrimitiveAccumulator accumulator) throws InvocationTargetException {
+        if (primitiveReader == null) {
+            return false;
+        }
+        primitiveReader.read(object, accumulator);
+        return true;
+    }
+
     @Override
     boolean isCacheable() {
         return true;
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+/**
+ * Accumulates numeric primitive attribute values without boxing them.
+ * <p>
+ * Implemented by the aggregators summing or averaging numeric attributes.
+ * The getters reading a numeric primitive field or method, or a fixed-size
+ * numeric Compact field, pass its value straight to the accumulator, see
+ * {@link Extractors#extract(Object, String, Object, PrimitiveAccumulator)}.
+ * Values of other attributes are returned boxed as usual.
+ */
+public interface PrimitiveAccumulator {
+
+    /**
+     * Returned by the extraction instead of the attribute value if the value
+     * was passed to the accumulator.
+     */
+    Object ACCUMULATED = new Object();
+
+    /**
+     * Accumulates a {@code byte}, {@code short}, {@code int} or {@code long}
+     * attribute value.
+     */
+    void accumulateLong(long value);
+
+    /**
+     * Accumulates a {@code float} or {@code double} attribute value.
+     */
+    void accumulateDouble(double value);
+}
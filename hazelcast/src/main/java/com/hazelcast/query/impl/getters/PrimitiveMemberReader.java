@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.query.impl.getters.AbstractMultiValueGetter.composeAttributeValueExtractionFailedMessage;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Reads a numeric primitive field or method return value into a
+ * {@link PrimitiveAccumulator} without boxing it. The value is read through
+ * a method handle widened to {@code long} for the integral types and to
+ * {@code double} for the floating-point ones.
+ */
+final class PrimitiveMemberReader {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType LONG_READ_TYPE = methodType(long.class, Object.class);
+    private static final MethodType DOUBLE_READ_TYPE = methodType(double.class, Object.class);
+
+    private final Member member;
+    private final MethodHandle handle;
+    private final boolean integral;
+    private final boolean method;
+
+    private PrimitiveMemberReader(Member member, MethodHandle handle, boolean integral, boolean method) {
+        this.member = member;
+        this.handle = handle;
+        this.integral = integral;
+        this.method = method;
+    }
+
+    /**
+     * @return a reader of the given field or {@code null} if the field isn't
+     * of a numeric primitive type or can't be read through a method handle.
+     */
+    @Nullable
+    static PrimitiveMemberReader forField(Field field) {
+        if (!isNumeric(field.getType())) {
+            return null;
+        }
+        try {
+            return create(field, LOOKUP.unreflectGetter(field), field.getType(), false);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a reader of the given method or {@code null} if the method
+     * doesn't return a numeric primitive type or can't be called through a
+     * method handle.
+     */
+    @Nullable
+    static PrimitiveMemberReader forMethod(Method method) {
+        if (!isNumeric(method.getReturnType())) {
+            return null;
+        }
+        try {
+            return create(method, LOOKUP.unreflect(method), method.getReturnType(), true);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static PrimitiveMemberReader create(Member member, MethodHandle handle, Class<?> type, boolean method) {
+        if (Modifier.isStatic(member.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        boolean integral = type != float.class && type != double.class;
+        return new PrimitiveMemberReader(member, handle.asType(integral ? LONG_READ_TYPE : DOUBLE_READ_TYPE), integral,
+                method);
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return type.isPrimitive() && type != boolean.class && type != char.class && type != void.class;
+    }
+
+    /**
+     * Reads the member of the given target into the given accumulator.
+     */
+    void read(Object target, PrimitiveAccumulator accumulator) throws InvocationTargetException {
+        try {
+            MemberReaders.checkTarget(member, target);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(composeAttributeValueExtractionFailedMessage(member), e);
+        }
+        // the accumulator is called outside the try blocks, its failures are
+        // carried to the extraction which rethrows them unwrapped
+        if (integral) {
+            long value;
+            try {
+                value = (long) handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw wrap(t);
+            }
+            try {
+                accumulator.accumulateLong(value);
+            } catch (RuntimeException e) {
+                throw new AccumulationException(e);
+            }
+        } else {
+            double value;
+            try {
+                value = (double) handle.invokeExact(target);
+            } catch (Throwable t) {
+                throw wrap(t);
+            }
+            try {
+                accumulator.accumulateDouble(value);
+            } catch (RuntimeException e) {
+                throw new AccumulationException(e);
+            }
+        }
+    }
+
+    private InvocationTargetException wrap(Throwable t) {
+        if (method) {
+            return new InvocationTargetException(t);
+        }
+        throw rethrow(t);
+    }
+}
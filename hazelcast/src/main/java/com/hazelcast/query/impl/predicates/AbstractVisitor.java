@@ -60,4 +60,14 @@ public abstract class AbstractVisitor implements Visitor {
         return predicate;
     }
 
+    @Override
+    public Predicate visit(GreaterLessPredicate predicate, Indexes indexes) {
+        return predicate;
+    }
+
+    @Override
+    public Predicate visit(BoundedRangePredicate predicate, Indexes indexes) {
+        return predicate;
+    }
+
 }
@@ -29,12 +29,15 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
 import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf;
 
@@ -45,6 +48,14 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf
 public final class AndPredicate
         implements IndexAwarePredicate, IdentifiedDataSerializable, VisitablePredicate, NegatablePredicate, CompoundPredicate {
 
+    /**
+     * An indexed predicate whose result is estimated to be more than this many
+     * times larger than the smallest result produced by the other indexed
+     * predicates is evaluated on the entries of that result instead of being
+     * looked up in its index.
+     */
+    static final int LOW_SELECTIVITY_RATIO = 10;
+
     private static final long serialVersionUID = 1L;
 
     protected Predicate[] predicates;
@@ -69,42 +80,104 @@ public final class AndPredicate
 
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestResultSet = null;
-        List<Set<QueryableEntry>> otherResultSets = null;
+        List<EstimatedPredicate> indexedPredicates = null;
         List<Predicate> unindexedPredicates = null;
 
         for (Predicate predicate : predicates) {
             if (isIndexedPredicate(predicate, queryContext)) {
-                // Avoid checking indexed partitions count twice to avoid
-                // scenario when the owner partitions count changes concurrently and null
-                // value from the filter method may indicate that the index is under
-                // construction.
-                int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
-                queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
-                Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
-                queryContext.setOwnedPartitionCount(ownedPartitionsCount);
-                if (smallestResultSet == null) {
-                    smallestResultSet = currentResultSet;
-                } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(smallestResultSet);
-                    smallestResultSet = currentResultSet;
-                } else {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(currentResultSet);
-                }
+                indexedPredicates = initOrGetListOf(indexedPredicates);
+                indexedPredicates.add(new EstimatedPredicate((IndexAwarePredicate) predicate));
             } else {
                 unindexedPredicates = initOrGetListOf(unindexedPredicates);
                 unindexedPredicates.add(predicate);
             }
         }
 
-        if (smallestResultSet == null) {
+        if (indexedPredicates == null) {
             return null;
         }
+
+        if (indexedPredicates.size() > 1) {
+            sortByEstimate(indexedPredicates, queryContext);
+        }
+
+        Set<QueryableEntry> smallestResultSet = null;
+        List<Set<QueryableEntry>> otherResultSets = null;
+        for (EstimatedPredicate indexedPredicate : indexedPredicates) {
+            if (smallestResultSet != null && indexedPredicate.isLowSelectivity(estimatedSizeOf(smallestResultSet))) {
+                // cheaper to evaluate on the entries of the smallest result
+                // than to look up and intersect with
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(indexedPredicate.predicate);
+                continue;
+            }
+
+            // Avoid checking indexed partitions count twice to avoid
+            // scenario when the owner partitions count changes concurrently and null
+            // value from the filter method may indicate that the index is under
+            // construction.
+            Set<QueryableEntry> currentResultSet = withoutPartitionsCountCheck(queryContext,
+                    indexedPredicate.predicate::filter);
+            if (currentResultSet == null) {
+                // the index is not ready, the whole conjunction has to be scanned
+                return null;
+            }
+            if (smallestResultSet == null) {
+                smallestResultSet = currentResultSet;
+            } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(smallestResultSet);
+                smallestResultSet = currentResultSet;
+            } else {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(currentResultSet);
+            }
+        }
+
         return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
     }
 
+    /**
+     * Estimates the result size as the smallest estimate of the indexed
+     * predicates, the other predicates may only filter it further.
+     */
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        long smallestEstimate = UNKNOWN_RECORD_COUNT;
+        for (Predicate predicate : predicates) {
+            if (isIndexedPredicate(predicate, queryContext)) {
+                long estimate = ((IndexAwarePredicate) predicate).estimateResultSize(queryContext);
+                if (estimate != UNKNOWN_RECORD_COUNT
+                        && (smallestEstimate == UNKNOWN_RECORD_COUNT || estimate < smallestEstimate)) {
+                    smallestEstimate = estimate;
+                }
+            }
+        }
+        return smallestEstimate;
+    }
+
+    /**
+     * Sorts the given indexed predicates so that the most selective ones are
+     * looked up first, the ones that can't estimate their results go last.
+     */
+    private static void sortByEstimate(List<EstimatedPredicate> indexedPredicates, QueryContext queryContext) {
+        for (EstimatedPredicate indexedPredicate : indexedPredicates) {
+            indexedPredicate.estimate = withoutPartitionsCountCheck(queryContext,
+                    indexedPredicate.predicate::estimateResultSize);
+        }
+        indexedPredicates.sort(EstimatedPredicate.BY_ESTIMATE);
+    }
+
+    private static <T> T withoutPartitionsCountCheck(QueryContext queryContext, Function<QueryContext, T> function) {
+        int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
+        queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
+        try {
+            return function.apply(queryContext);
+        } finally {
+            queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+        }
+    }
+
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
         return predicate instanceof IndexAwarePredicate
                 && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
@@ -227,6 +300,31 @@ public final class AndPredicate
         }
     }
 
+    /**
+     * An indexed predicate along with the estimated size of its result.
+     */
+    private static final class EstimatedPredicate {
+
+        static final Comparator<EstimatedPredicate> BY_ESTIMATE =
+                Comparator.comparingLong(p -> p.estimate == UNKNOWN_RECORD_COUNT ? Long.MAX_VALUE : p.estimate);
+
+        final IndexAwarePredicate predicate;
+        long estimate = UNKNOWN_RECORD_COUNT;
+
+        EstimatedPredicate(IndexAwarePredicate predicate) {
+            this.predicate = predicate;
+        }
+
+        /**
+         * @return {@code true} if the result of this predicate is estimated to
+         * be more than {@link #LOW_SELECTIVITY_RATIO} times larger than the
+         * given result size, {@code false} otherwise.
+         */
+        boolean isLowSelectivity(int resultSize) {
+            return estimate != UNKNOWN_RECORD_COUNT && estimate > (long) resultSize * LOW_SELECTIVITY_RATIO;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -29,6 +29,8 @@ import com.hazelcast.query.impl.QueryableEntry;
 import java.io.IOException;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
 /**
  * Between Predicate
  */
@@ -76,6 +78,15 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
         return index.getRecords(from, true, to, true);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return index.estimateRecordCount(from, true, to, true);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
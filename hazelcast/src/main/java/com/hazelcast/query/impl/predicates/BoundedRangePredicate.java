@@ -16,8 +16,10 @@
 
 package com.hazelcast.query.impl.predicates;
 
+import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -25,6 +27,7 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
@@ -33,7 +36,7 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
  * Instances of this class are never transferred between members, the
  * serialization is disabled.
  */
-public class BoundedRangePredicate extends AbstractIndexAwarePredicate implements RangePredicate {
+public class BoundedRangePredicate extends AbstractIndexAwarePredicate implements RangePredicate, VisitablePredicate {
 
     private final Comparable from;
     private final boolean fromInclusive;
@@ -73,6 +76,20 @@ public class BoundedRangePredicate extends AbstractIndexAwarePredicate implement
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return index.estimateRecordCount(from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public Predicate accept(Visitor visitor, Indexes indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable value) {
         if (value == null) {
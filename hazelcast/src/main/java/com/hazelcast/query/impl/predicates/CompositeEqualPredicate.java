@@ -30,6 +30,8 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
 /**
  * Does the same thing as {@link EqualPredicate} but for composite indexes and
  * values.
@@ -88,6 +90,15 @@ public class CompositeEqualPredicate implements IndexAwarePredicate {
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        if (index == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return index.estimateRecordCount(value);
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(components) + " = " + value;
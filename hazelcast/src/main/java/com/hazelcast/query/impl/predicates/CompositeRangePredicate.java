@@ -33,6 +33,7 @@ import java.util.Set;
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
 import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
 
 /**
  * Does the same thing as {@link GreaterLessPredicate}, {@link BetweenPredicate}
@@ -123,6 +124,15 @@ public class CompositeRangePredicate implements IndexAwarePredicate {
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        if (index == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return index.estimateRecordCount(from, fromInclusive, to, toInclusive);
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
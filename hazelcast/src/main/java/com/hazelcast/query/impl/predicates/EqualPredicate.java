@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
 import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
 
 /**
@@ -69,6 +70,15 @@ public class EqualPredicate extends AbstractIndexAwarePredicate
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        if (index == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return index.estimateRecordCount(value);
+    }
+
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
             return isNull(value);
@@ -261,4 +261,34 @@ public class EvaluateVisitor extends AbstractVisitor {
         return new EvaluatePredicate(predicate, index.getName());
     }
 
+    @Override
+    public Predicate visit(GreaterLessPredicate predicate, Indexes indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(BetweenPredicate predicate, Indexes indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    @Override
+    public Predicate visit(BoundedRangePredicate predicate, Indexes indexes) {
+        return visitRange(predicate, indexes);
+    }
+
+    private static Predicate visitRange(RangePredicate predicate, Indexes indexes) {
+        Index index = indexes.matchIndex(predicate.getAttribute(), predicate.getClass(), IndexMatchHint.PREFER_ORDERED,
+                SKIP_PARTITIONS_COUNT_CHECK);
+        if (index == null) {
+            return predicate;
+        }
+
+        TypeConverter converter = index.getConverter();
+        if (converter == null) {
+            return predicate;
+        }
+
+        return new EvaluatePredicate(predicate, index.getName());
+    }
+
 }
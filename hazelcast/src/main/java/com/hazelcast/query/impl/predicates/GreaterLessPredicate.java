@@ -23,17 +23,21 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Comparables;
 import com.hazelcast.query.impl.Comparison;
 import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
 /**
  * Greater Less Predicate
  */
 @BinaryInterface
-public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate {
+public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, RangePredicate,
+        VisitablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -73,13 +77,24 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         if (index == null) {
             return null;
         }
-        final Comparison comparison;
+        return index.getRecords(getComparison(), value);
+    }
+
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        return index.estimateRecordCount(getComparison(), value);
+    }
+
+    private Comparison getComparison() {
         if (less) {
-            comparison = equal ? Comparison.LESS_OR_EQUAL : Comparison.LESS;
+            return equal ? Comparison.LESS_OR_EQUAL : Comparison.LESS;
         } else {
-            comparison = equal ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER;
+            return equal ? Comparison.GREATER_OR_EQUAL : Comparison.GREATER;
         }
-        return index.getRecords(comparison, value);
     }
 
     @Override
@@ -110,6 +125,11 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         return sb.toString();
     }
 
+    @Override
+    public Predicate accept(Visitor visitor, Indexes indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     public Predicate negate() {
         return new GreaterLessPredicate(attributeName, value, !equal, !less);
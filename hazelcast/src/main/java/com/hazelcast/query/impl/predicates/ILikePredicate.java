@@ -23,6 +23,8 @@ import com.hazelcast.query.impl.QueryableEntry;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
 /**
  * Ilike Predicate
  */
@@ -46,6 +48,11 @@ public class ILikePredicate extends LikePredicate {
         return false;
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        return UNKNOWN_RECORD_COUNT;
+    }
+
     @Override
     public String toString() {
         return attributeName + " ILIKE '" + expression + "'";
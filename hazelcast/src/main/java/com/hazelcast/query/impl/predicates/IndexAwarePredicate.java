@@ -23,6 +23,8 @@ import com.hazelcast.query.impl.QueryableEntry;
 
 import java.util.Set;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
 /**
  * Extends the {@link Predicate} interface with the ability to support indexes.
  * <p>
@@ -76,4 +78,23 @@ public interface IndexAwarePredicate<K, V> extends Predicate<K, V> {
      * speed up the processing, {@code false} otherwise.
      */
     boolean isIndexed(QueryContext queryContext);
+
+    /**
+     * Estimates the number of entries {@link #filter} would produce in the
+     * given query context without producing them.
+     * <p>
+     * The query engine uses the estimates to plan the evaluation of compound
+     * predicates, for instance, to decide which of the conjuncts of an
+     * {@link AndPredicate} are worth an index lookup and which are cheaper
+     * to evaluate on the entries the other conjuncts produced.
+     *
+     * @param queryContext the query context to consult for the available
+     *                     indexes.
+     * @return the estimated number of entries or {@link
+     * com.hazelcast.query.impl.Index#UNKNOWN_RECORD_COUNT} if this predicate
+     * can't estimate it.
+     */
+    default long estimateResultSize(QueryContext queryContext) {
+        return UNKNOWN_RECORD_COUNT;
+    }
 }
@@ -28,6 +28,8 @@ import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+
 /**
  * Like Predicate
  */
@@ -54,6 +56,16 @@ public class LikePredicate extends AbstractPredicate implements IndexAwarePredic
         return index.getRecords(indexPrefix, true, indexPrefix + "\uFFFF", false);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        if (!isIndexed(queryContext)) {
+            return UNKNOWN_RECORD_COUNT;
+        }
+        Index index = queryContext.matchIndex(attributeName, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        String indexPrefix = expression.substring(0, expression.length() - 1);
+        return index.estimateRecordCount(indexPrefix, true, indexPrefix + "\uFFFF", false);
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         Index index = queryContext.matchIndex(attributeName, QueryContext.IndexMatchHint.PREFER_ORDERED);
@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
 import static com.hazelcast.query.impl.Indexes.SKIP_PARTITIONS_COUNT_CHECK;
 
 /**
@@ -81,6 +82,31 @@ public final class OrPredicate
         return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
     }
 
+    /**
+     * Estimates the result size as the sum of the estimates of the inner
+     * predicates, the entries matching several of them are counted once per
+     * predicate.
+     */
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        long totalEstimate = 0;
+        for (Predicate predicate : predicates) {
+            if (!(predicate instanceof IndexAwarePredicate)) {
+                return UNKNOWN_RECORD_COUNT;
+            }
+            IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
+            if (!iap.isIndexed(queryContext)) {
+                return UNKNOWN_RECORD_COUNT;
+            }
+            long estimate = iap.estimateResultSize(queryContext);
+            if (estimate == UNKNOWN_RECORD_COUNT) {
+                return UNKNOWN_RECORD_COUNT;
+            }
+            totalEstimate += estimate;
+        }
+        return totalEstimate;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
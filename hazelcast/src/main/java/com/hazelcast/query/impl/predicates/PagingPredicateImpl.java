@@ -334,6 +334,24 @@ public class PagingPredicateImpl<K, V>
         return anchoredEntry;
     }
 
+    /**
+     * Replaces the anchor list of this predicate with a list holding just the
+     * nearest anchor of the current page. Members resume the query from that
+     * anchor and never look at the earlier ones, so a predicate trimmed this
+     * way stays of constant size no matter how many pages the caller has
+     * already visited.
+     * <p>
+     * The anchor list of a copy is shared with the original predicate, the
+     * list is replaced rather than modified.
+     */
+    public void retainNearestAnchorOnly() {
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        List<Map.Entry<Integer, Map.Entry<K, V>>> nearestAnchorList = new ArrayList<>(1);
+        if (nearestAnchorEntry != NULL_ANCHOR) {
+            nearestAnchorList.add((Map.Entry) nearestAnchorEntry);
+        }
+        anchorList = nearestAnchorList;
+    }
 
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
@@ -41,6 +41,7 @@ import static com.hazelcast.query.Predicates.equal;
 import static com.hazelcast.query.Predicates.ilike;
 import static com.hazelcast.query.Predicates.like;
 import static com.hazelcast.query.Predicates.regex;
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
 
 /**
  * This class contains methods related to conversion of 'sql' query to predicate.
@@ -104,6 +105,14 @@ public class SqlPredicate
         return ((IndexAwarePredicate) predicate).filter(queryContext);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        if (predicate instanceof IndexAwarePredicate) {
+            return ((IndexAwarePredicate) predicate).estimateResultSize(queryContext);
+        }
+        return UNKNOWN_RECORD_COUNT;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeString(sql);
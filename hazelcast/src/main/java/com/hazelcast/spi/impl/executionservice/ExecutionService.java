@@ -105,6 +105,22 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * Name of the executor running the write-behind flush stripes
+     * of the maps, when they are flushed by more than one stripe.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-write-behind";
+
+    /**
+     * Name of the executor scheduling the throttled batches of the online
+     * index builds of the maps.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_INDEX_ONLINE_BUILD_ENABLED
+     */
+    String MAP_INDEX_BUILD_EXECUTOR = "hz:map-index-build";
+
     /**
      * Name of the Management Center executor. Used to execute blocking tasks
      * related with operations run by Management Center.
@@ -24,7 +24,6 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.metrics.StaticMetricsProvider;
 import com.hazelcast.internal.util.LatencyDistribution;
-import com.hazelcast.internal.util.RuntimeAvailableProcessors;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
@@ -55,27 +54,19 @@ import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallI
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p>
+ * The invocations are stored in {@link InvocationSlots}, an array indexed by the call ID.
+ * <p>
  * Some ideas:
  * <ul>
- * <li>Use a ringbuffer to store all invocations instead of a CHM. The call ID can be used as sequence ID for this
- * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
- * the sequence (although you now get sequence-gaps).</li>
- * <li>Pre-allocate all invocations. Because the ringbuffer has a fixed capacity, pre-allocation should be easy. Also
+ * <li>Pre-allocate all invocations. Because the slot array has a fixed capacity, pre-allocation should be easy. Also
  * the PartitionInvocation and TargetInvocation can be folded into Invocation.</li>
  * </ul>
  */
 public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsProvider {
 
-    private static final int CORE_SIZE_CHECK = 8;
-    private static final int CORE_SIZE_FACTOR = 4;
-    private static final int CONCURRENCY_LEVEL = 16;
-
-    private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
     private static final double HUNDRED_PERCENT = 100d;
 
-    @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING, level = MANDATORY)
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final InvocationSlots invocations;
     private final ILogger logger;
     private final CallIdSequence callIdSequence;
     private final boolean profilerEnabled;
@@ -85,12 +76,7 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
     public InvocationRegistry(ILogger logger, CallIdSequence callIdSequence, HazelcastProperties properties) {
         this.logger = logger;
         this.callIdSequence = callIdSequence;
-
-        int coreSize = RuntimeAvailableProcessors.get();
-        boolean reallyMultiCore = coreSize >= CORE_SIZE_CHECK;
-        int concurrencyLevel = reallyMultiCore ? coreSize * CORE_SIZE_FACTOR : CONCURRENCY_LEVEL;
-
-        this.invocations = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        this.invocations = new InvocationSlots(callIdSequence.getMaxConcurrentInvocations());
         this.profilerEnabled = properties.getInteger(InvocationProfilerPlugin.PERIOD_SECONDS) > 0;
     }
 
@@ -106,7 +92,7 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
             return 0;
         }
 
-        return (HUNDRED_PERCENT * invocations.size()) / maxConcurrentInvocations;
+        return (HUNDRED_PERCENT * size()) / maxConcurrentInvocations;
     }
 
     @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_LAST_CALL_ID)
@@ -154,7 +140,7 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
         if (!deactivate(invocation.op)) {
             return false;
         }
-        invocations.remove(invocation.op.getCallId());
+        invocations.remove(invocation.op.getCallId(), invocation);
         callIdSequence.complete();
         return true;
     }
@@ -179,21 +165,23 @@ public class InvocationRegistry implements Iterable<Invocation>, StaticMetricsPr
 
 
     /**
-     * Returns the number of pending invocations.
+     * Returns the number of pending invocations. It visits all the slots of the registry, so it shouldn't be called on
+     * a hot path.
      *
      * @return the number of pending invocations
      */
+    @Probe(name = OPERATION_METRIC_INVOCATION_REGISTRY_INVOCATIONS_PENDING, level = MANDATORY)
     public int size() {
         return invocations.size();
     }
 
     @Override
     public Iterator<Invocation> iterator() {
-        return invocations.values().iterator();
+        return invocations.iterator();
     }
 
     /**
-     * Intention to expose the entry set is to mutate it.
+     * Returns a snapshot of the invocations by their call IDs; changes to it aren't reflected in this registry.
      *
      * @return set of invocations in this registry
      */
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The pending invocations of the {@link InvocationRegistry}, indexed by
+ * their call IDs.
+ * <p>
+ * An invocation is stored in the slot of an array indexed by the low bits
+ * of its call ID, so registering, looking up and deregistering it don't
+ * box the call ID, hash it or allocate a map node. The slots are claimed
+ * and released with a CAS. The high bits of the call ID act as the
+ * generation of the slot: a lookup compares the call ID of the operation in
+ * the slot with the requested one, so a response to an invocation which is
+ * gone isn't matched with the next invocation claiming the slot.
+ * <p>
+ * The call ID sequence only bounds the number of concurrent invocations if
+ * back-pressure is enabled, and even then urgent operations and retries
+ * aren't bounded. A long-running invocation can still hold a slot when the
+ * call IDs wrap around to it. So if the slot of a call ID is taken, the
+ * invocation is stored in an overflow map instead, which is only looked up
+ * if it isn't empty.
+ */
+final class InvocationSlots implements Iterable<Invocation> {
+
+    static final int MIN_SLOT_COUNT = 1 << 10;
+    static final int MAX_SLOT_COUNT = 1 << 16;
+
+    private final AtomicReferenceArray<Invocation> slots;
+    private final int mask;
+    private final ConcurrentMap<Long, Invocation> overflow = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxConcurrentInvocations the maximum number of concurrent
+     *                                 invocations, the number of slots is the
+     *                                 next power of two, within
+     *                                 {@link #MIN_SLOT_COUNT} and
+     *                                 {@link #MAX_SLOT_COUNT}.
+     */
+    InvocationSlots(int maxConcurrentInvocations) {
+        int slotCount = nextPowerOfTwo(min(max(maxConcurrentInvocations, MIN_SLOT_COUNT), MAX_SLOT_COUNT));
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Adds an invocation, its operation must have the given call ID.
+     */
+    void put(long callId, Invocation invocation) {
+        if (!slots.compareAndSet(index(callId), null, invocation)) {
+            overflow.put(callId, invocation);
+        }
+    }
+
+    /**
+     * @return the invocation with the given call ID, or {@code null} if
+     * there is none.
+     */
+    Invocation get(long callId) {
+        Invocation invocation = slots.get(index(callId));
+        if (invocation != null && invocation.op.getCallId() == callId) {
+            return invocation;
+        }
+        return overflow.isEmpty() ? null : overflow.get(callId);
+    }
+
+    /**
+     * Removes an invocation added with the given call ID.
+     */
+    void remove(long callId, Invocation invocation) {
+        if (!slots.compareAndSet(index(callId), invocation, null)) {
+            overflow.remove(callId, invocation);
+        }
+    }
+
+    /**
+     * Counts the invocations, it visits all the slots.
+     *
+     * @return the number of invocations.
+     */
+    int size() {
+        int size = overflow.size();
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return a snapshot of the invocations by their call IDs.
+     */
+    Set<Map.Entry<Long, Invocation>> entrySet() {
+        Set<Map.Entry<Long, Invocation>> entries = new LinkedHashSet<>();
+        for (Invocation invocation : this) {
+            entries.add(new SimpleImmutableEntry<>(invocation.op.getCallId(), invocation));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns an iterator which reflects the concurrent changes of the
+     * invocations in the same manner as the iterators of a
+     * {@link ConcurrentHashMap}.
+     */
+    @Override
+    public Iterator<Invocation> iterator() {
+        return new InvocationIterator();
+    }
+
+    private int index(long callId) {
+        return (int) callId & mask;
+    }
+
+    private final class InvocationIterator implements Iterator<Invocation> {
+
+        private final Iterator<Invocation> overflowIterator = overflow.values().iterator();
+        private int index;
+        private Invocation next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && index < slots.length()) {
+                next = slots.get(index++);
+            }
+            return next != null || overflowIterator.hasNext();
+        }
+
+        @Override
+        public Invocation next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Invocation invocation = next;
+            if (invocation == null) {
+                return overflowIterator.next();
+            }
+            next = null;
+            return invocation;
+        }
+    }
+}
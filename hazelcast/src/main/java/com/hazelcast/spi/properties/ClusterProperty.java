@@ -304,6 +304,40 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * Optimization that writes the queued packets to the socket with a single
+     * gathering write. The headers and the small packets are coalesced into the
+     * send buffer, the payloads of the larger packets are written without being
+     * copied to the send buffer. It only applies to connections without other
+     * handlers after the packet encoder, so not to TLS connections.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITE_ENABLED
+            = new HazelcastProperty("hazelcast.io.gathering.write", false);
+
+    /**
+     * Enables the compression of the packets sent to other members, e.g. for
+     * bandwidth-bound WAN links or large values. Compression is negotiated per
+     * connection: the packets are only compressed if both members enable it, so
+     * it can be enabled member by member. Payloads smaller than
+     * {@link #IO_COMPRESSION_MIN_SIZE} aren't compressed, neither are payloads
+     * which don't compress well.
+     * <p>
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty IO_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.io.compression.enabled", false);
+
+    /**
+     * The minimum size in bytes of the packet payloads compressed when
+     * {@link #IO_COMPRESSION_ENABLED} is set.
+     * <p>
+     * The default is 1024 bytes.
+     */
+    public static final HazelcastProperty IO_COMPRESSION_MIN_SIZE
+            = new HazelcastProperty("hazelcast.io.compression.min.size", 1024);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -1151,6 +1185,28 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The maximum number of {@link com.hazelcast.map.MapLoader#loadAll(java.util.Collection)}
+     * calls running concurrently on a member, which is the pool size of the
+     * {@value com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_LOADER_EXECUTOR}
+     * executor. When not positive, the pool size is taken from the executor
+     * config matching the executor name, like any other executor's. An
+     * executor config named exactly like the executor overrides this
+     * property, a warning is logged when both are set.
+     */
+    public static final HazelcastProperty MAP_LOAD_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.load.parallelism", -1);
+
+    /**
+     * The maximum number of loaded batches of a value loading task waiting
+     * to be put into the partition's record store. When reached, the task
+     * waits for the oldest batch to be put before loading the next one,
+     * which bounds the memory used by loaded values when the partition
+     * threads are slower than the map loader.
+     */
+    public static final HazelcastProperty MAP_LOAD_MAX_PENDING_BATCHES
+            = new HazelcastProperty("hazelcast.map.load.max.pending.batches", 4);
+
     /**
      * Scheduler delay for map tasks those are executed on backup members.
      */
@@ -1184,6 +1240,107 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_EVICTION_BATCH_SIZE
             = new HazelcastProperty("hazelcast.map.eviction.batch.size", 1);
 
+    /**
+     * Comma-separated list of map names whose entries are kept in native
+     * (off-heap) memory instead of on the Java heap. Wildcards are matched
+     * the same way map configuration names are matched.
+     * <p>
+     * Only maps with {@link com.hazelcast.config.InMemoryFormat#BINARY}
+     * in-memory format can use the off-heap storage, the setting is ignored
+     * for the other maps. Keys, values and record metadata are stored off-heap,
+     * which removes them from the garbage collector's view at the expense of a
+     * copy on every read. The native memory held by a map is reported as its
+     * owned and backup entry memory cost and is excluded from its heap cost.
+     * <p>
+     * Default: empty, all maps keep their entries on-heap.
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_STORAGE_MAPS
+            = new HazelcastProperty("hazelcast.map.off.heap.storage.maps", "");
+
+    /**
+     * Comma-separated list of map names whose entries are kept in packed
+     * on-heap storage. Wildcards are matched the same way map configuration
+     * names are matched.
+     * <p>
+     * The packed storage keeps record metadata in primitive arrays indexed
+     * by slot instead of one record object and one hash map node per entry,
+     * which lowers the per-entry heap overhead and the number of objects the
+     * garbage collector has to trace. It suits maps with many small entries.
+     * Maps that are also listed in {@link #MAP_OFF_HEAP_STORAGE_MAPS} use
+     * the off-heap storage.
+     * <p>
+     * Default: empty, all maps use the default storage.
+     */
+    public static final HazelcastProperty MAP_PACKED_STORAGE_MAPS
+            = new HazelcastProperty("hazelcast.map.packed.storage.maps", "");
+
+    /**
+     * Memory budget, in bytes, of the deserialized values cached per
+     * partition of a map with {@link com.hazelcast.config.CacheDeserializedValues#ADAPTIVE}
+     * value caching. The footprint of a cached value is estimated by the
+     * heap cost of its serialized form. When the budget is used up, a value
+     * is cached only if its entry is accessed more frequently than the
+     * entry whose value it replaces.
+     * <p>
+     * Default: 64 KB, about 17 MB per map with the default partition count.
+     */
+    public static final HazelcastProperty MAP_ADAPTIVE_VALUE_CACHE_SIZE_BYTES
+            = new HazelcastProperty("hazelcast.map.adaptive.value.cache.size.bytes", 64 * 1024);
+
+    /**
+     * When enabled, a partition-wide {@link com.hazelcast.core.ReadOnly} entry
+     * processor, run by {@code IMap.executeOnEntries}, is not executed on the
+     * partition thread: the partition thread only takes a snapshot of the
+     * partition's entries, which are then processed in parallel on the
+     * {@value com.hazelcast.spi.impl.executionservice.ExecutionService#OFFLOADABLE_EXECUTOR}
+     * executor, so that the processor does not delay the other operations of
+     * the partition. Once processed, the entries are touched on the partition
+     * thread, which updates their access statistics and max-idle expiry. Does
+     * not apply to maps with {@code NATIVE} in-memory format.
+     * <p>
+     * Default: {@code true}
+     */
+    public static final HazelcastProperty MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED
+            = new HazelcastProperty("hazelcast.map.read.only.entry.processor.offload.enabled", true);
+
+    /**
+     * When enabled, {@code IMap.addIndex} on a map using global indexes
+     * does not populate the new index with the entries of a partition in a
+     * single run on the partition thread. The entries are populated in
+     * batches of {@link #MAP_INDEX_ONLINE_BUILD_BATCH_SIZE} entries instead,
+     * the partition thread runs the other operations of the partition
+     * between the batches. {@code IMap.addIndex} returns as soon as the
+     * index is registered: until all the partitions are populated, the
+     * queries don't use the index and scan the partitions instead.
+     * <p>
+     * The progress of the builds is exposed by the {@code map.index.build}
+     * metrics.
+     * <p>
+     * Default: {@code false}
+     */
+    public static final HazelcastProperty MAP_INDEX_ONLINE_BUILD_ENABLED
+            = new HazelcastProperty("hazelcast.map.index.online.build.enabled", false);
+
+    /**
+     * The number of entries of a partition an online index build populates
+     * the index with in a single run on the partition thread.
+     *
+     * @see #MAP_INDEX_ONLINE_BUILD_ENABLED
+     */
+    public static final HazelcastProperty MAP_INDEX_ONLINE_BUILD_BATCH_SIZE
+            = new HazelcastProperty("hazelcast.map.index.online.build.batch.size", 1000);
+
+    /**
+     * The delay between the batches of an online index build of a
+     * partition, throttles the build to leave the partition thread to the
+     * other operations. When zero, the next batch is queued on the
+     * partition thread right after the previous one.
+     *
+     * @see #MAP_INDEX_ONLINE_BUILD_ENABLED
+     */
+    public static final HazelcastProperty MAP_INDEX_ONLINE_BUILD_BATCH_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.map.index.online.build.batch.delay.millis", 0, MILLISECONDS);
+
     /**
      * Defines Near Cache invalidation event batch sending is enabled or not.
      */
@@ -1221,6 +1378,36 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Number of stripes the write-behind queues of a map are flushed by
+     * on a member. The partitions are spread over the stripes and the
+     * stripes store their entries concurrently on the
+     * {@code hz:map-write-behind} executor, whose pool size can be set by
+     * an {@link com.hazelcast.config.ExecutorConfig} of that name. The
+     * entries of a partition are always stored by the same stripe, in
+     * order.
+     * <p>
+     * With more than one stripe, each stripe splits its entries into
+     * {@code storeAll}/{@code deleteAll} batches whose size adapts to the
+     * latency of the map store, see
+     * {@link #MAP_WRITE_BEHIND_FLUSH_TARGET_LATENCY_MILLIS}. The configured
+     * {@link com.hazelcast.config.MapStoreConfig#getWriteBatchSize()},
+     * when greater than 1, is the maximum batch size.
+     * <p>
+     * Default: 1, the write-behind queues are flushed by a single thread.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT
+            = new HazelcastProperty("hazelcast.map.write.behind.flush.stripe.count", 1);
+
+    /**
+     * Target duration of a write-behind batch store of a flush stripe, see
+     * {@link #MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT}. A stripe halves its
+     * batch size after a batch took longer and doubles it after a full
+     * batch took less than half of it.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_FLUSH_TARGET_LATENCY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.flush.target.latency.millis", 1000, MILLISECONDS);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.getters.PrimitiveAccumulator;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.hazelcast.aggregation.TestSamples.createExtractableEntryWithValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PrimitiveAccumulationTest {
+
+    private static final List<String> ATTRIBUTES = Arrays.asList(
+            "byteField", "shortField", "intField", "longField", "floatField", "doubleField",
+            "intMethod", "doubleMethod", "nested.longField");
+
+    private static final List<Function<String, Aggregator>> AGGREGATORS = Arrays.asList(
+            Aggregators::count, Aggregators::integerSum, Aggregators::longSum, Aggregators::doubleSum,
+            Aggregators::fixedPointSum, Aggregators::floatingPointSum, Aggregators::integerAvg,
+            Aggregators::longAvg, Aggregators::doubleAvg, Aggregators::numberAvg);
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void accumulate_matchesBoxedAccumulation() {
+        List<QueryableEntry> entries = new ArrayList<>();
+        for (int i = -50; i < 50; i++) {
+            entries.add((QueryableEntry) createExtractableEntryWithValue(new Sample(i), ss));
+        }
+
+        for (Function<String, Aggregator> factory : AGGREGATORS) {
+            for (String attribute : ATTRIBUTES) {
+                Aggregator primitive = factory.apply(attribute);
+                Aggregator boxed = factory.apply(attribute);
+                for (QueryableEntry entry : entries) {
+                    primitive.accumulate(entry);
+                    boxed.accumulate(boxed(entry));
+                }
+                assertEquals(primitive + " of " + attribute, boxed.aggregate(), primitive.aggregate());
+            }
+        }
+    }
+
+    @Test
+    public void accumulate_whenValueNotExactlyRepresentable_thenFailLikeBoxedAccumulation() {
+        Sample sample = new Sample(0);
+        sample.longField = Long.MAX_VALUE - 1;
+        sample.doubleField = 0.5;
+        QueryableEntry entry = (QueryableEntry) createExtractableEntryWithValue(sample, ss);
+
+        assertFailsLikeBoxed(Aggregators.integerSum("longField"), entry);
+        assertFailsLikeBoxed(Aggregators.integerAvg("doubleField"), entry);
+        assertFailsLikeBoxed(Aggregators.longSum("doubleField"), entry);
+        assertFailsLikeBoxed(Aggregators.doubleAvg("longField"), entry);
+    }
+
+    @Test
+    public void extract_whenNumericPrimitive_thenAccumulated() {
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        RecordingAccumulator accumulator = new RecordingAccumulator();
+        Sample sample = new Sample(3);
+
+        assertSame(PrimitiveAccumulator.ACCUMULATED, extractors.extract(sample, "shortField", null, accumulator));
+        assertSame(PrimitiveAccumulator.ACCUMULATED, extractors.extract(sample, "floatField", null, accumulator));
+        assertSame(PrimitiveAccumulator.ACCUMULATED, extractors.extract(sample, "nested.longField", null, accumulator));
+        assertEquals("[3, 3.0, 4]", accumulator.values.toString());
+
+        // other values are returned as usual
+        assertEquals(3, extractors.extract(sample, "boxedField", null, accumulator));
+        assertEquals(true, extractors.extract(sample, "booleanField", null, accumulator));
+        assertEquals(3, extractors.extract(sample, "ints[0]", null, accumulator));
+        assertEquals("[3, 3.0, 4]", accumulator.values.toString());
+    }
+
+    private void assertFailsLikeBoxed(Aggregator aggregator, QueryableEntry entry) {
+        Class<?> expected = null;
+        try {
+            aggregator.accumulate(boxed(entry));
+            fail();
+        } catch (RuntimeException e) {
+            expected = e.getClass();
+        }
+        try {
+            aggregator.accumulate(entry);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals(expected, e.getClass());
+        }
+    }
+
+    /**
+     * Hides the entry behind a plain {@link Extractable}, so the aggregators
+     * extract its boxed attribute values.
+     */
+    private static Extractable boxed(QueryableEntry entry) {
+        return attributeName -> entry.getAttributeValue(attributeName);
+    }
+
+    private static final class RecordingAccumulator implements PrimitiveAccumulator {
+
+        private final List<Object> values = new ArrayList<>();
+
+        @Override
+        public void accumulateLong(long value) {
+            values.add(value);
+        }
+
+        @Override
+        public void accumulateDouble(double value) {
+            values.add(value);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    public static class Sample {
+
+        public byte byteField;
+        public short shortField;
+        public int intField;
+        public long longField;
+        public float floatField;
+        public double doubleField;
+        public boolean booleanField = true;
+        public Integer boxedField;
+        public int[] ints;
+        public Sample nested;
+
+        Sample(int value) {
+            this(value, true);
+        }
+
+        private Sample(int value, boolean withNested) {
+            byteField = (byte) value;
+            shortField = (short) value;
+            intField = value;
+            longField = value;
+            floatField = value;
+            doubleField = value;
+            boxedField = value;
+            ints = new int[]{value};
+            nested = withNested ? new Sample(value + 1, false) : null;
+        }
+
+        public int intMethod() {
+            return intField * 2;
+        }
+
+        public double doubleMethod() {
+            return doubleField * 2;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.cluster.impl.MemberImpl;
+import com.hazelcast.internal.networking.ByteArrayGatheringChannel;
+import com.hazelcast.internal.networking.GatheringWriteBuffer;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.impl.HeapData;
@@ -38,12 +40,15 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
@@ -53,8 +58,10 @@ import static com.hazelcast.client.impl.protocol.ClientMessage.UNFRAGMENTED_MESS
 import static com.hazelcast.client.impl.protocol.util.ClientMessageSplitter.getFragments;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -342,6 +349,52 @@ public class ClientMessageEncoderDecoderTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testGather() throws IOException {
+        byte[] largeValue = new byte[3000];
+        new Random().nextBytes(largeValue);
+        HeapData value = new HeapData(largeValue);
+        ClientMessage large = MapPutCodec.encodeRequest("map", randomData(), value, 5, 10);
+        ClientMessage small = MapPutCodec.encodeRequest("map", randomData(), randomData(), 6, 10);
+        Queue<ClientMessage> queue = new LinkedList<>(asList(large, small));
+
+        ClientMessageEncoder encoder = new ClientMessageEncoder();
+        encoder.src(queue::poll);
+
+        // the large message exceeds the byte budget, so it takes multiple batches
+        GatheringWriteBuffer buffer = new GatheringWriteBuffer(ByteBuffer.allocate(1000));
+        ByteArrayGatheringChannel channel = new ByteArrayGatheringChannel();
+        HandlerStatus result;
+        int batches = 0;
+        do {
+            buffer.clear();
+            result = encoder.onGather(buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                buffer.writeTo(channel);
+            }
+            batches++;
+        } while (result != CLEAN);
+
+        assertTrue(batches > 1);
+
+        List<ClientMessage> resultingMessages = new ArrayList<>();
+        ClientMessageDecoder decoder = new ClientMessageDecoder(null, resultingMessages::add, null);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+
+        ByteBuffer written = ByteBuffer.wrap(channel.toByteArray());
+        upcast(written).position(written.limit());
+
+        decoder.src(written);
+        decoder.onRead();
+
+        assertEquals(2, resultingMessages.size());
+        MapPutCodec.RequestParameters largeParameters = MapPutCodec.decodeRequest(resultingMessages.get(0));
+        assertEquals(5, largeParameters.threadId);
+        assertEquals(value, largeParameters.value);
+        assertEquals(6, MapPutCodec.decodeRequest(resultingMessages.get(1)).threadId);
+    }
+
     private ClientMessage createMessage(int frameLength, int frameCount) {
         ClientMessage message = ClientMessage.createForEncode();
 
@@ -287,6 +287,7 @@ public class EnumCompatibilityTest {
         mappings.put(CacheDeserializedValues.NEVER, "NEVER");
         mappings.put(CacheDeserializedValues.ALWAYS, "ALWAYS");
         mappings.put(CacheDeserializedValues.INDEX_ONLY, "INDEX_ONLY");
+        mappings.put(CacheDeserializedValues.ADAPTIVE, "ADAPTIVE");
         verifyCompatibility(CacheDeserializedValues.values(), CacheDeserializedValues::name, mappings);
     }
 
@@ -393,6 +394,7 @@ public class EnumCompatibilityTest {
         mappings.put(EvictionPolicy.LFU, "LFU");
         mappings.put(EvictionPolicy.NONE, "NONE");
         mappings.put(EvictionPolicy.RANDOM, "RANDOM");
+        mappings.put(EvictionPolicy.TINY_LFU, "TINY_LFU");
         verifyCompatibility(EvictionPolicy.values(), EvictionPolicy::name, mappings);
     }
 
@@ -78,6 +78,18 @@ public class CacheDeserializedValuesTest extends HazelcastTestSupport {
         assertEquals(CacheDeserializedValues.ALWAYS, cacheDeserializedValues);
     }
 
+    @Test
+    public void parseString_whenADAPTIVE() {
+        CacheDeserializedValues cacheDeserializedValues = CacheDeserializedValues.parseString("ADAPTIVE");
+        assertEquals(CacheDeserializedValues.ADAPTIVE, cacheDeserializedValues);
+    }
+
+    @Test
+    public void parseString_whenAdaptive() {
+        CacheDeserializedValues cacheDeserializedValues = CacheDeserializedValues.parseString("adaptive");
+        assertEquals(CacheDeserializedValues.ADAPTIVE, cacheDeserializedValues);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void parseString_whenUnknownString() {
         CacheDeserializedValues cacheDeserializedValues = CacheDeserializedValues.parseString("does no exist");
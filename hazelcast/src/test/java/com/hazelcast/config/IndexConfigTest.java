@@ -18,6 +18,7 @@ package com.hazelcast.config;
 
 import com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation;
 import com.hazelcast.query.QueryConstants;
+import com.hazelcast.query.impl.IndexUtils;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -29,6 +30,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
@@ -67,6 +69,33 @@ public class IndexConfigTest {
 
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name"), true);
         checkIndexQuality(new IndexConfig().setName("name"), new IndexConfig().setName("name2"), false);
+
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig().addIncludedAttribute("a"), true);
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig().addIncludedAttribute("b"), false);
+        checkIndexQuality(new IndexConfig().addIncludedAttribute("a"), new IndexConfig(), false);
+    }
+
+    @Test
+    public void testIncludedAttributesNormalization() {
+        IndexConfig config = new IndexConfig(IndexType.HASH, "this.a")
+                .setIncludedAttributes(asList("this.b", "a", "c"));
+
+        IndexConfig normalized = IndexUtils.validateAndNormalize("map", config);
+
+        assertEquals(asList("b", "c"), normalized.getIncludedAttributes());
+        assertEquals(normalized, new IndexConfig(normalized));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncludedAttributesDuplicate() {
+        IndexConfig config = new IndexConfig(IndexType.HASH, "a").setIncludedAttributes(asList("b", "this.b"));
+
+        IndexUtils.validateAndNormalize("map", config);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncludedAttributeEmptyAdd() {
+        new IndexConfig().addIncludedAttribute("");
     }
 
     private void checkIndexQuality(IndexConfig config1, IndexConfig config2, boolean expected) {
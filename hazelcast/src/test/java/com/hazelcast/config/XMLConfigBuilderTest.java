@@ -83,6 +83,7 @@ import static com.hazelcast.config.RestEndpointGroup.HEALTH_CHECK;
 import static com.hazelcast.config.WanQueueFullBehavior.THROW_EXCEPTION;
 import static com.hazelcast.internal.util.StringUtil.lowerCaseInternal;
 import static java.io.File.createTempFile;
+import static java.util.Arrays.asList;
 import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -2657,8 +2658,18 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "                   <memory-tier>"
                 + "                       <capacity value=\"1138\" unit=\"BYTES\" />"
                 + "                   </memory-tier>"
+                + "                   <on-heap>true</on-heap>"
                 + "               </btree-index>"
                 + "           </index>\n"
+                + "           <index type=\"HASH\">\n"
+                + "               <attributes>\n"
+                + "                   <attribute>id</attribute>\n"
+                + "               </attributes>\n"
+                + "               <included-attributes>\n"
+                + "                   <attribute>name</attribute>\n"
+                + "                   <attribute>age</attribute>\n"
+                + "               </included-attributes>\n"
+                + "           </index>\n"
                 + "       </indexes>"
                 + "   </map>"
                 + HAZELCAST_END_TAG;
@@ -2674,6 +2685,9 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
+        assertTrue(bTreeIndexConfig.isOnHeap());
+        assertIndexEqual("id", false, indexConfigs.get(3));
+        assertEquals(asList("name", "age"), indexConfigs.get(3).getIncludedAttributes());
     }
 
     private static void assertIndexEqual(String expectedAttribute, boolean expectedOrdered, IndexConfig indexConfig) {
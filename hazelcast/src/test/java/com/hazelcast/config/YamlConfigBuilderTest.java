@@ -2651,6 +2651,13 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "              capacity: \n"
                 + "                value: 1138\n"
                 + "                unit: BYTES\n"
+                + "            on-heap: true\n"
+                + "        - type: HASH\n"
+                + "          attributes:\n"
+                + "            - \"id\"\n"
+                + "          included-attributes:\n"
+                + "            - \"name\"\n"
+                + "            - \"age\"\n"
                 ;
 
         Config config = buildConfig(yaml);
@@ -2664,6 +2671,9 @@ public class YamlConfigBuilderTest extends AbstractConfigBuilderTest {
         BTreeIndexConfig bTreeIndexConfig = indexConfigs.get(2).getBTreeIndexConfig();
         assertEquals(Capacity.of(1337, MemoryUnit.BYTES), bTreeIndexConfig.getPageSize());
         assertEquals(Capacity.of(1138, MemoryUnit.BYTES), bTreeIndexConfig.getMemoryTierConfig().getCapacity());
+        assertTrue(bTreeIndexConfig.isOnHeap());
+        assertIndexEqual("id", false, indexConfigs.get(3));
+        assertEquals(asList("name", "age"), indexConfigs.get(3).getIncludedAttributes());
     }
 
     @Override
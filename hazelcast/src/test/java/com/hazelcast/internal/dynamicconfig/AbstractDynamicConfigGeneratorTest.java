@@ -226,7 +226,9 @@ public abstract class AbstractDynamicConfigGeneratorTest extends HazelcastTestSu
         BTreeIndexConfig bTreeIndexConfig = indexConfig.getBTreeIndexConfig();
         bTreeIndexConfig.getMemoryTierConfig().setCapacity(Capacity.of(1337, MemoryUnit.GIGABYTES));
         bTreeIndexConfig.setPageSize(Capacity.of(4871, MemoryUnit.GIGABYTES));
+        bTreeIndexConfig.setOnHeap(true);
         expectedConfig.addIndexConfig(indexConfig);
+        expectedConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "id").setIncludedAttributes(asList("name", "age")));
 
         Config config = new Config()
                 .addMapConfig(expectedConfig);
@@ -21,6 +21,9 @@ import com.hazelcast.core.EntryEvent;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.LifecycleEvent;
 import com.hazelcast.instance.impl.LifecycleServiceImpl;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.collectors.MetricsCollector;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.PartitionContainer;
@@ -41,6 +44,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.MERGED;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.MERGING;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_EXPIRED_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_MAX_LAG;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EXPIRATION_TOTAL_LAG;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_EXPIRATION;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.eviction.MapClearExpiredRecordsTask.PROP_PRIMARY_DRIVES_BACKUP;
 import static com.hazelcast.test.Accessors.getNodeEngineImpl;
@@ -182,6 +189,72 @@ public class MapExpirationManagerTest extends AbstractExpirationManagerTest {
                 hasClearExpiredRecordsTaskStarted(node));
     }
 
+    @Test
+    public void expiredEntries_areCleared_andReportedInExpirationMetrics() {
+        int entryCount = 1000;
+        Config config = getConfig();
+        config.setProperty(taskPeriodSecondsPropName(), "1");
+        HazelcastInstance node = createHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = node.getMap("test");
+        for (int i = 0; i < entryCount; i++) {
+            map.put(i, i, 1, SECONDS);
+        }
+
+        MetricsRegistry registry = getNodeEngineImpl(node).getMetricsRegistry();
+        assertTrueEventually(() -> {
+            ExpirationMetricsCollector collector = new ExpirationMetricsCollector("test");
+            registry.collect(collector);
+
+            assertEquals(entryCount, collector.expiredCount);
+            assertTrue(collector.maxLag >= 0 && collector.maxLag <= collector.totalLag);
+        });
+    }
+
+    private static class ExpirationMetricsCollector implements MetricsCollector {
+
+        private final String mapName;
+        private long expiredCount;
+        private long totalLag;
+        private long maxLag;
+
+        ExpirationMetricsCollector(String mapName) {
+            this.mapName = mapName;
+        }
+
+        @Override
+        public void collectLong(MetricDescriptor descriptor, long value) {
+            if (!MAP_PREFIX_EXPIRATION.equals(descriptor.prefix()) || !mapName.equals(descriptor.discriminatorValue())) {
+                return;
+            }
+            switch (descriptor.metric()) {
+                case MAP_METRIC_EXPIRATION_EXPIRED_COUNT:
+                    expiredCount = value;
+                    break;
+                case MAP_METRIC_EXPIRATION_TOTAL_LAG:
+                    totalLag = value;
+                    break;
+                case MAP_METRIC_EXPIRATION_MAX_LAG:
+                    maxLag = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void collectDouble(MetricDescriptor descriptor, double value) {
+        }
+
+        @Override
+        public void collectException(MetricDescriptor descriptor, Exception e) {
+        }
+
+        @Override
+        public void collectNoValue(MetricDescriptor descriptor) {
+        }
+    }
+
     private boolean hasClearExpiredRecordsTaskStarted(HazelcastInstance node) {
         MapService service = getNodeEngineImpl(node).getService(MapService.SERVICE_NAME);
         return service.getMapServiceContext().getExpirationManager().isScheduled();
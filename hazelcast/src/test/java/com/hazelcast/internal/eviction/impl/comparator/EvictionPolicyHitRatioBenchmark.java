@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Replays key access traces against a cache of fixed capacity that
+ * evicts by sampling, like the IMap, JCache and Near Cache record stores
+ * do, and prints the hit ratio of each eviction policy.
+ * <p>
+ * Without arguments it generates synthetic traces: a Zipfian workload,
+ * the same workload polluted by periodic scans of never repeated keys,
+ * the same workload with a periodically changing set of popular keys,
+ * and a loop slightly larger than the cache. A real trace can be replayed
+ * by passing the path of a file holding one numeric key per line and the
+ * cache capacity, e.g. {@code trace.txt 10000}.
+ * <p>
+ * This is no JUnit test.
+ */
+public class EvictionPolicyHitRatioBenchmark {
+
+    private static final int SAMPLE_COUNT = 15;
+    private static final int KEY_SPACE = 100_000;
+    private static final int ACCESS_COUNT = 2_000_000;
+    private static final int CAPACITY = 2_000;
+    private static final double ZIPF_EXPONENT = 0.9;
+    private static final int SCAN_INTERVAL = 20_000;
+    private static final int SCAN_LENGTH = 5_000;
+    private static final int SHIFT_INTERVAL = 200_000;
+    private static final int SHIFT_DISTANCE = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            run(args[0], readTrace(args[0]), Integer.parseInt(args[1]));
+            return;
+        }
+
+        long[] zipf = zipf(new Random(42));
+        run("zipf", zipf, CAPACITY);
+        run("zipf+scans", withScans(zipf), CAPACITY);
+        run("zipf+shifts", withShifts(zipf), CAPACITY);
+        run("loop", loop(CAPACITY + CAPACITY / 10), CAPACITY);
+    }
+
+    private static void run(String traceName, long[] trace, int capacity) {
+        System.out.printf("%-12s capacity=%d accesses=%d%n", traceName, capacity, trace.length);
+        run("LRU", () -> LRUEvictionPolicyComparator.INSTANCE, trace, capacity);
+        run("LFU", () -> LFUEvictionPolicyComparator.INSTANCE, trace, capacity);
+        run("RANDOM", () -> RandomEvictionPolicyComparator.INSTANCE, trace, capacity);
+        run("TINY_LFU", null, trace, capacity);
+    }
+
+    private static void run(String policyName, Supplier<EvictionPolicyComparator> comparatorSupplier,
+                            long[] trace, int capacity) {
+        SimulatedCache cache = new SimulatedCache(comparatorSupplier, capacity);
+        long hits = 0;
+        for (long key : trace) {
+            if (cache.access(key)) {
+                hits++;
+            }
+        }
+        System.out.printf("    %-10s hitRatio=%.2f%%%n", policyName, 100d * hits / trace.length);
+    }
+
+    /**
+     * A sampled cache with a logical clock: every access is one tick.
+     */
+    private static final class SimulatedCache {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final List<Entry> slots = new ArrayList<>();
+        private final Random random = new Random(7);
+        private final EvictionPolicyEvaluator<Long, Entry> evaluator;
+        private final TinyLfuEvictionPolicyComparator tinyLfu;
+        private final int capacity;
+
+        private long tick;
+
+        SimulatedCache(Supplier<EvictionPolicyComparator> comparatorSupplier, int capacity) {
+            this.capacity = capacity;
+            this.tinyLfu = comparatorSupplier == null ? new TinyLfuEvictionPolicyComparator() : null;
+            this.evaluator = new EvictionPolicyEvaluator<>(tinyLfu != null ? tinyLfu : comparatorSupplier.get());
+        }
+
+        boolean access(long key) {
+            tick++;
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.lastAccessTime = tick;
+                entry.hits++;
+                if (tinyLfu != null) {
+                    tinyLfu.recordAccess(key);
+                }
+                return true;
+            }
+
+            if (entries.size() >= capacity) {
+                evict();
+            }
+            entry = new Entry(key, tick, slots.size());
+            entries.put(key, entry);
+            slots.add(entry);
+            if (tinyLfu != null) {
+                tinyLfu.ensureCapacity(entries.size());
+                tinyLfu.recordAccess(key);
+            }
+            return false;
+        }
+
+        private void evict() {
+            List<Entry> samples = new ArrayList<>(SAMPLE_COUNT);
+            for (int i = 0; i < SAMPLE_COUNT; i++) {
+                samples.add(slots.get(random.nextInt(slots.size())));
+            }
+            Entry victim = evaluator.evaluate(samples);
+
+            entries.remove(victim.key);
+            Entry last = slots.remove(slots.size() - 1);
+            if (last != victim) {
+                slots.set(victim.slot, last);
+                last.slot = victim.slot;
+            }
+        }
+    }
+
+    private static final class Entry implements EvictionCandidate<Long, Entry>, Evictable<Object> {
+
+        private final long key;
+        private final long creationTime;
+        private long lastAccessTime;
+        private long hits;
+        private int slot;
+
+        Entry(long key, long creationTime, int slot) {
+            this.key = key;
+            this.creationTime = creationTime;
+            this.slot = slot;
+        }
+
+        @Override
+        public Long getAccessor() {
+            return key;
+        }
+
+        @Override
+        public Entry getEvictable() {
+            return this;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return null;
+        }
+
+        @Override
+        public long getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public long getHits() {
+            return hits;
+        }
+    }
+
+    private static long[] zipf(Random random) {
+        double[] cumulative = new double[KEY_SPACE];
+        double sum = 0;
+        for (int i = 0; i < KEY_SPACE; i++) {
+            sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cumulative[i] = sum;
+        }
+
+        long[] trace = new long[ACCESS_COUNT];
+        for (int i = 0; i < trace.length; i++) {
+            double target = random.nextDouble() * sum;
+            int index = Arrays.binarySearch(cumulative, target);
+            trace[i] = index >= 0 ? index : -index - 1;
+        }
+        return trace;
+    }
+
+    private static long[] withScans(long[] trace) {
+        long[] polluted = trace.clone();
+        long scanKey = KEY_SPACE;
+        for (int start = SCAN_INTERVAL; start + SCAN_LENGTH <= polluted.length; start += SCAN_INTERVAL) {
+            for (int i = start; i < start + SCAN_LENGTH; i++) {
+                polluted[i] = scanKey++;
+            }
+        }
+        return polluted;
+    }
+
+    private static long[] withShifts(long[] trace) {
+        long[] shifted = trace.clone();
+        for (int i = 0; i < shifted.length; i++) {
+            long shift = (long) (i / SHIFT_INTERVAL) * SHIFT_DISTANCE;
+            shifted[i] = (shifted[i] + shift) % KEY_SPACE;
+        }
+        return shifted;
+    }
+
+    private static long[] loop(int length) {
+        long[] trace = new long[ACCESS_COUNT];
+        for (int i = 0; i < trace.length; i++) {
+            trace[i] = i % length;
+        }
+        return trace;
+    }
+
+    private static long[] readTrace(String path) throws IOException {
+        return Files.lines(Paths.get(path))
+                .filter(line -> !line.trim().isEmpty())
+                .mapToLong(line -> Long.parseLong(line.trim()))
+                .toArray();
+    }
+}
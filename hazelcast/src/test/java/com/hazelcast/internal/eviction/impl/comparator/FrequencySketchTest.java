@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.eviction.impl.comparator.FrequencySketch.MAX_CAPACITY;
+import static com.hazelcast.internal.eviction.impl.comparator.FrequencySketch.MAX_FREQUENCY;
+import static com.hazelcast.internal.eviction.impl.comparator.FrequencySketch.MIN_CAPACITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FrequencySketchTest {
+
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    @Test
+    public void testFrequency_ofUnrecordedKey_isZero() {
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void testIncrement() {
+        for (int i = 1; i <= 5; i++) {
+            sketch.increment(42);
+            assertEquals(i, sketch.frequency(42));
+        }
+    }
+
+    @Test
+    public void testFrequency_saturates() {
+        for (int i = 0; i < 2 * MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void testFrequency_isHalved_afterSampleOfIncrements() {
+        sketch.ensureCapacity(1024);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(42);
+        }
+
+        // 10 * capacity increments of distinct keys trigger the reset
+        for (int key = 1000; key < 1000 + 10 * sketch.capacity(); key++) {
+            sketch.increment(key);
+        }
+
+        // halved, plus the noise of colliding keys
+        int frequency = sketch.frequency(42);
+        assertTrue("frequency: " + frequency, frequency >= 4 && frequency < 8);
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        assertEquals(MIN_CAPACITY, sketch.capacity());
+
+        assertFalse(sketch.ensureCapacity(MIN_CAPACITY - 1));
+        assertTrue(sketch.ensureCapacity(1000));
+        assertEquals(1024, sketch.capacity());
+        assertFalse(sketch.ensureCapacity(1000));
+        assertFalse(sketch.ensureCapacity(10));
+        assertTrue(sketch.ensureCapacity(Integer.MAX_VALUE));
+        assertEquals(MAX_CAPACITY, sketch.capacity());
+    }
+
+    @Test
+    public void testEnsureCapacity_discardsFrequencies_whenGrowing() {
+        sketch.increment(42);
+
+        sketch.ensureCapacity(1000);
+
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void testFrequencies_ofManyKeys_areMostlyAccurate() {
+        int keyCount = 1000;
+        sketch.ensureCapacity(keyCount);
+        for (int key = 0; key < keyCount; key++) {
+            for (int i = 0; i < key % 4; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        int exact = 0;
+        for (int key = 0; key < keyCount; key++) {
+            int frequency = sketch.frequency(key);
+            assertTrue(frequency >= key % 4);
+            if (frequency == key % 4) {
+                exact++;
+            }
+        }
+        assertTrue("exact estimates: " + exact, exact > keyCount * 9 / 10);
+    }
+}
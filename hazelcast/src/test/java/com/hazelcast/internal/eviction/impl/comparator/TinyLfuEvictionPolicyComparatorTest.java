@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.util.SampleableConcurrentHashMap.SamplingEntry;
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TinyLfuEvictionPolicyComparatorTest {
+
+    private TinyLfuEvictionPolicyComparator comparator;
+
+    @Before
+    public void setUp() {
+        comparator = new TinyLfuEvictionPolicyComparator();
+        // a window of 10 accesses
+        comparator.ensureCapacity(1000);
+    }
+
+    @Test
+    public void testEntriesInWindow_areOrderedByRecency() {
+        TestEntryView older = access("older");
+        TestEntryView newer = access("newer");
+
+        assertTrue(comparator.compare(older, newer) < 0);
+        assertTrue(comparator.compare(newer, older) > 0);
+    }
+
+    @Test
+    public void testLessFrequentEntry_isEvictedFirst() {
+        TestEntryView frequent = access("frequent");
+        access(frequent);
+        access(frequent);
+        TestEntryView rare = access("rare");
+        leaveWindow();
+
+        assertTrue(comparator.compare(rare, frequent) < 0);
+        assertTrue(comparator.compare(frequent, rare) > 0);
+    }
+
+    @Test
+    public void testEntryInWindow_isEvictedAfterEntriesOutsideWindow() {
+        TestEntryView frequent = access("frequent");
+        access(frequent);
+        leaveWindow();
+        TestEntryView recent = access("recent");
+
+        assertTrue(comparator.compare(frequent, recent) < 0);
+    }
+
+    @Test
+    public void testEntryLeavingWindowLast_isEvictedFirst_whenFrequenciesAreEqual() {
+        TestEntryView older = access("older");
+        TestEntryView newer = access("newer");
+        leaveWindow();
+
+        assertTrue(comparator.compare(newer, older) < 0);
+    }
+
+    @Test
+    public void testFrequency_isRememberedForEvictedKeys() {
+        for (int i = 0; i < 3; i++) {
+            comparator.recordAccess("evicted");
+        }
+
+        assertEquals(3, comparator.frequency("evicted"));
+    }
+
+    @Test
+    public void testSamplingEntry_isComparedByItsStoredKey() {
+        TestSamplingEntry frequent = new TestSamplingEntry("frequent");
+        TestSamplingEntry rare = new TestSamplingEntry("rare");
+        comparator.recordAccess("frequent");
+        comparator.recordAccess("frequent");
+        comparator.recordAccess("rare");
+        leaveWindow();
+
+        List<TestSamplingEntry> entries = Arrays.asList(frequent, rare);
+        entries.sort(comparator);
+
+        assertEquals(Arrays.asList(rare, frequent), entries);
+    }
+
+    private TestEntryView access(String key) {
+        return access(new TestEntryView(key));
+    }
+
+    private TestEntryView access(TestEntryView entryView) {
+        comparator.recordAccess(entryView.key);
+        return entryView;
+    }
+
+    private void leaveWindow() {
+        for (int i = 0; i < 10; i++) {
+            comparator.recordAccess("other-" + i);
+        }
+    }
+
+    private static class TestEntryView implements EvictableEntryView<Object, Object> {
+
+        private final String key;
+
+        TestEntryView(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return 0;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return 0;
+        }
+
+        @Override
+        public long getHits() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    private static class TestSamplingEntry extends SamplingEntry<String, Object>
+            implements EvictableEntryView<Object, Object> {
+
+        TestSamplingEntry(String key) {
+            super(key, null);
+        }
+
+        @Override
+        public Object getKey() {
+            throw new UnsupportedOperationException("the stored key must be used");
+        }
+
+        @Override
+        public Object getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return 1;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return 1;
+        }
+
+        @Override
+        public long getHits() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
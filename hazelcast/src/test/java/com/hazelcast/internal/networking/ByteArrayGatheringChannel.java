@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * A {@link GatheringByteChannel} collecting the written bytes, which
+ * accepts at most a given number of bytes per write.
+ */
+public class ByteArrayGatheringChannel implements GatheringByteChannel {
+
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private final int maxBytesPerWrite;
+    private int maxBuffersPerWrite;
+
+    public ByteArrayGatheringChannel() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public ByteArrayGatheringChannel(int maxBytesPerWrite) {
+        this.maxBytesPerWrite = maxBytesPerWrite;
+    }
+
+    public byte[] toByteArray() {
+        return written.toByteArray();
+    }
+
+    public int maxBuffersPerWrite() {
+        return maxBuffersPerWrite;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        maxBuffersPerWrite = Math.max(maxBuffersPerWrite, length);
+        long total = 0;
+        for (int k = offset; k < offset + length && total < maxBytesPerWrite; k++) {
+            ByteBuffer src = srcs[k];
+            int bytes = (int) Math.min(src.remaining(), maxBytesPerWrite - total);
+            for (int i = 0; i < bytes; i++) {
+                written.write(src.get());
+            }
+            total += bytes;
+        }
+        return total;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs) {
+        return write(srcs, 0, srcs.length);
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        return (int) write(new ByteBuffer[]{src});
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.networking.GatheringWriteBuffer.MAX_BUFFERS;
+import static com.hazelcast.internal.networking.GatheringWriteBuffer.MAX_COALESCED_BYTES;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GatheringWriteBufferTest {
+
+    private static final int CAPACITY = 4096;
+
+    private GatheringWriteBuffer buffer;
+    private ByteArrayOutputStream expected;
+
+    @Before
+    public void setup() {
+        buffer = new GatheringWriteBuffer(ByteBuffer.allocate(CAPACITY));
+        buffer.clear();
+        expected = new ByteArrayOutputStream();
+    }
+
+    @Test
+    public void whenEmpty() throws Exception {
+        buffer.flip();
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(0, buffer.writeTo(new ByteArrayGatheringChannel()));
+    }
+
+    @Test
+    public void whenSmallPayloads_thenCoalesced() throws Exception {
+        addFrame(10);
+        addFrame(MAX_COALESCED_BYTES);
+        buffer.flip();
+
+        ByteArrayGatheringChannel channel = new ByteArrayGatheringChannel();
+        buffer.writeTo(channel);
+
+        assertEquals(1, channel.maxBuffersPerWrite());
+        assertWritten(channel);
+    }
+
+    @Test
+    public void whenLargePayloads_thenAddedAsViews() throws Exception {
+        addFrame(10);
+        byte[] large = addFrame(MAX_COALESCED_BYTES + 1);
+        addFrame(10);
+        buffer.flip();
+
+        // the payload isn't copied
+        large[0] = 42;
+        ByteArrayGatheringChannel channel = new ByteArrayGatheringChannel();
+        buffer.writeTo(channel);
+
+        assertEquals(3, channel.maxBuffersPerWrite());
+        // after the first frame and the header of the large one
+        assertEquals(42, channel.toByteArray()[8 + 10 + 8]);
+    }
+
+    @Test
+    public void whenPartiallyWritten_thenRemainderWrittenNext() throws Exception {
+        for (int k = 0; k < 10; k++) {
+            addFrame(k * 500);
+        }
+        buffer.flip();
+
+        ByteArrayGatheringChannel channel = new ByteArrayGatheringChannel(777);
+        int writes = 0;
+        while (buffer.hasRemaining()) {
+            assertTrue(buffer.writeTo(channel) > 0);
+            writes++;
+        }
+
+        assertTrue(writes > 1);
+        assertWritten(channel);
+    }
+
+    @Test
+    public void hasRoom_whenByteBudgetExhausted() {
+        addFrame(CAPACITY);
+
+        assertFalse(buffer.hasRoom(8));
+    }
+
+    @Test
+    public void hasRoom_whenHeaderDoesNotFit() {
+        buffer.coalescingBuffer().put(new byte[CAPACITY - 4]);
+
+        assertFalse(buffer.hasRoom(8));
+        assertTrue(buffer.hasRoom(4));
+    }
+
+    @Test
+    public void hasRoom_whenBuffersExhausted() {
+        buffer = new GatheringWriteBuffer(ByteBuffer.allocate(CAPACITY * CAPACITY));
+        buffer.clear();
+        int frames = 0;
+        while (buffer.hasRoom(1)) {
+            buffer.coalescingBuffer().put((byte) 1);
+            buffer.add(new byte[MAX_COALESCED_BYTES + 1], 0, MAX_COALESCED_BYTES + 1);
+            frames++;
+        }
+
+        assertEquals((MAX_BUFFERS - 1) / 2, frames);
+    }
+
+    @Test
+    public void clear_whenPartiallyWritten_thenDiscarded() throws Exception {
+        addFrame(CAPACITY);
+        buffer.flip();
+        buffer.writeTo(new ByteArrayGatheringChannel(10));
+
+        buffer.clear();
+        expected = new ByteArrayOutputStream();
+        addFrame(10);
+        buffer.flip();
+
+        ByteArrayGatheringChannel channel = new ByteArrayGatheringChannel();
+        buffer.writeTo(channel);
+        assertWritten(channel);
+    }
+
+    // adds an 8 byte header followed by a payload of the given length
+    private byte[] addFrame(int payloadLength) {
+        byte[] header = new byte[8];
+        Arrays.fill(header, (byte) payloadLength);
+        byte[] payload = new byte[payloadLength];
+        for (int k = 0; k < payloadLength; k++) {
+            payload[k] = (byte) k;
+        }
+
+        buffer.coalescingBuffer().put(header);
+        buffer.add(payload, 0, payloadLength);
+        expected.write(header, 0, header.length);
+        expected.write(payload, 0, payloadLength);
+        return payload;
+    }
+
+    private void assertWritten(ByteArrayGatheringChannel channel) {
+        assertFalse(buffer.hasRemaining());
+        assertArrayEquals(expected.toByteArray(), channel.toByteArray());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LzBlockCodecTest {
+
+    private final LzBlockCodec codec = new LzBlockCodec();
+    private final Random random = new Random();
+
+    @Test
+    public void compress_whenEmpty() {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void compress_whenRepetitive() {
+        byte[] src = new byte[100_000];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = (byte) (i % 17);
+        }
+
+        int compressedLength = assertRoundTrip(src);
+
+        assertTrue(compressedLength < src.length / 10);
+    }
+
+    @Test
+    public void compress_whenRandom() {
+        byte[] src = new byte[10_000];
+        random.nextBytes(src);
+
+        int compressedLength = assertRoundTrip(src);
+
+        assertTrue(compressedLength <= LzBlockCodec.maxCompressedLength(src.length));
+    }
+
+    @Test
+    public void compress_whenMixed() {
+        for (int length = 1; length < 2_000; length += 7) {
+            byte[] src = new byte[length];
+            for (int i = 0; i < length; i++) {
+                src[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : i / 13);
+            }
+            assertRoundTrip(src);
+        }
+    }
+
+    @Test
+    public void compress_withOffsets() {
+        byte[] src = new byte[5_000];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = (byte) (i % 251 / 3);
+        }
+        byte[] dst = new byte[11 + LzBlockCodec.maxCompressedLength(4_000)];
+
+        int compressedLength = codec.compress(src, 500, 4_000, dst, 11);
+        byte[] decompressed = new byte[4_003];
+        LzBlockCodec.decompress(dst, 11, compressedLength, decompressed, 3, 4_000);
+
+        assertArrayEquals(Arrays.copyOfRange(src, 500, 4_500), Arrays.copyOfRange(decompressed, 3, 4_003));
+    }
+
+    @Test
+    public void decompress_whenMalformed_thenThrowIllegalArgumentException() {
+        byte[] src = new byte[1_000];
+        for (int i = 0; i < src.length; i++) {
+            src[i] = (byte) (i % 10);
+        }
+        byte[] compressed = compress(src);
+
+        for (int i = 0; i < 100; i++) {
+            byte[] corrupted = compressed.clone();
+            corrupted[random.nextInt(corrupted.length)] = (byte) random.nextInt();
+            int length = 1 + random.nextInt(corrupted.length);
+            try {
+                LzBlockCodec.decompress(corrupted, 0, length, new byte[src.length], 0, src.length);
+            } catch (IllegalArgumentException expected) {
+                ignore(expected);
+            }
+        }
+
+        try {
+            LzBlockCodec.decompress(compressed, 0, compressed.length - 1, new byte[src.length], 0, src.length);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            ignore(expected);
+        }
+    }
+
+    private int assertRoundTrip(byte[] src) {
+        byte[] compressed = compress(src);
+        byte[] decompressed = new byte[src.length];
+        LzBlockCodec.decompress(compressed, 0, compressed.length, decompressed, 0, src.length);
+        assertArrayEquals(src, decompressed);
+        return compressed.length;
+    }
+
+    private byte[] compress(byte[] src) {
+        byte[] dst = new byte[LzBlockCodec.maxCompressedLength(src.length)];
+        int length = codec.compress(src, 0, src.length, dst, 0);
+        return Arrays.copyOf(dst, length);
+    }
+}
@@ -33,9 +33,15 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -112,6 +118,36 @@ public class BufferPoolTest extends HazelcastTestSupport {
         assertEquals(Version.UNKNOWN, found2.getVersion());
     }
 
+    @Test
+    public void returnOutputBuffer_whenGrown_thenArraysPooled() throws IOException {
+        bufferPool = new BufferPoolImpl(serializationService, 8 * 1024 * 1024);
+        byte[] bytes = new byte[1 << 20];
+        new Random().nextBytes(bytes);
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.write(bytes);
+        bufferPool.returnOutputBuffer(out);
+
+        assertTrue(bufferPool.arrayPool.retainedBytes() >= bytes.length);
+
+        BufferObjectDataOutput found = bufferPool.takeOutputBuffer();
+        found.write(bytes);
+
+        assertSame(out, found);
+        assertArrayEquals(bytes, found.toByteArray());
+        assertTrue(bufferPool.arrayPool.retainedBytes() < bytes.length);
+    }
+
+    @Test
+    public void returnOutputBuffer_whenArrayPoolDisabled() throws IOException {
+        bufferPool = new BufferPoolImpl(serializationService, 0);
+        BufferObjectDataOutput out = bufferPool.takeOutputBuffer();
+        out.write(new byte[1 << 20]);
+        bufferPool.returnOutputBuffer(out);
+
+        assertNull(bufferPool.arrayPool);
+        assertSame(out, bufferPool.takeOutputBuffer());
+    }
+
     // ======================= in ==========================================
 
     @Test
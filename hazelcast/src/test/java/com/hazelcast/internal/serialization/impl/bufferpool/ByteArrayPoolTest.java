@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.MIN_CLASS_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ByteArrayPoolTest {
+
+    private final ByteArrayPool pool = new ByteArrayPool(4 * MIN_CLASS_SIZE);
+
+    @Test
+    public void take_whenEmpty_thenArrayOfSizeClass() {
+        assertEquals(MIN_CLASS_SIZE, pool.take(1).length);
+        assertEquals(MIN_CLASS_SIZE, pool.take(MIN_CLASS_SIZE).length);
+        assertEquals(2 * MIN_CLASS_SIZE, pool.take(MIN_CLASS_SIZE + 1).length);
+        assertEquals(0, pool.retainedBytes());
+    }
+
+    @Test
+    public void take_whenLargerThanLargestClass_thenExactArray() {
+        assertEquals(4 * MIN_CLASS_SIZE + 1, pool.take(4 * MIN_CLASS_SIZE + 1).length);
+    }
+
+    @Test
+    public void take_whenOffered_thenPooledArray() {
+        byte[] array = pool.take(MIN_CLASS_SIZE + 1);
+        pool.offer(array);
+
+        assertEquals(2 * MIN_CLASS_SIZE, pool.retainedBytes());
+        assertSame(array, pool.take(2 * MIN_CLASS_SIZE - 1));
+        assertEquals(0, pool.retainedBytes());
+        assertNotSame(array, pool.take(2 * MIN_CLASS_SIZE));
+    }
+
+    @Test
+    public void offer_whenClassTaken_thenNotRetained() {
+        byte[] array = new byte[MIN_CLASS_SIZE];
+        pool.offer(array);
+        pool.offer(new byte[MIN_CLASS_SIZE]);
+
+        assertEquals(MIN_CLASS_SIZE, pool.retainedBytes());
+        assertSame(array, pool.take(MIN_CLASS_SIZE));
+    }
+
+    @Test
+    public void offer_whenNotSizeOfClass_thenNotRetained() {
+        pool.offer(new byte[MIN_CLASS_SIZE / 2]);
+        pool.offer(new byte[MIN_CLASS_SIZE + 1]);
+        pool.offer(new byte[8 * MIN_CLASS_SIZE]);
+
+        assertEquals(0, pool.retainedBytes());
+    }
+
+    @Test
+    public void offer_whenMaxRetainedBytesExceeded_thenNotRetained() {
+        pool.offer(new byte[4 * MIN_CLASS_SIZE]);
+        pool.offer(new byte[MIN_CLASS_SIZE]);
+
+        assertEquals(4 * MIN_CLASS_SIZE, pool.retainedBytes());
+
+        pool.take(4 * MIN_CLASS_SIZE);
+        pool.offer(new byte[MIN_CLASS_SIZE]);
+        pool.offer(new byte[2 * MIN_CLASS_SIZE]);
+
+        assertEquals(3 * MIN_CLASS_SIZE, pool.retainedBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenMaxRetainedBytesNegative() {
+        new ByteArrayPool(-1);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.compact.GenerateCompactSerializer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import example.serialization.GeneratedSerializerDTO;
+import example.serialization.GeneratedSerializerDTO_CompactSerializer;
+import example.serialization.NamedDTO;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class GeneratedCompactSerializersTest {
+
+    @Test
+    public void find_whenAnnotated() {
+        assertEquals(GeneratedSerializerDTO_CompactSerializer.class,
+                GeneratedCompactSerializers.find(GeneratedSerializerDTO.class).getClass());
+    }
+
+    @Test
+    public void find_whenNotAnnotated() {
+        assertNull(GeneratedCompactSerializers.find(NamedDTO.class));
+    }
+
+    @Test
+    public void find_whenNotGenerated() {
+        assertNull(GeneratedCompactSerializers.find(NotGeneratedDTO.class));
+    }
+
+    @Test
+    public void serializerClassName_whenNested() {
+        assertEquals(getClass().getName() + "_NotGeneratedDTO_CompactSerializer",
+                GeneratedCompactSerializers.serializerClassName(NotGeneratedDTO.class));
+    }
+
+    @Test
+    public void generatedSerializerIsUsed() {
+        assertGeneratedSerializerIsUsed(new SerializationConfig());
+    }
+
+    @Test
+    public void generatedSerializerIsUsed_whenClassIsRegistered() {
+        CompactSerializationConfig compactSerializationConfig = new CompactSerializationConfig()
+                .addClass(GeneratedSerializerDTO.class);
+        assertGeneratedSerializerIsUsed(new SerializationConfig().setCompactSerializationConfig(compactSerializationConfig));
+    }
+
+    @Test
+    public void reflectiveSerializerIsUsed_whenNotGenerated() {
+        SerializationService serializationService = createSerializationService(new SerializationConfig());
+        NotGeneratedDTO object = new NotGeneratedDTO();
+        object.value = 42;
+
+        NotGeneratedDTO deserialized = serializationService.toObject(serializationService.toData(object));
+
+        assertEquals(42, deserialized.value);
+    }
+
+    private static void assertGeneratedSerializerIsUsed(SerializationConfig serializationConfig) {
+        SerializationService serializationService = createSerializationService(serializationConfig);
+        GeneratedSerializerDTO object = new GeneratedSerializerDTO("name", 42);
+
+        GeneratedSerializerDTO deserialized = serializationService.toObject(serializationService.toData(object));
+
+        assertTrue(deserialized.readByGeneratedSerializer);
+        assertEquals("name", deserialized.name);
+        assertEquals(42, deserialized.age);
+    }
+
+    private static SerializationService createSerializationService(SerializationConfig serializationConfig) {
+        return new DefaultSerializationServiceBuilder()
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .setConfig(serializationConfig)
+                .build();
+    }
+
+    @GenerateCompactSerializer
+    public static class NotGeneratedDTO {
+
+        public int value;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PacketCompressorTest {
+
+    private static final int MIN_SIZE = 100;
+
+    private PacketCompression compression;
+    private PacketCompressor compressor;
+
+    @Before
+    public void setup() {
+        compression = new PacketCompression(true, MIN_SIZE);
+        compressor = compression.newCompressor();
+    }
+
+    @Test
+    public void compress_whenNotEnabled() {
+        Packet packet = new Packet(compressible(1000));
+
+        assertSame(packet, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_whenBelowMinSize() {
+        compressor.enable();
+        Packet packet = new Packet(compressible(MIN_SIZE - 1));
+
+        Packet empty = new Packet();
+
+        assertSame(packet, compressor.compress(packet));
+        assertSame(empty, compressor.compress(empty));
+    }
+
+    @Test
+    public void compress_thenDecompress() {
+        compressor.enable();
+        byte[] payload = compressible(10_000);
+        Packet packet = new Packet(payload, 42).raiseFlags(FLAG_URGENT);
+
+        Packet compressed = compressor.compress(packet);
+
+        assertNotSame(packet, compressed);
+        assertTrue(compressed.totalSize() < payload.length);
+        assertTrue(compressed.isFlagRaised(FLAG_COMPRESSED));
+        assertTrue(compressed.isFlagRaised(FLAG_URGENT));
+        assertEquals(42, compressed.getPartitionId());
+
+        Packet decompressed = PacketCompression.decompress(compressed);
+        assertEquals(packet, decompressed);
+        assertArrayEquals(payload, packet.toByteArray());
+
+        assertEquals(1, compression.compressedPackets.get());
+        assertEquals(payload.length, compression.uncompressedBytes.get());
+        assertEquals(compressed.totalSize(), compression.compressedBytes.get());
+        assertTrue(compression.ratio() < 100);
+    }
+
+    @Test
+    public void compress_whenIncompressible_thenNextPacketsBypassed() {
+        compressor.enable();
+        byte[] random = new byte[1000];
+        new Random().nextBytes(random);
+        Packet incompressible = new Packet(random);
+        Packet compressible = new Packet(compressible(1000));
+
+        assertSame(incompressible, compressor.compress(incompressible));
+        assertSame(compressible, compressor.compress(compressible));
+        assertNotSame(compressible, compressor.compress(compressible));
+
+        // the back-off doubles while the payloads don't compress
+        assertSame(incompressible, compressor.compress(incompressible));
+        assertSame(incompressible, compressor.compress(incompressible));
+        assertSame(incompressible, compressor.compress(incompressible));
+        assertSame(compressible, compressor.compress(compressible));
+        assertSame(compressible, compressor.compress(compressible));
+        assertNotSame(compressible, compressor.compress(compressible));
+
+        assertEquals(2, compression.compressedPackets.get());
+        assertEquals(7, compression.bypassedPackets.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenMalformed() {
+        PacketCompression.decompress(new Packet(new byte[]{0, 0, 1, 0, 5}).raiseFlags(FLAG_COMPRESSED));
+    }
+
+    private static byte[] compressible(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i % 26 + 'a');
+        }
+        return bytes;
+    }
+}
@@ -119,6 +119,32 @@ public class PacketDecoderTest extends HazelcastTestSupport {
         assertEquals(1, priorityPacketCounter.get());
     }
 
+    @Test
+    public void whenCompressedPacket() throws Exception {
+        ByteBuffer src = ByteBuffer.allocate(1000);
+        Packet packet = new Packet(serializationService.toBytes(repeat("foobar", 100)), 5)
+                .raiseFlags(Packet.FLAG_URGENT);
+        PacketCompressor compressor = new PacketCompression(true, 0).newCompressor();
+        compressor.enable();
+        new PacketIOHelper().writeTo(compressor.compress(packet), src);
+
+        decoder.src(src);
+        decoder.onRead();
+
+        assertEquals(1, dispatcher.packets.size());
+        Packet found = dispatcher.packets.get(0);
+        assertEquals(packet, found);
+        assertEquals(1, priorityPacketCounter.get());
+    }
+
+    private static String repeat(String s, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
     class ConsumerStub implements Consumer<Packet> {
         private List<Packet> packets = new LinkedList<Packet>();
 
@@ -16,6 +16,8 @@
 
 package com.hazelcast.internal.server.tcp;
 
+import com.hazelcast.internal.networking.ByteArrayGatheringChannel;
+import com.hazelcast.internal.networking.GatheringWriteBuffer;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
@@ -39,6 +41,7 @@ import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.util.JVMUtil.upcast;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -91,6 +94,47 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenPacketsGathered() throws Exception {
+        Packet small = new Packet(serializationService.toBytes("foobar"));
+        Packet large = new Packet(serializationService.toBytes(new byte[3000]), 1);
+        Packet empty = new Packet();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(small);
+        src.queue.add(large);
+        src.queue.add(empty);
+        src.queue.add(small);
+
+        encoder.src(src);
+
+        // the large packet exceeds the byte budget, so it takes multiple batches
+        GatheringWriteBuffer buffer = new GatheringWriteBuffer(ByteBuffer.allocate(1000));
+        ByteArrayGatheringChannel channel = new ByteArrayGatheringChannel(100);
+        HandlerStatus result;
+        int batches = 0;
+        do {
+            buffer.clear();
+            result = encoder.onGather(buffer);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                buffer.writeTo(channel);
+            }
+            batches++;
+        } while (result != CLEAN);
+
+        assertTrue(batches > 1);
+
+        // now we read out the written bytes and check if we can find the gathered packets.
+        ByteBuffer written = ByteBuffer.wrap(channel.toByteArray());
+        PacketIOHelper reader = new PacketIOHelper();
+        assertEquals(small, reader.readFrom(written));
+        assertEquals(large, reader.readFrom(written));
+        assertEquals(0, reader.readFrom(written).totalSize());
+        assertEquals(small, reader.readFrom(written));
+        assertEquals(0, written.remaining());
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SortingUtilTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void selectFirst_sortsListSmallerThanLimit() {
+        List<Integer> list = new ArrayList<>(asList(3, 1, 2));
+
+        assertEquals(asList(1, 2, 3), SortingUtil.selectFirst(list, Comparator.naturalOrder(), 5));
+    }
+
+    @Test
+    public void selectFirst_selectsSmallestItemsInOrder() {
+        for (int i = 0; i < 100; i++) {
+            int size = random.nextInt(1000);
+            List<Integer> list = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                // duplicates included
+                list.add(random.nextInt(500));
+            }
+            int limit = 1 + random.nextInt(100);
+
+            List<Integer> expected = new ArrayList<>(list);
+            expected.sort(Comparator.naturalOrder());
+            expected = expected.subList(0, Math.min(limit, size));
+
+            assertEquals(expected, SortingUtil.selectFirst(list, Comparator.naturalOrder(), limit));
+        }
+    }
+
+    @Test
+    public void selectFirst_zeroLimit() {
+        List<Integer> list = new ArrayList<>(asList(3, 1, 2));
+
+        assertTrue(SortingUtil.selectFirst(list, Comparator.naturalOrder(), 0).isEmpty());
+    }
+}
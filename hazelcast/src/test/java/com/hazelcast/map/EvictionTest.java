@@ -605,6 +605,52 @@ public class EvictionTest extends HazelcastTestSupport {
         testEvictionLFUInternal(true);
     }
 
+    @Test
+    public void testEvictionTinyLfu_keepsFrequentlyAccessedEntries_whenScanned() {
+        int mapMaxSize = 100;
+        int hotKeyCount = mapMaxSize / 2;
+        String mapName = randomMapName();
+
+        MapConfig mapConfig = newMapConfig(mapName)
+                .setPerEntryStatsEnabled(perEntryStatsEnabled);
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(EvictionPolicy.TINY_LFU)
+                .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                .setSize(mapMaxSize);
+
+        Config config = getConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "1")
+                .addMapConfig(mapConfig);
+
+        HazelcastInstance node = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = node.getMap(mapName);
+
+        for (int i = 0; i < mapMaxSize; i++) {
+            map.put(i, i);
+        }
+        // a scan of never repeated keys, while the hot keys are read, and
+        // put back if missing, less often than LRU would need to keep them
+        for (int i = mapMaxSize; i < 20 * mapMaxSize; i++) {
+            map.put(i, i);
+            if (i % 3 == 0) {
+                int hotKey = (i / 3) % hotKeyCount;
+                if (map.get(hotKey) == null) {
+                    map.put(hotKey, hotKey);
+                }
+            }
+        }
+
+        int keptHotKeyCount = 0;
+        for (int i = 0; i < hotKeyCount; i++) {
+            if (map.containsKey(i)) {
+                keptHotKeyCount++;
+            }
+        }
+        assertTrue("Only " + keptHotKeyCount + " of " + hotKeyCount + " frequently accessed entries were kept",
+                keptHotKeyCount > hotKeyCount * 8 / 10);
+        assertTrue(map.size() <= mapMaxSize);
+    }
+
     /**
      * This test is only testing occurrence of LFU eviction.
      */
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapPutAllIndexAndListenerTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getMapConfig("default").addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        map = instances[0].getMap(randomMapName());
+    }
+
+    @Test
+    public void testPutAll_updatesIndexAndPublishesEvents() {
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger updated = new AtomicInteger();
+        map.addEntryListener(new CountingListener(added, updated), false);
+
+        map.putAll(entries(0));
+        map.putAll(entries(ENTRY_COUNT));
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals(0, map.values(Predicates.lessThan("this", ENTRY_COUNT)).size());
+        assertEquals(ENTRY_COUNT, map.values(Predicates.greaterEqual("this", ENTRY_COUNT)).size());
+        assertEquals(1, map.values(Predicates.equal("this", 2 * ENTRY_COUNT - 1)).size());
+        assertTrueEventually(() -> {
+            assertEquals(ENTRY_COUNT, added.get());
+            assertEquals(ENTRY_COUNT, updated.get());
+        });
+    }
+
+    private static Map<Integer, Integer> entries(int valueOffset) {
+        Map<Integer, Integer> entries = new HashMap<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.put(i, valueOffset + i);
+        }
+        return entries;
+    }
+
+    private static class CountingListener implements EntryAddedListener<Integer, Integer>,
+            EntryUpdatedListener<Integer, Integer> {
+
+        private final AtomicInteger added;
+        private final AtomicInteger updated;
+
+        CountingListener(AtomicInteger added, AtomicInteger updated) {
+            this.added = added;
+            this.updated = updated;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent<Integer, Integer> event) {
+            added.incrementAndGet();
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<Integer, Integer> event) {
+            updated.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.IndexBuildProgress;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.LocalIndexStats;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INDEX_ONLINE_BUILD_BATCH_DELAY_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INDEX_ONLINE_BUILD_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_INDEX_ONLINE_BUILD_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OnlineIndexBuildTest extends HazelcastTestSupport {
+
+    private static final String INDEX_NAME = "index";
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void addIndex_populatesPartitionsInBatches() {
+        HazelcastInstance instance = createHazelcastInstance(config(true, 10, 0));
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        map.addIndex(new IndexConfig(IndexType.SORTED, "this").setName(INDEX_NAME));
+
+        IndexBuildProgress progress = getIndexBuildProgress(instance, map.getName());
+        assertTrueEventually(() -> assertEquals(3, progress.getCompletedPartitionCount()));
+        assertEquals(0, progress.getPendingPartitionCount());
+        assertEquals(0, progress.getAbortedPartitionCount());
+        assertEquals(ENTRY_COUNT, progress.getPopulatedEntryCount());
+
+        assertEquals(100, map.keySet(Predicates.lessThan("this", 100)).size());
+        LocalIndexStats indexStats = map.getLocalMapStats().getIndexStats().get(INDEX_NAME);
+        assertEquals(1, indexStats.getQueryCount());
+    }
+
+    @Test
+    public void addIndex_indexesUpdatesDoneDuringTheBuild() {
+        // a batch of a single entry every few milliseconds
+        HazelcastInstance instance = createHazelcastInstance(config(true, 1, 2));
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        map.addIndex(new IndexConfig(IndexType.SORTED, "this").setName(INDEX_NAME));
+        IndexBuildProgress progress = getIndexBuildProgress(instance, map.getName());
+        assertTrue(progress.getPendingPartitionCount() > 0);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            if (i % 5 == 0) {
+                map.remove(i);
+            } else if (i % 2 == 0) {
+                map.put(i, i + ENTRY_COUNT);
+            }
+        }
+        for (int i = ENTRY_COUNT; i < 2 * ENTRY_COUNT; i += 7) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(0, progress.getPendingPartitionCount()));
+        assertEquals(3, progress.getCompletedPartitionCount());
+
+        Set<Integer> expected = new HashSet<>();
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            if (entry.getValue() >= ENTRY_COUNT) {
+                expected.add(entry.getKey());
+            }
+        }
+        assertEquals(expected, map.keySet(Predicates.greaterEqual("this", ENTRY_COUNT)));
+        assertEquals(1, map.getLocalMapStats().getIndexStats().get(INDEX_NAME).getQueryCount());
+    }
+
+    @Test
+    public void addIndex_whenDisabled_populatesPartitionsRightAway() {
+        HazelcastInstance instance = createHazelcastInstance(config(false, 10, 0));
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        map.addIndex(new IndexConfig(IndexType.SORTED, "this").setName(INDEX_NAME));
+
+        assertEquals(100, map.keySet(Predicates.lessThan("this", 100)).size());
+        assertEquals(1, map.getLocalMapStats().getIndexStats().get(INDEX_NAME).getQueryCount());
+        assertTrue(getMapServiceContext(instance).getMapContainer(map.getName()).getIndexBuildProgresses().isEmpty());
+    }
+
+    private static Config config(boolean enabled, int batchSize, int batchDelayMillis) {
+        Config config = smallInstanceConfig();
+        config.setProperty(PARTITION_COUNT.getName(), "3");
+        config.setProperty(MAP_INDEX_ONLINE_BUILD_ENABLED.getName(), String.valueOf(enabled));
+        config.setProperty(MAP_INDEX_ONLINE_BUILD_BATCH_SIZE.getName(), String.valueOf(batchSize));
+        config.setProperty(MAP_INDEX_ONLINE_BUILD_BATCH_DELAY_MILLIS.getName(), String.valueOf(batchDelayMillis));
+        return config;
+    }
+
+    private static IndexBuildProgress getIndexBuildProgress(HazelcastInstance instance, String mapName) {
+        return getMapServiceContext(instance).getMapContainer(mapName).getIndexBuildProgress(INDEX_NAME);
+    }
+
+    private static MapServiceContext getMapServiceContext(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext();
+    }
+}
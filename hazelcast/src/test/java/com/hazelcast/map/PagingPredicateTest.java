@@ -146,6 +146,53 @@ public class PagingPredicateTest extends HazelcastTestSupport {
         assertIterableEquals(values, 0, 1, 2, 3, 4);
     }
 
+    @Test
+    public void testPagingForwardAndBackwardAcrossAllPages() {
+        PagingPredicate<Integer, Integer> predicate = Predicates.pagingPredicate(pageSize);
+        int pageCount = size / pageSize;
+        for (int page = 0; page < pageCount; page++) {
+            assertPage(map.values(predicate), page);
+            predicate.nextPage();
+        }
+        assertEquals(0, map.values(predicate).size());
+
+        for (int page = pageCount - 1; page >= 0; page--) {
+            predicate.previousPage();
+            assertPage(map.values(predicate), page);
+        }
+    }
+
+    @Test
+    public void testRetainNearestAnchorOnly() {
+        PagingPredicateImpl<Integer, Integer> predicate = (PagingPredicateImpl) Predicates.pagingPredicate(pageSize);
+        predicate.setIterationType(IterationType.VALUE);
+        for (int page = 0; page < 4; page++) {
+            map.values(predicate);
+            predicate.nextPage();
+        }
+        predicate.setPage(3);
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = predicate.getNearestAnchorEntry();
+
+        PagingPredicateImpl<Integer, Integer> copy = new PagingPredicateImpl<>(predicate);
+        copy.retainNearestAnchorOnly();
+
+        assertEquals(1, copy.getAnchorList().size());
+        assertEquals(nearestAnchorEntry, copy.getNearestAnchorEntry());
+        assertEquals(4, predicate.getAnchorList().size());
+
+        copy.setPage(0);
+        copy.retainNearestAnchorOnly();
+        assertEquals(0, copy.getAnchorList().size());
+    }
+
+    private void assertPage(Collection<Integer> values, int page) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = page * pageSize; i < (page + 1) * pageSize; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, new ArrayList<>(values));
+    }
+
     @Test
     public void testPagingWithoutFilteringAndComparator() {
         List<Integer> set = new ArrayList<>();
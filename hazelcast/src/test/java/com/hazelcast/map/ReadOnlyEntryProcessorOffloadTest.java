@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@Parameterized.UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReadOnlyEntryProcessorOffloadTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 5000;
+    private static final Map<String, Set<String>> THREAD_NAMES = new ConcurrentHashMap<>();
+    private static final Map<String, CountDownLatch> STARTED_LATCHES = new ConcurrentHashMap<>();
+    private static final Map<String, CountDownLatch> LATCHES = new ConcurrentHashMap<>();
+
+    @Parameterized.Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Parameterized.Parameters(name = "inMemoryFormat:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT},
+        });
+    }
+
+    @Test
+    public void executeOnEntries_processesAllEntries_offThePartitionThreads() {
+        String name = randomMapName();
+        IMap<Integer, Integer> map = createMap(name, true);
+
+        Map<Integer, Integer> results = map.executeOnEntries(new DoublingProcessor(name));
+
+        assertEquals(ENTRY_COUNT, results.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(2 * i, (int) results.get(i));
+            assertEquals(i, (int) map.get(i));
+        }
+        for (String threadName : THREAD_NAMES.get(name)) {
+            assertFalse(threadName, threadName.contains("partition-operation"));
+        }
+    }
+
+    @Test
+    public void executeOnEntries_withPredicate_processesMatchingEntries() {
+        String name = randomMapName();
+        IMap<Integer, Integer> map = createMap(name, true);
+
+        Map<Integer, Integer> results = map.executeOnEntries(new DoublingProcessor(name),
+                Predicates.lessThan("this", 100));
+
+        assertEquals(100, results.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2 * i, (int) results.get(i));
+        }
+    }
+
+    @Test
+    public void executeOnEntries_whenDisabled_runsOnThePartitionThreads() {
+        String name = randomMapName();
+        IMap<Integer, Integer> map = createMap(name, false);
+
+        Map<Integer, Integer> results = map.executeOnEntries(new DoublingProcessor(name));
+
+        assertEquals(ENTRY_COUNT, results.size());
+        for (String threadName : THREAD_NAMES.get(name)) {
+            assertTrue(threadName, threadName.contains("partition-operation"));
+        }
+    }
+
+    @Test
+    public void executeOnEntries_doesNotBlockWrites() throws Exception {
+        String name = randomMapName();
+        // a single partition, so its snapshot is taken once processing starts
+        IMap<Integer, Integer> map = createMap(name, true, 1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        STARTED_LATCHES.put(name, startedLatch);
+        LATCHES.put(name, latch);
+
+        Future<Map<Integer, Integer>> future = spawn(() -> map.executeOnEntries(new BlockingProcessor(name)));
+        assertOpenEventually(startedLatch);
+        // the partition is being processed, yet writes go through
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.set(i, -i);
+        }
+        latch.countDown();
+
+        Map<Integer, Integer> results = future.get();
+        assertEquals(ENTRY_COUNT, results.size());
+        for (int i = 1; i < ENTRY_COUNT; i++) {
+            // the processor sees the entries as they were when it started
+            assertEquals(i, (int) results.get(i));
+        }
+    }
+
+    @Test
+    public void executeOnEntries_touchesProcessedEntries() {
+        String name = randomMapName();
+        THREAD_NAMES.put(name, ConcurrentHashMap.newKeySet());
+        Config config = smallInstanceConfig()
+                .setProperty(MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED.getName(), "true");
+        config.getMapConfig(name).setInMemoryFormat(inMemoryFormat).setPerEntryStatsEnabled(true);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(name);
+        map.put(0, 0, 0, SECONDS, 3, SECONDS);
+        map.set(1, 1);
+        long hits = map.getEntryView(0).getHits();
+        long notProcessedHits = map.getEntryView(1).getHits();
+
+        for (int i = 0; i < 5; i++) {
+            sleepSeconds(1);
+            assertEquals(1, map.executeOnEntries(new DoublingProcessor(name), Predicates.lessThan("this", 1)).size());
+        }
+
+        // the reads kept extending the max-idle expiry
+        assertEquals(hits + 5, map.getEntryView(0).getHits());
+        assertEquals(notProcessedHits, map.getEntryView(1).getHits());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void executeOnEntries_whenProcessorModifiesEntry_fails() {
+        String name = randomMapName();
+        IMap<Integer, Integer> map = createMap(name, true);
+
+        map.executeOnEntries(new ModifyingProcessor());
+    }
+
+    private IMap<Integer, Integer> createMap(String name, boolean offloadEnabled) {
+        return createMap(name, offloadEnabled, 3);
+    }
+
+    private IMap<Integer, Integer> createMap(String name, boolean offloadEnabled, int partitionCount) {
+        THREAD_NAMES.put(name, ConcurrentHashMap.newKeySet());
+        Config config = smallInstanceConfig()
+                .setProperty(PARTITION_COUNT.getName(), String.valueOf(partitionCount))
+                .setProperty(MAP_READ_ONLY_ENTRY_PROCESSOR_OFFLOAD_ENABLED.getName(), String.valueOf(offloadEnabled));
+        config.getMapConfig(name).setInMemoryFormat(inMemoryFormat);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(name);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.set(i, i);
+        }
+        return map;
+    }
+
+    private static class DoublingProcessor implements EntryProcessor<Integer, Integer, Integer>, ReadOnly {
+
+        private final String name;
+
+        DoublingProcessor(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Integer process(Map.Entry<Integer, Integer> entry) {
+            THREAD_NAMES.get(name).add(Thread.currentThread().getName());
+            return 2 * entry.getValue();
+        }
+
+        @Override
+        public EntryProcessor<Integer, Integer, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+
+    private static class BlockingProcessor implements EntryProcessor<Integer, Integer, Integer>, ReadOnly {
+
+        private final String name;
+
+        BlockingProcessor(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Integer process(Map.Entry<Integer, Integer> entry) {
+            STARTED_LATCHES.get(name).countDown();
+            assertOpenEventually(LATCHES.get(name));
+            return entry.getValue();
+        }
+
+        @Override
+        public EntryProcessor<Integer, Integer, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+
+    private static class ModifyingProcessor implements EntryProcessor<Integer, Integer, Integer>, ReadOnly {
+
+        @Override
+        public Integer process(Map.Entry<Integer, Integer> entry) {
+            entry.setValue(entry.getValue() + 1);
+            return null;
+        }
+
+        @Override
+        public EntryProcessor<Integer, Integer, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.map.MapLoader;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_CHUNK_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_MAX_PENDING_BATCHES;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOAD_PARALLELISM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapLoaderStatsTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void initialLoad_isReportedInStats() {
+        Config config = getConfig(new SimpleMapLoader(ENTRY_COUNT, false));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("default");
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertTrueEventually(() -> {
+            LocalMapStats stats = map.getLocalMapStats();
+            assertEquals(ENTRY_COUNT, stats.getLoadedEntryCount());
+            assertEquals(0, stats.getPendingLoadKeyCount());
+        });
+    }
+
+    @Test
+    public void loadLatency_isReportedInStats() {
+        Config config = getConfig(new SimpleMapLoader(ENTRY_COUNT, true));
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("default");
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertTrueEventually(() -> assertTrue(map.getLocalMapStats().getTotalLoadLatency() >= 150));
+    }
+
+    @Test
+    public void loadAll_withOnePendingBatch_loadsAllKeys() {
+        Config config = getConfig(new SimpleMapLoader(ENTRY_COUNT, false))
+                .setProperty(MAP_LOAD_CHUNK_SIZE.getName(), "10")
+                .setProperty(MAP_LOAD_MAX_PENDING_BATCHES.getName(), "1");
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("default");
+        assertEquals(ENTRY_COUNT, map.size());
+
+        map.evictAll();
+        Set<Integer> keys = new HashSet<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            keys.add(i);
+        }
+        map.loadAll(keys, true);
+
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void loadParallelism_limitsConcurrentLoadAllCalls() {
+        ConcurrencyTrackingMapLoader loader = new ConcurrencyTrackingMapLoader(ENTRY_COUNT);
+        Config config = getConfig(loader)
+                .setProperty(MAP_LOAD_CHUNK_SIZE.getName(), "10")
+                .setProperty(MAP_LOAD_PARALLELISM.getName(), "2");
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap("default");
+
+        assertEquals(ENTRY_COUNT, map.size());
+        assertTrue("maxConcurrentCalls=" + loader.maxConcurrentCalls, loader.maxConcurrentCalls.get() <= 2);
+    }
+
+    private Config getConfig(MapLoader<Integer, Integer> mapLoader) {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("default")
+                .setMapStoreConfig(new MapStoreConfig().setImplementation(mapLoader));
+        return config;
+    }
+
+    private static class ConcurrencyTrackingMapLoader extends SimpleMapLoader {
+
+        final AtomicInteger concurrentCalls = new AtomicInteger();
+        final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        ConcurrencyTrackingMapLoader(int size) {
+            super(size, false);
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            int calls = concurrentCalls.incrementAndGet();
+            maxConcurrentCalls.accumulateAndGet(calls, Math::max);
+            try {
+                sleepMillis(1);
+                return super.loadAll(keys);
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.mapstore.writebehind.AdaptiveWriteBatchSize.DEFAULT_INITIAL_BATCH_SIZE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveWriteBatchSizeTest {
+
+    private static final long TARGET_LATENCY_NANOS = MILLISECONDS.toNanos(100);
+
+    @Test
+    public void initialBatchSize_isCappedByWriteBatchSize() {
+        assertEquals(10, new AdaptiveWriteBatchSize(10, TARGET_LATENCY_NANOS).get());
+        assertEquals(DEFAULT_INITIAL_BATCH_SIZE, new AdaptiveWriteBatchSize(1, TARGET_LATENCY_NANOS).get());
+    }
+
+    @Test
+    public void batchSize_isHalved_whenSlowerThanTarget() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1, TARGET_LATENCY_NANOS);
+
+        batchSize.onBatchStored(DEFAULT_INITIAL_BATCH_SIZE, 2 * TARGET_LATENCY_NANOS);
+
+        assertEquals(DEFAULT_INITIAL_BATCH_SIZE / 2, batchSize.get());
+    }
+
+    @Test
+    public void batchSize_neverDropsBelowOne() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(2, TARGET_LATENCY_NANOS);
+
+        for (int i = 0; i < 5; i++) {
+            batchSize.onBatchStored(batchSize.get(), 2 * TARGET_LATENCY_NANOS);
+        }
+
+        assertEquals(1, batchSize.get());
+    }
+
+    @Test
+    public void batchSize_isDoubled_afterFastFullBatch() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1, TARGET_LATENCY_NANOS);
+
+        batchSize.onBatchStored(DEFAULT_INITIAL_BATCH_SIZE, TARGET_LATENCY_NANOS / 4);
+
+        assertEquals(2 * DEFAULT_INITIAL_BATCH_SIZE, batchSize.get());
+    }
+
+    @Test
+    public void batchSize_isKept_afterFastPartialBatch() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1, TARGET_LATENCY_NANOS);
+
+        batchSize.onBatchStored(10, TARGET_LATENCY_NANOS / 4);
+
+        assertEquals(DEFAULT_INITIAL_BATCH_SIZE, batchSize.get());
+    }
+
+    @Test
+    public void batchSize_neverExceedsWriteBatchSize() {
+        AdaptiveWriteBatchSize batchSize = new AdaptiveWriteBatchSize(1500, TARGET_LATENCY_NANOS);
+
+        batchSize.onBatchStored(DEFAULT_INITIAL_BATCH_SIZE, TARGET_LATENCY_NANOS / 4);
+        batchSize.onBatchStored(1500, TARGET_LATENCY_NANOS / 4);
+
+        assertEquals(1500, batchSize.get());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBehindStripedFlushTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void allEntries_areStored_byStripes() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        HazelcastInstance instance = createInstance(4, mapStore, true);
+        IMap<Integer, Integer> map = instance.getMap("default");
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, mapStore.size()));
+        StoreWorker storeWorker = getStoreWorker(instance, map);
+        assertEquals(4, storeWorker.getStripeCount());
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, storeWorker.getStoredEntryCount()));
+        assertEquals(0, storeWorker.getQueueSize());
+        assertEquals(0, storeWorker.getOldestPendingAge());
+    }
+
+    @Test
+    public void updatesOfKey_areStoredInOrder_byStripes() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        HazelcastInstance instance = createInstance(4, mapStore, false);
+        IMap<Integer, Integer> map = instance.getMap("default");
+
+        for (int value = 0; value < 10; value++) {
+            for (int key = 0; key < 100; key++) {
+                map.put(key, value);
+            }
+        }
+
+        assertTrueEventually(() -> {
+            for (int key = 0; key < 100; key++) {
+                assertEquals(Integer.valueOf(9), mapStore.store.get(key));
+            }
+        });
+    }
+
+    @Test
+    public void stripeCount_isCappedByPartitionCount() {
+        HazelcastInstance instance = createInstance(1000, new MapStoreWithCounter<>(), true);
+        IMap<Integer, Integer> map = instance.getMap("default");
+        map.put(1, 1);
+
+        assertEquals(11, getStoreWorker(instance, map).getStripeCount());
+    }
+
+    @Test
+    public void pendingEntries_areReported() {
+        HazelcastInstance instance = createInstance(4, new MapStoreWithCounter<>(), true, 3000);
+        IMap<Integer, Integer> map = instance.getMap("default");
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        StoreWorker storeWorker = getStoreWorker(instance, map);
+        assertEquals(ENTRY_COUNT, storeWorker.getQueueSize());
+        assertTrueEventually(() -> assertTrue(storeWorker.getOldestPendingAge() > 0));
+        assertEquals(0, storeWorker.getStoredEntryCount());
+    }
+
+    private HazelcastInstance createInstance(int stripeCount, MapStoreWithCounter<Integer, Integer> mapStore,
+                                             boolean writeCoalescing) {
+        return createInstance(stripeCount, mapStore, writeCoalescing, 1);
+    }
+
+    private HazelcastInstance createInstance(int stripeCount, MapStoreWithCounter<Integer, Integer> mapStore,
+                                             boolean writeCoalescing, int writeDelaySeconds) {
+        Config config = smallInstanceConfig()
+                .setProperty(PARTITION_COUNT.getName(), "11")
+                .setProperty(MAP_WRITE_BEHIND_FLUSH_STRIPE_COUNT.getName(), String.valueOf(stripeCount));
+        config.getMapConfig("default")
+                .setMapStoreConfig(new MapStoreConfig()
+                        .setImplementation(mapStore)
+                        .setWriteDelaySeconds(writeDelaySeconds)
+                        .setWriteBatchSize(10)
+                        .setWriteCoalescing(writeCoalescing));
+        return createHazelcastInstance(config);
+    }
+
+    private static StoreWorker getStoreWorker(HazelcastInstance instance, IMap<Integer, Integer> map) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        WriteBehindManager writeBehindManager = (WriteBehindManager) mapServiceContext.getMapContainer(map.getName())
+                .getMapStoreContext().getMapStoreManager();
+        return writeBehindManager.getStoreWorker();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 500;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Person> indexedMap;
+    private IMap<Integer, Person> map;
+
+    @Before
+    public void setUp() {
+        instance = createHazelcastInstance(smallInstanceConfig());
+        indexedMap = instance.getMap(randomMapName());
+        indexedMap.addIndex(IndexType.SORTED, "age");
+        indexedMap.addIndex(IndexType.HASH, "name");
+        map = instance.getMap(randomMapName());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            // every 10th age is missing, the names repeat
+            Integer age = i % 10 == 0 ? null : i - ENTRY_COUNT / 2;
+            Person person = new Person(age, "name-" + i % 7, Arrays.asList("tag-" + i % 3, "tag-" + i % 5));
+            indexedMap.put(i, person);
+            map.put(i, person);
+        }
+    }
+
+    @Test
+    public void aggregate_matchesScan() {
+        assertSameAsScan(Aggregators.count("age"));
+        assertSameAsScan(Aggregators.count("name"));
+        assertSameAsScan(Aggregators.comparableMin("age"));
+        assertSameAsScan(Aggregators.comparableMax("age"));
+        assertSameAsScan(Aggregators.integerMin("this.age"));
+        assertSameAsScan(Aggregators.distinct("age"));
+    }
+
+    @Test
+    public void aggregate_whenAnsweredByIndex() {
+        assertAnsweredByIndex(Aggregators.count("age"), (long) ENTRY_COUNT);
+        assertAnsweredByIndex(Aggregators.count("name"), (long) ENTRY_COUNT);
+        assertAnsweredByIndex(Aggregators.integerMin("age"), 1 - ENTRY_COUNT / 2);
+        assertAnsweredByIndex(Aggregators.integerMax("age"), ENTRY_COUNT / 2 - 1);
+        assertEquals(ENTRY_COUNT - ENTRY_COUNT / 10 + 1,
+                ((Set<?>) aggregateUsingIndex(Aggregators.distinct("age"), TruePredicate.INSTANCE)).size());
+    }
+
+    @Test
+    public void aggregate_whenNotAnsweredByIndex() {
+        assertNotAnsweredByIndex(Aggregators.count(), TruePredicate.INSTANCE);
+        assertNotAnsweredByIndex(Aggregators.count("age"), Predicates.greaterThan("age", 0));
+        assertNotAnsweredByIndex(Aggregators.integerSum("age"), TruePredicate.INSTANCE);
+        // a hash index has no order
+        assertNotAnsweredByIndex(Aggregators.comparableMin("name"), TruePredicate.INSTANCE);
+        assertNotAnsweredByIndex(Aggregators.distinct("name"), TruePredicate.INSTANCE);
+        // not indexed
+        assertNotAnsweredByIndex(Aggregators.count("tags[any]"), TruePredicate.INSTANCE);
+    }
+
+    @Test
+    public void aggregate_whenEntriesUpdated() {
+        for (IMap<Integer, Person> m : Arrays.asList(indexedMap, map)) {
+            m.put(0, new Person(-ENTRY_COUNT, "name", singletonList("tag")));
+            m.remove(ENTRY_COUNT - 1);
+        }
+
+        assertSameAsScan(Aggregators.count("age"));
+        assertSameAsScan(Aggregators.comparableMin("age"));
+        assertSameAsScan(Aggregators.comparableMax("age"));
+        assertEquals(-ENTRY_COUNT, (int) indexedMap.aggregate(Aggregators.integerMin("age")));
+    }
+
+    private <R> void assertSameAsScan(Aggregator<Map.Entry<Integer, Person>, R> aggregator) {
+        assertEquals(map.aggregate(aggregator), indexedMap.aggregate(aggregator));
+    }
+
+    private void assertAnsweredByIndex(Aggregator<?, ?> aggregator, Object expected) {
+        assertEquals(expected, aggregateUsingIndex(aggregator, TruePredicate.INSTANCE));
+    }
+
+    private Object aggregateUsingIndex(Aggregator<?, ?> aggregator, Predicate<?, ?> predicate) {
+        Aggregator<?, ?> copy = copy(aggregator);
+        assertTrue(IndexAggregation.aggregate(copy, predicate, getIndexes(), ownedPartitionCount()));
+        return copy.aggregate();
+    }
+
+    private void assertNotAnsweredByIndex(Aggregator<?, ?> aggregator, Predicate<?, ?> predicate) {
+        assertFalse(IndexAggregation.aggregate(copy(aggregator), predicate, getIndexes(), ownedPartitionCount()));
+    }
+
+    private Aggregator<?, ?> copy(Aggregator<?, ?> aggregator) {
+        return getNodeEngineImpl(instance).getSerializationService().toObject(
+                getNodeEngineImpl(instance).getSerializationService().toData(aggregator));
+    }
+
+    private Indexes getIndexes() {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return mapService.getMapServiceContext().getMapContainer(indexedMap.getName()).getIndexes();
+    }
+
+    private int ownedPartitionCount() {
+        return instance.getPartitionService().getPartitions().size();
+    }
+
+    public static class Person implements Serializable {
+
+        private final Integer age;
+        private final String name;
+        private final List<String> tags;
+
+        Person(Integer age, String name, List<String> tags) {
+            this.age = age;
+            this.name = name;
+            this.tags = tags;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+}
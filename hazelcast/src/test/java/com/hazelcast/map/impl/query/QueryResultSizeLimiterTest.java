@@ -20,8 +20,12 @@ import com.hazelcast.config.Config;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.IndexAwarePredicate;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
@@ -39,6 +43,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_MAX_LOCAL_PARTITION_LIMIT_FOR_PRE_CHECK;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_RESULT_SIZE_LIMIT;
@@ -46,9 +51,12 @@ import static java.lang.String.valueOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -228,6 +236,35 @@ public class QueryResultSizeLimiterTest {
         limiter.precheckMaxResultLimitOnLocalPartitions(ANY_MAP_NAME);
     }
 
+    @Test
+    public void testLocalIndexPreCheckEnabledWithEstimateOverLimitAndResultBelowLimit() {
+        populatePartitions(new int[]{0, 0, 0});
+        initMocksWithConfiguration(200000, 2);
+        IndexAwarePredicate predicate = mockIndexedPredicate(10000, 2000);
+
+        limiter.precheckMaxResultLimitOnLocalIndexes(ANY_MAP_NAME, predicate);
+    }
+
+    @Test(expected = QueryResultSizeExceededException.class)
+    public void testLocalIndexPreCheckEnabledWithEstimateOverLimitAndResultOverLimit() {
+        populatePartitions(new int[]{0, 0, 0});
+        initMocksWithConfiguration(200000, 2);
+        IndexAwarePredicate predicate = mockIndexedPredicate(10000, 10000);
+
+        limiter.precheckMaxResultLimitOnLocalIndexes(ANY_MAP_NAME, predicate);
+    }
+
+    @Test
+    public void testLocalIndexPreCheckEnabledWithEstimateBelowLimit() {
+        populatePartitions(new int[]{0, 0, 0});
+        initMocksWithConfiguration(200000, 2);
+        IndexAwarePredicate predicate = mockIndexedPredicate(1000, 10000);
+
+        limiter.precheckMaxResultLimitOnLocalIndexes(ANY_MAP_NAME, predicate);
+
+        verify(predicate, never()).filter(any());
+    }
+
     private void initMocksWithConfiguration(int maxResultSizeLimit) {
         initMocksWithConfiguration(maxResultSizeLimit, Integer.MAX_VALUE);
     }
@@ -255,9 +292,26 @@ public class QueryResultSizeLimiterTest {
         when(mapServiceContext.getRecordStore(anyInt(), anyString())).thenReturn(recordStore);
         when(mapServiceContext.getOrInitCachedMemberPartitions()).thenReturn(new PartitionIdSet(PARTITION_COUNT, localPartitions.keySet()));
 
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapContainer.isGlobalIndexEnabled()).thenReturn(true);
+        when(mapContainer.getIndexes()).thenReturn(mock(Indexes.class));
+        when(mapServiceContext.getExistingMapContainer(anyString())).thenReturn(mapContainer);
+
         limiter = new QueryResultSizeLimiter(mapServiceContext, Logger.getLogger(QueryResultSizeLimiterTest.class));
     }
 
+    @SuppressWarnings("unchecked")
+    private static IndexAwarePredicate mockIndexedPredicate(long estimatedResultSize, int resultSize) {
+        Set<QueryableEntry> result = mock(Set.class);
+        when(result.size()).thenReturn(resultSize);
+
+        IndexAwarePredicate predicate = mock(IndexAwarePredicate.class);
+        when(predicate.isIndexed(any())).thenReturn(true);
+        when(predicate.estimateResultSize(any())).thenReturn(estimatedResultSize);
+        when(predicate.filter(any())).thenReturn(result);
+        return predicate;
+    }
+
     private void populatePartitions(int[] localPartitionSize) {
         for (int i = 0; i < localPartitionSize.length; i++) {
             localPartitions.put(i, localPartitionSize[i]);
@@ -62,8 +62,14 @@ import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.LO
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.OBJECT;
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.RAW;
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.lessThan;
+import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.notEqual;
 import static com.hazelcast.query.Predicates.or;
 import static java.util.Arrays.asList;
@@ -93,7 +99,7 @@ public class SingleValueBitmapIndexTest extends HazelcastTestSupport {
     private static final Predicate[] actualQueries;
 
     static {
-        actualQueries = new Predicate[8];
+        actualQueries = new Predicate[12];
         actualQueries[0] = equal("age", new Age(0));
         actualQueries[1] = equal("age", null);
         actualQueries[2] = notEqual("age", null);
@@ -102,12 +108,16 @@ public class SingleValueBitmapIndexTest extends HazelcastTestSupport {
         actualQueries[5] = and(equal("age", new Age(50)), notEqual("age", new Age(99)));
         actualQueries[6] = or(equal("age", new Age(50)), equal("age", new Age(99)));
         actualQueries[7] = or(equal("age", new Age(5)), in("age", new Age(10), null));
+        actualQueries[8] = greaterThan("age", new Age(90));
+        actualQueries[9] = between("age", new Age(10), new Age(20));
+        actualQueries[10] = and(greaterEqual("age", new Age(30)), lessThan("age", new Age(40)));
+        actualQueries[11] = not(lessEqual("age", new Age(95)));
     }
 
     private final ExpectedQuery[] expectedQueries;
 
     {
-        expectedQueries = new ExpectedQuery[8];
+        expectedQueries = new ExpectedQuery[12];
         expectedQueries[0] = new ExpectedQuery(value -> {
             // no zero values at all, they are all nulls
             return false;
@@ -120,6 +130,11 @@ public class SingleValueBitmapIndexTest extends HazelcastTestSupport {
         expectedQueries[5] = new ExpectedQuery(value -> value == 50 && value != 99);
         expectedQueries[6] = new ExpectedQuery(value -> value == 50 || value == 99);
         expectedQueries[7] = new ExpectedQuery(value -> value == 5 || value == 10 || value == 0);
+        expectedQueries[8] = new ExpectedQuery(value -> value > 90);
+        expectedQueries[9] = new ExpectedQuery(value -> value >= 10 && value <= 20);
+        expectedQueries[10] = new ExpectedQuery(value -> value >= 30 && value < 40);
+        // negated by the optimizer into "age > 95"
+        expectedQueries[11] = new ExpectedQuery(value -> value > 95);
     }
 
     @Rule
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_ADAPTIVE_VALUE_CACHE_SIZE_BYTES;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AdaptiveValueCacheTest extends HazelcastTestSupport {
+
+    private static final Map<String, AtomicInteger> DESERIALIZATIONS = new ConcurrentHashMap<>();
+
+    private HazelcastInstance instance;
+
+    @Test
+    public void hotValue_isDeserializedOnce_byReadOnlyEntryProcessor() {
+        String name = randomMapName();
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ADAPTIVE, 64 * 1024);
+        map.put(1, new Value(name, 42));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(42, (int) map.executeOnKey(1, new ReadValueProcessor()));
+        }
+
+        // the first read is counted only, the second one caches the value
+        assertEquals(2, deserializations(name));
+    }
+
+    @Test
+    public void coldValue_isNotCached() {
+        String name = randomMapName();
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ADAPTIVE, 64 * 1024);
+        map.put(1, new Value(name, 42));
+
+        map.executeOnKey(1, new ReadValueProcessor());
+
+        assertEquals(0, getAdaptiveValueCache(map, 1).getCachedBytes());
+    }
+
+    @Test
+    public void cachedValue_isDroppedOnUpdate() {
+        String name = randomMapName();
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ADAPTIVE, 64 * 1024);
+        map.put(1, new Value(name, 42));
+        for (int i = 0; i < 3; i++) {
+            map.executeOnKey(1, new ReadValueProcessor());
+        }
+
+        map.put(1, new Value(name, 43));
+
+        assertEquals(43, (int) map.executeOnKey(1, new ReadValueProcessor()));
+        assertEquals(43, (int) map.executeOnKey(1, new ReadValueProcessor()));
+    }
+
+    @Test
+    public void updatedValue_isNotCountedTwice_whenCachedAgain() {
+        String name = randomMapName();
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ADAPTIVE, 64 * 1024);
+        map.put(1, new Value(name, 42));
+        for (int i = 0; i < 3; i++) {
+            map.executeOnKey(1, new ReadValueProcessor());
+        }
+        long cachedBytes = getAdaptiveValueCache(map, 1).getCachedBytes();
+        assertTrue("cachedBytes=" + cachedBytes, cachedBytes > 0);
+
+        for (int i = 0; i < 5; i++) {
+            map.put(1, new Value(name, 43 + i));
+            for (int j = 0; j < 3; j++) {
+                map.executeOnKey(1, new ReadValueProcessor());
+            }
+        }
+
+        assertEquals(cachedBytes, getAdaptiveValueCache(map, 1).getCachedBytes());
+    }
+
+    @Test
+    public void queries_useCachedValues() {
+        String name = randomMapName();
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ADAPTIVE, 64 * 1024);
+        map.put(1, new Value(name, 42));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, map.values(Predicates.equal("number", 42)).size());
+        }
+
+        // the returned values are deserialized lazily, not by size()
+        assertEquals(2, deserializations(name));
+    }
+
+    @Test
+    public void cachedBytes_stayWithinBudget() {
+        String name = randomMapName();
+        int budget = 1024;
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ADAPTIVE, budget);
+        int partitionKeyCount = 100;
+        int key = 0;
+        // reads enough hot keys of one partition to exceed the budget
+        int partitionId = getNodeEngineImpl(instance).getPartitionService().getPartitionId(0);
+        for (int i = 0; i < partitionKeyCount; key++) {
+            if (getNodeEngineImpl(instance).getPartitionService().getPartitionId(key) == partitionId) {
+                map.put(key, new Value(name, key));
+                for (int j = 0; j < 3; j++) {
+                    map.executeOnKey(key, new ReadValueProcessor());
+                }
+                i++;
+            }
+        }
+
+        long cachedBytes = getAdaptiveValueCache(map, 0).getCachedBytes();
+        assertTrue("cachedBytes=" + cachedBytes, cachedBytes > 0);
+        assertTrue("cachedBytes=" + cachedBytes, cachedBytes <= budget);
+    }
+
+    @Test
+    public void otherModes_doNotCreateAdaptiveValueCache() {
+        String name = randomMapName();
+        IMap<Integer, Value> map = createMap(name, CacheDeserializedValues.ALWAYS, 64 * 1024);
+        map.put(1, new Value(name, 42));
+
+        assertEquals(null, getRecordStore(map, 1).adaptiveValueCache);
+    }
+
+    private IMap<Integer, Value> createMap(String name, CacheDeserializedValues cacheDeserializedValues,
+                                           int maxCachedBytes) {
+        DESERIALIZATIONS.put(name, new AtomicInteger());
+        Config config = smallInstanceConfig()
+                .setProperty(MAP_ADAPTIVE_VALUE_CACHE_SIZE_BYTES.getName(), String.valueOf(maxCachedBytes));
+        config.getMapConfig(name)
+                .setInMemoryFormat(InMemoryFormat.BINARY)
+                .setCacheDeserializedValues(cacheDeserializedValues);
+        instance = createHazelcastInstance(config);
+        return instance.getMap(name);
+    }
+
+    private AdaptiveValueCache getAdaptiveValueCache(IMap<Integer, Value> map, int key) {
+        return getRecordStore(map, key).adaptiveValueCache;
+    }
+
+    private AbstractRecordStore getRecordStore(IMap<Integer, Value> map, int key) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        int partitionId = getNodeEngineImpl(instance).getPartitionService().getPartitionId(key);
+        return (AbstractRecordStore) mapServiceContext.getRecordStore(partitionId, map.getName());
+    }
+
+    private static int deserializations(String name) {
+        return DESERIALIZATIONS.get(name).get();
+    }
+
+    public static class Value implements DataSerializable {
+
+        private String name;
+        private int number;
+
+        public Value() {
+        }
+
+        Value(String name, int number) {
+            this.name = name;
+            this.number = number;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeString(name);
+            out.writeInt(number);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            name = in.readString();
+            number = in.readInt();
+            DESERIALIZATIONS.get(name).incrementAndGet();
+        }
+    }
+
+    private static class ReadValueProcessor implements EntryProcessor<Integer, Value, Integer>, ReadOnly {
+
+        @Override
+        public Integer process(Map.Entry<Integer, Value> entry) {
+            return entry.getValue().getNumber();
+        }
+
+        @Override
+        public EntryProcessor<Integer, Value, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompositeMutationObserverTest {
+
+    private final Data key1 = new HeapData(new byte[]{0, 0, 0, 0, 0, 0, 0, 1, 1});
+    private final Data key2 = new HeapData(new byte[]{0, 0, 0, 0, 0, 0, 0, 1, 2});
+    private final Record record = mock(Record.class);
+
+    private RecordingObserver observer;
+    private CompositeMutationObserver<Record> composite;
+
+    @Before
+    public void setUp() {
+        observer = new RecordingObserver();
+        composite = new CompositeMutationObserver<>();
+        composite.add(observer);
+    }
+
+    @Test
+    public void testNotificationsAreDeliveredOneByOne_withoutBatch() {
+        composite.onPutRecord(key1, record, null, false);
+        composite.onUpdateRecord(key2, record, "old", "new", false);
+
+        assertEquals(asList("put", "update"), observer.calls);
+    }
+
+    @Test
+    public void testPutsAndUpdatesAreDeliveredAsOneBatch() {
+        composite.beginBatch();
+        composite.onPutRecord(key1, record, null, false);
+        composite.onUpdateRecord(key2, record, "old", "new", false);
+        assertEquals(0, observer.calls.size());
+
+        composite.endBatch();
+
+        assertEquals(asList("batch[put, update]"), observer.calls);
+    }
+
+    @Test
+    public void testOtherNotificationFlushesBatchFirst() {
+        composite.beginBatch();
+        composite.onPutRecord(key1, record, null, false);
+        composite.onEvictRecord(key1, record);
+        composite.onPutRecord(key2, record, null, false);
+        composite.endBatch();
+
+        assertEquals(asList("batch[put]", "evict", "batch[put]"), observer.calls);
+    }
+
+    @Test
+    public void testBackupAndOwnerNotificationsAreNotMixedInABatch() {
+        composite.beginBatch();
+        composite.onPutRecord(key1, record, null, true);
+        composite.onPutRecord(key2, record, null, false);
+        composite.endBatch();
+
+        assertEquals(asList("batch[put]:backup", "batch[put]"), observer.calls);
+    }
+
+    @Test
+    public void testNotificationsAreDeliveredOneByOne_afterBatchEnds() {
+        composite.beginBatch();
+        composite.endBatch();
+        composite.onPutRecord(key1, record, null, false);
+
+        assertEquals(asList("put"), observer.calls);
+    }
+
+    private static final class RecordingObserver implements MutationObserver<Record> {
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void onPutRecords(@Nonnull PutRecordBatch<Record> batch, boolean backup) {
+            List<String> batched = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                batched.add(batch.isUpdate(i) ? "update" : "put");
+            }
+            calls.add("batch" + batched + (backup ? ":backup" : ""));
+        }
+
+        @Override
+        public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+            calls.add("put");
+        }
+
+        @Override
+        public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+            calls.add("replicationPut");
+        }
+
+        @Override
+        public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record, Object oldValue, Object newValue,
+                                   boolean backup) {
+            calls.add("update");
+        }
+
+        @Override
+        public void onRemoveRecord(@Nonnull Data key, Record record) {
+            calls.add("remove");
+        }
+
+        @Override
+        public void onEvictRecord(@Nonnull Data key, @Nonnull Record record) {
+            calls.add("evict");
+        }
+
+        @Override
+        public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+            calls.add("load");
+        }
+
+        @Override
+        public void onReset() {
+            calls.add("reset");
+        }
+
+        @Override
+        public void onClear() {
+            calls.add("clear");
+        }
+
+        @Override
+        public void onDestroy(boolean isDuringShutdown, boolean internal) {
+            calls.add("destroy");
+        }
+    }
+}
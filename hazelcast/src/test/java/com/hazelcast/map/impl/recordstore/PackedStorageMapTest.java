@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PACKED_STORAGE_MAPS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PackedStorageMapTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "packed*";
+
+    @Test
+    public void testBasicOperations() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig());
+        IMap<Integer, String> map = instance.getMap("packedBasic");
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.set(1, "updated");
+        map.remove(2);
+
+        assertEquals(999, map.size());
+        assertEquals("updated", map.get(1));
+        assertNull(map.get(2));
+        assertEquals(999, map.entrySet().size());
+
+        LocalMapStats stats = map.getLocalMapStats();
+        assertEquals(0, stats.getNativeMemoryCost());
+        assertTrue(stats.getOwnedEntryMemoryCost() > 0);
+        assertTrue(stats.getHeapCost() > 0);
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testObjectInMemoryFormat() {
+        Config config = newConfig();
+        config.getMapConfig("packedObject").setInMemoryFormat(InMemoryFormat.OBJECT);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap("packedObject");
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.executeOnKey(1, entry -> entry.setValue("updated"));
+
+        assertEquals(100, map.size());
+        assertEquals("updated", map.get(1));
+        assertEquals("value-2", map.get(2));
+    }
+
+    @Test
+    public void testEntriesExpire() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig());
+        IMap<Integer, Integer> map = instance.getMap("packedExpiry");
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, 1, TimeUnit.SECONDS);
+        }
+
+        assertTrueEventually(() -> assertEquals(0, map.size()));
+    }
+
+    @Test
+    public void testEviction() {
+        Config config = newConfig();
+        config.getMapConfig("packedEviction").getEvictionConfig()
+              .setEvictionPolicy(EvictionPolicy.LRU)
+              .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+              .setSize(500);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap("packedEviction");
+
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, i);
+        }
+
+        assertTrue(map.size() <= 500);
+    }
+
+    @Test
+    public void testDataSurvivesMigrationAndMemberLoss() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        Config config = newConfig();
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance1.getMap("packedMigration");
+
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.put(i, i);
+        }
+        map.putAll(expected);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+        instance1.getLifecycleService().terminate();
+        waitAllForSafeState(factory.getAllHazelcastInstances());
+
+        IMap<Integer, Integer> remaining = instance2.getMap("packedMigration");
+        assertEquals(expected.size(), remaining.size());
+        assertEquals(expected, remaining.getAll(expected.keySet()));
+    }
+
+    @Test
+    public void testQueriesScanOnPartitionThreads() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig());
+        IMap<Integer, Integer> map = instance.getMap("packedQuery");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(1000, map.values(new PartitionThreadCheckingPredicate()).size());
+    }
+
+    private Config newConfig() {
+        Config config = smallInstanceConfig();
+        config.setProperty(MAP_PACKED_STORAGE_MAPS.getName(), MAP_NAME);
+        config.addMapConfig(new MapConfig(MAP_NAME).setInMemoryFormat(InMemoryFormat.BINARY));
+        return config;
+    }
+
+    private static class PartitionThreadCheckingPredicate implements Predicate<Integer, Integer> {
+
+        @Override
+        public boolean apply(Map.Entry<Integer, Integer> mapEntry) {
+            if (!(Thread.currentThread() instanceof PartitionOperationThread)) {
+                throw new AssertionError("Entry scanned on " + Thread.currentThread().getName());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordFactory;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares the retained heap per entry and the time spent in garbage
+ * collection of {@link StorageImpl} and {@link PackedStorage} holding
+ * many small entries. Run with a fixed heap, e.g. {@code -Xms2g -Xmx2g}.
+ * <p>
+ * This is no JUnit test.
+ */
+public class PackedStorageMemoryBenchmark {
+
+    private static final int ENTRY_COUNT = Integer.getInteger("entryCount", 1_000_000);
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        SerializationService ss = new DefaultSerializationServiceBuilder().build();
+        ExpirySystem expirySystem = mock(ExpirySystem.class, withSettings().stubOnly());
+        when(expirySystem.getExpiryMetadata(any())).thenReturn(ExpiryMetadata.NULL);
+        MapContainer mapContainer = mock(MapContainer.class, withSettings().stubOnly());
+        when(mapContainer.getMapConfig()).thenReturn(new MapConfig().setPerEntryStatsEnabled(true)
+                .setCacheDeserializedValues(CacheDeserializedValues.NEVER));
+        when(mapContainer.getEvictor()).thenReturn(NULL_EVICTOR);
+        RecordFactory heapRecords = new DataRecordFactory(mapContainer, ss);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            run("StorageImpl", new StorageImpl<>(BINARY, expirySystem, ss), heapRecords, ss);
+            run("PackedStorage", new PackedStorage(BINARY, expirySystem, ss), new PackedRecordFactory(BINARY, ss), ss);
+        }
+    }
+
+    private static void run(String name, Storage<Data, Record> storage, RecordFactory recordFactory,
+                            SerializationService ss) {
+        long heapBefore = usedHeapAfterGc();
+        long gcTimeBefore = totalGcTimeMillis();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, recordFactory.newRecord(key, i));
+        }
+        long putMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long gcStart = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - gcStart) / 1_000_000;
+
+        long heapAfter = usedHeapAfterGc();
+        long gcTimeAfter = totalGcTimeMillis();
+
+        System.out.printf("%-14s entries=%d bytes/entry=%d put=%dms gcDuringPut=%dms fullGc=%dms estimate/entry=%d%n",
+                name, storage.size(), (heapAfter - heapBefore) / ENTRY_COUNT, putMillis,
+                gcTimeAfter - gcTimeBefore, fullGcMillis,
+                storage.getEntryCostEstimator().getEstimate() / ENTRY_COUNT);
+
+        storage.destroy(false);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long totalGcTimeMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.PackedRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PackedStorageTest {
+
+    private SerializationService ss;
+    private PackedRecordFactory recordFactory;
+    private PackedStorage storage;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new PackedRecordFactory(InMemoryFormat.BINARY, ss);
+        ExpirySystem expirySystem = mock(ExpirySystem.class);
+        when(expirySystem.getExpiryMetadata(any())).thenReturn(ExpiryMetadata.NULL);
+        storage = new PackedStorage(InMemoryFormat.BINARY, expirySystem, ss);
+    }
+
+    @After
+    public void tearDown() {
+        if (storage != null) {
+            storage.destroy(false);
+        }
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Data key = ss.toData("key");
+        Record record = newRecord(key, "value");
+        record.setVersion(3);
+        record.setHits(7);
+        storage.put(key, record);
+
+        Record stored = storage.get(ss.toData("key"));
+        assertNotNull(stored);
+        assertEquals("value", ss.toObject(stored.getValue()));
+        assertEquals(3, stored.getVersion());
+        assertEquals(7, stored.getHits());
+        assertEquals(1, storage.size());
+        assertTrue(storage.containsKey(key));
+        assertEquals(stored.getCost() + key.getHeapCost() + REFERENCE_COST_IN_BYTES + 3 * Integer.BYTES,
+                storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testPutRecord_becomesFlyweightOverSlot() {
+        Data key = ss.toData(1);
+        Record record = newRecord(key, 1);
+        storage.put(key, record);
+
+        record.setVersion(42);
+        record.onAccess(System.currentTimeMillis());
+
+        Record stored = storage.get(key);
+        assertEquals(42, stored.getVersion());
+        assertEquals(1, stored.getHits());
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        Data key = ss.toData(1);
+        storage.put(key, newRecord(key, "a"));
+
+        Record record = storage.get(key);
+        storage.updateRecordValue(key, record, "a much longer value than the previous one");
+
+        assertEquals("a much longer value than the previous one", ss.toObject(storage.get(key).getValue()));
+        assertEquals(storage.get(key).getCost() + key.getHeapCost() + REFERENCE_COST_IN_BYTES + 3 * Integer.BYTES,
+                storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testPut_replacesExistingEntry() {
+        Data key = ss.toData(1);
+        storage.put(key, newRecord(key, "a"));
+        storage.put(key, newRecord(key, "b"));
+
+        assertEquals(1, storage.size());
+        assertEquals("b", ss.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testRemoveRecord_detachesGivenRecord() {
+        Data key = ss.toData(1);
+        storage.put(key, newRecord(key, "value"));
+
+        Record record = storage.get(key);
+        storage.removeRecord(key, record);
+
+        assertNull(storage.get(key));
+        assertEquals(0, storage.size());
+        assertEquals("value", ss.toObject(record.getValue()));
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testRemovedSlotsAreReused() {
+        for (int i = 0; i < 1000; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+        for (int i = 1000; i < 1500; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+
+        assertEquals(1000, storage.size());
+        for (int i = 0; i < 1500; i++) {
+            Record record = storage.get(ss.toData(i));
+            if (i < 1000 && i % 2 == 0) {
+                assertNull(record);
+            } else {
+                assertEquals(i, (int) ss.toObject(record.getValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testRecordOfRemovedEntry_doesNotAccessEntryReusingItsSlot() {
+        Data key = ss.toData(1);
+        storage.put(key, newRecord(key, "value"));
+        Record stale = storage.get(key);
+        storage.removeRecord(key, storage.get(key));
+
+        Data otherKey = ss.toData(2);
+        storage.put(otherKey, newRecord(otherKey, "other"));
+
+        assertThrows(IllegalStateException.class, stale::getValue);
+        assertThrows(IllegalStateException.class, () -> stale.setVersion(5));
+        assertEquals(0, storage.get(otherKey).getVersion());
+        assertEquals("other", ss.toObject(storage.get(otherKey).getValue()));
+    }
+
+    @Test
+    public void testCostEstimate_returnsToZeroAfterRemovals() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+            storage.put(key, newRecord(key, "replaced-" + i));
+        }
+        assertTrue(storage.getEntryCostEstimator().getEstimate() > 0);
+
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+
+        storage.clear(false);
+
+        assertEquals(0, storage.size());
+        assertNull(storage.get(ss.toData(1)));
+        assertEquals(0, storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testIterator_toleratesRemovalOfCurrentAndNextEntries() {
+        int entryCount = 100;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            int key = ss.toObject(entry.getKey());
+            seen.add(key);
+            assertEquals(key, (int) ss.toObject(entry.getValue().getValue()));
+            if (key % 2 == 0) {
+                // removes the current entry and the one the iterator would return next
+                storage.removeRecord(entry.getKey(), entry.getValue());
+                Data next = ss.toData(key + 1);
+                Record nextRecord = storage.get(next);
+                if (nextRecord != null) {
+                    storage.removeRecord(next, nextRecord);
+                }
+            }
+        }
+
+        assertEquals(entryCount / 2, seen.size());
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+
+        int sampleCount = 0;
+        for (EntryView entryView : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy(entryView);
+            assertTrue(storage.containsKey(key));
+            assertEquals(entryView.getKey(), entryView.getValue());
+            sampleCount++;
+        }
+        assertEquals(15, sampleCount);
+    }
+
+    @Test
+    public void testFetchKeys_returnsAllKeys() {
+        int entryCount = 1000;
+        for (int i = 0; i < entryCount; i++) {
+            Data key = ss.toData(i);
+            storage.put(key, newRecord(key, i));
+        }
+
+        Set<Data> keys = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor batch = storage.fetchKeys(pointers, 100);
+            keys.addAll(batch.getBatch());
+            pointers = batch.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+
+        assertEquals(entryCount, keys.size());
+    }
+
+    @Test
+    public void testGetMissingKey() {
+        assertNull(storage.get(ss.toData("missing")));
+        assertFalse(storage.containsKey(ss.toData("missing")));
+        assertTrue(storage.isEmpty());
+    }
+
+    private Record newRecord(Data key, Object value) {
+        return recordFactory.newRecord(key, value);
+    }
+}
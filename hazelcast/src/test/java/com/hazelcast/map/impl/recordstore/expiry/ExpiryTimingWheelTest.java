@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore.expiry;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.internal.nio.Bits.readIntB;
+import static com.hazelcast.internal.nio.Bits.writeIntB;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpiryTimingWheelTest {
+
+    private static final int START_TIME = 1_000_000;
+
+    private final ExpiryTimingWheel wheel = new ExpiryTimingWheel(START_TIME);
+
+    @Test
+    public void testKey_isPolled_onlyOnceDue() {
+        Data key = key(1);
+        wheel.schedule(key, START_TIME + 10);
+
+        assertNull(wheel.poll(START_TIME + 9));
+        assertSame(key, wheel.poll(START_TIME + 10));
+        assertNull(wheel.poll(START_TIME + 10));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testKeyScheduledInThePast_isPolledRightAway() {
+        wheel.poll(START_TIME + 100);
+        Data key = key(1);
+        wheel.schedule(key, START_TIME + 50);
+
+        assertSame(key, wheel.poll(START_TIME + 101));
+    }
+
+    @Test
+    public void testKeysOfAllLevels_arePolledWhenDue() {
+        List<Integer> delays = asList(0, 1, 63, 64, 65, 4095, 4096, 100_000, 262_144,
+                16_777_215, 16_777_216, 50_000_000);
+        for (int delay : delays) {
+            wheel.schedule(key(delay), START_TIME + delay);
+        }
+
+        for (int delay : delays) {
+            int time = START_TIME + delay;
+            assertNull("polled before " + delay, wheel.poll(time - 1));
+            assertEquals(key(delay), wheel.poll(time));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRandomSchedule_pollsEveryKeyOnce_notBeforeItsTime() {
+        Random random = new Random(42);
+        int[] times = new int[10_000];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = START_TIME + random.nextInt(1 << 20);
+            wheel.schedule(key(i), times[i]);
+        }
+
+        Set<Data> polled = new HashSet<>();
+        int time = START_TIME;
+        while (polled.size() < times.length) {
+            time += random.nextInt(10_000);
+            Data key;
+            while ((key = wheel.poll(time)) != null) {
+                int index = indexOf(key);
+                assertTrue(times[index] <= time);
+                assertTrue("polled twice: " + index, polled.add(key));
+            }
+            for (int i = 0; i < times.length; i++) {
+                assertTrue(times[i] > time || polled.contains(key(i)));
+            }
+        }
+    }
+
+    @Test
+    public void testPurge_dropsMatchingKeys() {
+        List<Data> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(key(i));
+            wheel.schedule(key(i), START_TIME + i * 1000);
+        }
+
+        wheel.purge(key -> indexOf(key) % 2 == 0);
+
+        assertEquals(50, wheel.size());
+        Set<Data> polled = new HashSet<>();
+        Data key;
+        while ((key = wheel.poll(START_TIME + 100_000)) != null) {
+            polled.add(key);
+        }
+        assertEquals(50, polled.size());
+        for (Data polledKey : polled) {
+            assertTrue(indexOf(polledKey) % 2 == 1);
+        }
+    }
+
+    @Test
+    public void testNextDueTime() {
+        assertEquals(Integer.MAX_VALUE, wheel.nextDueTime());
+
+        wheel.schedule(key(1), START_TIME + 1000);
+        assertEquals(START_TIME + 1000, wheel.nextDueTime());
+        wheel.schedule(key(2), START_TIME + 10);
+        assertEquals(START_TIME + 10, wheel.nextDueTime());
+
+        wheel.poll(START_TIME + 10);
+        assertNull(wheel.poll(START_TIME + 10));
+        int nextDueTime = wheel.nextDueTime();
+        assertTrue(nextDueTime > START_TIME + 10 && nextDueTime <= START_TIME + 1000);
+    }
+
+    @Test
+    public void testClear() {
+        wheel.schedule(key(1), START_TIME);
+        wheel.schedule(key(2), START_TIME + 100_000);
+
+        wheel.clear();
+
+        assertEquals(0, wheel.size());
+        assertEquals(Integer.MAX_VALUE, wheel.nextDueTime());
+        assertNull(wheel.poll(START_TIME + 200_000));
+    }
+
+    private static Data key(int index) {
+        byte[] bytes = new byte[HeapData.HEAP_DATA_OVERHEAD + Integer.BYTES];
+        writeIntB(bytes, HeapData.DATA_OFFSET, index);
+        return new HeapData(bytes);
+    }
+
+    private static int indexOf(Data key) {
+        return readIntB(key.toByteArray(), HeapData.DATA_OFFSET);
+    }
+}
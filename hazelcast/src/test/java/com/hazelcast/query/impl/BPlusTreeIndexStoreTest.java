@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link BPlusTreeIndexStore} against {@link OrderedIndexStore}.
+ */
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BPlusTreeIndexStoreTest {
+
+    private static final int VALUE_RANGE = 300;
+
+    @Parameter
+    public IndexCopyBehavior copyBehavior;
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+    private final Random random = new Random(42);
+
+    private BPlusTreeIndexStore store;
+    private OrderedIndexStore expectedStore;
+
+    @Parameters(name = "copyBehavior: {0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {IndexCopyBehavior.COPY_ON_READ},
+                {IndexCopyBehavior.COPY_ON_WRITE},
+                {IndexCopyBehavior.NEVER},
+        });
+    }
+
+    @Test
+    public void randomUpdates_matchOrderedIndexStore() {
+        store = new BPlusTreeIndexStore(copyBehavior, 8);
+        expectedStore = new OrderedIndexStore(copyBehavior);
+        Map<Integer, Integer> values = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(1000);
+            // unique values, duplicates and nulls
+            Integer value = random.nextInt(10) == 0 ? null : random.nextInt(VALUE_RANGE);
+            CachedQueryEntry entry = new CachedQueryEntry(ss, ss.toData(key), value, extractors);
+            if (!values.containsKey(key)) {
+                values.put(key, value);
+                store.insert(value, entry, entry, EMPTY);
+                expectedStore.insert(value, entry, entry, EMPTY);
+            } else if (random.nextInt(4) == 0) {
+                Integer oldValue = values.remove(key);
+                store.remove(oldValue, entry, EMPTY);
+                expectedStore.remove(oldValue, entry, EMPTY);
+            } else {
+                Integer oldValue = values.put(key, value);
+                store.update(oldValue, value, entry, entry, EMPTY);
+                expectedStore.update(oldValue, value, entry, entry, EMPTY);
+            }
+        }
+
+        assertSameRecords();
+    }
+
+    @Test
+    public void clear_removesAllRecords() {
+        store = new BPlusTreeIndexStore(copyBehavior);
+        for (int key = 0; key < 100; key++) {
+            CachedQueryEntry entry = new CachedQueryEntry(ss, ss.toData(key), key, extractors);
+            store.insert(key % 10, entry, entry, EMPTY);
+        }
+
+        store.clear();
+
+        assertTrue(store.getRecords(5).isEmpty());
+        assertTrue(store.getRecords(Comparison.GREATER_OR_EQUAL, 0).isEmpty());
+        assertFalse(store.getSqlRecordIterator(5, true, 7, true, false).hasNext());
+    }
+
+    @Test
+    public void temporalValues_areRangeScanned() {
+        store = new BPlusTreeIndexStore(copyBehavior);
+        for (int key = 0; key < 100; key++) {
+            CachedQueryEntry entry = new CachedQueryEntry(ss, ss.toData(key), key, extractors);
+            store.insert(new Date(key * 1000L), entry, entry, EMPTY);
+        }
+
+        assertEquals(11, store.getRecords(new Date(10_000L), true, new Date(20_000L), true).size());
+        assertEquals(new Date(99_000L), store.getSqlRecordIteratorBatch(true).next().getIndexKey());
+    }
+
+    private void assertSameRecords() {
+        for (int i = 0; i < 200; i++) {
+            Comparable from = random.nextInt(VALUE_RANGE);
+            Comparable to = random.nextInt(VALUE_RANGE);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+
+            assertEquals(keys(expectedStore.getRecords(from)), keys(store.getRecords(from)));
+            for (Comparison comparison : Comparison.values()) {
+                assertEquals(keys(expectedStore.getRecords(comparison, from)), keys(store.getRecords(comparison, from)));
+                for (boolean descending : new boolean[]{false, true}) {
+                    assertEquals(batches(expectedStore.getSqlRecordIteratorBatch(comparison, from, descending)),
+                            batches(store.getSqlRecordIteratorBatch(comparison, from, descending)));
+                }
+            }
+            assertEquals(keys(expectedStore.getRecords(from, fromInclusive, to, toInclusive)),
+                    keys(store.getRecords(from, fromInclusive, to, toInclusive)));
+            for (boolean descending : new boolean[]{false, true}) {
+                assertEquals(batches(expectedStore.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending)),
+                        batches(store.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending)));
+            }
+        }
+
+        Set<Comparable> values = new HashSet<>(asList(NULL, 1, 2, 3, 100, VALUE_RANGE + 1));
+        assertEquals(keys(expectedStore.getRecords(values)), keys(store.getRecords(values)));
+        assertEquals(keys(expectedStore.getRecords(NULL)), keys(store.getRecords(NULL)));
+        for (boolean descending : new boolean[]{false, true}) {
+            assertEquals(batches(expectedStore.getSqlRecordIteratorBatch(descending)),
+                    batches(store.getSqlRecordIteratorBatch(descending)));
+            assertEquals(keys(expectedStore.getSqlRecordIterator(descending)), keys(store.getSqlRecordIterator(descending)));
+        }
+        assertEquals(batches(expectedStore.getSqlRecordIteratorBatch(NULL)), batches(store.getSqlRecordIteratorBatch(NULL)));
+        assertEquals(batches(expectedStore.getSqlRecordIteratorBatch(42)), batches(store.getSqlRecordIteratorBatch(42)));
+    }
+
+    private static Set<Object> keys(Set<QueryableEntry> records) {
+        Set<Object> keys = new HashSet<>();
+        for (QueryableEntry record : records) {
+            assertTrue(keys.add(record.getKeyData()));
+        }
+        return keys;
+    }
+
+    private static Set<Object> keys(Iterator<QueryableEntry> records) {
+        Set<Object> keys = new HashSet<>();
+        records.forEachRemaining(record -> assertTrue(keys.add(record.getKeyData())));
+        return keys;
+    }
+
+    /**
+     * @return the index values in order, each one with the set of keys of
+     * its records, in no particular order
+     */
+    private static List<Object> batches(Iterator<IndexKeyEntries> iterator) {
+        List<Object> batches = new ArrayList<>();
+        iterator.forEachRemaining(batch -> {
+            Set<Object> keys = keys(batch.getEntries());
+            if (!keys.isEmpty()) {
+                batches.add(batch.getIndexKey());
+                batches.add(keys);
+            }
+        });
+        return batches;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings("rawtypes")
+public class BPlusTreeTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void randomUpdates_smallNodes() {
+        assertRandomUpdates(new BPlusTree(4), 200);
+    }
+
+    @Test
+    public void randomUpdates_defaultNodes() {
+        assertRandomUpdates(new BPlusTree(), 20_000);
+    }
+
+    @Test
+    public void increasingKeys_thenRemoved() {
+        BPlusTree tree = new BPlusTree(4);
+        TreeMap<Comparable, Object> expected = new TreeMap<>(Comparables.COMPARATOR);
+        for (long key = 0; key < 1000; key++) {
+            tree.put(key, "v" + key);
+            expected.put(key, "v" + key);
+        }
+        assertContent(expected, tree);
+
+        for (long key = 0; key < 1000; key += 2) {
+            assertEquals("v" + key, tree.remove(key));
+            expected.remove(key);
+        }
+        assertContent(expected, tree);
+
+        for (long key = 1; key < 1000; key += 2) {
+            tree.remove(key);
+        }
+        assertEquals(0, tree.size());
+        assertNull(tree.get(1L));
+    }
+
+    @Test
+    public void put_replacesValue() {
+        BPlusTree tree = new BPlusTree();
+        assertNull(tree.put(1, "a"));
+        assertEquals("a", tree.put(1, "b"));
+        assertEquals("b", tree.get(1));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void keysOfAnotherClass_convertToComparableKeys() {
+        BPlusTree tree = new BPlusTree(4);
+        TreeMap<Comparable, Object> expected = new TreeMap<>(Comparables.COMPARATOR);
+        for (int key = 0; key < 100; key++) {
+            tree.put(key, key);
+            expected.put(key, key);
+        }
+        // compared as numbers with the integers
+        tree.put(10.5, "x");
+        expected.put(10.5, "x");
+        tree.put(20L, "y");
+        expected.put(20L, "y");
+
+        assertContent(expected, tree);
+        assertEquals("y", tree.get(20));
+    }
+
+    @Test
+    public void queryArgumentsOfAnotherClass_areComparedAsNumbers() {
+        BPlusTree tree = new BPlusTree(4);
+        for (int key = 0; key < 100; key++) {
+            tree.put(key, key);
+        }
+
+        assertEquals(42, tree.get(42L));
+        assertEquals(42, tree.get(42.0));
+        assertEquals(5, copyRange(tree, 9.5, true, 14.5, true, false).size());
+    }
+
+    @Test
+    public void temporalKeys_areDecodedToTheirClass() {
+        BPlusTree dates = new BPlusTree(4);
+        BPlusTree instants = new BPlusTree(4);
+        BPlusTree dateTimes = new BPlusTree(4);
+        for (int i = 0; i < 20; i++) {
+            dates.put(new Date(1_000_000L * i), i);
+            instants.put(Instant.ofEpochSecond(-10 + i, 123_456_789), i);
+            dateTimes.put(LocalDateTime.of(2022, 1, 1 + i, 12, 30, 15, 999), i);
+        }
+
+        assertEquals(new Date(5_000_000L), copyRange(dates, new Date(5_000_000L), true, null, false, false).get(0));
+        assertEquals(Instant.ofEpochSecond(-6, 123_456_789),
+                copyRange(instants, Instant.ofEpochSecond(-6), false, null, false, false).get(0));
+        assertEquals(LocalDateTime.of(2022, 1, 20, 12, 30, 15, 999),
+                copyRange(dateTimes, null, false, null, false, true).get(0));
+        assertEquals(3, dateTimes.get(LocalDateTime.of(2022, 1, 4, 12, 30, 15, 999)));
+    }
+
+    @Test
+    public void copyRange_stopsAtArrayLength() {
+        BPlusTree tree = new BPlusTree(4);
+        for (int key = 0; key < 100; key++) {
+            tree.put(key, key);
+        }
+
+        Comparable[] keys = new Comparable[10];
+        Object[] values = new Object[10];
+        assertEquals(10, tree.copyRange(50, false, null, false, false, keys, values));
+        assertEquals(51, keys[0]);
+        assertEquals(60, keys[9]);
+
+        assertEquals(10, tree.copyRange(null, false, 50, false, true, keys, values));
+        assertEquals(49, keys[0]);
+        assertEquals(40, keys[9]);
+    }
+
+    private void assertRandomUpdates(BPlusTree tree, int keyRange) {
+        TreeMap<Comparable, Object> expected = new TreeMap<>(Comparables.COMPARATOR);
+        for (int i = 0; i < keyRange * 10; i++) {
+            Integer key = random.nextInt(keyRange);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), tree.put(key, i));
+            }
+            if (i % keyRange == 0) {
+                assertContent(expected, tree);
+            }
+        }
+        assertContent(expected, tree);
+    }
+
+    private void assertContent(TreeMap<Comparable, Object> expected, BPlusTree tree) {
+        assertEquals(expected.size(), tree.size());
+        for (Map.Entry<Comparable, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), tree.get(entry.getKey()));
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), copyRange(tree, null, false, null, false, false));
+        assertEquals(new ArrayList<>(expected.descendingKeySet()), copyRange(tree, null, false, null, false, true));
+
+        List<Object> values = new ArrayList<>();
+        tree.forEachValue(null, false, null, false, values::add);
+        assertEquals(new ArrayList<>(expected.values()), values);
+
+        if (expected.isEmpty()) {
+            return;
+        }
+        Comparable first = expected.firstKey();
+        Comparable last = expected.lastKey();
+        for (int i = 0; i < 10; i++) {
+            Comparable from = expected.higherKey(first) == null ? first : randomKeyBetween(expected, first, last);
+            Comparable to = randomKeyBetween(expected, from, last);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            NavigableMap<Comparable, Object> subMap = expected.subMap(from, fromInclusive, to, toInclusive);
+            assertEquals(new ArrayList<>(subMap.keySet()),
+                    copyRange(tree, from, fromInclusive, to, toInclusive, false));
+            assertEquals(new ArrayList<>(subMap.descendingKeySet()),
+                    copyRange(tree, from, fromInclusive, to, toInclusive, true));
+        }
+    }
+
+    private Comparable randomKeyBetween(TreeMap<Comparable, Object> map, Comparable from, Comparable to) {
+        List<Comparable> keys = new ArrayList<>(map.subMap(from, true, to, true).keySet());
+        return keys.get(random.nextInt(keys.size()));
+    }
+
+    private static List<Comparable> copyRange(BPlusTree tree, Comparable from, boolean fromInclusive, Comparable to,
+                                              boolean toInclusive, boolean descending) {
+        List<Comparable> result = new ArrayList<>();
+        Comparable[] keys = new Comparable[7];
+        Object[] values = new Object[7];
+        while (true) {
+            int count = tree.copyRange(from, fromInclusive, to, toInclusive, descending, keys, values);
+            for (int i = 0; i < count; i++) {
+                result.add(keys[i]);
+            }
+            if (count < keys.length) {
+                return result;
+            }
+            if (descending) {
+                to = keys[count - 1];
+                toInclusive = false;
+            } else {
+                from = keys[count - 1];
+                fromInclusive = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MetadataPolicy;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastSerialParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CoveringIndexTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+    private static final int STATUS_COUNT = 4;
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Parameter(1)
+    public CacheDeserializedValues cacheDeserializedValues;
+
+    @Parameter(2)
+    public IndexType indexType;
+
+    @Parameters(name = "inMemoryFormat: {0}, cacheDeserializedValues: {1}, indexType: {2}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY, CacheDeserializedValues.NEVER, IndexType.HASH},
+                {InMemoryFormat.BINARY, CacheDeserializedValues.NEVER, IndexType.SORTED},
+                {InMemoryFormat.BINARY, CacheDeserializedValues.INDEX_ONLY, IndexType.HASH},
+                {InMemoryFormat.OBJECT, CacheDeserializedValues.NEVER, IndexType.SORTED},
+        });
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("map")
+                .setInMemoryFormat(inMemoryFormat)
+                .setCacheDeserializedValues(cacheDeserializedValues)
+                .setMetadataPolicy(MetadataPolicy.OFF)
+                .addIndexConfig(new IndexConfig(indexType, "status").addIncludedAttribute("id"));
+        return config;
+    }
+
+    @Test
+    public void projectionOfCoveredAttributes_doesNotDeserializeValues() {
+        IMap<Integer, Record> map = createHazelcastInstance().getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Record(i));
+        }
+        // updated entries are covered with their new attribute values
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.set(i, new Record(i + ENTRY_COUNT));
+        }
+
+        Record.deserializationCount.set(0);
+        Collection<Object[]> result = map.project(Projections.multiAttribute("id", "status"),
+                Predicates.equal("status", 1));
+
+        assertEquals(0, Record.deserializationCount.get());
+        Set<Integer> ids = new HashSet<>();
+        for (Object[] row : result) {
+            assertEquals(1, row[1]);
+            ids.add((Integer) row[0]);
+        }
+        Set<Integer> expectedIds = new HashSet<>();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            int id = i % 2 == 0 ? i + ENTRY_COUNT : i;
+            if (id % STATUS_COUNT == 1) {
+                expectedIds.add(id);
+            }
+        }
+        assertEquals(expectedIds, ids);
+    }
+
+    @Test
+    public void predicateOnCoveredAttributes_doesNotDeserializeValues() {
+        IMap<Integer, Record> map = createHazelcastInstance().getMap("map");
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Record(i));
+        }
+
+        Record.deserializationCount.set(0);
+        Set<Integer> keys = map.keySet(Predicates.and(Predicates.equal("status", 2), Predicates.greaterThan("id", 50)));
+
+        assertEquals(0, Record.deserializationCount.get());
+        Set<Integer> expectedKeys = new HashSet<>();
+        for (int i = 51; i < ENTRY_COUNT; ++i) {
+            if (i % STATUS_COUNT == 2) {
+                expectedKeys.add(i);
+            }
+        }
+        assertEquals(expectedKeys, keys);
+    }
+
+    static class Record implements DataSerializable {
+
+        static final AtomicInteger deserializationCount = new AtomicInteger();
+
+        int id;
+        int status;
+        String payload;
+
+        @SuppressWarnings("unused")
+        Record() {
+        }
+
+        Record(int id) {
+            this.id = id;
+            this.status = id % STATUS_COUNT;
+            this.payload = "payload-" + id;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(id);
+            out.writeInt(status);
+            out.writeString(payload);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readInt();
+            status = in.readInt();
+            payload = in.readString();
+
+            deserializationCount.incrementAndGet();
+        }
+    }
+}
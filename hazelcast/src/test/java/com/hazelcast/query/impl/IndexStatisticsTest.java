@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.IndexStatistics.TrackedOperationStats;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+
+import static com.hazelcast.internal.monitor.impl.IndexOperationStats.EMPTY;
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.Comparison.GREATER;
+import static com.hazelcast.query.impl.Comparison.GREATER_OR_EQUAL;
+import static com.hazelcast.query.impl.Comparison.LESS;
+import static com.hazelcast.query.impl.Comparison.LESS_OR_EQUAL;
+import static com.hazelcast.query.impl.Index.UNKNOWN_RECORD_COUNT;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class IndexStatisticsTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+
+    private IndexStore store;
+    private IndexStatistics statistics;
+    private int nextKey;
+
+    @Test
+    public void testOrdered_uniformValues() {
+        ordered();
+        for (int i = 0; i < 6400; ++i) {
+            insert(i);
+        }
+
+        assertEquals(6400, statistics.getEntryCount());
+        assertEstimate(1000, statistics.estimateComparison(store, LESS, 1000));
+        assertEstimate(1001, statistics.estimateComparison(store, LESS_OR_EQUAL, 1000));
+        assertEstimate(5399, statistics.estimateComparison(store, GREATER, 1000));
+        assertEstimate(5400, statistics.estimateComparison(store, GREATER_OR_EQUAL, 1000));
+        assertEstimate(2001, statistics.estimateRange(store, 1000, true, 3000, true));
+        assertEstimate(1, statistics.estimateEqual(store, 4321));
+
+        assertEquals(0, statistics.estimateEqual(store, -1));
+        assertEquals(0, statistics.estimateEqual(store, 10000));
+        assertEquals(0, statistics.estimateComparison(store, LESS, -1));
+        assertEquals(0, statistics.estimateComparison(store, GREATER, 10000));
+        assertEquals(6400, statistics.estimateComparison(store, LESS, 10000));
+    }
+
+    @Test
+    public void testOrdered_frequentValueIsEstimatedExactly() {
+        ordered();
+        for (int i = 0; i < 1000; ++i) {
+            insert(i);
+        }
+        for (int i = 0; i < 1000; ++i) {
+            insert(500);
+        }
+
+        assertEquals(1001, statistics.estimateEqual(store, 500));
+        assertTrue(statistics.estimateEqual(store, 499) <= 2);
+        assertTrue(statistics.estimateEqual(store, 501) <= 2);
+        assertEstimate(1004, statistics.estimateIn(store, new HashSet<>(asList(500, 10, 20, 30))));
+    }
+
+    @Test
+    public void testOrdered_nulls() {
+        ordered();
+        for (int i = 0; i < 100; ++i) {
+            insert(i);
+        }
+        for (int i = 0; i < 50; ++i) {
+            insert(NULL);
+        }
+
+        assertEquals(150, statistics.getEntryCount());
+        assertEquals(50, statistics.estimateEqual(store, NULL));
+        assertEquals(100, statistics.estimateComparison(store, GREATER_OR_EQUAL, 0));
+    }
+
+    @Test
+    public void testOrdered_staleHistogramIsRebuilt() {
+        ordered();
+        for (int i = 0; i < 100; ++i) {
+            insert(i);
+        }
+        assertEstimate(50, statistics.estimateComparison(store, LESS, 50));
+
+        for (int i = 1000; i < 2000; ++i) {
+            insert(i);
+        }
+        assertEstimate(1000, statistics.estimateComparison(store, GREATER_OR_EQUAL, 1000));
+        assertEstimate(50, statistics.estimateComparison(store, LESS, 50));
+    }
+
+    @Test
+    public void testUnordered() {
+        unordered();
+        for (int i = 0; i < 100; ++i) {
+            insert(i % 10);
+        }
+
+        assertEquals(10, statistics.estimateEqual(store, 5));
+        assertEquals(30, statistics.estimateIn(store, new HashSet<>(asList(1, 2, 3))));
+        assertEquals(34, statistics.estimateComparison(store, LESS, 5));
+        assertEquals(34, statistics.estimateRange(store, 1, true, 3, true));
+    }
+
+    @Test
+    public void testUnknownDistinctCount() {
+        statistics = new IndexStatistics(false);
+        store = new BitmapIndexStore(new IndexConfig(IndexType.BITMAP, "value"));
+        insert(1);
+
+        assertEquals(UNKNOWN_RECORD_COUNT, statistics.estimateEqual(store, 1));
+        assertEquals(UNKNOWN_RECORD_COUNT, statistics.estimateComparison(store, LESS, 1));
+    }
+
+    @Test
+    public void testEntryCount_countsOnlyEntriesAddedToStore() {
+        unordered();
+        CachedQueryEntry entry = new CachedQueryEntry(ss, ss.toData(nextKey++), 1, extractors);
+        insert(entry);
+        // a repeated put or an index build visiting an indexed entry
+        insert(entry);
+        assertEquals(1, statistics.getEntryCount());
+
+        remove(entry);
+        remove(entry);
+        assertEquals(0, statistics.getEntryCount());
+    }
+
+    @Test
+    public void testOperationStats_reusedOnceCompleted() {
+        unordered();
+        TrackedOperationStats operationStats = statistics.startOperation(EMPTY);
+        operationStats.onEntryAdded(1);
+        statistics.completeOperation(operationStats);
+
+        assertSame(operationStats, statistics.startOperation(EMPTY));
+        statistics.completeOperation(operationStats);
+        assertEquals(1, statistics.getEntryCount());
+    }
+
+    @Test
+    public void testClear() {
+        ordered();
+        for (int i = 0; i < 100; ++i) {
+            insert(i);
+        }
+        assertEstimate(50, statistics.estimateComparison(store, LESS, 50));
+
+        store.clear();
+        statistics.clear();
+        assertEquals(0, statistics.getEntryCount());
+        assertEquals(0, statistics.estimateComparison(store, LESS, 50));
+        assertEquals(0, statistics.estimateEqual(store, 10));
+    }
+
+    private void ordered() {
+        store = new OrderedIndexStore(IndexCopyBehavior.NEVER);
+        statistics = new IndexStatistics(true);
+    }
+
+    private void unordered() {
+        store = new UnorderedIndexStore(IndexCopyBehavior.NEVER);
+        statistics = new IndexStatistics(false);
+    }
+
+    private void insert(Comparable value) {
+        insert(new CachedQueryEntry(ss, ss.toData(nextKey++), value, extractors));
+    }
+
+    private void insert(CachedQueryEntry entry) {
+        TrackedOperationStats operationStats = statistics.startOperation(EMPTY);
+        store.insert(entry.getValue(), entry, entry, operationStats);
+        statistics.completeOperation(operationStats);
+    }
+
+    private void remove(CachedQueryEntry entry) {
+        TrackedOperationStats operationStats = statistics.startOperation(EMPTY);
+        store.remove(entry.getValue(), entry, operationStats);
+        statistics.completeOperation(operationStats);
+    }
+
+    private static void assertEstimate(long expected, long actual) {
+        assertEquals(expected, actual, Math.max(2, expected / 20));
+    }
+
+}
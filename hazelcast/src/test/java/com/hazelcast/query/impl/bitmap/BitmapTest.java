@@ -20,6 +20,7 @@ import com.hazelcast.internal.monitor.impl.GlobalIndexOperationStats;
 import com.hazelcast.internal.monitor.impl.IndexOperationStats;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -34,14 +35,21 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
 import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.greaterThan;
 import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.lessEqual;
 import static com.hazelcast.query.Predicates.not;
 import static com.hazelcast.query.Predicates.notEqual;
 import static com.hazelcast.query.Predicates.or;
 import static com.hazelcast.query.impl.TypeConverters.INTEGER_CONVERTER;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -52,7 +60,7 @@ public class BitmapTest {
     private static final Predicate[] actualQueries;
 
     static {
-        actualQueries = new Predicate[10];
+        actualQueries = new Predicate[15];
         actualQueries[0] = notEqual("a", "0");
         actualQueries[1] = equal("a", 1L);
         actualQueries[2] = equal("a", 2);
@@ -69,12 +77,19 @@ public class BitmapTest {
         // single-predicate and/or
         actualQueries[8] = or(equal("a", 1.0D));
         actualQueries[9] = and(equal("a", 1.0F));
+
+        // ranges
+        actualQueries[10] = greaterThan("a", 5);
+        actualQueries[11] = between("a", 2, "4");
+        actualQueries[12] = not(greaterEqual("a", 3L));
+        actualQueries[13] = and(lessEqual("a", 1), new BoundedRangePredicate("a", 0, false, 3, true));
+        actualQueries[14] = between("a", 4, 2);
     }
 
     private final ExpectedQuery[] expectedQueries;
 
     {
-        expectedQueries = new ExpectedQuery[10];
+        expectedQueries = new ExpectedQuery[15];
         expectedQueries[0] = new ExpectedQuery(value -> !bit(0, value));
         expectedQueries[1] = new ExpectedQuery(value -> bit(1, value));
         expectedQueries[2] = new ExpectedQuery(value -> bit(2, value));
@@ -87,6 +102,12 @@ public class BitmapTest {
                 value -> !(!bit(0, value) && (bit(1, value) || bit(2, value)) && !(bit(3, value) || bit(4, value))));
         expectedQueries[8] = new ExpectedQuery(value -> bit(1, value));
         expectedQueries[9] = new ExpectedQuery(value -> bit(1, value));
+        expectedQueries[10] = new ExpectedQuery(value -> value >>> 6 != 0);
+        expectedQueries[11] = new ExpectedQuery(value -> bit(2, value) || bit(3, value) || bit(4, value));
+        expectedQueries[12] = new ExpectedQuery(value -> value >>> 3 == 0);
+        expectedQueries[13] = new ExpectedQuery(
+                value -> (bit(0, value) || bit(1, value)) && (bit(1, value) || bit(2, value) || bit(3, value)));
+        expectedQueries[14] = new ExpectedQuery(value -> false);
     }
 
     private final Bitmap<String> bitmap = new Bitmap<>();
@@ -150,6 +171,27 @@ public class BitmapTest {
         bitmap.evaluate(Predicates.like("a", "b"), INTEGER_CONVERTER);
     }
 
+    @Test
+    public void testRange_whenNotComparableValueUpdated_thenValuesOrderedAgain() {
+        bitmap.insert(singletonList(1).iterator(), 1, "1", operationStats);
+        bitmap.insert(singletonList("a").iterator(), 2, "2", operationStats);
+        assertThrows(ClassCastException.class, () -> bitmap.evaluate(greaterThan("a", 0), INTEGER_CONVERTER));
+
+        bitmap.update(singletonList("a").iterator(), singletonList(2).iterator(), 2, "2", operationStats);
+        assertEquals(asList("1", "2"), toList(bitmap.evaluate(greaterThan("a", 0), INTEGER_CONVERTER)));
+    }
+
+    @Test
+    public void testRange_whenOrderedValuesRemoved_thenRemainingValuesOrdered() {
+        bitmap.insert(singletonList("a").iterator(), 1, "1", operationStats);
+        bitmap.insert(singletonList(1).iterator(), 2, "2", operationStats);
+        bitmap.insert(singletonList(2).iterator(), 3, "3", operationStats);
+        assertThrows(ClassCastException.class, () -> bitmap.evaluate(greaterThan("a", 0), INTEGER_CONVERTER));
+
+        bitmap.remove(singletonList("a").iterator(), 1, operationStats);
+        assertEquals(asList("2", "3"), toList(bitmap.evaluate(greaterThan("a", 0), INTEGER_CONVERTER)));
+    }
+
     private void insert(long key, long value) {
         bitmap.insert(values(value), key, Long.toString(key), operationStats);
         for (ExpectedQuery expectedQuery : expectedQueries) {
@@ -188,6 +230,12 @@ public class BitmapTest {
         }
     }
 
+    private static List<String> toList(Iterator<String> iterator) {
+        List<String> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+
     private static Iterator<Integer> values(long key) {
         List<Integer> values = new ArrayList<>(Long.SIZE);
         for (int i = 0; i < Long.SIZE; ++i) {
@@ -24,6 +24,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.util.NavigableSet;
+import java.util.Random;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -395,6 +396,65 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testRunStorage16() {
+        long base = ((long) Short.MAX_VALUE * 2 + 1) * 3;
+        Random random = new Random(42);
+
+        // dense clusters of members separated by gaps
+        for (int i = 0; i < 20000; ++i) {
+            long member = base + random.nextInt(64) * 1024 + random.nextInt(512);
+            if (random.nextInt(4) == 0) {
+                clear(member);
+            } else {
+                set(member);
+            }
+            if (i % 1000 == 0) {
+                verify();
+                verifyAdvanceAtLeastTo();
+            }
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // split runs apart until they are not worth keeping
+        for (long member = base; member < base + 64 * 1024; member += 3) {
+            clear(member);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+    }
+
+    @Test
+    public void testRunStorage16ConversionFromBitSet() {
+        int full = 1 << Short.SIZE;
+
+        // every other member: no runs to compress
+        for (long i = 0; i < full; i += 2) {
+            set(i);
+        }
+        verify();
+
+        // fill the gaps: a single run
+        for (long i = 1; i < full; i += 2) {
+            set(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // punch holes back
+        for (long i = 0; i < full; i += 5) {
+            clear(i);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 0; i < full; ++i) {
+            clear(i);
+        }
+        verify();
+    }
+
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestUtil;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder.compact;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactGetterTest {
+
+    private static final String[] FIELDS = {
+            "boolean0", "boolean1", "boolean2", "int8", "int16", "int32", "int64", "float32", "float64",
+            "string", "nullableInt32", "nested.int32",
+    };
+
+    @Parameters(name = "byteOrder:{0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {ByteOrder.BIG_ENDIAN},
+                {ByteOrder.LITTLE_ENDIAN},
+        });
+    }
+
+    @Parameter
+    public ByteOrder byteOrder;
+
+    private InternalSerializationService serializationService;
+    private CompactGetter getter;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .setConfig(new SerializationConfig())
+                .setByteOrder(byteOrder)
+                .build();
+        getter = new CompactGetter(serializationService);
+    }
+
+    @Test
+    public void getValue_readsFieldsLikeGenericRecordQueryReader() throws Exception {
+        Data data = serializationService.toData(record("withVarSizeFields", true, 42));
+
+        for (int i = 0; i < 2; i++) {
+            // the second round reads through the cached accessors
+            assertSameAsQueryReader(data);
+        }
+    }
+
+    @Test
+    public void getValue_whenSchemaHasNoVariableSizeFields() throws Exception {
+        GenericRecord record = compact("fixedSizeOnly")
+                .setInt32("int32", -7)
+                .setInt64("int64", Long.MIN_VALUE)
+                .setBoolean("boolean0", true)
+                .build();
+        Data data = serializationService.toData(record);
+
+        assertEquals(-7, getter.getValue(data, "int32"));
+        assertEquals(Long.MIN_VALUE, getter.getValue(data, "int64"));
+        assertEquals(true, getter.getValue(data, "boolean0"));
+    }
+
+    @Test
+    public void getValue_whenPathIsReadWithDifferentSchemas() throws Exception {
+        Data withVarSizeFields = serializationService.toData(record("withVarSizeFields", true, 1));
+        Data withoutVarSizeFields = serializationService.toData(compact("fixedSizeOnly")
+                .setInt64("int64", 5L)
+                .setInt32("int32", 2)
+                .build());
+        Data withStringField = serializationService.toData(compact("stringField")
+                .setString("int32", "3")
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(1, getter.getValue(withVarSizeFields, "int32"));
+            assertEquals(2, getter.getValue(withoutVarSizeFields, "int32"));
+            assertEquals("3", getter.getValue(withStringField, "int32"));
+        }
+    }
+
+    @Test
+    public void getValue_whenFieldIsMissing() throws Exception {
+        Data data = serializationService.toData(record("withVarSizeFields", false, 0));
+
+        assertNull(getter.getValue(data, "missing"));
+        assertNull(getter.getValue(data, "missing"));
+    }
+
+    @Test
+    public void getValue_whenNumericFieldAccumulated() throws Exception {
+        Data data = serializationService.toData(record("withVarSizeFields", true, 5));
+        List<Object> accumulated = new ArrayList<>();
+        PrimitiveAccumulator accumulator = new PrimitiveAccumulator() {
+            @Override
+            public void accumulateLong(long value) {
+                accumulated.add(value);
+            }
+
+            @Override
+            public void accumulateDouble(double value) {
+                accumulated.add(value);
+            }
+        };
+
+        for (String field : new String[]{"int8", "int16", "int32", "int64", "float64"}) {
+            assertSame(field, PrimitiveAccumulator.ACCUMULATED, getter.getValue(data, field, null, accumulator));
+        }
+        assertEquals(asList(-5L, 15L, 5L, 5_000_000_000_000L, -5 / 7d), accumulated);
+
+        // other fields are returned as usual
+        assertEquals(true, getter.getValue(data, "boolean0", null, accumulator));
+        assertEquals("value-5", getter.getValue(data, "string", null, accumulator));
+        assertEquals(5, getter.getValue(data, "nullableInt32", null, accumulator));
+        assertEquals(10, getter.getValue(data, "nested.int32", null, accumulator));
+        assertEquals(5, accumulated.size());
+    }
+
+    private void assertSameAsQueryReader(Data data) throws Exception {
+        GenericRecordQueryReader reader =
+                new GenericRecordQueryReader(serializationService.readAsInternalGenericRecord(data));
+        for (String field : FIELDS) {
+            assertEquals(field, reader.read(field), getter.getValue(data, field));
+        }
+    }
+
+    private static GenericRecord record(String typeName, boolean flag, int value) {
+        GenericRecord nested = compact("nested")
+                .setInt32("int32", value * 2)
+                .build();
+        return compact(typeName)
+                .setBoolean("boolean0", flag)
+                .setBoolean("boolean1", !flag)
+                .setBoolean("boolean2", flag)
+                .setInt8("int8", (byte) -value)
+                .setInt16("int16", (short) (value * 3))
+                .setInt32("int32", value)
+                .setInt64("int64", value * 1_000_000_000_000L)
+                .setFloat32("float32", value / 3f)
+                .setFloat64("float64", -value / 7d)
+                .setString("string", "value-" + value)
+                .setNullableInt32("nullableInt32", value)
+                .setGenericRecord("nested", nested)
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MemberReadersTest {
+
+    private final Value value = new Value(42, "foo");
+
+    @Test
+    public void publicMethod() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getText"));
+
+        assertEquals("foo", reader.read(value));
+    }
+
+    @Test
+    public void publicMethod_returningPrimitive() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getNumber"));
+
+        assertEquals(42, reader.read(value));
+    }
+
+    @Test
+    public void publicMethod_returningNull() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getText"));
+
+        assertNull(reader.read(new Value(0, null)));
+    }
+
+    @Test
+    public void privateMethod() throws Exception {
+        Method method = Value.class.getDeclaredMethod("getSecret");
+        method.setAccessible(true);
+        MemberReader reader = MemberReaders.forMethod(method);
+
+        assertEquals("secret-42", reader.read(value));
+    }
+
+    @Test
+    public void inheritedMethod_onSubclassInstance() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getText"));
+
+        assertEquals("bar", reader.read(new ExtendedValue(1, "bar")));
+    }
+
+    @Test
+    public void staticMethod() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getDefaultText"));
+
+        assertEquals("default", reader.read(value));
+        assertEquals("default", reader.read(null));
+    }
+
+    @Test
+    public void privateField() throws Exception {
+        Field field = Value.class.getDeclaredField("number");
+        field.setAccessible(true);
+        MemberReader reader = MemberReaders.forField(field);
+
+        assertEquals(42, reader.read(value));
+    }
+
+    @Test
+    public void publicField() throws Exception {
+        MemberReader reader = MemberReaders.forField(Value.class.getField("text"));
+
+        assertEquals("foo", reader.read(value));
+    }
+
+    @Test
+    public void staticField() throws Exception {
+        MemberReader reader = MemberReaders.forField(Value.class.getField("DEFAULT_TEXT"));
+
+        assertEquals("default", reader.read(value));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void method_whenTargetOfWrongType_thenThrowIllegalArgumentException() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getText"));
+
+        reader.read("foo");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void field_whenTargetOfWrongType_thenThrowIllegalArgumentException() throws Exception {
+        MemberReader reader = MemberReaders.forField(Value.class.getField("text"));
+
+        reader.read("foo");
+    }
+
+    @Test
+    public void method_whenThrows_thenThrowInvocationTargetException() throws Exception {
+        MemberReader reader = MemberReaders.forMethod(Value.class.getMethod("getFailure"));
+
+        try {
+            reader.read(value);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void readersAreCachedPerMember() throws Exception {
+        Method method = Value.class.getMethod("getText");
+        Field field = Value.class.getField("text");
+
+        assertSame(MemberReaders.forMethod(method), MemberReaders.forMethod(Value.class.getMethod("getText")));
+        assertSame(MemberReaders.forField(field), MemberReaders.forField(Value.class.getField("text")));
+    }
+
+    @SuppressWarnings("unused")
+    public static class Value {
+
+        public static final String DEFAULT_TEXT = "default";
+
+        public final String text;
+        private final int number;
+
+        Value(int number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+
+        public static String getDefaultText() {
+            return DEFAULT_TEXT;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public String getFailure() {
+            throw new IllegalStateException();
+        }
+
+        private String getSecret() {
+            return "secret-" + number;
+        }
+    }
+
+    public static class ExtendedValue extends Value {
+
+        ExtendedValue(int number, String text) {
+            super(number, text);
+        }
+    }
+}
@@ -18,6 +18,8 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -30,13 +32,16 @@ import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createDeleg
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockNegatablePredicate;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockVisitablePredicate;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createPassthroughVisitor;
+import static java.util.Collections.singleton;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -120,4 +125,18 @@ public class AndPredicateTest {
 
         assertThat(result, sameInstance(delegate));
     }
+
+    @Test
+    public void filter_whenIndexNotReady_thenReturnNull() {
+        QueryContext queryContext = mock(QueryContext.class);
+        IndexAwarePredicate ready = mock(IndexAwarePredicate.class);
+        when(ready.isIndexed(queryContext)).thenReturn(true);
+        when(ready.filter(queryContext)).thenReturn(singleton(mock(QueryableEntry.class)));
+        IndexAwarePredicate notReady = mock(IndexAwarePredicate.class);
+        when(notReady.isIndexed(queryContext)).thenReturn(true);
+        when(notReady.filter(queryContext)).thenReturn(null);
+
+        assertNull(new AndPredicate(ready, notReady).filter(queryContext));
+        assertNull(new AndPredicate(notReady, ready).filter(queryContext));
+    }
 }
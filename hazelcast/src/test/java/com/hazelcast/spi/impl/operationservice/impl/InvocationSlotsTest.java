@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.impl.Invocation.Context;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.spi.impl.operationservice.OperationAccessor.setCallId;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationSlots.MAX_SLOT_COUNT;
+import static com.hazelcast.spi.impl.operationservice.impl.InvocationSlots.MIN_SLOT_COUNT;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class InvocationSlotsTest {
+
+    private final InvocationSlots slots = new InvocationSlots(MIN_SLOT_COUNT);
+
+    @Test
+    public void get_whenPut() {
+        Invocation invocation = put(1);
+
+        assertSame(invocation, slots.get(1));
+        assertNull(slots.get(2));
+        assertEquals(1, slots.size());
+    }
+
+    @Test
+    public void get_whenRemoved() {
+        Invocation invocation = put(1);
+
+        slots.remove(1, invocation);
+
+        assertNull(slots.get(1));
+        assertEquals(0, slots.size());
+    }
+
+    @Test
+    public void get_whenSlotReusedByLaterCallId_thenStaleCallIdNotMatched() {
+        Invocation invocation = put(1);
+        slots.remove(1, invocation);
+
+        Invocation later = put(1 + MIN_SLOT_COUNT);
+
+        assertNull(slots.get(1));
+        assertSame(later, slots.get(1 + MIN_SLOT_COUNT));
+    }
+
+    @Test
+    public void get_whenSlotTaken_thenInvocationOverflows() {
+        Invocation invocation = put(1);
+        Invocation colliding = put(1 + MIN_SLOT_COUNT);
+        Invocation collidingToo = put(1 + 2 * MIN_SLOT_COUNT);
+
+        assertSame(invocation, slots.get(1));
+        assertSame(colliding, slots.get(1 + MIN_SLOT_COUNT));
+        assertSame(collidingToo, slots.get(1 + 2 * MIN_SLOT_COUNT));
+        assertEquals(3, slots.size());
+
+        slots.remove(1, invocation);
+        slots.remove(1 + 2 * MIN_SLOT_COUNT, collidingToo);
+
+        assertNull(slots.get(1));
+        assertSame(colliding, slots.get(1 + MIN_SLOT_COUNT));
+        assertNull(slots.get(1 + 2 * MIN_SLOT_COUNT));
+        assertEquals(1, slots.size());
+
+        slots.remove(1 + MIN_SLOT_COUNT, colliding);
+
+        assertEquals(0, slots.size());
+    }
+
+    @Test
+    public void iterator_whenInvocationsInSlotsAndOverflow() {
+        Set<Invocation> invocations = new HashSet<>(asList(put(1), put(5), put(1 + MIN_SLOT_COUNT), put(MIN_SLOT_COUNT)));
+
+        Set<Invocation> found = new HashSet<>();
+        for (Invocation invocation : slots) {
+            found.add(invocation);
+        }
+        assertEquals(invocations, found);
+
+        Set<Long> callIds = new HashSet<>();
+        for (Map.Entry<Long, Invocation> entry : slots.entrySet()) {
+            assertSame(entry.getValue(), slots.get(entry.getKey()));
+            callIds.add(entry.getKey());
+        }
+        assertEquals(new HashSet<>(asList(1L, 5L, 1L + MIN_SLOT_COUNT, (long) MIN_SLOT_COUNT)), callIds);
+    }
+
+    @Test
+    public void iterator_whenEmpty() {
+        Iterator<Invocation> iterator = slots.iterator();
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void slotCount_whenUnboundedConcurrentInvocations() {
+        InvocationSlots unbounded = new InvocationSlots(Integer.MAX_VALUE);
+        Invocation invocation = newInvocation(MAX_SLOT_COUNT - 1);
+        unbounded.put(MAX_SLOT_COUNT - 1, invocation);
+        Invocation colliding = newInvocation(2 * MAX_SLOT_COUNT - 1);
+        unbounded.put(2 * MAX_SLOT_COUNT - 1, colliding);
+
+        assertSame(invocation, unbounded.get(MAX_SLOT_COUNT - 1));
+        assertSame(colliding, unbounded.get(2 * MAX_SLOT_COUNT - 1));
+        assertEquals(2, unbounded.size());
+    }
+
+    private Invocation put(long callId) {
+        Invocation invocation = newInvocation(callId);
+        slots.put(callId, invocation);
+        return invocation;
+    }
+
+    private static Invocation newInvocation(long callId) {
+        Operation op = new DummyOperation();
+        setCallId(op, callId);
+        Context context = new Context(null, null, null, null, null,
+                1000, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        return new PartitionInvocation(context, op, 0, 0, 0, false, false);
+    }
+}
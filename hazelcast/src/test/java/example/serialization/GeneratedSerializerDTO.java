@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.serialization;
+
+import com.hazelcast.nio.serialization.compact.GenerateCompactSerializer;
+
+/**
+ * An annotated class with its serializer written as the annotation
+ * processor would generate it.
+ */
+@GenerateCompactSerializer
+public class GeneratedSerializerDTO {
+
+    public String name;
+    public int age;
+    public transient boolean readByGeneratedSerializer;
+
+    public GeneratedSerializerDTO() {
+    }
+
+    public GeneratedSerializerDTO(String name, int age) {
+        this.name = name;
+        this.age = age;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2022, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package example.serialization;
+
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+
+public final class GeneratedSerializerDTO_CompactSerializer implements CompactSerializer<GeneratedSerializerDTO> {
+
+    @Nonnull
+    @Override
+    public GeneratedSerializerDTO read(@Nonnull CompactReader reader) {
+        GeneratedSerializerDTO object = new GeneratedSerializerDTO();
+        FieldKind ageKind = reader.getFieldKind("age");
+        if (ageKind == FieldKind.INT32 || ageKind == FieldKind.NULLABLE_INT32) {
+            object.age = reader.readInt32("age");
+        }
+        object.name = reader.getFieldKind("name") == FieldKind.STRING ? reader.readString("name") : null;
+        object.readByGeneratedSerializer = true;
+        return object;
+    }
+
+    @Override
+    public void write(@Nonnull CompactWriter writer, @Nonnull GeneratedSerializerDTO object) {
+        writer.writeInt32("age", object.age);
+        writer.writeString("name", object.name);
+    }
+
+    @Nonnull
+    @Override
+    public String getTypeName() {
+        return GeneratedSerializerDTO.class.getName();
+    }
+
+    @Nonnull
+    @Override
+    public Class<GeneratedSerializerDTO> getCompactClass() {
+        return GeneratedSerializerDTO.class;
+    }
+}